@@ -0,0 +1,97 @@
+# Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Computes digits of pi with the spigot algorithm of pidigits.py and converts
+# increasingly large powers of the resulting integer to decimal strings and
+# back, which exercises int <-> str conversion of huge integers. The digits and
+# the powers are computed once in __setup__, so only the conversions are timed.
+
+import sys
+
+PIDIGITS_LEN = 5000
+
+
+def pidigits(length):
+    digits = []
+    k = 0
+    k1 = 1
+    n, a, d, t, u = 1, 0, 1, 0, 0
+    while True:
+        k += 1
+        t = n << 1
+        n *= k
+        a += t
+        k1 += 2
+        a *= k1
+        d *= k1
+        if a >= n:
+            t, u = divmod(n * 3 + a, d)
+            u += n
+            if d > u:
+                digits.append(str(t))
+                if len(digits) >= length:
+                    break
+                a -= d * t
+                a *= 10
+                n *= 10
+    return "".join(digits)
+
+
+POWERS = []
+
+
+def __setup__(num=20):
+    if hasattr(sys, "set_int_max_str_digits"):
+        sys.set_int_max_str_digits(0)
+    x = int(pidigits(PIDIGITS_LEN))
+    POWERS[:] = [x ** i for i in range(2, num + 2)]
+
+
+def measure(num):
+    total = 0
+    for big in POWERS[:num]:
+        s = str(big)
+        if int(s) != big:
+            raise AssertionError("conversion mismatch")
+        total += len(s)
+    print(total)
+
+
+def __benchmark__(num=20):
+    measure(num)
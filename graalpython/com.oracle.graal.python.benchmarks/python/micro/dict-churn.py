@@ -1,4 +1,4 @@
-# Copyright (c) 2020, 2022, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,34 +37,43 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
-def __initialize__(owner_globals):
-    delegate_attrs = ['Struct', 'StructError', '_clearcache', 'calcsize', 'error', 'iter_unpack', 'pack',
-                          'pack_into', 'unpack', 'unpack_from']
-    res = True
-    for x in delegate_attrs:
-        if x not in owner_globals:
-            res = False
-            break
+def churn(num):
+    d = {x: x for x in range(100)}
+    cache = {}
+    for t in range(num):
+        # the same key inserted and removed over and over again
+        d[-1] = t
+        del d[-1]
+        # a small cache with evictions
+        cache[t] = t
+        if len(cache) > 64:
+            del cache[t - 64]
+    return len(d), len(cache)
 
-    if not res:
-        __graalpython__.import_current_as_named_module_with_delegate(
-            module_name="_struct",
-            delegate_name="_cpython_struct",
-            delegate_attributes=delegate_attrs,
-            on_import_error={
-                # Just enough to make zipfile and six import successfully, but raise the
-                # original import error when someone tries to use the Struct object
-                "__all__": ["calcsize", "Struct"],
-                "_clearcache": lambda: None,
-                "__doc__": "Fake _struct",
-                "calcsize": lambda _: 8,
-                "Struct": type("Struct", (), {
-                    "__init__": lambda self, _: None,
-                    "__getattr__": lambda self, attr: (lambda *args: __import__("_cpython_struct"))
-                })
-            },
-            owner_globals=owner_globals)
 
-__initialize__(globals())
+NAMES = ["key%d" % x for x in range(128)]
 
-del __initialize__
+
+def churn_str(num):
+    # str keys use the generic dict storage, int keys above use the storage specialized for ints
+    names = NAMES
+    d = {name: name for name in names[:100]}
+    cache = {}
+    for t in range(num):
+        d["missing"] = t
+        del d["missing"]
+        cache[names[t % 128]] = t
+        if len(cache) > 64:
+            del cache[names[(t - 64) % 128]]
+    return len(d), len(cache)
+
+
+def measure(num):
+    result = churn(num)
+    print("Sizes ", result)
+    result = churn_str(num)
+    print("Sizes (str keys) ", result)
+
+
+def __benchmark__(num=1000000):
+    measure(num)
@@ -0,0 +1,113 @@
+# Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Reports the retained heap size per dict for small and medium sized dicts. The
+# timing measured by the harness is the construction of the dicts only, the
+# memory footprint of each dict size is measured and printed once in the setup.
+# On GraalPy the footprint is taken from the Java heap, which needs host access
+# (e.g. --jvm with allowAllAccess); elsewhere tracemalloc is used, and without
+# either only the timing is reported.
+
+import gc
+
+SIZES = (1, 5, 8, 100)
+
+
+def java_used_memory():
+    try:
+        import java
+        runtime = java.type('java.lang.Runtime').getRuntime()
+    except (ImportError, NotImplementedError, AttributeError, KeyError):
+        return None
+    for _ in range(3):
+        gc.collect()
+        runtime.gc()
+    return runtime.totalMemory() - runtime.freeMemory()
+
+
+def traced_memory():
+    try:
+        import tracemalloc
+        if not tracemalloc.is_tracing():
+            tracemalloc.start()
+        gc.collect()
+        return tracemalloc.get_traced_memory()[0]
+    except (ImportError, NotImplementedError, AttributeError, RuntimeError):
+        return None
+
+
+def stop_tracing():
+    try:
+        import tracemalloc
+        tracemalloc.stop()
+    except (ImportError, NotImplementedError, AttributeError, RuntimeError):
+        pass
+
+
+def used_memory():
+    used = java_used_memory()
+    if used is None:
+        used = traced_memory()
+    return used
+
+
+def make_dicts(count, size):
+    keys = ["key%d" % i for i in range(size)]
+    return [{k: i for k in keys} for i in range(count)]
+
+
+def measure_footprint(num):
+    for size in SIZES:
+        before = used_memory()
+        dicts = make_dicts(num, size)
+        after = used_memory()
+        if before is not None and after is not None:
+            print("dict size %3d: %6.1f bytes per dict" % (size, (after - before) / num))
+        del dicts
+    # do not slow down the timed runs with allocation tracing
+    stop_tracing()
+
+
+def __setup__(num=100000):
+    measure_footprint(num)
+
+
+def __benchmark__(num=100000):
+    for size in SIZES:
+        make_dicts(num, size)
@@ -72,9 +72,17 @@
 #include <sys/wait.h>
 #include <sys/file.h>
 #include <sys/mman.h>
+#include <sys/uio.h>
+#include <poll.h>
 #include <unistd.h>
 #include <pwd.h>
 
+#ifdef __linux__
+#include <sys/epoll.h>
+#include <sys/sendfile.h>
+#include <sys/syscall.h>
+#endif
+
 
 int64_t call_getpid() {
     return getpid();
@@ -121,10 +129,94 @@ int64_t call_read(int32_t fd, void *buf, uint64_t count) {
     return read(fd, buf, count);
 }
 
+int32_t call_read_into(int32_t fd, void *buf, int32_t offset, int32_t len) {
+    return read(fd, buf + offset, len);
+}
+
 int64_t call_write(int32_t fd, void *buf, uint64_t count) {
     return write(fd, buf, count);
 }
 
+int64_t call_pread(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    return pread(fd, buf, count, offset);
+}
+
+int64_t call_pwrite(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    return pwrite(fd, buf, count, offset);
+}
+
+// buf holds the contents of count consecutive buffers with the given lengths
+static struct iovec *make_iovec(int8_t *buf, int64_t *lengths, int32_t count) {
+    struct iovec *iov = malloc(sizeof(struct iovec) * (count > 0 ? count : 1));
+    if (iov == NULL) {
+        errno = ENOMEM;
+        return NULL;
+    }
+    for (int32_t i = 0; i < count; ++i) {
+        iov[i].iov_base = buf;
+        iov[i].iov_len = lengths[i];
+        buf += lengths[i];
+    }
+    return iov;
+}
+
+int64_t call_readv(int32_t fd, int8_t *buf, int64_t *lengths, int32_t count) {
+    struct iovec *iov = make_iovec(buf, lengths, count);
+    if (iov == NULL) {
+        return -1;
+    }
+    ssize_t result = readv(fd, iov, count);
+    free(iov);
+    return result;
+}
+
+int64_t call_writev(int32_t fd, int8_t *buf, int64_t *lengths, int32_t count) {
+    struct iovec *iov = make_iovec(buf, lengths, count);
+    if (iov == NULL) {
+        return -1;
+    }
+    ssize_t result = writev(fd, iov, count);
+    free(iov);
+    return result;
+}
+
+// a negative offset means that the file offset of in_fd is used and updated
+int64_t call_sendfile(int32_t out_fd, int32_t in_fd, int64_t offset, int64_t count) {
+#ifdef __linux__
+    if (offset < 0) {
+        return sendfile(out_fd, in_fd, NULL, count);
+    }
+    off_t off = offset;
+    return sendfile(out_fd, in_fd, &off, count);
+#elif defined(__APPLE__)
+    if (offset < 0) {
+        errno = EINVAL;
+        return -1;
+    }
+    off_t len = count;
+    // partial transfers report an error, but still store the number of bytes sent in len
+    if (sendfile(in_fd, out_fd, offset, &len, NULL, 0) < 0 && len == 0) {
+        return -1;
+    }
+    return len;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+// negative offsets mean that the file offset of the respective descriptor is used and updated
+int64_t call_copy_file_range(int32_t src_fd, int64_t src_offset, int32_t dst_fd, int64_t dst_offset, int64_t count) {
+#if defined(__linux__) && defined(SYS_copy_file_range)
+    loff_t src_off = src_offset;
+    loff_t dst_off = dst_offset;
+    return syscall(SYS_copy_file_range, src_fd, src_offset < 0 ? NULL : &src_off, dst_fd, dst_offset < 0 ? NULL : &dst_off, (size_t) count, 0);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int32_t call_dup(int32_t fd) {
     return fcntl(fd, F_DUPFD_CLOEXEC, 0);
 }
@@ -204,6 +296,69 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+// events and revents are parallel to fds, revents is an output parameter
+int32_t call_poll(int32_t* fds, int32_t* events, int32_t* revents, int32_t nfds, int32_t timeoutMs) {
+    struct pollfd *pfds = malloc(sizeof(struct pollfd) * (nfds > 0 ? nfds : 1));
+    if (pfds == NULL) {
+        errno = ENOMEM;
+        return -1;
+    }
+    for (int32_t i = 0; i < nfds; ++i) {
+        pfds[i].fd = fds[i];
+        pfds[i].events = (short) events[i];
+        pfds[i].revents = 0;
+    }
+    int result = poll(pfds, (nfds_t) nfds, timeoutMs);
+    for (int32_t i = 0; i < nfds; ++i) {
+        revents[i] = pfds[i].revents;
+    }
+    free(pfds);
+    return (int32_t) result;
+}
+
+int32_t call_epoll_create() {
+#ifdef __linux__
+    return epoll_create1(EPOLL_CLOEXEC);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int32_t call_epoll_ctl(int32_t epfd, int32_t op, int32_t fd, int32_t events) {
+#ifdef __linux__
+    struct epoll_event ev;
+    memset(&ev, 0, sizeof(ev));
+    ev.events = (uint32_t) events;
+    ev.data.fd = fd;
+    return epoll_ctl(epfd, op, fd, &ev);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+// fds and events are output parameters of length maxevents
+int32_t call_epoll_wait(int32_t epfd, int32_t* fds, int32_t* events, int32_t maxevents, int32_t timeoutMs) {
+#ifdef __linux__
+    struct epoll_event *evs = malloc(sizeof(struct epoll_event) * maxevents);
+    if (evs == NULL) {
+        errno = ENOMEM;
+        return -1;
+    }
+    int result = epoll_wait(epfd, evs, maxevents, timeoutMs);
+    for (int i = 0; i < result; ++i) {
+        fds[i] = evs[i].data.fd;
+        events[i] = (int32_t) evs[i].events;
+    }
+    free(evs);
+    return (int32_t) result;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
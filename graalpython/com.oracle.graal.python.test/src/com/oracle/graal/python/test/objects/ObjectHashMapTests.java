@@ -55,6 +55,7 @@ import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageForEachCallback;
@@ -156,6 +157,31 @@ public class ObjectHashMapTests {
         }
     }
 
+    @Test
+    public void testReusingRemovedSlotsInCollisionChains() {
+        ObjectHashMap map = new ObjectHashMap();
+        LinkedHashMap<DictKey, Object> expected = new LinkedHashMap<>();
+        // all keys collide, so removals in the middle of the chain leave dummy buckets behind
+        DictKey[] keys = new DictKey[8];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new DictKey(42);
+            Object value = newValue();
+            put(map, keys[i], 42, value);
+            expected.put(keys[i], value);
+        }
+        for (int i = 0; i < 1000; i++) {
+            final DictKey toRemove = keys[(i * 3) % keys.length];
+            remove(map, toRemove, 42);
+            expected.remove(toRemove);
+            assertEqual(i, expected, map);
+
+            Object value = newValue();
+            put(map, toRemove, 42, value);
+            expected.put(toRemove, value);
+            assertEqual(i, expected, map);
+        }
+    }
+
     @Test
     public void testLongHashMapStressTest() {
         ObjectHashMap map = new ObjectHashMap();
@@ -183,6 +209,57 @@ public class ObjectHashMapTests {
         }
     }
 
+    @Test
+    public void testIndexWidthTransitions() {
+        // grows the map through the byte, short and int wide sparse indices arrays, some of the
+        // keys collide so that the collision flag is exercised in every width
+        ObjectHashMap map = new ObjectHashMap();
+        LinkedHashMap<DictKey, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 40000; i++) {
+            DictKey key = new DictKey(i % 1000 == 0 ? 42 : i);
+            Object value = newValue();
+            expected.put(key, value);
+            put(map, key, key.hash, value);
+            if (i < 300 || i % 5000 == 0) {
+                assertEqual(i, expected, map);
+            }
+        }
+        assertEqual("full", expected, map);
+        DictKey[] keys = expected.keySet().toArray(new DictKey[0]);
+        for (int i = 0; i < keys.length; i += 2) {
+            remove(map, keys[i], keys[i].hash);
+            expected.remove(keys[i]);
+        }
+        assertEqual("after removal", expected, map);
+    }
+
+    @Test
+    public void testKeysOnly() {
+        // a set-like map stores only keys, putting other value than None switches to the regular
+        // layout without losing any items
+        ObjectHashMap map = new ObjectHashMap(0, false, true);
+        LinkedHashMap<DictKey, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            DictKey key = new DictKey(i % 10 == 0 ? 42 : i);
+            expected.put(key, PNone.NONE);
+            put(map, key, key.hash, PNone.NONE);
+            if (i % 3 == 0) {
+                remove(map, key, key.hash);
+                expected.remove(key);
+            }
+        }
+        assertTrue(map.isKeysOnly());
+        assertEqual("keys only", expected, map);
+        assertEqual("keys only copy", expected, map.copy());
+
+        DictKey[] keys = expected.keySet().toArray(new DictKey[0]);
+        Object value = newValue();
+        put(map, keys[5], keys[5].hash, value);
+        expected.put(keys[5], value);
+        Assert.assertFalse(map.isKeysOnly());
+        assertEqual("materialized", expected, map);
+    }
+
     private static void testBasics(ObjectHashMap map) {
         LinkedHashMap<Long, Object> expected = new LinkedHashMap<>();
         Random rand = new Random(42);
@@ -337,21 +414,21 @@ public class ObjectHashMapTests {
     private static Object get(ObjectHashMap map, Object key, long hash) {
         return ObjectHashMap.GetNode.doGetWithRestart(null, map, key, hash,
                         BranchProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(),
-                        ConditionProfile.getUncached(), ConditionProfile.getUncached(),
+                        ConditionProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(),
                         new EqNodeStub());
     }
 
     private static void remove(ObjectHashMap map, Object key, long hash) {
         ObjectHashMap.RemoveNode.doRemoveWithRestart(null, map, key, hash,
                         BranchProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(),
-                        ConditionProfile.getUncached(), BranchProfile.getUncached(), ConditionProfile.getUncached(),
+                        ConditionProfile.getUncached(), BranchProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(),
                         new EqNodeStub());
     }
 
     private static void put(ObjectHashMap map, Object key, long hash, Object value) {
         ObjectHashMap.PutNode.doPutWithRestart(null, map, key, hash, value,
                         BranchProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(), ConditionProfile.getUncached(),
-                        ConditionProfile.getUncached(), BranchProfile.getUncached(), BranchProfile.getUncached(),
+                        ConditionProfile.getUncached(), BranchProfile.getUncached(), BranchProfile.getUncached(), ConditionProfile.getUncached(),
                         new EqNodeStub());
     }
 }
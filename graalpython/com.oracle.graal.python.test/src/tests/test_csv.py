@@ -103,3 +103,86 @@ class TestDialectValidity(unittest.TestCase):
 
 
 
+
+class TestBulkReader(unittest.TestCase):
+    data = 'a,"b\r\nc",\U0001F642\r\n\r\n"x""y",, z \nlast'
+
+    def test_matches_reader(self):
+        expected = list(csv.reader(self.data.splitlines(keepends=True)))
+        self.assertEqual(list(csv.bulk_reader(self.data.encode())), expected)
+        self.assertEqual(list(csv.bulk_reader(bytearray(self.data.encode()))), expected)
+        self.assertEqual(list(csv.bulk_reader(memoryview(self.data.encode())[:])), expected)
+        with TemporaryFile("w+b") as fileobj:
+            fileobj.write(self.data.encode())
+            fileobj.seek(0)
+            reader = csv.bulk_reader(fileobj)
+            self.assertEqual(list(reader), expected)
+            self.assertEqual(reader.line_num, 5)
+
+    def test_batches(self):
+        data = b"".join(b"%d,x\n" % i for i in range(5))
+        self.assertEqual(list(csv.bulk_reader(data, batch_size=2)),
+                         [[['0', 'x'], ['1', 'x']], [['2', 'x'], ['3', 'x']], [['4', 'x']]])
+
+    def test_nonnumeric(self):
+        reader = csv.bulk_reader(b'1,-2.5,"3",12345678901234567890,1e3, 7\n', quoting=csv.QUOTE_NONNUMERIC)
+        self.assertEqual(next(reader), [1.0, -2.5, '3', 12345678901234567890.0, 1000.0, 7.0])
+        self.assertRaises(ValueError, next, csv.bulk_reader(b'x\n', quoting=csv.QUOTE_NONNUMERIC))
+
+    def test_errors(self):
+        reader = csv.bulk_reader(b'a\nb\0c\nd\n')
+        self.assertEqual(next(reader), ['a'])
+        self.assertRaises(csv.Error, next, reader)
+        self.assertEqual(next(reader), ['d'])
+        self.assertRaises(UnicodeDecodeError, list, csv.bulk_reader(b'\xff,a\n'))
+        self.assertRaises(csv.Error, list, csv.bulk_reader(b'"a', strict=True))
+        self.assertRaises(ValueError, csv.bulk_reader, b'', delimiter='é')
+        with TemporaryFile("w+") as fileobj:
+            fileobj.write("a,b\n")
+            fileobj.seek(0)
+            self.assertRaises(TypeError, list, csv.bulk_reader(fileobj))
+
+    def test_abandoned_releases_buffer(self):
+        import gc
+        import time
+        data = bytearray(self.data.encode())
+        reader = csv.bulk_reader(data)
+        next(reader)
+        del reader
+        # the export is only dropped once the collected reader's buffer is released
+        for i in range(1000):
+            try:
+                data.append(10)
+                break
+            except BufferError:
+                gc.collect()
+                time.sleep(0.001)
+        self.assertEqual(data[-1], 10)
+
+class TestWriteRows(unittest.TestCase):
+    def test_writerows_matches_writerow(self):
+        rows = [[i, 'a,b', 'c"d', None, 1.5, '\U0001F642 x\r\n'] for i in range(20000)]
+        for kwargs in [{}, {'quoting': csv.QUOTE_ALL}, {'quoting': csv.QUOTE_NONNUMERIC},
+                       {'quoting': csv.QUOTE_NONE, 'escapechar': '\\'}, {'doublequote': False, 'escapechar': '\\'}]:
+            single = []
+            writer = csv.writer(type('W', (), {'write': lambda self, s: single.append(s)})(), **kwargs)
+            for row in rows:
+                writer.writerow(row)
+            chunks = []
+            writer = csv.writer(type('W', (), {'write': lambda self, s: chunks.append(s)})(), **kwargs)
+            writer.writerows(rows)
+            self.assertEqual(''.join(chunks), ''.join(single))
+            self.assertLess(len(chunks), len(rows))
+
+    def test_writerows_error(self):
+        chunks = []
+        writer = csv.writer(type('W', (), {'write': lambda self, s: chunks.append(s)})(), quoting=csv.QUOTE_NONE)
+        self.assertRaises(csv.Error, writer.writerows, [['a'], ['b'], ['c,d'], ['e']])
+        self.assertEqual(''.join(chunks), 'a\r\nb\r\n')
+
+        def gen():
+            yield ['a']
+            raise ValueError
+        chunks.clear()
+        self.assertRaises(ValueError, writer.writerows, gen())
+        self.assertEqual(''.join(chunks), 'a\r\n')
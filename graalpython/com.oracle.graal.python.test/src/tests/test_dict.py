@@ -147,6 +147,15 @@ def test_fromkeys():
     assert set(d.keys()) == {'a', 'b', 'c'}
     assert set(d.values()) == {o}
 
+    # from a set and from a string, then filled in like a regular dict
+    for src in ({'a', 'b', 'c'}, 'abc'):
+        for v in (None, 1):
+            d = dict.fromkeys(src, v)
+            assert d == {'a': v, 'b': v, 'c': v}
+            d['b'] = 2
+            del d['a']
+            assert d == {'b': 2, 'c': v}
+
     class preset(dict):
         def __init__(self):
             self['a'] = 1
@@ -1267,3 +1276,69 @@ def test_dict_values_eq():
     d1 = {1: 1, 2: 2, 4: 4}
     assert d1.values() != d1.values()
 
+
+
+def test_int_keys():
+    # int keyed dicts use specialized storage strategy
+    d = {}
+    for i in range(-50, 50):
+        d[i] = i * 2
+    d[2 ** 62] = 'big'
+    d[-2 ** 63] = 'min'
+    assert len(d) == 102
+    assert d[7] == 14
+    assert d[True] == 2 and d[False] == 0 and d[3.0] == 6
+    assert d.get(2 ** 70) is None
+    assert d[2 ** 62] == 'big' and d[-2 ** 63] == 'min'
+    # keys that have the same Python hash, but are not equal
+    d[2 ** 61 - 1] = 'modulus'
+    assert d[0] == 0 and d[2 ** 61 - 1] == 'modulus'
+
+    del d[True]
+    assert 1 not in d
+    assert d.pop(2.0) == 4
+    d[1] = 'one'
+    assert list(d)[-1] == 1
+    assert list(d)[:3] == [-50, -49, -48]
+    assert list(reversed(d))[0] == 1
+    copy = d.copy()
+    assert copy == d
+    d[True] = 'true'
+    assert d[1] == 'true'
+    assert type(list(d)[-1]) == int
+
+
+def test_int_keys_generalization():
+    d = {1: 'a', 2: 'b', 3: 'c'}
+    del d[2]
+    d['x'] = 'd'
+    assert list(d.items()) == [(1, 'a'), (3, 'c'), ('x', 'd')]
+    d[1.0] = 'e'
+    assert d[1] == 'e'
+    assert type(list(d)[0]) == int
+
+    d = {1: 'a'}
+    d[True] = 'b'
+    assert d == {1: 'b'} and type(list(d)[0]) == int
+
+    s = {1, 2, 3}
+    s.add('x')
+    assert s == {1, 2, 3, 'x'}
+    assert {1, 2, 3} & {2.0, 3, 4} == {2, 3}
+
+
+def test_int_keys_side_effects():
+    class Key:
+        def __init__(self, d):
+            self.d = d
+
+        def __hash__(self):
+            return 3
+
+        def __eq__(self, other):
+            self.d[100] = 100
+            return other == 3
+
+    d = {3: 'three'}
+    assert d[Key(d)] == 'three'
+    assert d[100] == 100
@@ -0,0 +1,125 @@
+# Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import hashlib
+import threading
+
+ABC_DIGESTS = {
+    'md5': '900150983cd24fb0d6963f7d28e17f72',
+    'sha1': 'a9993e364706816aba3e25717850c26c9cd0d89d',
+    'sha224': '23097d223405d8228642a477bda255b32aadbce4bda0b3f7e36c9da7',
+    'sha256': 'ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad',
+    'sha384': 'cb00753f45a35e8bb5a03d699ac65007272c32ab0eded1631a8b605a43ff5bed8086072ba1e7cc2358baeca134c825a7',
+    'sha512': 'ddaf35a193617abacc417349ae20413112e6fa4e89a97ea20a9eeee64b55d39a2192992a274fc1a836ba3c23a3feebbd454d4423643ce80e2a9ac94fa54ca49f',
+    'sha3_224': 'e642824c3f8cf24ad09234ee7d3c766fc9a3a5168d0c94ad73b46fdf',
+    'sha3_256': '3a985da74fe225b2045c172d6bd390bd855f086e3e9d525b46bfe24511431532',
+    'sha3_384': 'ec01498288516fc926459f58e2c6ad8df9b473cb0fc08c2596da7cf0e49be4b298d88cea927ac7f539f1edf228376d25',
+    'sha3_512': 'b751850b1a57168a5693cd924b6b096e08f621827444f70d884f5d0240d2712e10e116e9192af3c91a7ec57647e3934057340b4cf408d5a56592f8274eec53f0',
+}
+
+BLOCK_SIZES = {
+    'md5': 64, 'sha1': 64, 'sha224': 64, 'sha256': 64, 'sha384': 128, 'sha512': 128,
+    'sha3_224': 144, 'sha3_256': 136, 'sha3_384': 104, 'sha3_512': 72,
+}
+
+
+def test_digests():
+    for name, expected in ABC_DIGESTS.items():
+        h = getattr(hashlib, name)(b'abc')
+        assert h.name == name
+        assert h.hexdigest() == expected, name
+        assert h.digest() == bytes.fromhex(expected), name
+        assert h.digest_size == len(expected) // 2, name
+        assert h.block_size == BLOCK_SIZES[name], name
+
+
+def test_buffers():
+    for name, expected in ABC_DIGESTS.items():
+        for data in (bytearray(b'abc'), memoryview(b'xabcx')[1:4], memoryview(bytearray(b'abc'))):
+            h = hashlib.new(name)
+            h.update(data)
+            assert h.hexdigest() == expected, (name, data)
+
+
+def test_incremental_and_copy():
+    for name, expected in ABC_DIGESTS.items():
+        h = hashlib.new(name, b'a')
+        c = h.copy()
+        h.update(b'bc')
+        # digest does not finalize the hash
+        assert h.hexdigest() == expected, name
+        assert h.hexdigest() == expected, name
+        c.update(b'b')
+        c.update(b'c')
+        assert c.hexdigest() == expected, name
+
+
+def test_errors():
+    h = hashlib.sha256()
+    try:
+        h.update('abc')
+    except TypeError as e:
+        assert 'encoded' in str(e)
+    else:
+        assert False, 'expected TypeError'
+    try:
+        h.update(42)
+    except TypeError:
+        pass
+    else:
+        assert False, 'expected TypeError'
+
+
+def test_large_updates_in_threads():
+    data = bytes(range(256)) * 4096
+    expected = hashlib.sha256(data * 4).hexdigest()
+    results = []
+
+    def run():
+        h = hashlib.sha256()
+        for i in range(4):
+            h.update(data)
+        results.append(h.hexdigest())
+
+    threads = [threading.Thread(target=run) for i in range(4)]
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+    assert results == [expected] * 4
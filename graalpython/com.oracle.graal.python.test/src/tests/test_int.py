@@ -356,6 +356,29 @@ def test_create_int_from_string():
         assert False, "expected TypeError"
 
 
+def test_create_int_from_long_decimal_string():
+    max_digits = sys.get_int_max_str_digits()
+    sys.set_int_max_str_digits(0)
+    try:
+        for n in (2047, 2048, 2049, 5000, 70001):
+            x = 7 ** n
+            s = str(x)
+            assert int(s) == x
+            assert int("-" + s) == -x
+            assert int("+" + s + " ") == x
+            assert int("_".join(s[i:i + 3] for i in range(0, len(s), 3))) == x
+            assert int("0" * 3000 + s) == x
+            for bad in (s[:2500] + "-" + s[2500:], s[:3000] + "+" + s[3000:], s + "x"):
+                try:
+                    int(bad)
+                except ValueError:
+                    pass
+                else:
+                    assert False, "expected ValueError"
+    finally:
+        sys.set_int_max_str_digits(max_digits)
+
+
 def test_create_int_from_float():
     assert int(123.0) == 123
     assert int(123.4) == 123
@@ -377,6 +400,61 @@ def test_create_int_from_float():
         assert False, "expected ValueError"
 
 
+def test_long_arithmetic_in_loop():
+    def run(start, step, n):
+        x = start
+        acc = 0
+        positive = 0
+        inverted_negative = 0
+        for i in range(n):
+            x = x + step
+            acc ^= x * 3
+            acc = acc - (x // 7) + (x % 5)
+            y = -x
+            if x > y:
+                positive += 1
+            if ~x < 0:
+                inverted_negative += 1
+        return x, acc, positive, inverted_negative
+
+    # run a few times, so that the quickened code is executed too
+    for _ in range(3):
+        assert run(2 ** 40, 3, 100) == (1099511628076, 1884877066144, 100, 100)
+        assert run(-2 ** 40, 2 ** 20, 100) == (-1099406770176, -4086177239382, 0, 0)
+        # overflows out of the long range
+        assert run(2 ** 62, 2 ** 59, 20) == (2 ** 62 + 20 * 2 ** 59, 55999044509475424597, 20, 20)
+
+
+def test_int_float_mixed_arithmetic_in_loop():
+    def run(n, f):
+        total = 0.0
+        count = 0
+        for i in range(n):
+            total = total + i * f
+            total = (i + 1) / 2.0 + total - f * i
+            if i < f * 10:
+                count += 1
+            if 2.5 >= i:
+                count += 1
+        return total, count
+
+    def div(n, d):
+        r = 0.0
+        for i in range(n):
+            r = i / d
+        return r
+
+    for _ in range(3):
+        assert run(100, 0.5) == (2525.0, 8)
+        assert div(10, 2.0) == 4.5
+    try:
+        div(10, 0.0)
+    except ZeroDivisionError:
+        pass
+    else:
+        assert False, "expected ZeroDivisionError"
+
+
 class FromBytesTests(unittest.TestCase):
 
     def check(self, tests, byteorder, signed=False):
@@ -312,5 +312,64 @@ class IOBaseTests(unittest.TestCase):
         self.assertEqual(["ab\r\n", "cd"], t.readlines())
 
 
+class FileReadIntoTests(unittest.TestCase):
+
+    def setUp(self):
+        import tempfile
+        fd, self.path = tempfile.mkstemp()
+        self.data = bytes(i % 251 for i in range(100000))
+        with _io.FileIO(fd, 'w') as f:
+            f.write(self.data)
+
+    def tearDown(self):
+        import os
+        os.unlink(self.path)
+
+    def test_fileio_readinto(self):
+        import array
+        with _io.FileIO(self.path, 'r') as f:
+            b = bytearray(10)
+            self.assertEqual(10, f.readinto(b))
+            self.assertEqual(self.data[:10], b)
+            m = memoryview(bytearray(30))
+            self.assertEqual(20, f.readinto(m[5:25]))
+            self.assertEqual(bytes(5) + self.data[10:30] + bytes(5), m.tobytes())
+            a = array.array('b', bytes(4))
+            self.assertEqual(4, f.readinto(a))
+            self.assertEqual(self.data[30:34], a.tobytes())
+            f.seek(-3, 2)
+            b = bytearray(10)
+            self.assertEqual(3, f.readinto(b))
+            self.assertEqual(self.data[-3:] + bytes(7), b)
+            self.assertEqual(0, f.readinto(b))
+
+    def test_fileio_readall(self):
+        with _io.FileIO(self.path, 'r') as f:
+            self.assertEqual(self.data, f.readall())
+            self.assertEqual(b'', f.readall())
+            f.seek(99990)
+            self.assertEqual(self.data[99990:], f.read())
+
+    def test_buffered_reader(self):
+        class SubFileIO(_io.FileIO):
+            pass
+
+        for raw_type in (_io.FileIO, SubFileIO):
+            with _io.BufferedReader(raw_type(self.path, 'r'), 1024) as f:
+                self.assertEqual(self.data[:10], f.read(10))
+                self.assertEqual(self.data[10:20], f.peek(10)[:10])
+                self.assertEqual(self.data[10:5000], f.read(4990))
+                b = bytearray(3000)
+                self.assertEqual(3000, f.readinto(b))
+                self.assertEqual(self.data[5000:8000], b)
+                m = memoryview(bytearray(3002))
+                self.assertEqual(3000, f.readinto(m[1:3001]))
+                self.assertEqual(self.data[8000:11000], m[1:3001].tobytes())
+                self.assertEqual(self.data[11000:11100], f.read1(100))
+                self.assertEqual(11100, f.tell())
+                self.assertEqual(self.data[11100:], f.read())
+                self.assertEqual(b'', f.read(1))
+
+
 if __name__ == '__main__':
     unittest.main()
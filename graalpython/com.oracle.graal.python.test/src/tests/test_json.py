@@ -37,6 +37,9 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import io
+import json
+import sys
 import unittest
 
 BIGINT_JSON_DATA = '''
@@ -83,3 +86,192 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_load_large_file(self):
+        # larger than the chunks in which a file is read and decoded
+        data = [{"id": i, "name": "n\u00e9me %d" % i, "tags": ["a", "\u20ac"] * (i % 3), "v": i / 7} for i in range(5000)]
+        text = json.dumps(data, indent=1, ensure_ascii=False)
+        assert json.load(io.StringIO(text)) == data
+        assert json.load(io.BytesIO(text.encode('utf-8'))) == data
+        assert json.load(io.BufferedReader(io.BytesIO(text.encode('utf-16')))) == data
+        assert json.loads(text.encode('utf-8-sig')) == data
+        assert json.loads(bytearray(text.encode('utf-32-le'))) == data
+        assert json.load(io.StringIO(text), object_pairs_hook=list)[1][0] == ("id", 1)
+
+    def test_load_error_position(self):
+        text = json.dumps(list(range(20000)), indent=1)
+        bad = text[:-10] + "x" + text[-9:]
+        with self.assertRaises(json.JSONDecodeError) as expected:
+            json.loads(bad)
+        for source in (io.StringIO(bad), io.BytesIO(bad.encode())):
+            with self.assertRaises(json.JSONDecodeError) as cm:
+                json.load(source)
+            assert (cm.exception.pos, cm.exception.lineno, cm.exception.colno) == (expected.exception.pos, expected.exception.lineno, expected.exception.colno)
+            assert str(cm.exception) == str(expected.exception)
+        # the whole document is available as doc when the input is in memory
+        for source in (bad, bad.encode(), bytearray(bad.encode('utf-16'))):
+            with self.assertRaises(json.JSONDecodeError) as cm:
+                json.loads(source)
+            assert cm.exception.doc == bad
+            assert cm.exception.pos == expected.exception.pos
+        with self.assertRaisesRegex(json.JSONDecodeError, "Extra data: line 1 column 5"):
+            json.load(io.StringIO("[1] 2"))
+        with self.assertRaisesRegex(json.JSONDecodeError, "BOM"):
+            json.load(io.StringIO("\ufeff[1]"))
+        with self.assertRaises(UnicodeDecodeError):
+            json.loads(b'["\x80"]')
+
+    def test_load_error_position_code_points(self):
+        # astral characters are one code point, but two UTF-16 units in the decoding window
+        text = json.dumps(["\U0001F600" * (i % 5) for i in range(20000)], ensure_ascii=False, indent=1)
+        pos = len(text) - 10
+        bad = text[:pos] + "x" + text[pos + 1:]
+        lineno = bad.count("\n", 0, pos) + 1
+        colno = pos - bad.rfind("\n", 0, pos)
+        for source in (bad, bad.encode(), io.StringIO(bad), io.BytesIO(bad.encode())):
+            with self.assertRaises(json.JSONDecodeError) as cm:
+                if isinstance(source, (str, bytes)):
+                    json.loads(source)
+                else:
+                    json.load(source)
+            assert (cm.exception.pos, cm.exception.lineno, cm.exception.colno) == (pos, lineno, colno), type(source)
+
+    def test_load_surrogatepass(self):
+        assert json.loads(b'"\xed\xa0\x80"') == '\ud800'
+        assert json.loads(b'["\xed\xb0\x80", "\xed\xa0\x80x"]') == ['\udc00', '\ud800x']
+        for encoding in ('utf-16', 'utf-16-le', 'utf-16-be', 'utf-32', 'utf-32-le', 'utf-32-be'):
+            data = '["\ud800", "\udfff\ud800"]'.encode(encoding, 'surrogatepass')
+            assert json.loads(data) == ['\ud800', '\udfff\ud800'], encoding
+        # a surrogate split by the chunks the file is read in
+        data = b'["' + b'x' * (64 * 1024 - 3) + b'\xed\xa0\x80"]'
+        assert json.load(io.BufferedReader(io.BytesIO(data))) == ['x' * (64 * 1024 - 3) + '\ud800']
+        with self.assertRaises(UnicodeDecodeError):
+            json.loads(b'"\xed\xa0"')
+
+    @unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy specific")
+    def test_iterload(self):
+        data = [{"id": i, "s": "x" * (i % 50)} for i in range(3000)]
+        text = json.dumps(data)
+        for source in (text, text.encode(), io.StringIO(text), io.BytesIO(text.encode())):
+            assert list(json.iterload(source)) == data
+        lines = "\n".join(json.dumps(d) for d in data) + "\n"
+        for source in (lines, io.BytesIO(lines.encode())):
+            assert list(json.iterload(source, lines=True)) == data
+        assert list(json.iterload(" [ ] ")) == []
+        assert list(json.iterload("", lines=True)) == []
+        assert list(json.iterload("[1.5, 2]", parse_float=str)) == ["1.5", 2]
+
+        it = json.iterload(io.StringIO('[1, {"a": 2}, 3 4]'))
+        assert next(it) == 1
+        assert next(it) == {"a": 2}
+        with self.assertRaisesRegex(json.JSONDecodeError, "Expecting ',' delimiter: line 1 column 17"):
+            next(it)
+        with self.assertRaises(StopIteration):
+            next(it)
+        with self.assertRaisesRegex(json.JSONDecodeError, "Expecting '\\['"):
+            list(json.iterload('{"a": 1}'))
+
+
+    @unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy specific")
+    def test_iterload_abandoned_releases_buffer(self):
+        import gc
+        import time
+        b = bytearray(json.dumps(list(range(100))).encode())
+        it = json.iterload(b)
+        assert next(it) == 0
+        del it
+        # the export is only dropped once the collected iterator's buffer is released
+        for i in range(1000):
+            try:
+                b.append(32)
+                break
+            except BufferError:
+                gc.collect()
+                time.sleep(0.001)
+        assert b[-1] == 32
+
+    def test_load_records(self):
+        records = [{"id": i, "name": "n%d" % i, "tags": [{"k": "v"}] * (i % 3)} for i in range(500)]
+        records[100] = {"id": 100, "nombre": "x", "é\"\\": 1}
+        records[200] = {"id": 200}
+        records[300] = {}
+        text = json.dumps(records)
+        for source in (text, text.replace('"name"', '"\\u006eame"'), text.encode()):
+            assert json.loads(source) == records
+            assert json.loads(source, object_pairs_hook=dict) == records
+        if sys.implementation.name == "graalpy":
+            # keys are shared by all records
+            loaded = json.loads(text)
+            assert all(next(iter(r)) is next(iter(loaded[0])) for r in loaded if r)
+
+    @unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy specific")
+    def test_load_reuse_pairs(self):
+        records = [{"a": i, "b": {"c": [i], "d": None}} for i in range(100)]
+        text = json.dumps(records)
+        seen = set()
+
+        def hook(pairs):
+            seen.add(id(pairs))
+            return dict(pairs)
+
+        assert json.loads(text, object_pairs_hook=hook, reuse_pairs=True) == records
+        assert len(seen) == 1
+        assert list(json.iterload(text, object_pairs_hook=hook, reuse_pairs=True)) == records
+
+    def test_dumps_homogeneous(self):
+        assert json.dumps([1, 2, -3]) == "[1, 2, -3]"
+        assert json.dumps([2 ** 40, -2 ** 40]) == "[1099511627776, -1099511627776]"
+        assert json.dumps((1, 2), separators=(",", ":")) == "[1,2]"
+        floats = [1.0, -0.0, 0.0, 0.5, -5.0, 1e15, 1e16, 2.0 ** 53, 1.5e300, 123456789.0]
+        assert json.dumps(floats) == "[%s]" % ", ".join(map(repr, floats))
+        with self.assertRaises(ValueError):
+            json.dumps([1.0, float("nan")], allow_nan=False)
+        assert json.dumps([float("inf"), float("-inf")]) == "[Infinity, -Infinity]"
+
+        records = [{"id": i, "néme": "x", "q\"": [i * 0.5], 7: None} for i in range(100)]
+        assert json.loads(json.dumps(records)) == json.loads(json.dumps(records, indent=1))
+        assert json.dumps({"é": 1}, ensure_ascii=False) == '{"é": 1}'
+        assert json.dumps({"é": 1}) == '{"\\u00e9": 1}'
+
+    def test_dump_stream(self):
+        data = {"values": list(range(20000)), "s": "€" * 70000}
+        out = io.StringIO()
+        json.dump(data, out, ensure_ascii=False)
+        assert json.loads(out.getvalue()) == data
+        assert out.getvalue() == json.dumps(data, ensure_ascii=False)
+        out = io.StringIO()
+        json.dump(data, out, indent=2, default=str, sort_keys=True)
+        assert out.getvalue() == json.dumps(data, indent=2, sort_keys=True)
+        # like in CPython, binary streams are rejected
+        with self.assertRaises(TypeError):
+            json.dump(data, io.BytesIO())
+
+        class Recorder:
+            def __init__(self):
+                self.chunks = []
+                self.flushed = False
+
+            def write(self, chunk):
+                self.chunks.append(chunk)
+
+            def flush(self):
+                self.flushed = True
+
+        records = [{"id": i, "name": "x" * 100, 1.5: [i, None, True]} for i in range(2000)]
+        for obj in (records, tuple(records), {str(i): r for i, r in enumerate(records)}, "x" * 10, []):
+            out = Recorder()
+            json.dump(obj, out)
+            assert "".join(out.chunks) == json.dumps(obj)
+            if sys.implementation.name == "graalpy":
+                assert out.flushed
+                if obj is records:
+                    assert 1 < len(out.chunks) < len(records)
+        out = Recorder()
+        json.dump({(1, 2): 3, "a": 4, 5: 6}, out, skipkeys=True, separators=(",", ":"))
+        assert "".join(out.chunks) == '{"a":4,"5":6}'
+        circular = [1]
+        circular.append(circular)
+        with self.assertRaises(ValueError):
+            json.dump(circular, Recorder())
+        with self.assertRaises(ValueError):
+            json.dump({"a": circular}, Recorder())
@@ -729,6 +729,50 @@ class ListTest(list_tests.CommonTest):
         l.extend(l)
         self.assertEqual([1,2,3,4,10,20,30,40], l)
 
+    def test_string_storage(self):
+        class MyStr(str):
+            pass
+
+        l = ["b", "c", "a"]
+        t = ("b", "c", "a")
+        self.assertEqual("b-c-a", "-".join(l))
+        self.assertEqual("b-c-a", "-".join(t))
+        self.assertTrue("c" in l)
+        self.assertFalse("d" in t)
+        self.assertTrue(MyStr("a") in l)
+        self.assertEqual(2, l.index("a"))
+        self.assertEqual(1, t.index(MyStr("c")))
+        self.assertEqual(l, ["b", "c", "a"])
+        self.assertTrue(l < ["b", "d"])
+        self.assertTrue(t > ("b", "c"))
+        self.assertEqual(["x", "x", "x"], ["x"] * 3)
+        self.assertEqual(["c", "a"], l[1:])
+        self.assertEqual(("b", "a"), t[::2])
+
+        l.sort()
+        self.assertEqual(["a", "b", "c"], l)
+        l.sort(reverse=True)
+        self.assertEqual(["c", "b", "a"], l)
+        l.sort(key=lambda s: -ord(s))
+        self.assertEqual(["c", "b", "a"], l)
+
+        l.insert(1, "d")
+        l[0] = "e"
+        self.assertEqual(["e", "d", "b", "a"], l)
+
+        s = MyStr("s")
+        l.append(s)
+        self.assertIs(s, l[-1])
+        l[0] = 1
+        l.insert(0, None)
+        self.assertEqual([None, 1, "d", "b", "a", "s"], l)
+
+        self.assertEqual(["a", 1, 2.0], ["a"] + [1, 2.0])
+        self.assertEqual(["a", "b"], ["a"] + ["b"])
+        self.assertEqual(("a", 1), ("a",) + (1,))
+        self.assertEqual(["a", "b", None], list(x for x in ["a", "b", None]))
+        self.assertEqual(["a", "b", "c"], list(iter("abc")))
+
 class ListCompareTest(CompareTest):
 
     def test_compare(self):
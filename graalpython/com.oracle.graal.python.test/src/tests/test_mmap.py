@@ -175,6 +175,59 @@ class MmapTests(unittest.TestCase):
                               "wrong exception raised in context manager")
         self.assertTrue(m.closed, "context manager failed")
 
+    def test_file_mapping(self):
+        data = bytes(range(256)) * 64
+        with open(TESTFN, 'wb') as f:
+            f.write(data)
+        try:
+            with open(TESTFN, 'r+b') as f:
+                with mmap.mmap(f.fileno(), 0) as m:
+                    self.assertEqual(len(data), len(m))
+                    self.assertEqual(data, m[:])
+                    m[10:13] = b'abc'
+                    m.seek(len(data) - 2)
+                    m.write(b'yz')
+                    m.flush()
+                with mmap.mmap(f.fileno(), 0, access=mmap.ACCESS_COPY) as m:
+                    m[0:3] = b'xxx'
+                    self.assertEqual(b'xxx', m[0:3])
+                with mmap.mmap(f.fileno(), 0, access=mmap.ACCESS_READ) as m:
+                    self.assertEqual(b'abc', m[10:13])
+                    self.assertRaises(TypeError, m.write, b'a')
+            with open(TESTFN, 'rb') as f:
+                expected = data[:10] + b'abc' + data[13:-2] + b'yz'
+                self.assertEqual(expected, f.read())
+        finally:
+            os.unlink(TESTFN)
+
+    def test_buffer_export(self):
+        with mmap.mmap(-1, 16) as m:
+            m.write(bytes(range(16)))
+            mv = memoryview(m)
+            self.assertFalse(mv.readonly)
+            self.assertEqual(bytes(range(16)), bytes(mv))
+            with mv[4:8] as sub:
+                self.assertEqual(bytes(range(4, 8)), sub.tobytes())
+            mv[0] = 42
+            mv[1:3] = b'ab'
+            self.assertEqual(b'*ab', m[0:3])
+            b = bytearray(4)
+            with mv[5:7] as sub:
+                b[1:3] = sub
+            self.assertEqual(b'\x00\x05\x06\x00', b)
+            mv.release()
+
+    def test_close_with_exports(self):
+        m = mmap.mmap(-1, 16)
+        mv = memoryview(m)
+        sub = mv[2:4]
+        self.assertRaises(BufferError, m.close)
+        mv.release()
+        self.assertRaises(BufferError, m.close)
+        sub.release()
+        m.close()
+        self.assertTrue(m.closed)
+
 
 FIND_BUFFER_SIZE = 1024 # keep in sync with FindNode#BUFFER_SIZE
 def test_find():
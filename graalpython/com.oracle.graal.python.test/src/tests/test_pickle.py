@@ -66,5 +66,88 @@ class TestPickle(unittest.TestCase):
         assert [16,17,18,19] == [next(teeit2) for i in range(1, 5)]
         assert [16,17,18,19] == [next(teeit) for i in range(1, 5)]
 
+    def test_uses_java_pickle(self):
+        import _pickle
+        assert pickle.Pickler is _pickle.Pickler
+        assert pickle.Unpickler is _pickle.Unpickler
+        assert pickle.PickleBuffer is _pickle.PickleBuffer
+
+    def test_roundtrip_protocols(self):
+        values = [
+            None, True, False, 0, 1, -1, 255, 256, 65535, 65536, -2**31, 2**31 - 1, 2**63, -2**64, 10**100,
+            0.0, -1.5, 1e300, "", "abc", "\u20ac\U0001f600", "a\ud800b", b"", b"bytes" * 100,
+            bytearray(b"ba"), [], [1, 2.5, "x"], list(range(3000)), [1.5] * 10, [True, False],
+            (), (1,), (1, 2), (1, 2, 3), (1, 2, 3, 4), {}, {"a": 1, 2: [3]},
+            set(), {1, 2, 3}, frozenset(), frozenset("abc"), Ellipsis, NotImplemented, len,
+        ]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            for value in values:
+                result = pickle.loads(pickle.dumps(value, proto))
+                self.assertEqual(result, value, "protocol %d" % proto)
+                self.assertIs(type(result), type(value))
+
+    def test_shared_and_recursive(self):
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            shared = [1, 2]
+            result = pickle.loads(pickle.dumps([shared, shared], proto))
+            self.assertIs(result[0], result[1])
+            rec = []
+            rec.append(rec)
+            result = pickle.loads(pickle.dumps(rec, proto))
+            self.assertIs(result[0], result)
+            d = {}
+            d["self"] = d
+            result = pickle.loads(pickle.dumps(d, proto))
+            self.assertIs(result["self"], result)
+
+    def test_out_of_band_buffers(self):
+        data = bytearray(b"abcdef" * 1000)
+        buffers = []
+        s = pickle.dumps(pickle.PickleBuffer(data), 5, buffer_callback=buffers.append)
+        self.assertEqual(len(buffers), 1)
+        result = pickle.loads(s, buffers=buffers)
+        self.assertEqual(bytes(result), bytes(data))
+        with self.assertRaises(pickle.UnpicklingError):
+            pickle.loads(s)
+        with self.assertRaises(pickle.PicklingError):
+            pickle.dumps(pickle.PickleBuffer(data), 4)
+
+    def test_persistent_id(self):
+        import io
+
+        class P(pickle.Pickler):
+            def persistent_id(self, obj):
+                return "ref" if obj == "external" else None
+
+        class U(pickle.Unpickler):
+            def persistent_load(self, pid):
+                return "loaded-" + pid
+
+        f = io.BytesIO()
+        P(f, 2).dump(["external", "internal"])
+        f.seek(0)
+        self.assertEqual(U(f).load(), ["loaded-ref", "internal"])
+
+    def test_find_class_override(self):
+        import io
+
+        class U(pickle.Unpickler):
+            def find_class(self, module, name):
+                if name == "len":
+                    return "restricted"
+                return super().find_class(module, name)
+
+        self.assertEqual(U(io.BytesIO(pickle.dumps([len, 1]))).load(), ["restricted", 1])
+
+    def test_memo(self):
+        import io
+        f = io.BytesIO()
+        p = pickle.Pickler(f, 2)
+        obj = [1]
+        p.dump(obj)
+        self.assertEqual(len(p.memo.copy()), 1)
+        p.clear_memo()
+        self.assertEqual(len(p.memo.copy()), 0)
+
 if __name__ == '__main__':
     unittest.main()
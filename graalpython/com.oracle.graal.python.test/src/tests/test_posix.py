@@ -417,6 +417,74 @@ class WithTempFilesTests(unittest.TestCase):
             os.chmod(fd, orig_mode)
         self.assertEqual(orig_mode, os.stat(TEST_FULL_PATH1).st_mode & 0o777)
 
+    def test_pread_pwrite(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            self.assertEqual(5, os.pwrite(fd, b'hello', 3))
+            self.assertEqual(0, os.lseek(fd, 0, os.SEEK_CUR))
+            self.assertEqual(b'\x00\x00\x00hel', os.pread(fd, 6, 0))
+            self.assertEqual(b'lo', os.pread(fd, 100, 6))
+            self.assertEqual(b'', os.pread(fd, 10, 100))
+            self.assertEqual(0, os.lseek(fd, 0, os.SEEK_CUR))
+            self.assertRaises(OSError, os.pread, fd, -1, 0)
+
+    def test_readv_writev(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            self.assertEqual(9, os.writev(fd, [b'abc', bytearray(b'de'), memoryview(b'fghi')]))
+            os.lseek(fd, 0, os.SEEK_SET)
+            bufs = [bytearray(2), bytearray(4), bytearray(5)]
+            self.assertEqual(9, os.readv(fd, bufs))
+            self.assertEqual([b'ab', b'cdef', b'ghi\x00\x00'], bufs)
+            self.assertEqual(0, os.readv(fd, [bytearray(3)]))
+
+    def test_readv_bytearray_with_spare_capacity(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            os.write(fd, b'0123456789')
+            os.lseek(fd, 0, os.SEEK_SET)
+            # grow and then shrink the bytearrays, so that their storage is larger than their size
+            first = bytearray(1000)
+            del first[3:]
+            second = bytearray(1000)
+            del second[4:]
+            self.assertEqual(7, os.readv(fd, [first, second]))
+            self.assertEqual(b'012', first)
+            self.assertEqual(b'3456', second)
+            single = bytearray(1000)
+            del single[2:]
+            self.assertEqual(2, os.readv(fd, [single]))
+            self.assertEqual(b'78', single)
+
+    def test_sendfile(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            os.write(fd, b'0123456789')
+            r, w = os.pipe()
+            try:
+                self.assertEqual(4, os.sendfile(w, fd, 2, 4))
+                self.assertEqual(10, os.lseek(fd, 0, os.SEEK_CUR))
+                self.assertEqual(b'2345', os.read(r, 100))
+                os.lseek(fd, 7, os.SEEK_SET)
+                self.assertEqual(3, os.sendfile(w, fd, None, 100))
+                self.assertEqual(10, os.lseek(fd, 0, os.SEEK_CUR))
+                self.assertEqual(b'789', os.read(r, 100))
+            finally:
+                os.close(r)
+                os.close(w)
+
+    @unittest.skipUnless(sys.platform.startswith('linux'), 'copy_file_range is Linux only')
+    def test_copy_file_range(self):
+        dst_path = TEST_FULL_PATH1 + '.copy'
+        with open(TEST_FULL_PATH1, os.O_RDWR) as src:
+            os.write(src, b'0123456789')
+            with open(dst_path, os.O_RDWR | os.O_CREAT) as dst:
+                try:
+                    self.assertEqual(5, os.copy_file_range(src, dst, 5, 3, 2))
+                    self.assertEqual(b'\x00\x0034567', os.pread(dst, 100, 0))
+                    os.lseek(src, 0, os.SEEK_SET)
+                    self.assertEqual(2, os.copy_file_range(src, dst, 2))
+                    self.assertEqual(b'01', os.pread(dst, 2, 0))
+                    self.assertEqual(2, os.lseek(src, 0, os.SEEK_CUR))
+                finally:
+                    os.unlink(dst_path)
+
     @unittest.skipUnless(__graalpython__.posix_module_backend() != 'java' or sys.platform != 'darwin',
                          'TODO: issue with readlink on MacOS')
     def test_readlink(self):
@@ -488,3 +488,49 @@ class ReTests(unittest.TestCase):
             r"(//?| ==?)|([[]]+)")
         for m in regex.finditer(''):
             self.fail()
+
+    def test_match_object(self):
+        m = re.compile(r"(?P<a>\w)(?P<b>\d)?(x)").search("--ax--", 1, 5)
+        self.assertEqual(m.span(), (2, 4))
+        self.assertEqual(m.regs, ((2, 4), (2, 3), (-1, -1), (3, 4)))
+        self.assertEqual((m.pos, m.endpos), (1, 5))
+        self.assertEqual(m.groups(), ("a", None, "x"))
+        self.assertEqual(m.groups("-"), ("a", "-", "x"))
+        self.assertEqual(m.groupdict(), {"a": "a", "b": None})
+        self.assertEqual(m.group("a", 3), ("a", "x"))
+        self.assertEqual(m["b"], None)
+        self.assertEqual((m.lastindex, m.lastgroup), (3, None))
+        self.assertEqual(m.expand(r"\g<a>\3"), "ax")
+        self.assertEqual(repr(m), "<re.Match object; span=(2, 4), match='ax'>")
+        self.assertIs(m.re, re.compile(r"(?P<a>\w)(?P<b>\d)?(x)"))
+        self.assertRaises(IndexError, m.group, 4)
+        self.assertRaises(IndexError, m.group, "c")
+        self.assertRaises(TypeError, type(m))
+
+    def test_match_object_bytes(self):
+        data = bytearray(b"key=value")
+        m = re.match(rb"(\w+)=(\w+)", data)
+        self.assertTypedEqual(m.group(2), b"value")
+        self.assertIs(m.string, data)
+        self.assertEqual(re.findall(rb"(a)|(b)", b"ab"), [(b"a", b""), (b"", b"b")])
+
+    def test_sub_callable(self):
+        self.assertEqual(re.sub(r"\d", lambda m: None if m.group() == "1" else "#", "a1b2"), "ab#")
+        self.assertEqual(re.subn(rb"\d", lambda m: m.group() * 2, b"a1b2"), (b"a11b22", 2))
+        self.assertRaises(TypeError, re.sub, r"\d", lambda m: b"x", "a1")
+
+    @unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy specific")
+    def test_tregex_cache(self):
+        import _sre
+        import sre_compile
+        if not _sre._with_tregex:
+            return
+        pattern = r"tregex-cache-(\d+)"
+        sre_compile.compile(pattern, 0).search("tregex-cache-1")
+        before = _sre.tregex_cache_info()
+        # a new Pattern object for the same source reuses the compiled regex
+        self.assertEqual(sre_compile.compile(pattern, 0).search("tregex-cache-2").group(1), "2")
+        after = _sre.tregex_cache_info()
+        self.assertGreater(after["hits"], before["hits"])
+        self.assertEqual(after["misses"], before["misses"])
+        self.assertLessEqual(after["currsize"], after["maxsize"])
@@ -95,3 +95,78 @@ class SelectTests(unittest.TestCase):
             fds = [F(f.fileno()), F(stdout_fd), F(f.fileno())]
             res = select.select(fds, [], [], 1)
             assert res == ([fds[0], fds[2]], [], [])
+
+
+@unittest.skipUnless(hasattr(select, 'poll'), 'poll is not available')
+class PollTests(unittest.TestCase):
+    def test_poll_socketpair(self):
+        import socket
+        a, b = socket.socketpair()
+        try:
+            p = select.poll()
+            p.register(a, select.POLLIN)
+            assert p.poll(0) == []
+            b.send(b'x')
+            assert p.poll(1000) == [(a.fileno(), select.POLLIN)]
+            p.modify(a, select.POLLOUT)
+            assert p.poll(1000) == [(a.fileno(), select.POLLOUT)]
+            p.unregister(a)
+            assert p.poll(0) == []
+            self.assertRaises(KeyError, p.unregister, a)
+            self.assertRaises(OSError, p.modify, a, select.POLLIN)
+        finally:
+            a.close()
+            b.close()
+
+
+@unittest.skipUnless(hasattr(select, 'epoll'), 'epoll is not available')
+class EpollTests(unittest.TestCase):
+    def test_epoll_socketpair(self):
+        import socket
+        a, b = socket.socketpair()
+        try:
+            with select.epoll() as ep:
+                assert not ep.closed
+                assert isinstance(ep.fileno(), int)
+                ep.register(a.fileno(), select.EPOLLIN)
+                assert ep.poll(0) == []
+                b.send(b'x')
+                assert ep.poll(1) == [(a.fileno(), select.EPOLLIN)]
+                self.assertRaises(FileExistsError, ep.register, a.fileno(), select.EPOLLIN)
+                ep.modify(a.fileno(), select.EPOLLOUT)
+                assert ep.poll(1, maxevents=1) == [(a.fileno(), select.EPOLLOUT)]
+                ep.unregister(a.fileno())
+                assert ep.poll(0) == []
+                self.assertRaises(ValueError, ep.poll, 0, 0)
+            assert ep.closed
+            self.assertRaises(ValueError, ep.fileno)
+        finally:
+            a.close()
+            b.close()
+
+    def test_epoll_reregister_and_blocking_mode(self):
+        import socket
+        a, b = socket.socketpair()
+        try:
+            with select.epoll() as ep:
+                a.setblocking(False)
+                ep.register(a.fileno(), select.EPOLLIN | select.EPOLLONESHOT)
+                b.send(b'x')
+                assert ep.poll(1) == [(a.fileno(), select.EPOLLIN)]
+                # the one-shot registration is disabled until modified
+                assert ep.poll(0) == []
+                ep.modify(a.fileno(), select.EPOLLIN)
+                assert ep.poll(1) == [(a.fileno(), select.EPOLLIN)]
+                ep.unregister(a.fileno())
+                ep.register(a.fileno(), select.EPOLLIN)
+                assert ep.poll(1) == [(a.fileno(), select.EPOLLIN)]
+                # switching a registered socket to blocking mode keeps the registration
+                a.setblocking(True)
+                assert a.getblocking()
+                assert ep.poll(1) == [(a.fileno(), select.EPOLLIN)]
+                assert a.getblocking()
+                assert a.recv(1) == b'x'
+                assert ep.poll(0) == []
+        finally:
+            a.close()
+            b.close()
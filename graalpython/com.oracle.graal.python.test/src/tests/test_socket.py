@@ -65,3 +65,16 @@ def test_get_name_info():
     except TypeError:
         raised = True
     assert raised
+
+
+def test_recv_into_memoryview_slice():
+    a, b = socket.socketpair()
+    try:
+        a.sendall(b'abcdef')
+        buf = bytearray(8)
+        # a slice with an offset is not backed directly by a byte array
+        assert b.recv_into(memoryview(buf)[1:7]) == 6
+        assert buf == b'\x00abcdef\x00'
+    finally:
+        a.close()
+        b.close()
@@ -3,8 +3,12 @@
 #
 # Licensed under the PYTHON SOFTWARE FOUNDATION LICENSE VERSION 2
 # Test of a sorted() written in Python
+import builtins
 import unittest
 
+builtins_sorted = builtins.sorted
+
+
 def sorted(iterable):
     result = list(iterable)
 
@@ -45,3 +49,38 @@ class TestSorted(unittest.TestCase):
 
         # Use eval to get the fast path specialization
         self.assertEqual(eval("sorted(MyList())", {"MyList": MyList}), [2, 4, 5])
+
+    def test_large_lists(self):
+        # large enough to take the parallel sort path for primitive and string storages
+        n = 100003
+        ints = [(i * 7919) % n for i in range(n)]
+        floats = [x / 2 for x in ints]
+        strings = ["%07d" % x for x in ints]
+        for lst, expected in ((ints, list(range(n))), (floats, [x / 2 for x in range(n)]), (strings, ["%07d" % x for x in range(n)])):
+            l = list(lst)
+            l.sort()
+            self.assertEqual(l, expected)
+            l = list(lst)
+            l.sort(reverse=True)
+            self.assertEqual(l, expected[::-1])
+        l = [1 << 40, -1] * (n // 2)
+        l.sort()
+        self.assertEqual(l, [-1] * (n // 2) + [1 << 40] * (n // 2))
+
+    def test_primitive_keys_stable(self):
+        data = [(i % 7, i) for i in range(200)]
+        for reverse in (False, True):
+            # equal keys keep their original order also when reversed
+            expected = builtins_sorted(data, key=lambda t: (-t[0] if reverse else t[0], t[1]))
+            self.assertEqual(builtins_sorted(data, key=lambda t: t[0], reverse=reverse), expected)
+            self.assertEqual(builtins_sorted(data, key=lambda t: float(t[0]), reverse=reverse), expected)
+            self.assertEqual(builtins_sorted(data, key=lambda t: str(t[0]), reverse=reverse), expected)
+            self.assertEqual([t[1] for t in expected[:3]], [6, 13, 20] if reverse else [0, 7, 14])
+        # ints and bools are both converted to integer keys
+        self.assertEqual(builtins_sorted([2, True, 0, False, -1], key=lambda x: x), [-1, 0, False, True, 2])
+        # -0.0 and 0.0 are equal keys
+        self.assertEqual(builtins_sorted([0.0, -0.0, 1.0, -0.0], key=lambda x: x), [0.0, -0.0, -0.0, 1.0])
+        # mixed key types fall back to rich comparison
+        self.assertEqual(builtins_sorted([3, 1.5, 2, 0.5], key=lambda x: x), [0.5, 1.5, 2, 3])
+        self.assertEqual(builtins_sorted(["b", "a", "ab"], key=len, reverse=True), ["ab", "b", "a"])
+        self.assertEqual(builtins_sorted([1 << 70, 1, -(1 << 70)], key=lambda x: x), [-(1 << 70), 1, 1 << 70])
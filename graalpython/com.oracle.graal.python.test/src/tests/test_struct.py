@@ -261,6 +261,24 @@ def test_iter_unpack():
     assert lh(it) == 0
 
 
+def test_iter_unpack_abandoned_releases_buffer():
+    import gc
+    import time
+    b = bytearray(range(16))
+    it = struct.iter_unpack('>I', b)
+    assert next(it) == (0x00010203,)
+    del it
+    # the export is only dropped once the collected iterator's buffer is released
+    for i in range(1000):
+        try:
+            b.append(16)
+            break
+        except BufferError:
+            gc.collect()
+            time.sleep(0.001)
+    assert len(b) == 17
+
+
 def test_pack_varargs():
     assert struct.Struct(">B").pack(3) == b'\x03'
     raised = False
@@ -269,3 +287,115 @@ def test_pack_varargs():
     except TypeError:
         raised = True
     assert raised
+
+
+def test_native_alignment():
+    assert struct.calcsize('@bi') == 8
+    assert struct.calcsize('=bi') == 5
+    assert struct.calcsize('@ib') == 5
+    assert struct.calcsize('@bq') == 16
+    assert struct.calcsize('@b0q') == 8
+    assert struct.calcsize('<2h x') == 5
+    assert struct.pack('@bi', 1, 2) == struct.pack('=b3xi', 1, 2)
+
+
+def test_format_errors():
+    for fmt in ('z', '<n', '>P', '3', 'i3', '2 i', 'i\0'):
+        assert_raises(struct.error, struct.calcsize, fmt)
+    assert_raises(TypeError, struct.calcsize, 1)
+    assert_raises(TypeError, struct.Struct, bytearray(b'i'))
+
+
+def test_range_errors():
+    for fmt, value in (('<b', 128), ('<b', -129), ('<B', -1), ('<B', 256), ('<h', 2**15), ('<H', 2**16),
+                       ('<i', 2**31), ('<I', 2**32), ('<q', 2**63), ('<Q', 2**64), ('<Q', -1),
+                       ('b', 128), ('B', 256), ('h', -2**15 - 1), ('H', -1)):
+        assert_raises(struct.error, struct.pack, fmt, value)
+    assert_raises(struct.error, struct.pack, '<i', 1.5)
+    assert_raises(struct.error, struct.pack, '<d', 'x')
+    assert_raises(struct.error, struct.pack, '<c', b'ab')
+    assert_raises(struct.error, struct.pack, '<s', 'x')
+    assert_raises(OverflowError, struct.pack, '<f', 1e300)
+    assert struct.pack('<f', float('inf')) == b'\x00\x00\x80\x7f'
+    assert struct.pack('<q', -2**63) == b'\x00' * 7 + b'\x80'
+    assert struct.pack('<Q', 2**64 - 1) == b'\xff' * 8
+
+
+def test_index_and_float_conversion():
+    class Idx:
+        def __index__(self):
+            return 42
+
+    class Flt:
+        def __float__(self):
+            return 1.5
+
+    assert struct.unpack('<i', struct.pack('<i', Idx())) == (42,)
+    assert struct.unpack('<d', struct.pack('<d', Flt())) == (1.5,)
+    assert struct.unpack('<d', struct.pack('<d', 3)) == (3.0,)
+    assert struct.unpack('<?', struct.pack('<?', Idx())) == (True,)
+
+
+def test_item_count_errors():
+    assert_raises(struct.error, struct.pack, '<2i', 1)
+    assert_raises(struct.error, struct.pack, '<2i', 1, 2, 3)
+    assert_raises(struct.error, struct.pack_into, '<2i', bytearray(8), 0, 1)
+    assert_raises(struct.error, struct.unpack, '<i', b'123')
+    assert_raises(struct.error, struct.unpack, '<i', b'12345')
+
+
+def test_offsets():
+    buf = bytearray(8)
+    struct.pack_into('<h', buf, -2, 0x0102)
+    assert buf == bytearray(b'\0' * 6 + b'\x02\x01')
+    assert struct.unpack_from('<h', buf, -2) == (0x0102,)
+    assert_raises(struct.error, struct.pack_into, '<h', buf, -1, 1)
+    assert_raises(struct.error, struct.pack_into, '<h', buf, -10, 1)
+    assert_raises(struct.error, struct.unpack_from, '<h', buf, -10)
+    assert_raises(struct.error, struct.unpack_from, '<h', buf, 7)
+
+
+def test_memoryview():
+    data = bytes(range(16))
+    view = memoryview(data)[4:12]
+    assert struct.unpack_from('<I', view, 2) == (0x09080706,)
+    assert struct.unpack('<Q', view) == (0x0b0a090807060504,)
+    assert list(struct.iter_unpack('<H', view)) == [(0x0504,), (0x0706,), (0x0908,), (0x0b0a,)]
+    target = bytearray(16)
+    struct.pack_into('<I', memoryview(target)[8:], 0, 0x01020304)
+    assert target == bytearray(8) + b'\x04\x03\x02\x01' + bytearray(4)
+    assert_raises(TypeError, struct.pack_into, '<I', b'immutable', 0, 1)
+
+
+def test_struct_object():
+    s = struct.Struct(b'<ih')
+    assert s.format == '<ih'
+    assert s.size == 6
+    s.__init__('>q')
+    assert s.format == '>q'
+    assert s.size == 8
+    assert s.unpack(s.pack(-5)) == (-5,)
+
+    class MyStruct(struct.Struct):
+        def __init__(self, count):
+            super().__init__('<%di' % count)
+
+    assert MyStruct(3).unpack(bytes(12)) == (0, 0, 0)
+
+
+def test_cache():
+    fmts = ['<%di' % i for i in range(300)]
+    for _ in range(2):
+        for fmt in fmts:
+            assert struct.calcsize(fmt) == 4 * int(fmt[1:-1])
+    struct._clearcache()
+    assert struct.pack('<i', 1) == b'\x01\0\0\0'
+
+
+def test_strings():
+    assert struct.pack('<3s', bytearray(b'abcdef')) == b'abc'
+    assert struct.pack('<5p', b'abcdef') == b'\x04abcd'
+    assert struct.unpack('<5p', b'\x02abcd') == (b'ab',)
+    assert struct.unpack('<5p', b'\x09abcd') == (b'abcd',)
+    assert struct.unpack('<0s', b'') == (b'',)
+    assert struct.unpack('<2c?', b'ab\x02') == (b'a', b'b', True)
@@ -512,3 +512,13 @@ if syscfg.get_config_var('WITH_THREAD'):
             lock.release()
             self.assertFalse(lock.locked())
             self.assertTrue(lock.acquire(blocking=False))
+
+
+def test_switchinterval():
+    old = sys.getswitchinterval()
+    assert abs(old - 0.005) < 1e-9, old
+    try:
+        sys.setswitchinterval(0.001)
+        assert abs(sys.getswitchinterval() - 0.001) < 1e-9
+    finally:
+        sys.setswitchinterval(old)
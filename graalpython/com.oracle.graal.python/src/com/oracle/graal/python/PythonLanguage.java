@@ -59,6 +59,7 @@ import com.oracle.graal.python.builtins.objects.frame.PFrame;
 import com.oracle.graal.python.builtins.objects.function.BuiltinMethodDescriptor;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.sre.TRegexCache;
 import com.oracle.graal.python.builtins.objects.type.MroShape;
 import com.oracle.graal.python.builtins.objects.type.PythonAbstractClass;
 import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
@@ -801,6 +802,17 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         singleContext = false;
     }
 
+    /** Compiled TRegex regexes, created lazily because the size is an engine option. */
+    private TRegexCache tregexCache;
+
+    @TruffleBoundary
+    public synchronized TRegexCache getTRegexCache() {
+        if (tregexCache == null) {
+            tregexCache = new TRegexCache(getEngineOption(PythonOptions.TRegexCacheSize));
+        }
+        return tregexCache;
+    }
+
     private final ConcurrentHashMap<TruffleString, CallTarget> cachedCode = new ConcurrentHashMap<>();
 
     @TruffleBoundary
@@ -155,6 +155,7 @@ import com.oracle.graal.python.builtins.modules.cext.PythonCextTupleBuiltins;
 import com.oracle.graal.python.builtins.modules.cext.PythonCextTypeBuiltins;
 import com.oracle.graal.python.builtins.modules.cext.PythonCextUnicodeBuiltins;
 import com.oracle.graal.python.builtins.modules.cext.PythonCextWarnBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.CSVBulkReaderBuiltins;
 import com.oracle.graal.python.builtins.modules.csv.CSVDialectBuiltins;
 import com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.csv.CSVReaderBuiltins;
@@ -178,6 +179,12 @@ import com.oracle.graal.python.builtins.modules.ctypes.StgDictBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.StructUnionTypeBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.StructureBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.UnionTypeBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.DigestObjectBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.Md5ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.Sha1ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.Sha256ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.Sha3ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.Sha512ModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIOBaseBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIOMixinBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedRWPairBuiltins;
@@ -199,9 +206,18 @@ import com.oracle.graal.python.builtins.modules.io.TextIOWrapperBuiltins;
 import com.oracle.graal.python.builtins.modules.json.JSONEncoderBuiltins;
 import com.oracle.graal.python.builtins.modules.json.JSONModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONStreamIteratorBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMACompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMADecompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PickleBufferBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PickleMemoProxyBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PickleModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PicklerBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.UnpicklerBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructUnpackIteratorBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZlibCompressBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZlibDecompressBuiltins;
@@ -310,11 +326,14 @@ import com.oracle.graal.python.builtins.objects.random.RandomBuiltins;
 import com.oracle.graal.python.builtins.objects.range.RangeBuiltins;
 import com.oracle.graal.python.builtins.objects.referencetype.ReferenceTypeBuiltins;
 import com.oracle.graal.python.builtins.objects.reversed.ReversedBuiltins;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltins;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltins;
 import com.oracle.graal.python.builtins.objects.set.BaseSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.FrozenSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltins;
 import com.oracle.graal.python.builtins.objects.slice.SliceBuiltins;
 import com.oracle.graal.python.builtins.objects.socket.SocketBuiltins;
+import com.oracle.graal.python.builtins.objects.sre.MatchBuiltins;
 import com.oracle.graal.python.builtins.objects.ssl.MemoryBIOBuiltins;
 import com.oracle.graal.python.builtins.objects.ssl.SSLContextBuiltins;
 import com.oracle.graal.python.builtins.objects.ssl.SSLErrorBuiltins;
@@ -388,8 +407,7 @@ public abstract class Python3Core {
                         toTruffleStringUncached("_sysconfig"),
                         PythonOptions.WITHOUT_COMPRESSION_LIBRARIES ? null : toTruffleStringUncached("zipimport"),
                         toTruffleStringUncached("java"),
-                        toTruffleStringUncached("pip_hook"),
-                        toTruffleStringUncached("_struct")));
+                        toTruffleStringUncached("pip_hook")));
         // add service loader defined python file extensions
         if (!ImageInfo.inImageRuntimeCode()) {
             ServiceLoader<PythonBuiltins> providers = ServiceLoader.load(PythonBuiltins.class, Python3Core.class.getClassLoader());
@@ -611,8 +629,19 @@ public abstract class Python3Core {
                         new CSVModuleBuiltins(),
                         new JSONModuleBuiltins(),
                         new SREModuleBuiltins(),
+                        new MatchBuiltins(),
+                        new StructModuleBuiltins(),
+                        new StructBuiltins(),
+                        new StructUnpackIteratorBuiltins(),
+                        new PickleModuleBuiltins(),
+                        new PicklerBuiltins(),
+                        new UnpicklerBuiltins(),
+                        new PickleBufferBuiltins(),
+                        new PickleMemoProxyBuiltins(),
                         new AstModuleBuiltins(),
                         PythonOptions.WITHOUT_NATIVE_POSIX && PythonOptions.WITHOUT_JAVA_INET ? null : new SelectModuleBuiltins(),
+                        PythonOptions.WITHOUT_NATIVE_POSIX && PythonOptions.WITHOUT_JAVA_INET ? null : new PollBuiltins(),
+                        PythonOptions.WITHOUT_NATIVE_POSIX && PythonOptions.WITHOUT_JAVA_INET ? null : new EpollBuiltins(),
                         PythonOptions.WITHOUT_NATIVE_POSIX && PythonOptions.WITHOUT_JAVA_INET ? null : new SocketModuleBuiltins(),
                         PythonOptions.WITHOUT_NATIVE_POSIX && PythonOptions.WITHOUT_JAVA_INET ? null : new SocketBuiltins(),
                         PythonOptions.WITHOUT_PLATFORM_ACCESS ? null : new SignalModuleBuiltins(),
@@ -666,6 +695,14 @@ public abstract class Python3Core {
                         PythonOptions.WITHOUT_COMPRESSION_LIBRARIES ? null : new ZlibCompressBuiltins(),
                         PythonOptions.WITHOUT_COMPRESSION_LIBRARIES ? null : new ZlibDecompressBuiltins(),
 
+                        // hashlib
+                        new Md5ModuleBuiltins(),
+                        new Sha1ModuleBuiltins(),
+                        new Sha256ModuleBuiltins(),
+                        new Sha512ModuleBuiltins(),
+                        new Sha3ModuleBuiltins(),
+                        new DigestObjectBuiltins(),
+
                         new MMapModuleBuiltins(),
                         new FcntlModuleBuiltins(),
                         new MMapBuiltins(),
@@ -693,10 +730,12 @@ public abstract class Python3Core {
                         // json
                         new JSONScannerBuiltins(),
                         new JSONEncoderBuiltins(),
+                        new JSONStreamIteratorBuiltins(),
 
                         // csv
                         new CSVDialectBuiltins(),
                         new CSVReaderBuiltins(),
+                        new CSVBulkReaderBuiltins(),
                         new CSVWriterBuiltins(),
 
                         // _ast
@@ -782,7 +821,8 @@ public abstract class Python3Core {
     public static class SysModuleState {
         private int recursionLimit = ImageInfo.inImageCode() ? NATIVE_REC_LIM : REC_LIM;
         private int checkInterval = 100;
-        private double switchInterval = 0.005;
+        // in microseconds, see sys.setswitchinterval
+        private double switchInterval = 5000;
 
         public int getRecursionLimit() {
             return recursionLimit;
@@ -135,6 +135,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PMemoryView("memoryview", J_BUILTINS, Flags.PUBLIC_DERIVED_WODICT),
     PMethod("method", Flags.PRIVATE_DERIVED_WODICT),
     PMMap("mmap", "mmap"),
+    PPoll("poll", null, "select", Flags.PRIVATE_DERIVED_WODICT),
+    PEpoll("epoll", "select"),
+    PMatch("Match", null, "re", Flags.PUBLIC_DERIVED_WODICT),
     PNone("NoneType", Flags.PRIVATE_DERIVED_WODICT),
     PNotImplemented("NotImplementedType", Flags.PRIVATE_DERIVED_WODICT),
     PProperty(J_PROPERTY, J_BUILTINS, Flags.PUBLIC_BASE_WODICT),
@@ -176,10 +179,10 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PStruct("Struct", J__STRUCT),
     PStructUnpackIterator("unpack_iterator", J__STRUCT),
     Pickler("Pickler", "_pickle"),
-    PicklerMemoProxy("PicklerMemoProxy", "_pickle"),
-    UnpicklerMemoProxy("UnpicklerMemoProxy", "_pickle"),
+    PicklerMemoProxy("PicklerMemoProxy", "_pickle", Flags.PRIVATE_DERIVED_WODICT),
+    UnpicklerMemoProxy("UnpicklerMemoProxy", "_pickle", Flags.PRIVATE_DERIVED_WODICT),
     Unpickler("Unpickler", "_pickle"),
-    PickleBuffer("PickleBuffer", "_pickle"),
+    PickleBuffer("PickleBuffer", "_pickle", Flags.PUBLIC_DERIVED_WODICT),
 
     // bz2
     BZ2Compressor("BZ2Compressor", "_bz2"),
@@ -193,6 +196,18 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZlibCompress("Compress", "zlib"),
     ZlibDecompress("Decompress", "zlib"),
 
+    // hashlib
+    MD5Type("MD5Type", "_md5", Flags.PUBLIC_DERIVED_WODICT),
+    SHA1Type("SHA1Type", "_sha1", Flags.PUBLIC_DERIVED_WODICT),
+    SHA224Type("SHA224Type", "_sha256", Flags.PUBLIC_DERIVED_WODICT),
+    SHA256Type("SHA256Type", "_sha256", Flags.PUBLIC_DERIVED_WODICT),
+    SHA384Type("SHA384Type", "_sha512", Flags.PUBLIC_DERIVED_WODICT),
+    SHA512Type("SHA512Type", "_sha512", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_224Type("sha3_224", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_256Type("sha3_256", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_384Type("sha3_384", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_512Type("sha3_512", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+
     // io
     PIOBase("_IOBase", "_io", Flags.PUBLIC_BASE_WDICT),
     PRawIOBase("_RawIOBase", "_io"),
@@ -255,10 +270,12 @@ public enum PythonBuiltinClassType implements TruffleObject {
     // json
     JSONScanner("Scanner", "_json", Flags.PUBLIC_BASE_WODICT),
     JSONEncoder("Encoder", "_json", Flags.PUBLIC_BASE_WODICT),
+    JSONStreamIterator("StreamIterator", "_json", Flags.PRIVATE_DERIVED_WODICT),
 
     // csv
     CSVDialect("Dialect", "_csv", Flags.PUBLIC_BASE_WODICT),
     CSVReader("Reader", "_csv", Flags.PUBLIC_BASE_WODICT),
+    CSVBulkReader("BulkReader", "_csv", Flags.PUBLIC_BASE_WODICT),
     CSVWriter("Writer", "_csv", Flags.PUBLIC_BASE_WODICT),
 
     // _ast (rest of the classes are not builtin, they are generated in AstModuleBuiltins)
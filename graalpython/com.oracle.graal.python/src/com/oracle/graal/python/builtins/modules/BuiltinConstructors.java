@@ -1186,11 +1186,14 @@ public final class BuiltinConstructors extends PythonBuiltins {
             checkMaxDigits(context, s.length(), base);
 
             BigInteger bi;
-            if (sign == '-') {
-                bi = new BigInteger("-" + s, base);
+            if (base == 10) {
+                bi = PInt.parseDecimal(s);
             } else {
                 bi = new BigInteger(s, base);
             }
+            if (sign == '-') {
+                bi = bi.negate();
+            }
 
             if (raiseIfNotZero && !bi.equals(BigInteger.ZERO)) {
                 throw new NumberFormatException("Obsolete octal int literal");
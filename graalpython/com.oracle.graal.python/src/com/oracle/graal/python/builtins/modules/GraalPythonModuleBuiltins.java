@@ -115,12 +115,14 @@ import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.GilStatistics;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonExitException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CallTarget;
@@ -627,6 +629,43 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "get_gil_stats", minNumOfPositionalArgs = 0, doc = "Returns a list with a dict of GIL wait and hold time statistics per live thread.\n" +
+                    "The histograms use power-of-two buckets in microseconds. Requires the GilStatistics option.")
+    @GenerateNodeFactory
+    public abstract static class GetGilStatsNode extends PythonBuiltinNode {
+        private static final TruffleString T_THREAD_ID = tsLiteral("thread_id");
+        private static final TruffleString T_NAME = tsLiteral("name");
+        private static final TruffleString T_ACQUISITIONS = tsLiteral("acquisitions");
+        private static final TruffleString T_WAIT_TOTAL_NS = tsLiteral("wait_total_ns");
+        private static final TruffleString T_HOLD_TOTAL_NS = tsLiteral("hold_total_ns");
+        private static final TruffleString T_WAIT_HISTOGRAM = tsLiteral("wait_histogram");
+        private static final TruffleString T_HOLD_HISTOGRAM = tsLiteral("hold_histogram");
+
+        @Specialization
+        @TruffleBoundary
+        Object getStats() {
+            PythonContext context = getContext();
+            if (!context.isGilStatisticsEnabled()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.GIL_STATISTICS_NOT_ENABLED);
+            }
+            List<GilStatistics> allStats = context.getGilStatistics();
+            Object[] result = new Object[allStats.size()];
+            for (int i = 0; i < result.length; i++) {
+                GilStatistics stats = allStats.get(i);
+                EconomicMapStorage storage = EconomicMapStorage.create(7);
+                storage.putUncached(T_THREAD_ID, stats.getThreadId());
+                storage.putUncached(T_NAME, toTruffleStringUncached(stats.getThreadName()));
+                storage.putUncached(T_ACQUISITIONS, stats.getAcquisitions());
+                storage.putUncached(T_WAIT_TOTAL_NS, stats.getTotalWaitNanos());
+                storage.putUncached(T_HOLD_TOTAL_NS, stats.getTotalHoldNanos());
+                storage.putUncached(T_WAIT_HISTOGRAM, factory().createList(new LongSequenceStorage(stats.getWaitHistogram())));
+                storage.putUncached(T_HOLD_HISTOGRAM, factory().createList(new LongSequenceStorage(stats.getHoldHistogram())));
+                result[i] = factory().createDict(storage);
+            }
+            return factory().createList(result);
+        }
+    }
+
     // Internal builtin used for testing: changes strategy of newly allocated set or map
     @Builtin(name = "set_storage_strategy", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
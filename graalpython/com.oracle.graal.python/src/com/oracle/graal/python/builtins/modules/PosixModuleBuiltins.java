@@ -64,6 +64,7 @@ import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes.LenNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetItemNode;
@@ -90,6 +91,7 @@ import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
 import com.oracle.graal.python.nodes.expression.BinaryOpNode;
@@ -97,6 +99,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
@@ -673,6 +676,32 @@ public class PosixModuleBuiltins extends PythonBuiltins {
                 gil.acquire();
             }
         }
+
+        /**
+         * Like {@link #read}, but stores the data directly into {@code buf} at {@code offset}.
+         * Returns the number of bytes read.
+         */
+        public int readInto(int fd, byte[] buf, int offset, int len,
+                        PosixSupportLibrary posixLib,
+                        BranchProfile errorProfile, GilNode gil) throws PosixException {
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        return posixLib.readInto(getPosixSupport(), fd, buf, offset, len);
+                    } catch (PosixException e) {
+                        errorProfile.enter();
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            PythonContext.triggerAsyncActions(this);
+                        } else {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                gil.acquire();
+            }
+        }
     }
 
     @Builtin(name = "write", minNumOfPositionalArgs = 2, parameterNames = {"fd", "data"})
@@ -725,6 +754,317 @@ public class PosixModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "pread", minNumOfPositionalArgs = 3, parameterNames = {"fd", "length", "offset"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "length", conversion = ClinicConversion.Index)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @GenerateNodeFactory
+    public abstract static class PreadNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PreadNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PBytes pread(VirtualFrame frame, int fd, int length, long offset,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            if (length < 0) {
+                int error = OSErrorEnum.EINVAL.getNumber();
+                throw raiseOSError(frame, error, posixLib.strerror(getPosixSupport(), error));
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            Buffer result = posixLib.pread(getPosixSupport(), fd, length, offset);
+                            return factory().createBytes(result.data, 0, (int) result.length);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "pwrite", minNumOfPositionalArgs = 3, parameterNames = {"fd", "data", "offset"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "data", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @GenerateNodeFactory
+    public abstract static class PwriteNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PwriteNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        long pwrite(VirtualFrame frame, int fd, Object dataBuffer, long offset,
+                        @CachedLibrary("dataBuffer") PythonBufferAccessLibrary bufferLib,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            try {
+                Buffer data = new Buffer(bufferLib.getInternalOrCopiedByteArray(dataBuffer), bufferLib.getBufferLength(dataBuffer));
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.pwrite(getPosixSupport(), fd, data, offset);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                bufferLib.release(dataBuffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "readv", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class ReadvNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.ReadvNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long readv(VirtualFrame frame, int fd, Object buffers,
+                        @Cached FastConstructListNode constructListNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            Object[] targets = getObjectArrayNode.execute(constructListNode.execute(frame, buffers));
+            Object[] acquired = new Object[targets.length];
+            int acquiredCount = 0;
+            try {
+                Buffer[] data = new Buffer[targets.length];
+                for (int i = 0; i < targets.length; i++) {
+                    acquired[i] = acquireLib.acquireWritable(targets[i], frame, this);
+                    acquiredCount++;
+                    // read directly into the backing array when there is one
+                    Object buffer = acquired[i];
+                    int len = bufferLib.getBufferLength(buffer);
+                    data[i] = new Buffer(bufferLib.hasInternalByteArray(buffer) ? bufferLib.getInternalByteArray(buffer) : new byte[len], len);
+                }
+                long result;
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            result = posixLib.readv(getPosixSupport(), fd, data);
+                            break;
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+                for (int i = 0; i < data.length; i++) {
+                    if (!bufferLib.hasInternalByteArray(acquired[i])) {
+                        bufferLib.writeFromByteArray(acquired[i], 0, data[i].data, 0, (int) data[i].length);
+                    }
+                }
+                return result;
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                for (int i = 0; i < acquiredCount; i++) {
+                    bufferLib.release(acquired[i], frame, this);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "writev", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    public abstract static class WritevNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.WritevNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long writev(VirtualFrame frame, int fd, Object buffers,
+                        @Cached FastConstructListNode constructListNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            Object[] sources = getObjectArrayNode.execute(constructListNode.execute(frame, buffers));
+            Object[] acquired = new Object[sources.length];
+            int acquiredCount = 0;
+            try {
+                Buffer[] data = new Buffer[sources.length];
+                for (int i = 0; i < sources.length; i++) {
+                    acquired[i] = acquireLib.acquireReadonly(sources[i], frame, this);
+                    acquiredCount++;
+                    data[i] = new Buffer(bufferLib.getInternalOrCopiedByteArray(acquired[i]), bufferLib.getBufferLength(acquired[i]));
+                }
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.writev(getPosixSupport(), fd, data);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                for (int i = 0; i < acquiredCount; i++) {
+                    bufferLib.release(acquired[i], frame, this);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "sendfile", minNumOfPositionalArgs = 4, parameterNames = {"out_fd", "in_fd", "offset", "count"})
+    @ArgumentClinic(name = "out_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "in_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.Index)
+    @GenerateNodeFactory
+    public abstract static class SendfileNode extends PythonQuaternaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.SendfileNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long sendfile(VirtualFrame frame, int outFd, int inFd, Object offsetObj, int count,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            // None means that the current offset of in_fd is used and updated
+            long offset = PGuards.isPNone(offsetObj) ? -1 : asLongNode.execute(frame, offsetObj);
+            if ((offset < 0 && !PGuards.isPNone(offsetObj)) || count < 0) {
+                int error = OSErrorEnum.EINVAL.getNumber();
+                throw raiseOSError(frame, error, posixLib.strerror(getPosixSupport(), error));
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.sendfile(getPosixSupport(), outFd, inFd, offset, count);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "copy_file_range", minNumOfPositionalArgs = 3, parameterNames = {"src", "dst", "count", "offset_src", "offset_dst"})
+    @ArgumentClinic(name = "src", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "dst", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.Index)
+    @GenerateNodeFactory
+    public abstract static class CopyFileRangeNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.CopyFileRangeNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long copyFileRange(VirtualFrame frame, int src, int dst, int count, Object offsetSrcObj, Object offsetDstObj,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            // None means that the current offset of the file is used and updated
+            long offsetSrc = PGuards.isPNone(offsetSrcObj) ? -1 : asLongNode.execute(frame, offsetSrcObj);
+            long offsetDst = PGuards.isPNone(offsetDstObj) ? -1 : asLongNode.execute(frame, offsetDstObj);
+            if ((offsetSrc < 0 && !PGuards.isPNone(offsetSrcObj)) || (offsetDst < 0 && !PGuards.isPNone(offsetDstObj)) || count < 0) {
+                int error = OSErrorEnum.EINVAL.getNumber();
+                throw raiseOSError(frame, error, posixLib.strerror(getPosixSupport(), error));
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.copyFileRange(getPosixSupport(), src, offsetSrc, dst, offsetDst, count);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                PythonContext.triggerAsyncActions(this);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
     @Builtin(name = "dup", minNumOfPositionalArgs = 1, parameterNames = {"fd"})
     @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
     @GenerateNodeFactory
@@ -47,9 +47,12 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueErr
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
@@ -57,10 +60,17 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.sre.PMatch;
+import com.oracle.graal.python.builtins.objects.sre.TRegexCache;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.BufferToTruffleStringNode;
 import com.oracle.graal.python.nodes.util.CannotCastException;
@@ -69,6 +79,8 @@ import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ArrayBuilder;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -81,9 +93,11 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.ExceptionType;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.Source;
@@ -94,6 +108,14 @@ import com.oracle.truffle.api.strings.TruffleStringBuilder;
 
 @CoreFunctions(defineModule = "_sre")
 public class SREModuleBuiltins extends PythonBuiltins {
+
+    private static final String J_EXEC = "exec";
+    private static final String J_IS_MATCH = "isMatch";
+    private static final String J_LAST_GROUP = "lastGroup";
+    private static final String J_GET_START = "getStart";
+    private static final String J_GET_END = "getEnd";
+    private static final String J_GROUP_COUNT = "groupCount";
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return SREModuleBuiltinsFactory.getFactories();
@@ -112,9 +134,9 @@ public class SREModuleBuiltins extends PythonBuiltins {
         private static final TruffleString T_ENCODING_UTF_32 = tsLiteral("Encoding=UTF-32");
         private static final TruffleString T_ENCODING_LATIN_1 = tsLiteral("Encoding=LATIN-1");
 
-        public abstract Source execute(VirtualFrame frame, Object pattern, TruffleString flags, TruffleString options);
+        public abstract String execute(VirtualFrame frame, Object pattern, TruffleString flags, TruffleString options);
 
-        private static Source constructRegexSource(TruffleString encoding, TruffleString options, TruffleString pattern, TruffleString flags, ConditionProfile nonEmptyOptionsProfile,
+        private static String constructRegexSource(TruffleString encoding, TruffleString options, TruffleString pattern, TruffleString flags, ConditionProfile nonEmptyOptionsProfile,
                         TruffleStringBuilder.AppendStringNode appendStringNode, TruffleStringBuilder.ToStringNode toStringNode, TruffleString.ToJavaStringNode toJavaStringNode) {
             TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
             appendStringNode.execute(sb, T_FLAVOR_PYTHON);
@@ -128,16 +150,11 @@ public class SREModuleBuiltins extends PythonBuiltins {
             appendStringNode.execute(sb, pattern);
             appendStringNode.execute(sb, T_SLASH);
             appendStringNode.execute(sb, flags);
-            return createSourceBoundary(toJavaStringNode.execute(toStringNode.execute(sb)));
-        }
-
-        @TruffleBoundary
-        private static Source createSourceBoundary(String regexSourceStr) {
-            return Source.newBuilder("regex", regexSourceStr, "re").mimeType("application/tregex").internal(true).build();
+            return toJavaStringNode.execute(toStringNode.execute(sb));
         }
 
         @Specialization
-        protected Source doString(TruffleString pattern, TruffleString flags, TruffleString options,
+        protected String doString(TruffleString pattern, TruffleString flags, TruffleString options,
                         @Shared("nonEmptyOptions") @Cached ConditionProfile nonEmptyOptionsProfile,
                         @Shared("appendStr") @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
                         @Shared("toString") @Cached TruffleStringBuilder.ToStringNode toStringNode,
@@ -146,7 +163,7 @@ public class SREModuleBuiltins extends PythonBuiltins {
         }
 
         @Specialization
-        protected Source doGeneric(VirtualFrame frame, Object pattern, TruffleString flags, TruffleString options,
+        protected String doGeneric(VirtualFrame frame, Object pattern, TruffleString flags, TruffleString options,
                         @Shared("nonEmptyOptions") @Cached ConditionProfile nonEmptyOptionsProfile,
                         @Shared("appendStr") @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
                         @Shared("toString") @Cached TruffleStringBuilder.ToStringNode toStringNode,
@@ -186,6 +203,7 @@ public class SREModuleBuiltins extends PythonBuiltins {
                         @Cached BranchProfile potentialSyntaxError,
                         @Cached BranchProfile syntaxError,
                         @Cached BranchProfile unsupportedRegexError,
+                        @Cached BranchProfile cacheMiss,
                         @Cached CastToTruffleStringNode flagsToStringNode,
                         @Cached CastToTruffleStringNode optionsToStringNode,
                         @Cached ToRegexSourceNode toRegexSourceNode,
@@ -195,9 +213,18 @@ public class SREModuleBuiltins extends PythonBuiltins {
             try {
                 TruffleString flagsStr = flagsToStringNode.execute(flags);
                 TruffleString optionsStr = optionsToStringNode.execute(options);
-                Source regexSource = toRegexSourceNode.execute(frame, pattern, flagsStr, optionsStr);
-                Object compiledRegex = getContext().getEnv().parseInternal(regexSource).call();
-                if (compiledRegexLib.isNull(compiledRegex)) {
+                String regexSource = toRegexSourceNode.execute(frame, pattern, flagsStr, optionsStr);
+                TRegexCache cache = getLanguage().getTRegexCache();
+                Object compiledRegex = cache.get(regexSource);
+                if (compiledRegex == null) {
+                    cacheMiss.enter();
+                    compiledRegex = getContext().getEnv().parseInternal(createSourceBoundary(regexSource)).call();
+                    if (compiledRegexLib.isNull(compiledRegex)) {
+                        compiledRegex = TRegexCache.UNSUPPORTED;
+                    }
+                    cache.put(regexSource, compiledRegex);
+                }
+                if (compiledRegex == TRegexCache.UNSUPPORTED) {
                     unsupportedRegexError.enter();
                     return PNone.NONE;
                 } else {
@@ -208,6 +235,11 @@ public class SREModuleBuiltins extends PythonBuiltins {
             }
         }
 
+        @TruffleBoundary
+        private static Source createSourceBoundary(String regexSourceStr) {
+            return Source.newBuilder("regex", regexSourceStr, "re").mimeType("application/tregex").internal(true).build();
+        }
+
         private Object handleError(RuntimeException e, BranchProfile syntaxError, BranchProfile potentialSyntaxError, InteropLibrary lib, TruffleString.SwitchEncodingNode switchEncodingNode) {
             try {
                 if (lib.isException(e)) {
@@ -229,39 +261,436 @@ public class SREModuleBuiltins extends PythonBuiltins {
         }
     }
 
-    @Builtin(name = "tregex_call_exec", minNumOfPositionalArgs = 3)
-    @TypeSystemReference(PythonArithmeticTypes.class)
+    @Builtin(name = "tregex_cache_info")
+    @GenerateNodeFactory
+    abstract static class TRegexCacheInfoNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object info() {
+            TRegexCache cache = getLanguage().getTRegexCache();
+            LinkedHashMap<String, Object> info = new LinkedHashMap<>();
+            info.put("hits", cache.getHits());
+            info.put("misses", cache.getMisses());
+            info.put("evictions", cache.getEvictions());
+            info.put("maxsize", cache.getCapacity());
+            info.put("currsize", cache.size());
+            return factory().createDictFromMap(info);
+        }
+    }
+
+    /**
+     * Runs a compiled TRegex regex on {@code input} starting at {@code fromIndex} and returns the
+     * TRegex result object.
+     */
+    public abstract static class TRegexExecNode extends PNodeWithRaiseAndIndirectCall {
+
+        public abstract Object execute(VirtualFrame frame, Object compiledRegex, TruffleString input, int fromIndex);
+
+        @Specialization(limit = "2")
+        Object exec(VirtualFrame frame, Object compiledRegex, TruffleString input, int fromIndex,
+                        @CachedLibrary("compiledRegex") InteropLibrary interop) {
+            PythonContext context = getContext();
+            PythonLanguage language = getLanguage();
+            Object state = IndirectCallContext.enter(frame, language, context, this);
+            try {
+                return interop.invokeMember(compiledRegex, J_EXEC, input, fromIndex);
+            } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere("could not call TRegex exec method", e);
+            } finally {
+                IndirectCallContext.exit(frame, language, context, state);
+            }
+        }
+    }
+
+    public static boolean isMatch(InteropLibrary resultLib, Object regexResult) {
+        try {
+            return (boolean) resultLib.readMember(regexResult, J_IS_MATCH);
+        } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    public static int getLastGroup(InteropLibrary resultLib, Object regexResult) {
+        try {
+            return (int) resultLib.readMember(regexResult, J_LAST_GROUP);
+        } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    public static int getStart(InteropLibrary resultLib, Object regexResult, int group) {
+        return invokeGroupMethod(resultLib, regexResult, J_GET_START, group);
+    }
+
+    public static int getEnd(InteropLibrary resultLib, Object regexResult, int group) {
+        return invokeGroupMethod(resultLib, regexResult, J_GET_END, group);
+    }
+
+    private static int invokeGroupMethod(InteropLibrary resultLib, Object regexResult, String method, int group) {
+        try {
+            return (int) resultLib.invokeMember(regexResult, method, group);
+        } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    /**
+     * The number of capturing groups of a compiled regex, not counting the whole match.
+     */
+    static int getGroups(InteropLibrary regexLib, Object compiledRegex) {
+        try {
+            return (int) regexLib.readMember(compiledRegex, J_GROUP_COUNT) - 1;
+        } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    static int clampEndpos(long endpos, int length) {
+        return (int) Math.max(0, Math.min(endpos, length));
+    }
+
+    static int clampPos(long pos, int endpos) {
+        return (int) Math.max(0, Math.min(pos, endpos));
+    }
+
+    /**
+     * Slices {@code [start, end)} out of the subject TRegex ran on. Bytes-like subjects are viewed
+     * as LATIN-1 strings, so code point indices are also byte indices and the slice becomes a new
+     * {@code bytes} object.
+     */
+    abstract static class SliceSubjectNode extends Node {
+
+        abstract Object execute(TruffleString input, boolean binary, int start, int end);
+
+        @Specialization(guards = "!binary")
+        static Object doString(TruffleString input, @SuppressWarnings("unused") boolean binary, int start, int end,
+                        @Cached TruffleString.SubstringNode substringNode) {
+            return substringNode.execute(input, start, end - start, TS_ENCODING, false);
+        }
+
+        @Specialization(guards = "binary")
+        static Object doBytes(TruffleString input, @SuppressWarnings("unused") boolean binary, int start, int end,
+                        @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode,
+                        @Cached PythonObjectFactory factory) {
+            byte[] bytes = new byte[end - start];
+            copyToByteArrayNode.execute(input, start, bytes, 0, bytes.length, Encoding.ISO_8859_1);
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * Converts a replacement string returned by the {@code repl} callable of {@code sub} (or a
+     * literal {@code repl}) to a {@link TruffleString} in the encoding of the subject.
+     */
+    abstract static class ToReplacementNode extends PNodeWithRaiseAndIndirectCall {
+
+        abstract TruffleString execute(VirtualFrame frame, Object repl, boolean binary);
+
+        @Specialization(guards = "!binary")
+        TruffleString doString(Object repl, @SuppressWarnings("unused") boolean binary,
+                        @Cached CastToTruffleStringNode cast) {
+            try {
+                return cast.execute(repl);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.EXPECTED_STR_INSTANCE_P_FOUND, repl);
+            }
+        }
+
+        @Specialization(guards = "binary")
+        TruffleString doBytes(VirtualFrame frame, Object repl, @SuppressWarnings("unused") boolean binary,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode) {
+            if (!bufferAcquireLib.hasBuffer(repl)) {
+                throw raise(TypeError, ErrorMessages.EXPECTED_BYTESLIKE_GOT_P, repl);
+            }
+            Object buffer = bufferAcquireLib.acquireReadonly(repl, frame, this);
+            try {
+                byte[] bytes = bufferLib.getCopiedByteArray(buffer);
+                return fromByteArrayNode.execute(bytes, 0, bytes.length, Encoding.ISO_8859_1, false);
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "tregex_search", minNumOfPositionalArgs = 5, parameterNames = {"pattern", "regex", "string", "pos", "endpos"})
+    @ArgumentClinic(name = "pos", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "endpos", conversion = ClinicConversion.Long)
     @GenerateNodeFactory
-    abstract static class TRegexCallExec extends PythonTernaryBuiltinNode {
+    abstract static class TRegexSearchNode extends PythonClinicBuiltinNode {
 
-        @Specialization(limit = "1")
-        Object call(VirtualFrame frame, Object callable, Object inputStringOrBytes, Number fromIndex,
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SREModuleBuiltinsClinicProviders.TRegexSearchNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object search(VirtualFrame frame, Object pattern, Object regex, Object string, long pos, long endpos,
                         @Cached CastToTruffleStringNode cast,
                         @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
                         @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
                         @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
-                        @CachedLibrary("callable") InteropLibrary interop) {
-            PythonContext context = getContext();
-            PythonLanguage language = getLanguage();
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TRegexExecNode execNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
             TruffleString input;
             Object buffer = null;
             try {
-                try {
-                    // This would materialize the string if it was native
-                    input = cast.execute(inputStringOrBytes);
-                } catch (CannotCastException e1) {
-                    // It's bytes or other buffer object
-                    buffer = bufferAcquireLib.acquireReadonly(inputStringOrBytes, frame, this);
-                    input = bufferToTruffleStringNode.execute(buffer, 0);
+                input = cast.execute(string);
+            } catch (CannotCastException e) {
+                buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                input = bufferToTruffleStringNode.execute(buffer, 0);
+            }
+            try {
+                Encoding encoding = buffer == null ? TS_ENCODING : Encoding.ISO_8859_1;
+                int length = codePointLengthNode.execute(input, encoding);
+                int end = clampEndpos(endpos, length);
+                int start = clampPos(pos, end);
+                TruffleString subject = end == length ? input : substringNode.execute(input, 0, end, encoding, true);
+                Object result = execNode.execute(frame, regex, subject, start);
+                if (!isMatch(resultLib, result)) {
+                    return PNone.NONE;
                 }
-                Object state = IndirectCallContext.enter(frame, language, context, this);
-                try {
-                    return interop.execute(callable, input, fromIndex);
-                } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException e2) {
-                    throw CompilerDirectives.shouldNotReachHere("could not call TRegex exec method", e2);
-                } finally {
-                    IndirectCallContext.exit(frame, language, context, state);
+                // bytes-like matches re-read the subject when a group is requested
+                return factory().createMatch(pattern, string, buffer == null ? input : null, result, getGroups(regexLib, regex), start, end);
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "tregex_findall", minNumOfPositionalArgs = 5, parameterNames = {"regex", "must_advance_regex", "string", "pos", "endpos"})
+    @ArgumentClinic(name = "pos", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "endpos", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class TRegexFindAllNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SREModuleBuiltinsClinicProviders.TRegexFindAllNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object findall(VirtualFrame frame, Object regex, Object mustAdvanceRegex, Object string, long pos, long endpos,
+                        @Cached CastToTruffleStringNode cast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached SliceSubjectNode sliceNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            TruffleString input;
+            Object buffer = null;
+            try {
+                input = cast.execute(string);
+            } catch (CannotCastException e) {
+                buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                input = bufferToTruffleStringNode.execute(buffer, 0);
+            }
+            try {
+                boolean binary = buffer != null;
+                Encoding encoding = binary ? Encoding.ISO_8859_1 : TS_ENCODING;
+                int length = codePointLengthNode.execute(input, encoding);
+                int end = clampEndpos(endpos, length);
+                int start = clampPos(pos, end);
+                TruffleString subject = end == length ? input : substringNode.execute(input, 0, end, encoding, true);
+                int groups = getGroups(regexLib, regex);
+                ArrayBuilder<Object> items = new ArrayBuilder<>();
+                boolean mustAdvance = false;
+                while (start <= end) {
+                    Object result = execNode.execute(frame, mustAdvance ? mustAdvanceRegex : regex, subject, start);
+                    if (!isMatch(resultLib, result)) {
+                        break;
+                    }
+                    int matchStart = getStart(resultLib, result, 0);
+                    int matchEnd = getEnd(resultLib, result, 0);
+                    if (groups == 0) {
+                        items.add(sliceNode.execute(input, binary, matchStart, matchEnd));
+                    } else if (groups == 1) {
+                        items.add(sliceGroup(input, binary, result, 1, resultLib, sliceNode));
+                    } else {
+                        Object[] values = new Object[groups];
+                        for (int i = 0; i < groups; i++) {
+                            values[i] = sliceGroup(input, binary, result, i + 1, resultLib, sliceNode);
+                        }
+                        items.add(factory().createTuple(values));
+                    }
+                    start = matchEnd;
+                    mustAdvance = matchStart == matchEnd;
+                }
+                return factory().createList(items.toArray(new Object[0]));
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+
+        /**
+         * Unmatched groups are reported as empty strings by {@code findall}.
+         */
+        private static Object sliceGroup(TruffleString input, boolean binary, Object result, int group, InteropLibrary resultLib, SliceSubjectNode sliceNode) {
+            int groupStart = getStart(resultLib, result, group);
+            if (groupStart < 0) {
+                return sliceNode.execute(input, binary, 0, 0);
+            }
+            return sliceNode.execute(input, binary, groupStart, getEnd(resultLib, result, group));
+        }
+    }
+
+    @Builtin(name = "tregex_subn", minNumOfPositionalArgs = 6, parameterNames = {"pattern", "regex", "must_advance_regex", "repl", "string", "count"})
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.LongIndex)
+    @GenerateNodeFactory
+    abstract static class TRegexSubnNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SREModuleBuiltinsClinicProviders.TRegexSubnNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object subn(VirtualFrame frame, Object pattern, Object regex, Object mustAdvanceRegex, Object repl, Object string, long count,
+                        @Cached CastToTruffleStringNode cast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode,
+                        @Cached PyCallableCheckNode callableCheckNode,
+                        @Cached ToReplacementNode toReplacementNode,
+                        @Cached CallNode callNode,
+                        @Cached TRegexExecNode execNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            TruffleString input;
+            Object buffer = null;
+            try {
+                input = cast.execute(string);
+            } catch (CannotCastException e) {
+                buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                input = bufferToTruffleStringNode.execute(buffer, 0);
+            }
+            try {
+                boolean binary = buffer != null;
+                Encoding encoding = binary ? Encoding.ISO_8859_1 : TS_ENCODING;
+                boolean callable = callableCheckNode.execute(repl);
+                TruffleString literal = callable ? null : toReplacementNode.execute(frame, repl, binary);
+                int groups = callable ? getGroups(regexLib, regex) : 0;
+                int length = codePointLengthNode.execute(input, encoding);
+                TruffleStringBuilder sb = TruffleStringBuilder.create(encoding);
+                int n = 0;
+                int pos = 0;
+                boolean mustAdvance = false;
+                while ((count == 0 || n < count) && pos <= length) {
+                    Object result = execNode.execute(frame, mustAdvance ? mustAdvanceRegex : regex, input, pos);
+                    if (!isMatch(resultLib, result)) {
+                        break;
+                    }
+                    n++;
+                    int matchStart = getStart(resultLib, result, 0);
+                    int matchEnd = getEnd(resultLib, result, 0);
+                    appendStringNode.execute(sb, substringNode.execute(input, pos, matchStart - pos, encoding, true));
+                    if (literal != null) {
+                        appendStringNode.execute(sb, literal);
+                    } else {
+                        PMatch match = factory().createMatch(pattern, string, binary ? null : input, result, groups, 0, length);
+                        Object item = callNode.execute(frame, repl, match);
+                        if (item != PNone.NONE) {
+                            appendStringNode.execute(sb, toReplacementNode.execute(frame, item, binary));
+                        }
+                    }
+                    pos = matchEnd;
+                    mustAdvance = matchStart == matchEnd;
+                }
+                appendStringNode.execute(sb, substringNode.execute(input, pos, length - pos, encoding, true));
+                TruffleString joined = toStringNode.execute(sb);
+                Object value = joined;
+                if (binary) {
+                    byte[] bytes = new byte[joined.byteLength(Encoding.ISO_8859_1)];
+                    copyToByteArrayNode.execute(joined, 0, bytes, 0, bytes.length, Encoding.ISO_8859_1);
+                    value = factory().createBytes(bytes);
+                }
+                return factory().createTuple(new Object[]{value, n});
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "tregex_split", minNumOfPositionalArgs = 4, parameterNames = {"regex", "must_advance_regex", "string", "maxsplit"})
+    @ArgumentClinic(name = "maxsplit", conversion = ClinicConversion.LongIndex)
+    @GenerateNodeFactory
+    abstract static class TRegexSplitNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SREModuleBuiltinsClinicProviders.TRegexSplitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object split(VirtualFrame frame, Object regex, Object mustAdvanceRegex, Object string, long maxsplit,
+                        @Cached CastToTruffleStringNode cast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached SliceSubjectNode sliceNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            TruffleString input;
+            Object buffer = null;
+            try {
+                input = cast.execute(string);
+            } catch (CannotCastException e) {
+                buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                input = bufferToTruffleStringNode.execute(buffer, 0);
+            }
+            try {
+                boolean binary = buffer != null;
+                int length = codePointLengthNode.execute(input, binary ? Encoding.ISO_8859_1 : TS_ENCODING);
+                int groups = getGroups(regexLib, regex);
+                ArrayBuilder<Object> items = new ArrayBuilder<>();
+                int n = 0;
+                int collectPos = 0;
+                int searchPos = 0;
+                boolean mustAdvance = false;
+                while ((maxsplit == 0 || n < maxsplit) && searchPos <= length) {
+                    Object result = execNode.execute(frame, mustAdvance ? mustAdvanceRegex : regex, input, searchPos);
+                    if (!isMatch(resultLib, result)) {
+                        break;
+                    }
+                    n++;
+                    int matchStart = getStart(resultLib, result, 0);
+                    int matchEnd = getEnd(resultLib, result, 0);
+                    items.add(sliceNode.execute(input, binary, collectPos, matchStart));
+                    for (int i = 1; i <= groups; i++) {
+                        int groupStart = getStart(resultLib, result, i);
+                        if (groupStart >= 0) {
+                            items.add(sliceNode.execute(input, binary, groupStart, getEnd(resultLib, result, i)));
+                        } else {
+                            items.add(PNone.NONE);
+                        }
+                    }
+                    collectPos = matchEnd;
+                    searchPos = matchEnd;
+                    mustAdvance = matchStart == matchEnd;
                 }
+                items.add(sliceNode.execute(input, binary, collectPos, length));
+                return factory().createList(items.toArray(new Object[0]));
             } finally {
                 if (buffer != null) {
                     bufferLib.release(buffer, frame, this);
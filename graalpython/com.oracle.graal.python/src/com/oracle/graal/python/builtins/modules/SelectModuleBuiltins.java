@@ -40,18 +40,29 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CLOEXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 import static com.oracle.graal.python.util.TimeUtils.SEC_TO_NS;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.SelectModuleBuiltinsClinicProviders.EpollNodeClinicProviderGen;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
 import com.oracle.graal.python.lib.PyObjectGetItem;
@@ -63,7 +74,11 @@ import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixConstants;
+import com.oracle.graal.python.runtime.PosixConstants.IntConstant;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
@@ -83,17 +98,33 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = "select")
 public class SelectModuleBuiltins extends PythonBuiltins {
 
     /*
-     * ATTENTION: if we ever add "poll" support, update the code in
-     * MultiprocessingModuleBuilins#SelectNode to use it if available
+     * ATTENTION: MultiprocessingModuleBuilins#SelectNode still uses select, it could use poll to
+     * avoid the FD_SETSIZE limit.
      */
 
+    private static final TruffleString T_SELECT = tsLiteral("select");
+
     public SelectModuleBuiltins() {
         addBuiltinConstant("error", PythonErrorType.OSError);
+        addConstants(PosixConstants.pollEvents);
+        addConstants(PosixConstants.epollEvents);
+        if (EPOLL_CLOEXEC.defined) {
+            addBuiltinConstant(EPOLL_CLOEXEC.name, EPOLL_CLOEXEC.getValueIfDefined());
+        }
+    }
+
+    private void addConstants(IntConstant[] constants) {
+        for (IntConstant c : constants) {
+            if (c.defined) {
+                addBuiltinConstant(c.name, c.getValueIfDefined());
+            }
+        }
     }
 
     @Override
@@ -101,6 +132,53 @@ public class SelectModuleBuiltins extends PythonBuiltins {
         return SelectModuleBuiltinsFactory.getFactories();
     }
 
+    @Override
+    public void postInitialize(Python3Core core) {
+        super.postInitialize(core);
+        PythonModule module = core.lookupBuiltinModule(T_SELECT);
+        if (!POLLIN.defined) {
+            module.setAttribute(tsLiteral("poll"), PNone.NO_VALUE);
+        }
+        if (!EPOLLIN.defined) {
+            module.setAttribute(tsLiteral("epoll"), PNone.NO_VALUE);
+        }
+    }
+
+    @Builtin(name = "poll")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBuiltinNode {
+        @Specialization
+        PPoll poll() {
+            return factory().createPoll();
+        }
+    }
+
+    @Builtin(name = "epoll", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "sizehint", "flags"}, constructsClass = PythonBuiltinClassType.PEpoll)
+    @ArgumentClinic(name = "sizehint", conversion = ClinicConversion.Int, defaultValue = "-1")
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class EpollNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PEpoll epoll(VirtualFrame frame, Object cls, int sizehint, @SuppressWarnings("unused") int flags,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            // like in CPython, the flags are ignored, the epoll is always created with
+            // EPOLL_CLOEXEC
+            if (sizehint == 0 || sizehint < -1) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_SIZEHINT);
+            }
+            try {
+                return factory().createEpoll(cls, getContext(), posixLib.epollCreate(getPosixSupport()));
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
     @Builtin(name = "select", minNumOfPositionalArgs = 3, parameterNames = {"rlist", "wlist", "xlist", "timeout"})
     @GenerateNodeFactory
     abstract static class SelectNode extends PythonBuiltinNode {
@@ -0,0 +1,637 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.csv;
+
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.AFTER_ESCAPED_CRNL;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.EAT_CRNL;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.ESCAPED_CHAR;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.ESCAPE_IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.IN_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.QUOTE_IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.START_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.START_RECORD;
+import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONE;
+import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONNUMERIC;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_DECODE;
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.lib.PyNumberFloatNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
+import com.oracle.graal.python.runtime.AsyncHandler.SharedFinalizer;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.ArrayUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
+
+/**
+ * A CSV reader that consumes UTF-8 encoded bytes from a buffer-protocol object or a binary file
+ * instead of iterating over {@code str} lines. It runs the same state machine as
+ * {@link CSVReaderBuiltins.NextReaderNode}, but on bytes: since the dialect characters are
+ * restricted to ASCII, they can never occur inside a multi-byte UTF-8 sequence, so the plain parts
+ * of a field are skipped with {@link ArrayUtils#indexOf(byte[], int, int, byte...)}, which searches
+ * for up to four bytes at once, and only the bytes that change the state go through
+ * {@link #process(int)}.
+ * <p>
+ * Fields are collected as raw bytes and only decoded once complete; unquoted fields of a
+ * {@code QUOTE_NONNUMERIC} dialect are parsed to {@code float} directly from those bytes.
+ * <p>
+ * An acquired buffer is released once the reader is exhausted or, if it is abandoned before that,
+ * when the reader is collected.
+ */
+public final class CSVBulkReader extends PythonBuiltinObject {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int EOL = -2;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int SPACE = ' ';
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21,
+                    1e22};
+
+    final CSVDialect dialect;
+    final int batchSize;
+    int lineNum;
+
+    // input
+    private Object file;
+    private Object buffer;
+    private final BufferRef bufferRef;
+    private int bufferPos;
+    private boolean eof;
+    private byte[] bytes;
+    private int pos;
+    private int limit;
+    private int nul = -1;
+    private boolean lineStarted;
+    private boolean exhausted;
+
+    // parser state, reused across rows
+    private ReaderState state;
+    private byte[] field = new byte[64];
+    private int fieldLength;
+    private boolean numericField;
+    private Object[] row = new Object[16];
+    private int rowLength;
+    private long fieldLimit;
+
+    private final byte[] fieldStops;
+    private final byte[] quotedStops;
+    private Node location;
+
+    public CSVBulkReader(Object cls, Shape instanceShape, PythonContext context, Object file, Object buffer, CSVDialect dialect, int batchSize) {
+        super(cls, instanceShape);
+        this.file = buffer == null ? file : null;
+        this.buffer = buffer;
+        this.bufferRef = buffer != null ? new BufferRef(this, buffer, context.getSharedFinalizer()) : null;
+        this.dialect = dialect;
+        this.batchSize = batchSize;
+        this.fieldStops = stops(dialect.delimiterCodePoint, dialect.escapeCharCodePoint);
+        this.quotedStops = stops(dialect.quoting != QUOTE_NONE ? dialect.quoteCharCodePoint : CSVModuleBuiltins.NOT_SET_CODEPOINT, dialect.escapeCharCodePoint);
+    }
+
+    private static byte[] stops(int first, int second) {
+        byte[] result = new byte[]{CARRIAGE_RETURN, NEWLINE, CARRIAGE_RETURN, CARRIAGE_RETURN};
+        int n = 2;
+        if (first >= 0) {
+            result[n++] = (byte) first;
+        }
+        if (second >= 0) {
+            result[n++] = (byte) second;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Returns the next row, or the next list of up to {@link #batchSize} rows, or {@code null} once
+     * the input is exhausted.
+     */
+    @TruffleBoundary
+    Object next(Node raisingNode, long limitOfField) {
+        location = raisingNode;
+        fieldLimit = limitOfField;
+        if (batchSize <= 0) {
+            return readRow();
+        }
+        Object[] rows = new Object[batchSize];
+        int n = 0;
+        while (n < batchSize) {
+            PList r = readRow();
+            if (r == null) {
+                break;
+            }
+            rows[n++] = r;
+        }
+        if (n == 0) {
+            return null;
+        }
+        return PythonObjectFactory.getUncached().createList(n == rows.length ? rows : Arrays.copyOf(rows, n));
+    }
+
+    private PList readRow() {
+        if (exhausted) {
+            return null;
+        }
+        if (lineStarted) {
+            // an error was raised in the middle of a line
+            skipLine();
+        }
+        state = START_RECORD;
+        fieldLength = 0;
+        numericField = false;
+        rowLength = 0;
+        while (true) {
+            if (pos >= limit && !fill()) {
+                if (lineStarted) {
+                    lineStarted = false;
+                    process(EOL);
+                    if (state == START_RECORD) {
+                        return createRow();
+                    }
+                }
+                finish();
+                if (fieldLength > 0 || state == IN_QUOTED_FIELD) {
+                    if (dialect.strict) {
+                        throw raise(ErrorMessages.UNEXPECTED_END_OF_DATA);
+                    }
+                    saveField();
+                    return createRow();
+                }
+                return null;
+            }
+            int c = bytes[pos++] & 0xff;
+            if (!lineStarted) {
+                lineStarted = true;
+                lineNum++;
+            }
+            if (c == 0) {
+                nul = ArrayUtils.indexOf(bytes, pos, limit, (byte) 0);
+                throw raise(ErrorMessages.LINE_CONTAINS_NULL_BYTE);
+            }
+            boolean endOfLine = c == NEWLINE || (c == CARRIAGE_RETURN && !nextIsNewline());
+            if (endOfLine) {
+                lineStarted = false;
+            }
+            process(c);
+            if (endOfLine) {
+                process(EOL);
+                if (state == START_RECORD) {
+                    return createRow();
+                }
+            } else if (state == IN_FIELD || state == IN_QUOTED_FIELD) {
+                scan(state == IN_FIELD ? fieldStops : quotedStops);
+            }
+        }
+    }
+
+    /**
+     * Drops the rest of the current line, so that reading resumes at the next one like it does
+     * for the line based reader.
+     */
+    private void skipLine() {
+        while (lineStarted) {
+            if (pos >= limit && !fill()) {
+                lineStarted = false;
+                break;
+            }
+            int end = ArrayUtils.indexOf(bytes, pos, limit, CARRIAGE_RETURN, NEWLINE);
+            if (end < 0) {
+                pos = limit;
+                continue;
+            }
+            pos = end + 1;
+            if (bytes[end] == CARRIAGE_RETURN && nextIsNewline()) {
+                pos++;
+            }
+            lineStarted = false;
+        }
+        if (nul >= 0 && nul < pos) {
+            nul = ArrayUtils.indexOf(bytes, pos, limit, (byte) 0);
+        }
+    }
+
+    private boolean nextIsNewline() {
+        return (pos < limit || fill()) && bytes[pos] == NEWLINE;
+    }
+
+    /**
+     * Appends the bytes up to the next one that is significant in the current state to the field.
+     */
+    private void scan(byte[] stops) {
+        int max = nul >= 0 ? nul : limit;
+        int end = ArrayUtils.indexOf(bytes, pos, max, stops);
+        if (end < 0) {
+            end = max;
+        }
+        if (end > pos) {
+            appendField(pos, end - pos);
+            pos = end;
+        }
+    }
+
+    @SuppressWarnings("fallthrough")
+    private void process(int c) {
+        switch (state) {
+            case START_RECORD:
+                /* start of record */
+                if (c == EOL) {
+                    /* empty line - return [] */
+                    break;
+                } else if (c == NEWLINE || c == CARRIAGE_RETURN) {
+                    state = EAT_CRNL;
+                    break;
+                }
+                /* normal character - handle as START_FIELD */
+                state = START_FIELD;
+                /* fallthru */
+
+            case START_FIELD:
+                /* expecting field */
+                if (c == NEWLINE || c == CARRIAGE_RETURN || c == EOL) {
+                    /* save empty field - return [fields] */
+                    saveField();
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (c == dialect.quoteCharCodePoint && dialect.quoting != QUOTE_NONE) {
+                    /* start quoted field */
+                    state = IN_QUOTED_FIELD;
+                } else if (c == dialect.escapeCharCodePoint) {
+                    /* possible escaped character */
+                    state = ESCAPED_CHAR;
+                } else if (c == SPACE && dialect.skipInitialSpace) {
+                    /* ignore space at start of field */
+                } else if (c == dialect.delimiterCodePoint) {
+                    /* save empty field */
+                    saveField();
+                } else {
+                    /* begin new unquoted field */
+                    if (dialect.quoting == QUOTE_NONNUMERIC) {
+                        numericField = true;
+                    }
+                    addByte(c);
+                    state = IN_FIELD;
+                }
+                break;
+
+            case ESCAPED_CHAR:
+                if (c == NEWLINE || c == CARRIAGE_RETURN) {
+                    addByte(c);
+                    state = AFTER_ESCAPED_CRNL;
+                    break;
+                }
+                addByte(c == EOL ? NEWLINE : c);
+                state = IN_FIELD;
+                break;
+
+            case AFTER_ESCAPED_CRNL:
+                if (c == EOL) {
+                    break;
+                }
+                /* fallthru */
+
+            case IN_FIELD:
+                /* in unquoted field */
+                if (c == NEWLINE || c == CARRIAGE_RETURN || c == EOL) {
+                    /* end of line - return [fields] */
+                    saveField();
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (c == dialect.escapeCharCodePoint) {
+                    /* possible escaped character */
+                    state = ESCAPED_CHAR;
+                } else if (c == dialect.delimiterCodePoint) {
+                    /* save field - wait for new field */
+                    saveField();
+                    state = START_FIELD;
+                } else {
+                    /* normal character - save in field */
+                    addByte(c);
+                }
+                break;
+
+            case IN_QUOTED_FIELD:
+                /* in quoted field */
+                if (c == EOL) {
+                    /* ignore */
+                } else if (c == dialect.escapeCharCodePoint) {
+                    /* Possible escape character */
+                    state = ESCAPE_IN_QUOTED_FIELD;
+                } else if (c == dialect.quoteCharCodePoint && dialect.quoting != QUOTE_NONE) {
+                    if (dialect.doubleQuote) {
+                        /* doublequote; " represented by "" */
+                        state = QUOTE_IN_QUOTED_FIELD;
+                    } else {
+                        /* end of quote part of field */
+                        state = IN_FIELD;
+                    }
+                } else {
+                    /* normal character - save in field */
+                    addByte(c);
+                }
+                break;
+
+            case ESCAPE_IN_QUOTED_FIELD:
+                addByte(c == EOL ? NEWLINE : c);
+                state = IN_QUOTED_FIELD;
+                break;
+
+            case QUOTE_IN_QUOTED_FIELD:
+                /* doublequote - seen a quote in a quoted field */
+                if (dialect.quoting != QUOTE_NONE && c == dialect.quoteCharCodePoint) {
+                    /* save "" as " */
+                    addByte(c);
+                    state = IN_QUOTED_FIELD;
+                } else if (c == dialect.delimiterCodePoint) {
+                    /* save field - wait for new field */
+                    saveField();
+                    state = START_FIELD;
+                } else if (c == NEWLINE || c == CARRIAGE_RETURN || c == EOL) {
+                    /* end of line - return [fields] */
+                    saveField();
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (!dialect.strict) {
+                    addByte(c);
+                    state = IN_FIELD;
+                } else {
+                    /* illegal */
+                    throw raise(ErrorMessages.S_EXPECTED_AFTER_S, dialect.delimiter, dialect.quoteChar);
+                }
+                break;
+
+            case EAT_CRNL:
+                if (c == NEWLINE || c == CARRIAGE_RETURN) {
+                    /* ignore */
+                } else if (c == EOL) {
+                    state = START_RECORD;
+                } else {
+                    throw raise(ErrorMessages.NEWLINE_IN_UNQOUTED_FIELD);
+                }
+                break;
+        }
+    }
+
+    private void addByte(int c) {
+        ensureFieldCapacity(1);
+        field[fieldLength++] = (byte) c;
+        checkFieldLimit();
+    }
+
+    private void appendField(int from, int length) {
+        ensureFieldCapacity(length);
+        System.arraycopy(bytes, from, field, fieldLength, length);
+        fieldLength += length;
+        checkFieldLimit();
+    }
+
+    private void ensureFieldCapacity(int n) {
+        if (field.length - fieldLength < n) {
+            field = Arrays.copyOf(field, Math.max(field.length * 2, fieldLength + n));
+        }
+    }
+
+    private void checkFieldLimit() {
+        // a UTF-8 field has at most as many code points as bytes, so only count them when the
+        // byte length alone is over the limit
+        if (fieldLength > fieldLimit && codePointLength() > fieldLimit) {
+            throw raise(ErrorMessages.LARGER_THAN_FIELD_SIZE_LIMIT, fieldLimit);
+        }
+    }
+
+    private int codePointLength() {
+        int count = 0;
+        for (int i = 0; i < fieldLength; i++) {
+            if ((field[i] & 0xc0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void saveField() {
+        Object value;
+        if (numericField) {
+            numericField = false;
+            double d = parseSimpleFloat(field, fieldLength);
+            value = Double.isNaN(d) ? PyNumberFloatNode.getUncached().execute(decodeField()) : d;
+        } else {
+            value = decodeField();
+        }
+        fieldLength = 0;
+        if (rowLength == row.length) {
+            row = Arrays.copyOf(row, rowLength * 2);
+        }
+        row[rowLength++] = value;
+    }
+
+    private TruffleString decodeField() {
+        if (fieldLength == 0) {
+            return T_EMPTY_STRING;
+        }
+        TruffleString utf8 = TruffleString.fromByteArrayUncached(field, 0, fieldLength, Encoding.UTF_8, true);
+        if (!TruffleString.IsValidNode.getUncached().execute(utf8, Encoding.UTF_8)) {
+            // let the codec produce the exact error
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            PyObjectCallMethodObjArgs.getUncached().execute(null, factory.createBytes(Arrays.copyOf(field, fieldLength)), T_DECODE, T_UTF8);
+        }
+        return utf8.switchEncodingUncached(TS_ENCODING);
+    }
+
+    /**
+     * Parses an optionally signed decimal number without exponent and with at most 15 digits,
+     * which is exact: both the digits and the power of ten are representable as a double and the
+     * division rounds only once. Returns {@code NaN} for anything else, which is then left to
+     * {@code float()}.
+     */
+    private static double parseSimpleFloat(byte[] b, int length) {
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (b[0] == '-' || b[0] == '+')) {
+            negative = b[0] == '-';
+            i = 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean dot = false;
+        for (; i < length; i++) {
+            int c = b[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > 15) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (dot) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        double d = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -d : d;
+    }
+
+    private PList createRow() {
+        return PythonObjectFactory.getUncached().createList(Arrays.copyOf(row, rowLength));
+    }
+
+    /**
+     * Refills {@link #bytes} once all of it was consumed. Returns {@code false} at the end of the
+     * input.
+     */
+    private boolean fill() {
+        pos = 0;
+        limit = 0;
+        while (limit == 0 && !eof) {
+            readChunk();
+        }
+        nul = limit > 0 ? ArrayUtils.indexOf(bytes, 0, limit, (byte) 0) : -1;
+        return limit > 0;
+    }
+
+    private void readChunk() {
+        PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+        if (buffer != null) {
+            int length = bufferLib.getBufferLength(buffer);
+            if (bufferPos == 0 && bufferLib.hasInternalByteArray(buffer)) {
+                // scan the backing array in place
+                bytes = bufferLib.getInternalByteArray(buffer);
+                limit = length;
+                eof = true;
+            } else {
+                int n = Math.min(CHUNK_SIZE, length - bufferPos);
+                if (n > 0) {
+                    reserveBytes(n);
+                    bufferLib.readIntoByteArray(buffer, bufferPos, bytes, 0, n);
+                    limit = n;
+                    bufferPos += n;
+                } else {
+                    eof = true;
+                }
+            }
+        } else if (file != null) {
+            Object chunk = PyObjectCallMethodObjArgs.getUncached().execute(null, file, T_READ, CHUNK_SIZE);
+            if (chunk == PNone.NONE) {
+                eof = true;
+                return;
+            }
+            PythonBufferAcquireLibrary acquireLib = PythonBufferAcquireLibrary.getUncached();
+            if (!acquireLib.hasBuffer(chunk)) {
+                throw PRaiseNode.raiseUncached(location, PythonBuiltinClassType.TypeError, ErrorMessages.A_BYTES_LIKE_OBJECT_IS_REQUIRED_NOT_P, chunk);
+            }
+            Object chunkBuffer = acquireLib.acquireReadonly(chunk);
+            try {
+                int n = bufferLib.getBufferLength(chunkBuffer);
+                if (n > 0) {
+                    reserveBytes(n);
+                    bufferLib.readIntoByteArray(chunkBuffer, 0, bytes, 0, n);
+                    limit = n;
+                } else {
+                    eof = true;
+                }
+            } finally {
+                bufferLib.release(chunkBuffer);
+            }
+        } else {
+            eof = true;
+        }
+    }
+
+    private void reserveBytes(int n) {
+        if (bytes == null || bytes.length < n) {
+            bytes = new byte[Math.max(n, CHUNK_SIZE)];
+        }
+    }
+
+    private void finish() {
+        exhausted = true;
+        if (buffer != null) {
+            bufferRef.markReleased();
+            PythonBufferAccessLibrary.getUncached().release(buffer);
+            buffer = null;
+        }
+        file = null;
+    }
+
+    private PException raise(TruffleString format, Object... arguments) {
+        return PRaiseNode.raiseUncached(location, PythonBuiltinClassType.CSVError, format, arguments);
+    }
+
+    static final class BufferRef extends SharedFinalizer.FinalizableReference {
+
+        BufferRef(CSVBulkReader referent, Object buffer, SharedFinalizer finalizer) {
+            super(referent, buffer, finalizer);
+        }
+
+        @Override
+        public AsyncAction release() {
+            if (!isReleased()) {
+                return new CSVBulkReaderBuiltins.ReleaseCallback(this);
+            }
+            return null;
+        }
+    }
+}
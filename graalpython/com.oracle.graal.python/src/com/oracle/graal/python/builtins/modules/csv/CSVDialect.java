@@ -41,13 +41,19 @@
 package com.oracle.graal.python.builtins.modules.csv;
 
 import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.NOT_SET_CODEPOINT;
+import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONE;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 
 public final class CSVDialect extends PythonBuiltinObject {
+    private static final int CHAR_TABLE_SIZE = 128;
+    static final int CHAR_SPECIAL = 1; /* delimiter, escape or quote char, or part of lineterminator */
+    static final int CHAR_NEEDS_QUOTES = 2; /* special char that makes the writer quote the field */
+
     TruffleString delimiter; /* field separator */
     boolean doubleQuote; /* is " represented by ""? */
     TruffleString escapeChar; /* escape character */
@@ -61,6 +67,9 @@ public final class CSVDialect extends PythonBuiltinObject {
     int escapeCharCodePoint; /* code point representation for handling utf-32 escape chars */
     int quoteCharCodePoint; /* code point representation for handling utf-32 quote chars */
 
+    private final int[] lineTerminatorCodePoints;
+    private final byte[] charTable; /* CHAR_* flags of the ASCII code points */
+
     public CSVDialect(Object cls, Shape instanceShape, TruffleString delimiter, int delimiterCodePoint, boolean doubleQuote, TruffleString escapeChar, int escapeCharCodePoint,
                     TruffleString lineTerminator, TruffleString quoteChar, int quoteCharCodePoint, QuoteStyle quoting, boolean skipInitialSpace, boolean strict) {
         super(cls, instanceShape);
@@ -80,5 +89,49 @@ public final class CSVDialect extends PythonBuiltinObject {
         this.delimiterCodePoint = delimiterCodePoint;
         this.escapeCharCodePoint = escapeCharCodePoint;
         this.quoteCharCodePoint = quoteCharCodePoint;
+        this.lineTerminatorCodePoints = codePoints(lineTerminator);
+        this.charTable = createCharTable();
+    }
+
+    /**
+     * Returns the {@code CHAR_*} flags of a code point, which are looked up in a table for ASCII.
+     */
+    int charFlags(int codePoint) {
+        if (codePoint < CHAR_TABLE_SIZE) {
+            return charTable[codePoint];
+        }
+        return computeCharFlags(codePoint);
+    }
+
+    private int computeCharFlags(int codePoint) {
+        boolean special = codePoint == delimiterCodePoint || codePoint == escapeCharCodePoint || codePoint == quoteCharCodePoint;
+        for (int c : lineTerminatorCodePoints) {
+            special |= codePoint == c;
+        }
+        if (!special) {
+            return 0;
+        }
+        if (quoting == QUOTE_NONE || codePoint == quoteCharCodePoint && !doubleQuote || codePoint == escapeCharCodePoint) {
+            return CHAR_SPECIAL;
+        }
+        return CHAR_SPECIAL | CHAR_NEEDS_QUOTES;
+    }
+
+    @TruffleBoundary
+    private byte[] createCharTable() {
+        byte[] table = new byte[CHAR_TABLE_SIZE];
+        for (int c = 0; c < CHAR_TABLE_SIZE; c++) {
+            table[c] = (byte) computeCharFlags(c);
+        }
+        return table;
+    }
+
+    @TruffleBoundary
+    private static int[] codePoints(TruffleString str) {
+        int[] result = new int[str.codePointLengthUncached(TS_ENCODING)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = str.codePointAtIndexUncached(i, TS_ENCODING);
+        }
+        return result;
     }
 }
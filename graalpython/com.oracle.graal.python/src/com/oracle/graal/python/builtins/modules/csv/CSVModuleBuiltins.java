@@ -63,6 +63,7 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
@@ -96,6 +97,7 @@ import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = CSVModuleBuiltins.J__CSV)
@@ -260,6 +262,30 @@ public final class CSVModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "bulk_reader", doc = BULK_READER_DOC, parameterNames = {"source", "dialect", "batch_size"}, minNumOfPositionalArgs = 1, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class CSVBulkReaderNode extends PythonBuiltinNode {
+        @Specialization
+        Object createReader(VirtualFrame frame, Object source, Object dialectObj, Object batchSizeObj, PKeyword[] kwargs,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached CallNode callNode) {
+            int batchSize = batchSizeObj == PNone.NO_VALUE ? 0 : asIntNode.execute(frame, batchSizeObj);
+            CSVDialect dialect = (CSVDialect) callNode.execute(frame, PythonBuiltinClassType.CSVDialect, new Object[]{dialectObj}, kwargs);
+            checkAscii(dialect.delimiterCodePoint, J_ATTR_DELIMITER);
+            checkAscii(dialect.quoteCharCodePoint, J_ATTR_QUOTECHAR);
+            checkAscii(dialect.escapeCharCodePoint, J_ATTR_ESCAPECHAR);
+            Object buffer = acquireLib.hasBuffer(source) ? acquireLib.acquireReadonly(source, frame, this) : null;
+            return factory().createCSVBulkReader(PythonBuiltinClassType.CSVBulkReader, getContext(), source, buffer, dialect, batchSize);
+        }
+
+        private void checkAscii(int codePoint, String name) {
+            if (codePoint > 0x7f) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.BULK_READER_REQUIRES_ASCII_S, name);
+            }
+        }
+    }
+
     @Builtin(name = "writer", doc = WRITER_DOC, parameterNames = {"outputfile", "dialect"}, minNumOfPositionalArgs = 1, takesVarKeywordArgs = true)
     @GenerateNodeFactory
     public abstract static class CSVWriterNode extends PythonBuiltinNode {
@@ -712,6 +738,20 @@ public final class CSVModuleBuiltins extends PythonBuiltins {
                     "The returned object is an iterator.  Each iteration returns a row\n" +
                     "of the CSV file (which can span multiple input lines)";
 
+    private static final String BULK_READER_DOC = "\n" +
+                    "csv_reader = bulk_reader(source [, dialect='excel'] [, batch_size=0]\n" +
+                    "                         [optional keyword args])\n" +
+                    "for row in csv_reader:\n" +
+                    "process(row)\n" +
+                    "\n" +
+                    "Like reader(), but the \"source\" argument is a bytes-like object or\n" +
+                    "a file opened in binary mode, whose contents are parsed as UTF-8\n" +
+                    "directly. The delimiter, quotechar and escapechar of the dialect\n" +
+                    "must be ASCII characters.\n" +
+                    "\n" +
+                    "If \"batch_size\" is positive, each iteration returns a list of up\n" +
+                    "to that many rows instead of a single row.";
+
     private static final String WRITER_DOC = "    csv_writer = csv.writer(fileobj [, dialect='excel']\n" +
                     "                            [optional keyword args])\n" +
                     "    for row in sequence:\n" +
@@ -40,6 +40,8 @@
  */
 package com.oracle.graal.python.builtins.modules.csv;
 
+import static com.oracle.graal.python.builtins.modules.csv.CSVDialect.CHAR_NEEDS_QUOTES;
+import static com.oracle.graal.python.builtins.modules.csv.CSVDialect.CHAR_SPECIAL;
 import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.NOT_SET_CODEPOINT;
 import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONE;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
@@ -56,6 +58,7 @@ import com.oracle.graal.python.lib.PyNumberCheckNode;
 import com.oracle.graal.python.lib.PyObjectGetIter;
 import com.oracle.graal.python.lib.PyObjectStrAsTruffleStringNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
@@ -85,16 +88,31 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
     public abstract static class WriteRowNode extends PythonBinaryBuiltinNode {
         @Specialization
         Object doIt(VirtualFrame frame, CSVWriter self, Object seq,
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached CallUnaryMethodNode callNode) {
+            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+            joinRowNode.execute(frame, self.dialect, seq, sb);
+            return callNode.executeObject(frame, self.write, toStringNode.execute(sb));
+        }
+    }
+
+    /**
+     * Appends one record, including the line terminator, to a buffer.
+     */
+    abstract static class JoinRowNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, CSVDialect dialect, Object seq, TruffleStringBuilder sb);
+
+        @Specialization
+        void doIt(VirtualFrame frame, CSVDialect dialect, Object seq, TruffleStringBuilder sb,
                         @Cached PyObjectGetIter getIter,
                         @Cached GetClassNode getClass,
                         @Cached IsBuiltinClassProfile errorProfile,
-                        @Cached CallUnaryMethodNode callNode,
                         @Cached TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
                         @Cached TruffleStringIterator.NextNode nextNode,
-                        @Cached TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode,
                         @Cached TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
                         @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
-                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
                         @Cached PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode,
                         @Cached PyNumberCheckNode pyNumberCheckNode,
                         @Cached GetNextNode getNextNode,
@@ -109,8 +127,7 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
 
             // Join all fields of passed in sequence in internal buffer.
-            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
-            CSVDialect dialect = self.dialect;
+            int recordStart = sb.byteLength();
             boolean first = true;
             while (true) {
                 try {
@@ -121,26 +138,24 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
                     } else {
                         first = false;
                     }
-                    joinField(sb, dialect, field, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode, objectStrAsTruffleStringNode,
-                                    pyNumberCheckNode);
+                    joinField(sb, dialect, field, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode, objectStrAsTruffleStringNode, pyNumberCheckNode);
                 } catch (PException e) {
                     e.expectStopIteration(isBuiltinClassProfile);
                     break;
                 }
             }
-            if (!first && sb.isEmpty()) {
+            if (!first && sb.byteLength() == recordStart) {
                 if (dialect.quoting == QUOTE_NONE) {
                     throw raise(PythonBuiltinClassType.CSVError, ErrorMessages.EMPTY_FIELD_RECORD_MUST_BE_QUOTED);
                 }
-                joinAppend(sb, dialect, null, true, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, null, true, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             }
             appendStringNode.execute(sb, dialect.lineTerminator);
-            return callNode.executeObject(frame, self.write, toStringNode.execute(sb));
         }
 
         private void joinField(TruffleStringBuilder sb, CSVDialect dialect, Object field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
-                        TruffleStringIterator.NextNode nextNode, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
-                        TruffleStringBuilder.AppendStringNode appendStringNode, PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode, PyNumberCheckNode pyNumberCheckNode) {
+                        TruffleStringIterator.NextNode nextNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode, TruffleStringBuilder.AppendStringNode appendStringNode,
+                        PyObjectStrAsTruffleStringNode objectStrAsTruffleStringNode, PyNumberCheckNode pyNumberCheckNode) {
             boolean quoted;
 
             switch (dialect.quoting) {
@@ -156,22 +171,22 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
 
             if (field == PNone.NONE) {
-                joinAppend(sb, dialect, null, quoted, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, null, quoted, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             } else {
                 TruffleString str = objectStrAsTruffleStringNode.execute(field);
-                joinAppend(sb, dialect, str, quoted, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode, appendCodePointNode, appendStringNode);
+                joinAppend(sb, dialect, str, quoted, createCodePointIteratorNode, nextNode, appendCodePointNode, appendStringNode);
             }
         }
 
         private void joinAppend(TruffleStringBuilder sb, CSVDialect dialect, TruffleString field, boolean quoted, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
-                        TruffleStringIterator.NextNode nextNode, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode,
-                        TruffleStringBuilder.AppendStringNode appendStringNode) {
+                        TruffleStringIterator.NextNode nextNode, TruffleStringBuilder.AppendCodePointNode appendCodePointNode, TruffleStringBuilder.AppendStringNode appendStringNode) {
+            int flags = fieldFlags(dialect, field, createCodePointIteratorNode, nextNode);
             /*
              * If we don't already know that the field must be quoted due to dialect settings, check
              * if the field contains characters due to which it must be quoted.
              */
-            if (!quoted) {
-                quoted = needsQuotes(dialect, field, createCodePointIteratorNode, nextNode, byteIndexOfCodePointNode);
+            if ((flags & CHAR_NEEDS_QUOTES) != 0) {
+                quoted = true;
             }
 
             /* Handle preceding quote */
@@ -181,7 +196,10 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
 
             /* Copy field data and add escape chars as needed */
             /* If field is null just pass over */
-            if (field != null) {
+            if (field != null && (flags & CHAR_SPECIAL) == 0) {
+                /* Nothing to escape, copy the field as a whole */
+                appendStringNode.execute(sb, field);
+            } else if (field != null) {
                 TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
                 while (tsi.hasNext()) {
 
@@ -189,7 +207,7 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
 
                     final int c = nextNode.execute(tsi);
 
-                    if (needsEscape(dialect, c, byteIndexOfCodePointNode)) {
+                    if ((dialect.charFlags(c) & CHAR_SPECIAL) != 0) {
                         if (dialect.quoting == QUOTE_NONE) {
                             wantEscape = true;
                         } else {
@@ -221,54 +239,68 @@ public final class CSVWriterBuiltins extends PythonBuiltins {
             }
         }
 
-        private static boolean needsQuotes(CSVDialect dialect, TruffleString field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode, TruffleStringIterator.NextNode nextNode,
-                        TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode) {
+        /**
+         * Combines the {@code CSVDialect.CHAR_*} flags of all code points of the field.
+         */
+        private static int fieldFlags(CSVDialect dialect, TruffleString field, TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode, TruffleStringIterator.NextNode nextNode) {
             if (field == null) {
-                return false;
+                return 0;
             }
+            int flags = 0;
             TruffleStringIterator tsi = createCodePointIteratorNode.execute(field, TS_ENCODING);
             while (tsi.hasNext()) {
-                final int c = nextNode.execute(tsi);
-                if (needsEscape(dialect, c, byteIndexOfCodePointNode)) {
-                    if (!(dialect.quoting == QUOTE_NONE ||
-                                    c == dialect.quoteCharCodePoint && !dialect.doubleQuote ||
-                                    c == dialect.escapeCharCodePoint)) {
-                        return true;
-                    }
-                }
+                flags |= dialect.charFlags(nextNode.execute(tsi));
             }
-            return false;
-        }
-
-        private static boolean needsEscape(CSVDialect dialect, int codePoint, TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode) {
-            return codePoint == dialect.delimiterCodePoint || codePoint == dialect.escapeCharCodePoint || codePoint == dialect.quoteCharCodePoint ||
-                            byteIndexOfCodePointNode.execute(dialect.lineTerminator, codePoint, 0, dialect.lineTerminator.byteLength(TS_ENCODING), TS_ENCODING) >= 0;
+            return flags;
         }
     }
 
     @Builtin(name = "writerows", parameterNames = {"$self", "seqseq"}, minNumOfPositionalArgs = 2, doc = WRITEROWS_DOC)
     @GenerateNodeFactory
     public abstract static class WriteRowsNode extends PythonBinaryBuiltinNode {
+
+        /* Rows are collected until they fill this many bytes and then passed to write at once */
+        private static final int WRITE_CHUNK_SIZE = 256 * 1024;
+
         @Specialization
         Object doIt(VirtualFrame frame, CSVWriter self, Object seq,
                         @Cached PyObjectGetIter getIter,
                         @Cached GetNextNode getNext,
                         @Cached IsBuiltinClassProfile isBuiltinClassProfile,
-                        @Cached WriteRowNode writeRow) {
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached TruffleString.SubstringByteIndexNode substringNode,
+                        @Cached CallUnaryMethodNode callNode) {
             Object iter, row;
 
             iter = getIter.execute(frame, seq);
 
+            TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
             while (true) {
                 try {
                     row = getNext.execute(frame, iter);
-                    writeRow.execute(frame, self, row);
                 } catch (PException e) {
+                    if (!sb.isEmpty()) {
+                        callNode.executeObject(frame, self.write, toStringNode.execute(sb));
+                    }
                     e.expectStopIteration(isBuiltinClassProfile);
-                    break;
+                    return PNone.NONE;
+                }
+                int recordStart = sb.byteLength();
+                try {
+                    joinRowNode.execute(frame, self.dialect, row, sb);
+                } catch (PException e) {
+                    /* Write the records that were complete before the failing one */
+                    if (recordStart > 0) {
+                        callNode.executeObject(frame, self.write, substringNode.execute(toStringNode.execute(sb), 0, recordStart, TS_ENCODING, true));
+                    }
+                    throw e;
+                }
+                if (sb.byteLength() >= WRITE_CHUNK_SIZE) {
+                    callNode.executeObject(frame, self.write, toStringNode.execute(sb));
+                    sb = TruffleStringBuilder.create(TS_ENCODING);
                 }
             }
-            return PNone.NONE;
         }
     }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Hash object of the {@code _md5}, {@code _sha1}, {@code _sha256}, {@code _sha512} and
+ * {@code _sha3} modules, backed by a {@link MessageDigest} of the JDK. All accesses to the digest
+ * are synchronized, because large updates run without holding the GIL.
+ */
+public final class DigestObject extends PythonBuiltinObject {
+
+    public enum Algorithm {
+        MD5(PythonBuiltinClassType.MD5Type, "md5", "MD5", 64),
+        SHA1(PythonBuiltinClassType.SHA1Type, "sha1", "SHA-1", 64),
+        SHA224(PythonBuiltinClassType.SHA224Type, "sha224", "SHA-224", 64),
+        SHA256(PythonBuiltinClassType.SHA256Type, "sha256", "SHA-256", 64),
+        SHA384(PythonBuiltinClassType.SHA384Type, "sha384", "SHA-384", 128),
+        SHA512(PythonBuiltinClassType.SHA512Type, "sha512", "SHA-512", 128),
+        SHA3_224(PythonBuiltinClassType.SHA3_224Type, "sha3_224", "SHA3-224", 144),
+        SHA3_256(PythonBuiltinClassType.SHA3_256Type, "sha3_256", "SHA3-256", 136),
+        SHA3_384(PythonBuiltinClassType.SHA3_384Type, "sha3_384", "SHA3-384", 104),
+        SHA3_512(PythonBuiltinClassType.SHA3_512Type, "sha3_512", "SHA3-512", 72);
+
+        private final PythonBuiltinClassType type;
+        private final TruffleString name;
+        private final String javaName;
+        private final int blockSize;
+
+        Algorithm(PythonBuiltinClassType type, String name, String javaName, int blockSize) {
+            this.type = type;
+            this.name = tsLiteral(name);
+            this.javaName = javaName;
+            this.blockSize = blockSize;
+        }
+
+        public PythonBuiltinClassType getType() {
+            return type;
+        }
+
+        public TruffleString getName() {
+            return name;
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        @TruffleBoundary
+        MessageDigest createDigest() {
+            try {
+                return MessageDigest.getInstance(javaName);
+            } catch (NoSuchAlgorithmException e) {
+                // all the algorithms are required to be present in every JDK
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+    }
+
+    private final Algorithm algorithm;
+    private final MessageDigest digest;
+
+    public DigestObject(Object cls, Shape instanceShape, Algorithm algorithm, MessageDigest digest) {
+        super(cls, instanceShape);
+        this.algorithm = algorithm;
+        this.digest = digest;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @TruffleBoundary
+    public int getDigestSize() {
+        return digest.getDigestLength();
+    }
+
+    @TruffleBoundary
+    public synchronized void update(byte[] data, int offset, int length) {
+        digest.update(data, offset, length);
+    }
+
+    /**
+     * Returns the digest of the data passed so far. Unlike {@link MessageDigest#digest()}, this
+     * does not reset the state, so that more data can be added afterwards.
+     */
+    @TruffleBoundary
+    public synchronized byte[] digest() {
+        return cloneDigest().digest();
+    }
+
+    @TruffleBoundary
+    public synchronized MessageDigest cloneDigest() {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            // the digests of the default JDK providers are all cloneable
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+public class HashlibNodes {
+
+    /**
+     * Updates with at least this many bytes are done without holding the GIL, so that other
+     * threads can run, or hash other data, in the meantime. Same as {@code HASHLIB_GIL_MINSIZE} in
+     * CPython.
+     */
+    static final int GIL_RELEASE_MIN_SIZE = 2048;
+
+    @ImportStatic(PGuards.class)
+    public abstract static class UpdateNode extends PNodeWithRaiseAndIndirectCall {
+
+        public abstract void execute(VirtualFrame frame, DigestObject self, Object data);
+
+        @Specialization(guards = "!isString(data)", limit = "3")
+        void doBuffer(VirtualFrame frame, DigestObject self, Object data,
+                        @CachedLibrary("data") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached ConditionProfile releaseGilProfile,
+                        @Cached GilNode gil) {
+            if (!acquireLib.hasBuffer(data)) {
+                throw raise(TypeError, ErrorMessages.OBJ_SUPPORTING_BUFFER_API_REQUIRED);
+            }
+            Object buffer = acquireLib.acquireReadonly(data, frame, this);
+            try {
+                // the buffer is exported, so its contents cannot be resized or released until we
+                // are done with it, even if other threads run in the meantime
+                byte[] bytes = bufferLib.getInternalOrCopiedByteArray(buffer);
+                int len = bufferLib.getBufferLength(buffer);
+                if (releaseGilProfile.profile(len >= GIL_RELEASE_MIN_SIZE)) {
+                    gil.release(true);
+                    try {
+                        self.update(bytes, 0, len);
+                    } finally {
+                        gil.acquire();
+                    }
+                } else {
+                    self.update(bytes, 0, len);
+                }
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+
+        @Specialization(guards = "isString(data)")
+        @SuppressWarnings("unused")
+        void doString(DigestObject self, Object data) {
+            throw raise(TypeError, ErrorMessages.STRINGS_MUST_BE_ENCODED_BEFORE_HASHING);
+        }
+    }
+
+    public abstract static class CreateDigestNode extends PNodeWithContext {
+
+        public abstract DigestObject execute(VirtualFrame frame, Object cls, DigestObject.Algorithm algorithm, Object data);
+
+        @Specialization
+        static DigestObject create(VirtualFrame frame, Object cls, DigestObject.Algorithm algorithm, Object data,
+                        @Cached ConditionProfile hasDataProfile,
+                        @Cached UpdateNode updateNode,
+                        @Cached PythonObjectFactory factory) {
+            DigestObject self = factory.createDigestObject(cls, algorithm, algorithm.createDigest());
+            if (hasDataProfile.profile(data != PNone.NO_VALUE)) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+}
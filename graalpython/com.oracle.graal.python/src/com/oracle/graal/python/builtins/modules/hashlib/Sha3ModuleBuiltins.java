@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.SHA3_224Type;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.SHA3_256Type;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.SHA3_384Type;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.SHA3_512Type;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * The {@code _sha3} module, a builtin backend of {@code hashlib}. Unlike in the other hash modules,
+ * the hash types are the constructors themselves. The SHAKE variable-length digests are not
+ * supported, the JDK does not expose them as {@link java.security.MessageDigest}.
+ */
+@CoreFunctions(defineModule = "_sha3")
+public class Sha3ModuleBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Sha3ModuleBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "sha3_224", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = SHA3_224Type)
+    @GenerateNodeFactory
+    abstract static class Sha3_224Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        static DigestObject sha3(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.CreateDigestNode createNode) {
+            return createNode.execute(frame, cls, DigestObject.Algorithm.SHA3_224, data);
+        }
+    }
+
+    @Builtin(name = "sha3_256", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = SHA3_256Type)
+    @GenerateNodeFactory
+    abstract static class Sha3_256Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        static DigestObject sha3(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.CreateDigestNode createNode) {
+            return createNode.execute(frame, cls, DigestObject.Algorithm.SHA3_256, data);
+        }
+    }
+
+    @Builtin(name = "sha3_384", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = SHA3_384Type)
+    @GenerateNodeFactory
+    abstract static class Sha3_384Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        static DigestObject sha3(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.CreateDigestNode createNode) {
+            return createNode.execute(frame, cls, DigestObject.Algorithm.SHA3_384, data);
+        }
+    }
+
+    @Builtin(name = "sha3_512", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = SHA3_512Type)
+    @GenerateNodeFactory
+    abstract static class Sha3_512Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        static DigestObject sha3(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.CreateDigestNode createNode) {
+            return createNode.execute(frame, cls, DigestObject.Algorithm.SHA3_512, data);
+        }
+    }
+}
@@ -59,6 +59,7 @@ import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READLINE;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.append;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.createOutputStream;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.toByteArray;
+import static com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.EAGAIN;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_INVALID_LENGTH;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_SHOULD_RETURN_BYTES;
 import static com.oracle.graal.python.nodes.ErrorMessages.MUST_BE_NON_NEG_OR_NEG_1;
@@ -74,6 +75,7 @@ import java.util.List;
 import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.CheckIsClosedNode;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.EnterBufferedNode;
 import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.FlushAndRewindUnlockedNode;
@@ -87,6 +89,7 @@ import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
@@ -94,6 +97,9 @@ import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.PythonUtils;
@@ -104,6 +110,7 @@ import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
@@ -115,18 +122,48 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
     }
 
     /**
-     * implementation of cpython/Modules/_io/bufferedio.c:_bufferedreader_raw_read
+     * Returned by {@link RawReadNode} when a non-blocking raw stream would have blocked.
      */
+    private static final int BLOCKED = -2;
 
-    private static final byte[] BLOCKED = new byte[0];
-
+    /**
+     * implementation of cpython/Modules/_io/bufferedio.c:_bufferedreader_raw_read. Reads up to
+     * {@code len} bytes into {@code dest} starting at {@code offset} and returns the number of bytes
+     * read or {@link #BLOCKED}.
+     */
     abstract static class RawReadNode extends PNodeWithRaise {
 
-        public abstract byte[] execute(VirtualFrame frame, PBuffered self, int len);
+        public abstract int execute(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len);
+
+        /*
+         * The raw stream is a vanilla FileIO, so there is no need to go through its readinto and an
+         * intermediate bytearray - the data is read directly into the destination.
+         */
+        @Specialization(guards = {"self.isFastClosedChecks()", "!self.getFileIORaw().isClosed()", "self.getFileIORaw().isReadable()"})
+        static int readFileIO(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len,
+                        @Cached PosixModuleBuiltins.ReadNode posixRead,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile readErrorProfile,
+                        @Cached PConstructAndRaiseNode constructAndRaiseNode,
+                        @Cached GilNode gil) {
+            int n;
+            try {
+                n = posixRead.readInto(self.getFileIORaw().getFD(), dest, offset, len, posixLib, readErrorProfile, gil);
+            } catch (PosixException e) {
+                if (e.getErrorCode() == EAGAIN.getNumber()) {
+                    return BLOCKED;
+                }
+                throw constructAndRaiseNode.raiseOSError(frame, e.getErrorCode(), e.getMessageAsTruffleString(), null, null);
+            }
+            if (n > 0 && self.getAbsPos() != -1) {
+                self.incAbsPos(n);
+            }
+            return n;
+        }
 
         // This is the spec way
         @Specialization
-        byte[] bufferedreaderRawRead(VirtualFrame frame, PBuffered self, int len,
+        int bufferedreaderRawRead(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len,
                         @Cached BytesNodes.ToBytesNode toBytes,
                         @Cached PythonObjectFactory factory,
                         @Cached PyObjectCallMethodObjArgs callMethodReadInto,
@@ -151,14 +188,11 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
             if (n > 0 && self.getAbsPos() != -1) {
                 self.incAbsPos(n);
             }
-            if (n == 0) {
-                return PythonUtils.EMPTY_BYTE_ARRAY;
-            }
-            byte[] bytes = toBytes.execute(memobj);
-            if (n < len) {
-                return PythonUtils.arrayCopyOf(bytes, n);
+            if (n > 0) {
+                byte[] bytes = toBytes.execute(memobj);
+                PythonUtils.arraycopy(bytes, 0, dest, offset, Math.min(n, bytes.length));
             }
-            return bytes;
+            return n;
         }
 
     }
@@ -180,15 +214,13 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                 start = 0;
             }
             int len = self.getBufferSize() - start;
-            byte[] fill = rawReadNode.execute(frame, self, len);
-            if (fill == BLOCKED) {
+            int n = rawReadNode.execute(frame, self, self.getBuffer(), start, len);
+            if (n == BLOCKED) {
                 return -2;
             }
-            int n = fill.length;
             if (n == 0) {
                 return n;
             }
-            PythonUtils.arraycopy(fill, 0, self.getBuffer(), start, n);
             self.setReadEnd(start + n);
             self.setRawPos(start + n);
             return n;
@@ -300,13 +332,7 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                     if (r == 0) {
                         break;
                     }
-                    byte[] fill = rawReadNode.execute(frame, self, r);
-                    if (fill == BLOCKED) {
-                        r = -2;
-                    } else {
-                        r = fill.length;
-                        PythonUtils.arraycopy(fill, 0, res, written, r);
-                    }
+                    r = rawReadNode.execute(frame, self, res, written, r);
                     if (r == 0 || r == -2) {
                         /* EOF occurred */
                         if (r == 0 || written > 0) {
@@ -489,8 +515,9 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
             try {
                 lock.enter(self);
                 self.resetRead(); // _bufferedreader_reset_buf
-                byte[] fill = rawReadNode.execute(frame, self, n);
-                return factory().createBytes(fill == BLOCKED ? PythonUtils.EMPTY_BYTE_ARRAY : fill);
+                byte[] fill = new byte[n];
+                int r = rawReadNode.execute(frame, self, fill, 0, n);
+                return factory().createBytes(fill, 0, r == BLOCKED ? 0 : r);
             } finally {
                 EnterBufferedNode.leave(self);
             }
@@ -546,12 +573,14 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
                      caller's buffer.
                      */
                     if (remaining > self.getBufferSize()) {
-                        byte[] fill = rawReadNode.execute(frame, self, remaining);
-                        if (fill == BLOCKED) {
-                            n = -2;
+                        if (bufferLib.hasInternalByteArray(buffer)) {
+                            n = rawReadNode.execute(frame, self, bufferLib.getInternalByteArray(buffer), written, remaining);
                         } else {
-                            n = fill.length;
-                            bufferLib.writeFromByteArray(buffer, written, fill, 0, n);
+                            byte[] fill = new byte[remaining];
+                            n = rawReadNode.execute(frame, self, fill, 0, remaining);
+                            if (n > 0) {
+                                bufferLib.writeFromByteArray(buffer, written, fill, 0, n);
+                            }
                         }
                     } else if (!(isReadinto1Mode() && written != 0)) {
                         /*-
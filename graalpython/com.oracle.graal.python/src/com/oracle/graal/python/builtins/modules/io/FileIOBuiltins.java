@@ -70,9 +70,6 @@ import static com.oracle.graal.python.builtins.modules.io.IONodes.J__DEALLOC_WAR
 import static com.oracle.graal.python.builtins.modules.io.IONodes.J__FINALIZING;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_CLOSE;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_NAME;
-import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.append;
-import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.createOutputStream;
-import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.toByteArray;
 import static com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.EAGAIN;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_OPEN;
 import static com.oracle.graal.python.nodes.ErrorMessages.BAD_MODE;
@@ -106,7 +103,6 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueErr
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 
 import com.oracle.graal.python.PythonLanguage;
@@ -125,8 +121,6 @@ import com.oracle.graal.python.builtins.modules.io.IONodes.IOMode;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
-import com.oracle.graal.python.builtins.objects.bytes.PBytes;
-import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.str.StringUtils.SimpleTruffleStringFormatNode;
 import com.oracle.graal.python.lib.PyIndexCheckNode;
@@ -565,7 +559,6 @@ public final class FileIOBuiltins extends PythonBuiltins {
         Object readall(VirtualFrame frame, PFileIO self,
                         @Cached PosixModuleBuiltins.ReadNode posixRead,
                         @Cached BranchProfile readErrorProfile,
-                        @Cached SequenceStorageNodes.GetInternalByteArrayNode getBytes,
                         @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
                         @Cached BranchProfile multipleReadsProfile,
                         @Cached BranchProfile exceptionProfile,
@@ -590,63 +583,52 @@ public final class FileIOBuiltins extends PythonBuiltins {
                 // ignore
             }
 
+            /*
+             * Like CPython, we read directly into the array that will back the result and only
+             * grow it when the file turns out to be larger than expected.
+             */
+            byte[] buffer = new byte[bufsize];
             int bytesRead = 0;
-            PBytes b;
-            try {
-                b = posixRead.read(self.getFD(), bufsize, posixLib, readErrorProfile, gil);
-                bytesRead = b.getSequenceStorage().length();
-                if (bytesRead == 0 || (mayBeQuick && bytesRead == bufsize - 1)) {
-                    return b;
-                }
-            } catch (PosixException e) {
-                exceptionProfile.enter();
-                if (e.getErrorCode() == EAGAIN.getNumber()) {
-                    return PNone.NONE;
-                }
-                throw raiseOSErrorFromPosixException(frame, e);
-            }
-
-            multipleReadsProfile.enter();
-            byte[] buffer = getBytes.execute(b.getSequenceStorage());
-            ByteArrayOutputStream result = createOutputStream();
-            append(result, buffer, bytesRead);
-
             while (true) {
                 if (bytesRead >= bufsize) {
+                    multipleReadsProfile.enter();
+                    mayBeQuick = false;
                     // see CPython's function 'fileio.c: new_buffersize'
                     bufsize = bytesRead + Math.max(SMALLCHUNK, bytesRead + 256);
                     if (bufsize <= 0) {
                         throw raise(OverflowError, UNBOUNDED_READ_RETURNED_MORE_BYTES);
                     }
+                    buffer = PythonUtils.arrayCopyOf(buffer, bufsize);
                 }
 
                 int n;
                 try {
-                    b = posixRead.read(self.getFD(), bufsize - bytesRead, posixLib, readErrorProfile, gil);
-                    /*
-                     * PosixModuleBuiltins#ReadNode creates PBytes with exact size;
-                     */
-                    buffer = getBytes.execute(b.getSequenceStorage());
-                    n = buffer.length;
-                    if (n == 0) {
-                        break;
-                    }
+                    n = posixRead.readInto(self.getFD(), buffer, bytesRead, bufsize - bytesRead, posixLib, readErrorProfile, gil);
                 } catch (PosixException e) {
+                    exceptionProfile.enter();
                     if (e.getErrorCode() == EAGAIN.getNumber()) {
                         if (bytesRead > 0) {
                             break;
                         }
                         return PNone.NONE;
                     }
-                    exceptionProfile.enter();
                     throw raiseOSErrorFromPosixException(frame, e);
                 }
-
-                append(result, buffer, n);
+                if (n == 0) {
+                    break;
+                }
                 bytesRead += n;
+                if (mayBeQuick && bytesRead == bufsize - 1) {
+                    // the size of the file was computed correctly, we are at the EOF
+                    break;
+                }
             }
 
-            return factory().createBytes(toByteArray(result));
+            if (buffer.length - bytesRead > 1) {
+                // do not keep the spare capacity of a grown buffer alive
+                buffer = PythonUtils.arrayCopyOf(buffer, bytesRead);
+            }
+            return factory().createBytes(buffer, bytesRead);
         }
 
         @Specialization(guards = "self.isClosed()")
@@ -673,9 +655,13 @@ public final class FileIOBuiltins extends PythonBuiltins {
                     return 0;
                 }
                 try {
-                    PBytes data = posixRead.read(self.getFD(), size, posixLib, readErrorProfile, gil);
-                    int n = bufferLib.getBufferLength(data);
-                    bufferLib.readIntoBuffer(data, 0, buffer, 0, n, bufferLib);
+                    if (bufferLib.hasInternalByteArray(buffer)) {
+                        // read straight into the storage of the target
+                        return posixRead.readInto(self.getFD(), bufferLib.getInternalByteArray(buffer), 0, size, posixLib, readErrorProfile, gil);
+                    }
+                    byte[] data = new byte[size];
+                    int n = posixRead.readInto(self.getFD(), data, 0, size, posixLib, readErrorProfile, gil);
+                    bufferLib.writeFromByteArray(buffer, 0, data, 0, n);
                     return n;
                 } catch (PosixException e) {
                     if (e.getErrorCode() == EAGAIN.getNumber()) {
@@ -17,6 +17,7 @@ import static com.oracle.graal.python.nodes.PGuards.isPInt;
 import static com.oracle.graal.python.nodes.PGuards.isString;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
 import static com.oracle.graal.python.nodes.StringLiterals.T_DOUBLE_QUOTE;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_BRACES;
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_BRACKETS;
 import static com.oracle.graal.python.nodes.StringLiterals.T_LBRACE;
@@ -36,7 +37,9 @@ import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
@@ -55,14 +58,16 @@ import com.oracle.graal.python.builtins.objects.str.StringNodes;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.lib.GetNextNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.builtins.ListNodes.ConstructListNode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
-import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
@@ -70,9 +75,11 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.formatting.FloatFormatter;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -89,16 +96,20 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
     private static final TruffleString T_POSITIVE_INFINITY = tsLiteral("Infinity");
     private static final TruffleString T_NEGATIVE_INFINITY = tsLiteral("-Infinity");
     private static final TruffleString T_NAN = tsLiteral("NaN");
+    private static final TruffleString T_DOT_ZERO = tsLiteral(".0");
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return JSONEncoderBuiltinsFactory.getFactories();
     }
 
-    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "obj", "_current_indent_level"})
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "obj", "_current_indent_level", "_fp"})
     @ArgumentClinic(name = "_current_indent_level", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0", useDefaultForNone = true)
     @GenerateNodeFactory
-    public abstract static class CallEncoderNode extends PythonTernaryClinicBuiltinNode {
+    public abstract static class CallEncoderNode extends PythonQuaternaryClinicBuiltinNode {
+
+        private static final int DUMP_BATCH_SIZE = 64 * 1024;
 
         // TODO: should all these be replaced with uncached nodes?
         @Child private CallUnaryMethodNode callEncode = CallUnaryMethodNode.create();
@@ -121,6 +132,7 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
         @Child private TruffleStringBuilder.AppendCodePointNode appendCodePointNode = TruffleStringBuilder.AppendCodePointNode.create();
         @Child private TruffleStringBuilder.AppendStringNode appendStringNode = TruffleStringBuilder.AppendStringNode.create();
         @Child private TruffleStringBuilder.AppendLongNumberNode appendLongNumberNode = TruffleStringBuilder.AppendLongNumberNode.create();
+        @Child private TruffleStringBuilder.ToStringNode toStringNode = TruffleStringBuilder.ToStringNode.create();
 
         @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
@@ -131,11 +143,96 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
 
         @Specialization
         @TruffleBoundary
-        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent,
-                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
-            TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
-            appendListObj(self, builder, obj);
-            return factory.createTuple(new Object[]{toStringNode.execute(builder)});
+        protected Object call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent, Object fp) {
+            if (PGuards.isPNone(fp)) {
+                TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+                appendListObj(self, builder, obj);
+                return factory.createTuple(new Object[]{toStringNode.execute(builder)});
+            }
+            DumpBatch batch = new DumpBatch(fp);
+            if ((isClassProfile.profileObject(obj, PList) || isClassProfile.profileObject(obj, PTuple)) && ((PSequence) obj).getSequenceStorage().length() > 0) {
+                dumpList(self, batch, (PSequence) obj);
+            } else if (isClassProfile.profileObject(obj, PDict) && !self.sortKeys && HashingStorageLen.executeUncached(((PDict) obj).getDictStorage()) > 0) {
+                dumpDict(self, batch, (PDict) obj);
+            } else {
+                TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+                appendListObj(self, builder, obj);
+                batch.add(toStringNode.execute(builder));
+            }
+            batch.flush();
+            return PNone.NONE;
+        }
+
+        /**
+         * Collects the encoded parts of a document written by {@code json.dump} and passes them to
+         * {@code fp.write} in batches of about 64K characters.
+         */
+        private static final class DumpBatch {
+            private final Object fp;
+            private TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+            private int length;
+
+            DumpBatch(Object fp) {
+                this.fp = fp;
+            }
+
+            void add(TruffleString str) {
+                builder.appendStringUncached(str);
+                length += str.codePointLengthUncached(TS_ENCODING);
+                if (length >= DUMP_BATCH_SIZE) {
+                    flush();
+                }
+            }
+
+            void flush() {
+                if (length > 0) {
+                    PyObjectCallMethodObjArgs.getUncached().execute(null, fp, T_WRITE, builder.toStringUncached());
+                    builder = TruffleStringBuilder.create(TS_ENCODING);
+                    length = 0;
+                }
+            }
+        }
+
+        /**
+         * Encodes a top-level list or tuple for {@code json.dump} one element at a time, so that a
+         * large document is never built as a single string.
+         */
+        private void dumpList(PJSONEncoder encoder, DumpBatch batch, PSequence list) {
+            SequenceStorage storage = list.getSequenceStorage();
+            startRecursion(encoder, list);
+            batch.add(T_LBRACKET);
+            for (int i = 0; i < storage.length(); i++) {
+                TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+                if (i > 0) {
+                    appendStringNode.execute(builder, encoder.itemSeparator);
+                }
+                appendListObj(encoder, builder, storage.getItemNormalized(i));
+                batch.add(toStringNode.execute(builder));
+            }
+            batch.add(T_RBRACKET);
+            endRecursion(encoder, list);
+        }
+
+        /**
+         * Encodes a top-level dict for {@code json.dump} one entry at a time, like
+         * {@link #dumpList}.
+         */
+        private void dumpDict(PJSONEncoder encoder, DumpBatch batch, PDict dict) {
+            HashingStorage storage = dict.getDictStorage();
+            startRecursion(encoder, dict);
+            batch.add(T_LBRACE);
+            HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+            boolean first = true;
+            boolean cacheKeys = storage instanceof EconomicMapStorage && encoder.fastEncode != FastEncode.None;
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                Object key = HashingStorageIteratorKey.executeUncached(storage, it);
+                Object value = HashingStorageIteratorValue.executeUncached(storage, it);
+                TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
+                first = appendDictItem(encoder, builder, first, cacheKeys, key, value);
+                batch.add(toStringNode.execute(builder));
+            }
+            batch.add(T_RBRACE);
+            endRecursion(encoder, dict);
         }
 
         private void appendConst(TruffleStringBuilder builder, Object obj) {
@@ -161,6 +258,10 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                 } else {
                     appendStringNode.execute(builder, T_NAN);
                 }
+            } else if (obj == (long) obj && Math.abs(obj) < 1e16 && Double.doubleToRawLongBits(obj) != NEGATIVE_ZERO_BITS) {
+                // integral values print like ints with ".0", which needs no formatter
+                appendLongNumberNode.execute(builder, (long) obj);
+                appendStringNode.execute(builder, T_DOT_ZERO);
             } else {
                 appendStringNode.execute(builder, formatDouble(obj));
             }
@@ -265,10 +366,11 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                 if (!encoder.sortKeys && isClassProfile.profileObject(dict, PDict)) {
                     HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
                     boolean first = true;
+                    boolean cacheKeys = storage instanceof EconomicMapStorage && encoder.fastEncode != FastEncode.None;
                     while (HashingStorageIteratorNext.executeUncached(storage, it)) {
                         Object key = HashingStorageIteratorKey.executeUncached(storage, it);
                         Object value = HashingStorageIteratorValue.executeUncached(storage, it);
-                        first = appendDictEntry(encoder, builder, first, key, value);
+                        first = appendDictItem(encoder, builder, first, cacheKeys, key, value);
                     }
                 } else {
                     PList items = constructList.execute(null, callGetItems.executeObject(null, dict));
@@ -300,6 +402,34 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
             }
         }
 
+        /**
+         * Returns the quoted and escaped form of a dict key. Keys are cached on the encoder, so
+         * the keys that repeat in each record of a list are escaped only once.
+         */
+        private TruffleString getEncodedKey(PJSONEncoder encoder, TruffleString key) {
+            TruffleString encoded = encoder.getEncodedKey(key);
+            if (encoded == null) {
+                TruffleStringBuilder keyBuilder = TruffleStringBuilder.create(TS_ENCODING);
+                appendString(encoder, keyBuilder, key);
+                encoded = toStringNode.execute(keyBuilder);
+                encoder.putEncodedKey(key, encoded);
+            }
+            return encoded;
+        }
+
+        private boolean appendDictItem(PJSONEncoder encoder, TruffleStringBuilder builder, boolean first, boolean cacheKeys, Object key, Object value) {
+            if (cacheKeys && key instanceof TruffleString) {
+                if (!first) {
+                    appendStringNode.execute(builder, encoder.itemSeparator);
+                }
+                appendStringNode.execute(builder, getEncodedKey(encoder, (TruffleString) key));
+                appendStringNode.execute(builder, encoder.keySeparator);
+                appendListObj(encoder, builder, value);
+                return false;
+            }
+            return appendDictEntry(encoder, builder, first, key, value);
+        }
+
         private boolean appendDictEntry(PJSONEncoder encoder, TruffleStringBuilder builder, boolean first, Object key, Object value) {
             if (!first) {
                 appendStringNode.execute(builder, encoder.itemSeparator);
@@ -327,6 +457,8 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
 
             if (storage.length() == 0) {
                 appendStringNode.execute(builder, T_EMPTY_BRACKETS);
+            } else if (appendPrimitiveList(encoder, builder, list, storage)) {
+                // done
             } else {
                 startRecursion(encoder, list);
                 appendStringNode.execute(builder, T_LBRACKET);
@@ -361,5 +493,47 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                 endRecursion(encoder, list);
             }
         }
+
+        /**
+         * Encodes lists and tuples that store unboxed ints, longs or doubles directly from the
+         * storage array. Such lists cannot contain themselves, so they also skip the circular
+         * reference check.
+         */
+        private boolean appendPrimitiveList(PJSONEncoder encoder, TruffleStringBuilder builder, PSequence list, SequenceStorage storage) {
+            if (!(storage instanceof IntSequenceStorage || storage instanceof LongSequenceStorage || storage instanceof DoubleSequenceStorage) ||
+                            !(isClassProfile.profileObject(list, PList) || isClassProfile.profileObject(list, PTuple))) {
+                return false;
+            }
+            int length = storage.length();
+            TruffleString separator = encoder.itemSeparator;
+            appendStringNode.execute(builder, T_LBRACKET);
+            if (storage instanceof IntSequenceStorage) {
+                int[] values = ((IntSequenceStorage) storage).getInternalIntArray();
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        appendStringNode.execute(builder, separator);
+                    }
+                    appendLongNumberNode.execute(builder, values[i]);
+                }
+            } else if (storage instanceof LongSequenceStorage) {
+                long[] values = ((LongSequenceStorage) storage).getInternalLongArray();
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        appendStringNode.execute(builder, separator);
+                    }
+                    appendLongNumberNode.execute(builder, values[i]);
+                }
+            } else {
+                double[] values = ((DoubleSequenceStorage) storage).getInternalDoubleArray();
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        appendStringNode.execute(builder, separator);
+                    }
+                    appendFloat(encoder, builder, values[i]);
+                }
+            }
+            appendStringNode.execute(builder, T_RBRACKET);
+            return true;
+        }
     }
 }
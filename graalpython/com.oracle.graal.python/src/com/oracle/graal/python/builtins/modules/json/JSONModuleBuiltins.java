@@ -6,6 +6,7 @@
 package com.oracle.graal.python.builtins.modules.json;
 
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.HEXDIGITS;
 import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
@@ -25,6 +26,10 @@ import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.str.StringNodes.CastToJavaStringCheckedNode;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.SpecialAttributeNames;
 import com.oracle.graal.python.nodes.attributes.GetAttributeNode.GetFixedAttributeNode;
@@ -35,6 +40,8 @@ import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -161,11 +168,103 @@ public class JSONModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "load_stream", minNumOfPositionalArgs = 2, parameterNames = {"scanner", "source"}, //
+                    doc = "load_stream(scanner, source) -> object\n" +
+                                    "\n" +
+                                    "Decode a single JSON document from a str, a bytes-like object or a file\n" +
+                                    "object with a read(size) method, using the settings of the scanner.\n" +
+                                    "Bytes are decoded in chunks as the document is scanned; their encoding\n" +
+                                    "is detected like json.detect_encoding does.")
+    @GenerateNodeFactory
+    abstract static class LoadStream extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object load(PJSONScanner scanner, Object source) {
+            return new JSONStreamScanner(scanner, source, null).load(this);
+        }
+    }
+
+    @Builtin(name = "iterload_stream", minNumOfPositionalArgs = 2, parameterNames = {"scanner", "source", "lines"}, //
+                    doc = "iterload_stream(scanner, source, lines=False) -> iterator\n" +
+                                    "\n" +
+                                    "Like load_stream, but return an iterator over the elements of the\n" +
+                                    "top-level JSON array, or over whitespace-separated JSON values (as in\n" +
+                                    "JSON Lines) if lines is true. Each element is decoded when requested.")
+    @GenerateNodeFactory
+    @ArgumentClinic(name = "lines", conversion = ArgumentClinic.ClinicConversion.Boolean, defaultValue = "false")
+    abstract static class IterloadStream extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONModuleBuiltinsClinicProviders.IterloadStreamClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object iterload(PJSONScanner scanner, Object source, boolean lines,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createJSONStreamIterator(new JSONStreamScanner(scanner, source, getContext().getSharedFinalizer()), lines);
+        }
+    }
+
+    @Builtin(name = "dump_stream", minNumOfPositionalArgs = 2, parameterNames = {"chunks", "fp"}, //
+                    doc = "dump_stream(chunks, fp)\n" +
+                                    "\n" +
+                                    "Write the chunks of an encoded JSON document to fp, joined into batches of\n" +
+                                    "about 64K characters, so that fp.write is not called for every chunk.")
+    @GenerateNodeFactory
+    abstract static class DumpStream extends PythonBinaryBuiltinNode {
+
+        private static final int BATCH_SIZE = 64 * 1024;
+
+        @Specialization
+        static Object dump(VirtualFrame frame, Object chunks, Object fp,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached PyIterNextNode nextNode,
+                        @Cached CastToTruffleStringNode castToString,
+                        @Cached TruffleString.CodePointLengthNode lengthNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached PyObjectCallMethodObjArgs callWrite) {
+            Object iterator = getIter.execute(frame, chunks);
+            TruffleStringBuilder batch = TruffleStringBuilder.create(TS_ENCODING);
+            int batchLength = 0;
+            Object chunk;
+            while ((chunk = nextNode.execute(frame, iterator)) != null) {
+                TruffleString str;
+                try {
+                    str = castToString.execute(chunk);
+                } catch (CannotCastException e) {
+                    // not a str, write it as it is and let the stream decide
+                    if (batchLength > 0) {
+                        callWrite.execute(frame, fp, T_WRITE, toStringNode.execute(batch));
+                        batch = TruffleStringBuilder.create(TS_ENCODING);
+                        batchLength = 0;
+                    }
+                    callWrite.execute(frame, fp, T_WRITE, chunk);
+                    continue;
+                }
+                appendNode.execute(batch, str);
+                batchLength += lengthNode.execute(str, TS_ENCODING);
+                if (batchLength >= BATCH_SIZE) {
+                    callWrite.execute(frame, fp, T_WRITE, toStringNode.execute(batch));
+                    batch = TruffleStringBuilder.create(TS_ENCODING);
+                    batchLength = 0;
+                }
+            }
+            if (batchLength > 0) {
+                callWrite.execute(frame, fp, T_WRITE, toStringNode.execute(batch));
+            }
+            return PNone.NONE;
+        }
+    }
+
     @Builtin(name = "make_scanner", parameterNames = {"$cls", "context"}, constructsClass = PythonBuiltinClassType.JSONScanner, //
                     doc = "_iterencode(obj, _current_indent_level) -> iterable")
     @GenerateNodeFactory
     public abstract static class MakeScanner extends PythonBinaryBuiltinNode {
 
+        private static final TruffleString T_REUSE_PAIRS = tsLiteral("reuse_pairs");
+
         @Child private GetFixedAttributeNode getStrict = GetFixedAttributeNode.create(T_STRICT);
         @Child private GetFixedAttributeNode getObjectHook = GetFixedAttributeNode.create(tsLiteral("object_hook"));
         @Child private GetFixedAttributeNode getObjectPairsHook = GetFixedAttributeNode.create(tsLiteral("object_pairs_hook"));
@@ -176,15 +275,19 @@ public class JSONModuleBuiltins extends PythonBuiltins {
         @Specialization
         public PJSONScanner doNew(VirtualFrame frame, Object cls, Object context,
                         @Cached("createIfTrueNode()") CoerceToBooleanNode castStrict,
+                        @Cached PyObjectLookupAttr lookupReusePairs,
+                        @Cached("createIfTrueNode()") CoerceToBooleanNode castReusePairs,
                         @Cached PythonObjectFactory factory) {
 
             boolean strict = castStrict.executeBoolean(frame, getStrict.execute(frame, context));
+            Object reusePairsAttr = lookupReusePairs.execute(frame, context, T_REUSE_PAIRS);
+            boolean reusePairs = reusePairsAttr != PNone.NO_VALUE && castReusePairs.executeBoolean(frame, reusePairsAttr);
             Object objectHook = getObjectHook.execute(frame, context);
             Object objectPairsHook = getObjectPairsHook.execute(frame, context);
             Object parseFloat = getParseFloat.execute(frame, context);
             Object parseInt = getParseInt.execute(frame, context);
             Object parseConstant = getParseConstant.execute(frame, context);
-            return factory.createJSONScanner(cls, strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant);
+            return factory.createJSONScanner(cls, strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant, reusePairs);
         }
     }
 
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * State of a single scanner call (or of one streaming load). Like CPython's {@code memo}, it interns
+ * object keys, so that repeated keys share one string and its cached hash. In addition, it records
+ * the key sequences of the objects seen so far in a tree of {@link KeySequence}s. Arrays of
+ * homogeneous records follow the same path through the tree, which lets the scanners match the next
+ * key against the input without creating a string for it, and create each dict with the size of the
+ * previous object that started with the same key.
+ */
+final class JSONScanState {
+
+    /**
+     * Upper bound for the number of tree nodes, for documents whose objects do not repeat their
+     * keys. Keys are still interned once it is reached.
+     */
+    private static final int MAX_SEQUENCES = 4096;
+
+    /**
+     * Upper bound for the number of interned keys, since a streaming load keeps its state across
+     * all documents of the stream.
+     */
+    private static final int MAX_INTERNED = 1 << 16;
+
+    static final class KeySequence {
+        final TruffleString key;
+        /* the key as it appears in the input if it does not need escaping, null otherwise */
+        private final String literal;
+        /* number of keys of the last object whose first key is this one */
+        int objectSize;
+        private KeySequence last;
+        private HashMap<TruffleString, KeySequence> transitions;
+
+        private KeySequence(TruffleString key) {
+            this.key = key;
+            if (key != null) {
+                String javaKey = key.toJavaStringUncached();
+                this.literal = isLiteral(javaKey) ? javaKey : null;
+            } else {
+                this.literal = null;
+            }
+        }
+
+        private static boolean isLiteral(String key) {
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the key that followed this sequence most recently if the string literal whose
+         * first character is at {@code start} is exactly that key, or {@code null} otherwise.
+         */
+        KeySequence predict(String input, int start) {
+            KeySequence next = last;
+            if (next != null && next.literal != null) {
+                int end = start + next.literal.length();
+                if (end < input.length() && input.charAt(end) == '"' && input.startsWith(next.literal, start)) {
+                    return next;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the length of the literal that {@link #predict} looks for, or -1 if there is none.
+         */
+        int predictedLength() {
+            return last != null && last.literal != null ? last.literal.length() : -1;
+        }
+
+        /**
+         * Like {@link #predict(String, int)}, for input in {@code chars[start:limit]}.
+         */
+        KeySequence predict(char[] chars, int start, int limit) {
+            KeySequence next = last;
+            if (next != null && next.literal != null) {
+                String literal = next.literal;
+                int end = start + literal.length();
+                if (end < limit && chars[end] == '"') {
+                    for (int i = 0; i < literal.length(); i++) {
+                        if (chars[start + i] != literal.charAt(i)) {
+                            return null;
+                        }
+                    }
+                    return next;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Length of the input consumed by a successful prediction, excluding the closing quote.
+         */
+        int literalLength() {
+            return literal.length();
+        }
+    }
+
+    private final HashMap<TruffleString, TruffleString> memo = new HashMap<>();
+    final KeySequence root = new KeySequence(null);
+    private int sequenceCount;
+
+    private Object[] pairs = new Object[16];
+    private int pairCount;
+    private PList reusablePairs;
+    private Object[] reusablePairsArray;
+
+    /**
+     * Returns the sequence that continues {@code current} with {@code key}, or {@code null} if
+     * {@code current} is {@code null} or the tree is full, in which case the caller should only
+     * {@link #intern} the key. The {@link KeySequence#key} of the result is the interned key.
+     */
+    KeySequence transition(KeySequence current, TruffleString key) {
+        if (current != null) {
+            KeySequence next = current.last;
+            if (next != null && next.key.equals(key)) {
+                return next;
+            }
+            next = current.transitions != null ? current.transitions.get(key) : null;
+            if (next == null && sequenceCount < MAX_SEQUENCES) {
+                sequenceCount++;
+                next = new KeySequence(intern(key));
+                if (current.last != null) {
+                    if (current.transitions == null) {
+                        current.transitions = new HashMap<>();
+                        current.transitions.put(current.last.key, current.last);
+                    }
+                    current.transitions.put(next.key, next);
+                }
+            }
+            if (next != null) {
+                current.last = next;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    TruffleString intern(TruffleString key) {
+        if (memo.size() >= MAX_INTERNED) {
+            TruffleString interned = memo.get(key);
+            return interned == null ? key : interned;
+        }
+        TruffleString interned = memo.putIfAbsent(key, key);
+        return interned == null ? key : interned;
+    }
+
+    /**
+     * Returns the position in the pair stack at which the pairs of a new object start.
+     */
+    int pairsStart() {
+        return pairCount;
+    }
+
+    void pushPair(Object pair) {
+        if (pairCount == pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[pairCount++] = pair;
+    }
+
+    /**
+     * Pops the pairs of the object started at {@code start} into the list that is passed to
+     * {@code object_pairs_hook}. That list is either a new exactly sized one or, if
+     * {@code reuse} is set, the same list for all objects of this call.
+     */
+    PList popPairs(int start, boolean reuse, PythonObjectFactory factory) {
+        int n = pairCount - start;
+        PList list;
+        if (reuse) {
+            if (reusablePairsArray == null || reusablePairsArray.length < n) {
+                reusablePairsArray = new Object[Math.max(n, 8)];
+            }
+            System.arraycopy(pairs, start, reusablePairsArray, 0, n);
+            ObjectSequenceStorage storage = new ObjectSequenceStorage(reusablePairsArray, n);
+            if (reusablePairs == null) {
+                reusablePairs = factory.createList(storage);
+            } else {
+                reusablePairs.setSequenceStorage(storage);
+            }
+            list = reusablePairs;
+        } else {
+            list = factory.createList(new ObjectSequenceStorage(Arrays.copyOfRange(pairs, start, pairCount)));
+        }
+        Arrays.fill(pairs, start, pairCount, null);
+        pairCount = start;
+        return list;
+    }
+}
@@ -26,6 +26,8 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyFloatCheckExactNode;
 import com.oracle.graal.python.lib.PyLongCheckExactNode;
@@ -106,12 +108,12 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                 dictInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PDict);
             }
             IntRef nextIdx = new IntRef();
-            Object result = scanOnceUnicode(self, toJavaStringNode.execute(string), idx, nextIdx);
+            Object result = scanOnceUnicode(self, new JSONScanState(), toJavaStringNode.execute(string), idx, nextIdx);
             return factory.createTuple(new Object[]{result, nextIdx.value});
         }
 
         @TruffleBoundary
-        private Object parseObjectUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
+        private Object parseObjectUnicode(PJSONScanner scanner, JSONScanState state, String string, int start, IntRef nextIdx) {
             /*
              * Read a JSON object from PyUnicode pystr. idx is the index of the first character
              * after the opening curly brace. nextIdx is a return-by-reference index to the first
@@ -124,13 +126,12 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             int idx = start;
             int length = string.length();
 
-            ObjectSequenceStorage listStorage = null;
+            int pairsStart = state.pairsStart();
             EconomicMapStorage mapStorage = null;
-            if (hasPairsHook) {
-                listStorage = new ObjectSequenceStorage(4);
-            } else {
-                mapStorage = EconomicMapStorage.create();
-            }
+            /* the keys read so far, and the first one, which remembers the size of the object */
+            JSONScanState.KeySequence keys = state.root;
+            JSONScanState.KeySequence first = null;
+            int count = 0;
 
             /* skip whitespace after { */
             idx = skipWhitespace(string, idx, length);
@@ -139,16 +140,25 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             if (idx >= length || string.charAt(idx) != '}') {
                 while (true) {
 
-                    /* read key */
+                    /* read key, trying the key that followed the same keys last time first */
                     if (idx >= length || string.charAt(idx) != '"') {
                         throw decodeError(this, string, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
                     }
-                    TruffleString newKey = scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this);
-                    TruffleString key = scanner.memo.putIfAbsent(newKey, newKey);
-                    if (key == null) {
-                        key = newKey;
+                    TruffleString key;
+                    JSONScanState.KeySequence predicted = keys != null ? keys.predict(string, idx + 1) : null;
+                    if (predicted != null) {
+                        keys = predicted;
+                        key = predicted.key;
+                        idx += predicted.literalLength() + 2;
+                    } else {
+                        key = scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this);
+                        keys = state.transition(keys, key);
+                        key = keys != null ? keys.key : state.intern(key);
+                        idx = nextIdx.value;
+                    }
+                    if (count++ == 0) {
+                        first = keys;
                     }
-                    idx = nextIdx.value;
 
                     /* skip whitespace between key and : delimiter, read :, skip whitespace */
                     idx = skipWhitespace(string, idx, length);
@@ -158,12 +168,15 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                     idx = skipWhitespace(string, idx + 1, length);
 
                     /* read any JSON term */
-                    Object val = scanOnceUnicode(scanner, string, idx, nextIdx);
+                    Object val = scanOnceUnicode(scanner, state, string, idx, nextIdx);
                     idx = nextIdx.value;
 
                     if (hasPairsHook) {
-                        listStorage.insertItem(listStorage.length(), factory.createTuple(PythonBuiltinClassType.PTuple, tupleInstanceShape, new Object[]{key, val}));
+                        state.pushPair(factory.createTuple(PythonBuiltinClassType.PTuple, tupleInstanceShape, new Object[]{key, val}));
                     } else {
+                        if (mapStorage == null) {
+                            mapStorage = first != null ? EconomicMapStorage.create(first.objectSize) : EconomicMapStorage.create();
+                        }
                         HashingStorage newStorage = HashingStorageSetItem.executeUncached(mapStorage, key, val);
                         assert newStorage == mapStorage;
                     }
@@ -185,9 +198,16 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             }
 
             nextIdx.value = idx + 1;
+            if (first != null) {
+                first.objectSize = count;
+            }
 
             if (hasPairsHook) {
-                return callObjectPairsHook.executeObject(scanner.objectPairsHook, factory.createList(PythonBuiltinClassType.PList, listInstanceShape, listStorage));
+                PList pairs = state.popPairs(pairsStart, scanner.reusePairs, factory);
+                return callObjectPairsHook.executeObject(scanner.objectPairsHook, pairs);
+            }
+            if (mapStorage == null) {
+                mapStorage = EconomicMapStorage.create();
             }
 
             /* if object_hook is not None: rval = object_hook(rval) */
@@ -199,7 +219,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
         }
 
         @TruffleBoundary
-        private Object parseArrayUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
+        private Object parseArrayUnicode(PJSONScanner scanner, JSONScanState state, String string, int start, IntRef nextIdx) {
             /*
              * Read a JSON array from PyUnicode pystr. idx is the index of the first character after
              * the opening brace. nextIdx is a return-by-reference index to the first character
@@ -218,7 +238,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                 while (true) {
 
                     /* read any JSON term */
-                    Object val = scanOnceUnicode(scanner, string, idx, nextIdx);
+                    Object val = scanOnceUnicode(scanner, state, string, idx, nextIdx);
                     storage.insertItem(storage.length(), val);
                     idx = nextIdx.value;
 
@@ -353,7 +373,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                         return rval;
                     }
                     String numStr = string.substring(start, idx);
-                    BigInteger bi = new BigInteger(numStr);
+                    BigInteger bi = PInt.parseDecimal(numStr);
                     try {
                         return bi.intValueExact();
                     } catch (ArithmeticException e) {
@@ -374,7 +394,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
         }
 
         @TruffleBoundary
-        private Object scanOnceUnicode(PJSONScanner scanner, String string, int idx, IntRef nextIdx) {
+        private Object scanOnceUnicode(PJSONScanner scanner, JSONScanState state, String string, int idx, IntRef nextIdx) {
             /*
              * Read one JSON term (of any kind) from PyUnicode pystr. idx is the index of the first
              * character of the term nextIdx is a return-by-reference index to the first character
@@ -396,10 +416,10 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                     return scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this);
                 case '{':
                     /* object */
-                    return parseObjectUnicode(scanner, string, idx + 1, nextIdx);
+                    return parseObjectUnicode(scanner, state, string, idx + 1, nextIdx);
                 case '[':
                     /* array */
-                    return parseArrayUnicode(scanner, string, idx + 1, nextIdx);
+                    return parseArrayUnicode(scanner, state, string, idx + 1, nextIdx);
                 case 'n':
                     /* null */
                     if ((idx + 3 < length) && string.charAt(idx + 1) == 'u' && string.charAt(idx + 2) == 'l' && string.charAt(idx + 3) == 'l') {
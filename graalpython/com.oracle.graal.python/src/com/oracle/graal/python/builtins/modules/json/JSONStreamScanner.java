@@ -0,0 +1,1020 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
+import static com.oracle.graal.python.builtins.objects.str.StringUtils.simpleTruffleStringFormatUncached;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_DECODE;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyFloatCheckExactNode;
+import com.oracle.graal.python.lib.PyLongCheckExactNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
+import com.oracle.graal.python.runtime.AsyncHandler.SharedFinalizer;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * A JSON scanner that consumes its input incrementally from a buffer-protocol object, a file-like
+ * object or a {@code str}. Bytes are decoded chunk by chunk, with the encoding detected like
+ * {@code json.detect_encoding} does, so neither the raw bytes nor the decoded text of the whole
+ * document have to be kept alive next to the resulting objects.
+ * <p>
+ * Decoded characters live in a window that is compacted whenever more input is needed. While a
+ * string or number literal is scanned, {@link #mark} pins its start so that the literal can be
+ * copied out of the window, and errors reported at its start, even if it spans several chunks.
+ * <p>
+ * Like {@code json.loads}, which decodes bytes with the {@code surrogatepass} error handler, lone
+ * surrogates encoded in the input are decoded rather than reported as malformed.
+ * <p>
+ * The {@code doc} of the raised {@code JSONDecodeError} is the whole document if the input is a
+ * {@code str} or a buffer. The input of a file is never kept whole, so its {@code doc} is only the
+ * current window, while {@code pos}, {@code lineno} and {@code colno} still refer to the whole
+ * document. Like in CPython, they count code points, not the UTF-16 units of the window.
+ * <p>
+ * An acquired buffer is released once the input is exhausted or scanning fails. A scanner that is
+ * abandoned before that (e.g. by an unfinished {@code json.iterload}) releases it when it is
+ * collected.
+ */
+public final class JSONStreamScanner {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final TruffleString T_JSON_DECODER = tsLiteral("json.decoder");
+    private static final TruffleString T_POS = tsLiteral("pos");
+    private static final TruffleString T_LINENO = tsLiteral("lineno");
+    private static final TruffleString T_COLNO = tsLiteral("colno");
+    private static final TruffleString T_ARGS = tsLiteral("args");
+
+    private enum State {
+        START,
+        STARTED,
+        DONE
+    }
+
+    private final PJSONScanner scanner;
+    private final JSONScanState keys = new JSONScanState();
+
+    // input
+    private Object document;
+    private Object file;
+    private Object buffer;
+    private BufferRef bufferRef;
+    private int bufferPos;
+    private String text;
+    private int textPos;
+    private ByteBuffer bytes;
+    private CharsetDecoder decoder;
+    private String encoding;
+    // size of the code unit of the UTF-16 and UTF-32 encodings, 0 for UTF-8
+    private int unitSize;
+    private boolean bigEndian;
+    private boolean textInput;
+    private boolean eof;
+    private boolean flushed;
+
+    // window of decoded characters
+    private char[] chars = new char[CHUNK_SIZE];
+    private int pos;
+    private int limit;
+    private int mark = -1;
+    private long offset;
+    private int lineCount;
+    // code point position of the last newline before the window
+    private long lastNewline = -1;
+    // number of surrogate pairs before the window, to convert positions to code points
+    private long surrogatePairs;
+    private char lastDropped;
+
+    private State state = State.START;
+    private Node location;
+
+    /**
+     * If {@code finalizer} is not {@code null}, an acquired buffer is also released when the
+     * scanner is collected before its input is exhausted.
+     */
+    @TruffleBoundary
+    JSONStreamScanner(PJSONScanner scanner, Object source, SharedFinalizer finalizer) {
+        this.scanner = scanner;
+        String str = castToString(source);
+        if (str != null) {
+            text = str;
+            textInput = true;
+            eof = true;
+            document = source;
+        } else if (PythonBufferAcquireLibrary.getUncached().hasBuffer(source)) {
+            buffer = PythonBufferAcquireLibrary.getUncached().acquireReadonly(source);
+            if (finalizer != null) {
+                bufferRef = new BufferRef(this, buffer, finalizer);
+            }
+        } else {
+            file = source;
+        }
+    }
+
+    /**
+     * Scans a single JSON document that must span the whole input.
+     */
+    @TruffleBoundary
+    Object load(Node raisingNode) {
+        location = raisingNode;
+        try {
+            checkBom();
+            skipWhitespace();
+            Object result = scanOnce();
+            checkEnd();
+            return result;
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Returns the next element of the top-level array or, if {@code lines} is set, the next of the
+     * whitespace-separated values (as in JSON Lines). Returns {@code null} once the input is
+     * exhausted.
+     */
+    @TruffleBoundary
+    Object next(Node raisingNode, boolean lines) {
+        if (state == State.DONE) {
+            return null;
+        }
+        location = raisingNode;
+        try {
+            if (lines) {
+                if (state == State.START) {
+                    checkBom();
+                    state = State.STARTED;
+                }
+                skipWhitespace();
+                if (peek() == -1) {
+                    finish();
+                    return null;
+                }
+                return scanOnce();
+            }
+            if (state == State.START) {
+                checkBom();
+                skipWhitespace();
+                if (peek() != '[') {
+                    throw decodeError(ErrorMessages.EXPECTING_ARRAY, position());
+                }
+                pos++;
+                skipWhitespace();
+                state = State.STARTED;
+                if (peek() == ']') {
+                    pos++;
+                    checkEnd();
+                    finish();
+                    return null;
+                }
+            } else {
+                skipWhitespace();
+                int c = peek();
+                if (c == ']') {
+                    pos++;
+                    checkEnd();
+                    finish();
+                    return null;
+                }
+                if (c != ',') {
+                    throw decodeError(ErrorMessages.EXPECTING_COMMA_DELIMITER, position());
+                }
+                pos++;
+                skipWhitespace();
+            }
+            return scanOnce();
+        } catch (PException e) {
+            finish();
+            throw e;
+        }
+    }
+
+    private void finish() {
+        state = State.DONE;
+        if (buffer != null) {
+            if (bufferRef != null) {
+                bufferRef.markReleased();
+                bufferRef = null;
+            }
+            PythonBufferAccessLibrary.getUncached().release(buffer);
+            buffer = null;
+        }
+        file = null;
+        text = null;
+        bytes = null;
+    }
+
+    private void checkBom() {
+        if (peek() == '\ufeff' && textInput) {
+            throw decodeError(ErrorMessages.UNEXPECTED_UTF8_BOM, position());
+        }
+    }
+
+    private void checkEnd() {
+        skipWhitespace();
+        if (peek() != -1) {
+            throw decodeError(ErrorMessages.EXTRA_DATA, position());
+        }
+    }
+
+    private long position() {
+        return offset + pos;
+    }
+
+    private int peek() {
+        if (pos >= limit && !fill(1)) {
+            return -1;
+        }
+        return chars[pos];
+    }
+
+    private void skipWhitespace() {
+        do {
+            while (pos < limit) {
+                if (!JSONModuleBuiltins.isWhitespace(chars[pos])) {
+                    return;
+                }
+                pos++;
+            }
+        } while (fill(1));
+    }
+
+    /**
+     * Makes sure that at least {@code n} characters are available in the window starting at
+     * {@link #pos}. Returns {@code false} if the input ends before that.
+     */
+    private boolean fill(int n) {
+        while (limit - pos < n) {
+            if (!readMore()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readMore() {
+        makeRoom();
+        while (true) {
+            if (text != null) {
+                int n = Math.min(text.length() - textPos, chars.length - limit);
+                text.getChars(textPos, textPos + n, chars, limit);
+                limit += n;
+                textPos += n;
+                if (textPos == text.length()) {
+                    text = null;
+                }
+                if (n > 0) {
+                    return true;
+                }
+                continue;
+            }
+            if (decoder != null && !flushed && (bytes.hasRemaining() || eof)) {
+                if (decode()) {
+                    return true;
+                }
+            }
+            if (eof) {
+                return false;
+            }
+            readChunk();
+        }
+    }
+
+    /**
+     * Drops the consumed part of the window (remembering where its lines ended for error
+     * messages) and grows the window if a pinned literal leaves too little room.
+     */
+    private void makeRoom() {
+        int keep = mark >= 0 ? Math.min(mark, pos) : pos;
+        if (keep > 0) {
+            for (int i = 0; i < keep; i++) {
+                char c = chars[i];
+                if (c == '\n') {
+                    lineCount++;
+                    lastNewline = offset + i - surrogatePairs;
+                } else if (Character.isLowSurrogate(c) && Character.isHighSurrogate(i > 0 ? chars[i - 1] : lastDropped)) {
+                    surrogatePairs++;
+                }
+            }
+            lastDropped = chars[keep - 1];
+            System.arraycopy(chars, keep, chars, 0, limit - keep);
+            offset += keep;
+            pos -= keep;
+            limit -= keep;
+            if (mark >= 0) {
+                mark -= keep;
+            }
+        }
+        if (chars.length - limit < CHUNK_SIZE / 4) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, limit + CHUNK_SIZE));
+        }
+    }
+
+    private void readChunk() {
+        if (buffer != null) {
+            PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+            int n = Math.min(CHUNK_SIZE, bufferLib.getBufferLength(buffer) - bufferPos);
+            if (n > 0) {
+                byte[] dest = reserveBytes(n);
+                int destPos = bytes.position();
+                bufferLib.readIntoByteArray(buffer, bufferPos, dest, destPos, n);
+                bytes.position(destPos + n).flip();
+                bufferPos += n;
+            } else {
+                eof = true;
+            }
+        } else if (file != null) {
+            Object chunk = PyObjectCallMethodObjArgs.getUncached().execute(null, file, T_READ, CHUNK_SIZE);
+            String str = castToString(chunk);
+            if (str != null) {
+                if (str.isEmpty()) {
+                    eof = true;
+                } else {
+                    text = str;
+                    textPos = 0;
+                    textInput = true;
+                }
+            } else if (chunk == PNone.NONE) {
+                eof = true;
+            } else {
+                Object chunkBuffer = PythonBufferAcquireLibrary.getUncached().acquireReadonly(chunk);
+                PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+                try {
+                    int n = bufferLib.getBufferLength(chunkBuffer);
+                    if (n > 0) {
+                        byte[] dest = reserveBytes(n);
+                        int destPos = bytes.position();
+                        bufferLib.readIntoByteArray(chunkBuffer, 0, dest, destPos, n);
+                        bytes.position(destPos + n).flip();
+                    } else {
+                        eof = true;
+                    }
+                } finally {
+                    bufferLib.release(chunkBuffer);
+                }
+            }
+        } else {
+            eof = true;
+        }
+        if (decoder == null && bytes != null && (eof || bytes.remaining() >= 4)) {
+            detectEncoding();
+        }
+    }
+
+    /**
+     * Switches {@link #bytes} to writing with room for at least {@code n} more bytes and returns
+     * its backing array; the caller writes at the current position and flips it back.
+     */
+    private byte[] reserveBytes(int n) {
+        if (bytes == null) {
+            bytes = ByteBuffer.allocate(Math.max(n, CHUNK_SIZE));
+        } else {
+            bytes.compact();
+            if (bytes.remaining() < n) {
+                ByteBuffer larger = ByteBuffer.allocate(bytes.position() + Math.max(n, CHUNK_SIZE));
+                larger.put(bytes.flip());
+                bytes = larger;
+            }
+        }
+        return bytes.array();
+    }
+
+    private void detectEncoding() {
+        byte[] b = bytes.array();
+        int p = bytes.position();
+        int n = bytes.remaining();
+        Charset charset;
+        if (n >= 4 && ((b[p] == 0 && b[p + 1] == 0 && b[p + 2] == (byte) 0xFE && b[p + 3] == (byte) 0xFF) ||
+                        (b[p] == (byte) 0xFF && b[p + 1] == (byte) 0xFE && b[p + 2] == 0 && b[p + 3] == 0))) {
+            encoding = "utf-32";
+            charset = Charset.forName("UTF-32");
+            unitSize = 4;
+            bigEndian = b[p] == 0;
+        } else if (n >= 2 && ((b[p] == (byte) 0xFE && b[p + 1] == (byte) 0xFF) || (b[p] == (byte) 0xFF && b[p + 1] == (byte) 0xFE))) {
+            encoding = "utf-16";
+            charset = StandardCharsets.UTF_16;
+            unitSize = 2;
+            bigEndian = b[p] == (byte) 0xFE;
+        } else if (n >= 3 && b[p] == (byte) 0xEF && b[p + 1] == (byte) 0xBB && b[p + 2] == (byte) 0xBF) {
+            encoding = "utf-8-sig";
+            charset = StandardCharsets.UTF_8;
+            bytes.position(p + 3);
+        } else if (n >= 4 && b[p] == 0) {
+            encoding = b[p + 1] != 0 ? "utf-16-be" : "utf-32-be";
+            charset = b[p + 1] != 0 ? StandardCharsets.UTF_16BE : Charset.forName("UTF-32BE");
+            unitSize = b[p + 1] != 0 ? 2 : 4;
+            bigEndian = true;
+        } else if (n >= 4 && b[p + 1] == 0) {
+            encoding = b[p + 2] != 0 || b[p + 3] != 0 ? "utf-16-le" : "utf-32-le";
+            charset = b[p + 2] != 0 || b[p + 3] != 0 ? StandardCharsets.UTF_16LE : Charset.forName("UTF-32LE");
+            unitSize = b[p + 2] != 0 || b[p + 3] != 0 ? 2 : 4;
+        } else if (n == 2 && b[p] == 0) {
+            encoding = "utf-16-be";
+            charset = StandardCharsets.UTF_16BE;
+            unitSize = 2;
+            bigEndian = true;
+        } else if (n == 2 && b[p + 1] == 0) {
+            encoding = "utf-16-le";
+            charset = StandardCharsets.UTF_16LE;
+            unitSize = 2;
+        } else {
+            encoding = "utf-8";
+            charset = StandardCharsets.UTF_8;
+        }
+        decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    private boolean decode() {
+        CharBuffer out = CharBuffer.wrap(chars, limit, chars.length - limit);
+        CoderResult result;
+        while (true) {
+            result = decoder.decode(bytes, out, eof);
+            if (result.isMalformed() && out.hasRemaining()) {
+                int passed = passSurrogate(out);
+                if (passed > 0) {
+                    continue;
+                } else if (passed == 0) {
+                    // wait for more input to tell whether it is a surrogate
+                    result = CoderResult.UNDERFLOW;
+                    break;
+                }
+            }
+            break;
+        }
+        if (result.isUnderflow() && eof) {
+            result = decoder.flush(out);
+            flushed = result.isUnderflow();
+        }
+        if (result.isError()) {
+            int start = bytes.position();
+            byte[] data = Arrays.copyOfRange(bytes.array(), start, start + result.length());
+            String reason = eof && start + result.length() == bytes.limit() ? "unexpected end of data" : "invalid data";
+            throw PConstructAndRaiseNode.raiseUncachedUnicodeDecodeError(encoding, PythonObjectFactory.getUncached().createBytes(data), 0, data.length, reason);
+        }
+        boolean produced = out.position() > limit;
+        limit = out.position();
+        return produced;
+    }
+
+    /**
+     * Decodes an encoded surrogate code point at the position of a malformed input error, like the
+     * {@code surrogatepass} error handler. Returns {@code 1} if the surrogate was stored into
+     * {@code out}, {@code 0} if more input is needed to decide and {@code -1} if the input is
+     * malformed.
+     */
+    private int passSurrogate(CharBuffer out) {
+        byte[] b = bytes.array();
+        int p = bytes.position();
+        int n = bytes.remaining();
+        int ch;
+        if (unitSize == 0) {
+            // UTF-8 encoded surrogates are 0xED 0xA0..0xBF 0x80..0xBF
+            if ((n >= 1 && (b[p] & 0xFF) != 0xED) || (n >= 2 && (b[p + 1] & 0xE0) != 0xA0) || (n >= 3 && (b[p + 2] & 0xC0) != 0x80)) {
+                return -1;
+            }
+            if (n < 3) {
+                return eof ? -1 : 0;
+            }
+            ch = 0xD000 | ((b[p + 1] & 0x3F) << 6) | (b[p + 2] & 0x3F);
+            bytes.position(p + 3);
+        } else {
+            if (n < unitSize) {
+                return eof ? -1 : 0;
+            }
+            ch = 0;
+            for (int i = 0; i < unitSize; i++) {
+                int shift = 8 * (bigEndian ? unitSize - 1 - i : i);
+                ch |= (b[p + i] & 0xFF) << shift;
+            }
+            if (ch < Character.MIN_SURROGATE || ch > Character.MAX_SURROGATE) {
+                return -1;
+            }
+            bytes.position(p + unitSize);
+        }
+        out.put((char) ch);
+        return 1;
+    }
+
+    private Object scanOnce() {
+        int c = peek();
+        switch (c) {
+            case -1:
+                throw decodeError(ErrorMessages.EXPECTING_VALUE, position());
+            case '"':
+                /* string */
+                return scanString();
+            case '{':
+                /* object */
+                pos++;
+                return parseObject();
+            case '[':
+                /* array */
+                pos++;
+                return parseArray();
+            case 'n':
+                if (matchLiteral("null")) {
+                    return PNone.NONE;
+                }
+                break;
+            case 't':
+                if (matchLiteral("true")) {
+                    return true;
+                }
+                break;
+            case 'f':
+                if (matchLiteral("false")) {
+                    return false;
+                }
+                break;
+            case 'N':
+                if (matchLiteral("NaN")) {
+                    return parseConstant("NaN");
+                }
+                break;
+            case 'I':
+                if (matchLiteral("Infinity")) {
+                    return parseConstant("Infinity");
+                }
+                break;
+            case '-':
+                if (matchLiteral("-Infinity")) {
+                    return parseConstant("-Infinity");
+                }
+                break;
+        }
+        /* Didn't find a string, object, array, or named constant. Look for a number. */
+        return matchNumber();
+    }
+
+    private boolean matchLiteral(String literal) {
+        int n = literal.length();
+        if (!fill(n)) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (chars[pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        pos += n;
+        return true;
+    }
+
+    private Object parseConstant(String constant) {
+        return CallNode.getUncached().execute(scanner.parseConstant, toTruffleStringUncached(constant));
+    }
+
+    private Object parseObject() {
+        boolean hasPairsHook = scanner.objectPairsHook != PNone.NONE;
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+
+        int pairsStart = keys.pairsStart();
+        EconomicMapStorage mapStorage = null;
+        JSONScanState.KeySequence sequence = keys.root;
+        JSONScanState.KeySequence first = null;
+        int count = 0;
+
+        skipWhitespace();
+        if (peek() != '}') {
+            while (true) {
+                /* read key, trying the key that followed the same keys last time first */
+                if (peek() != '"') {
+                    throw decodeError(ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES, position());
+                }
+                TruffleString key;
+                JSONScanState.KeySequence predicted = null;
+                if (sequence != null) {
+                    int length = sequence.predictedLength();
+                    if (length >= 0 && fill(length + 2)) {
+                        predicted = sequence.predict(chars, pos + 1, limit);
+                    }
+                }
+                if (predicted != null) {
+                    sequence = predicted;
+                    key = predicted.key;
+                    pos += predicted.literalLength() + 2;
+                } else {
+                    key = scanString();
+                    sequence = keys.transition(sequence, key);
+                    key = sequence != null ? sequence.key : keys.intern(key);
+                }
+                if (count++ == 0) {
+                    first = sequence;
+                }
+
+                /* skip whitespace between key and : delimiter, read :, skip whitespace */
+                skipWhitespace();
+                if (peek() != ':') {
+                    throw decodeError(ErrorMessages.EXPECTING_COLON_DELIMITER, position());
+                }
+                pos++;
+                skipWhitespace();
+
+                /* read any JSON term */
+                Object val = scanOnce();
+                if (hasPairsHook) {
+                    keys.pushPair(factory.createTuple(new Object[]{key, val}));
+                } else {
+                    if (mapStorage == null) {
+                        mapStorage = first != null ? EconomicMapStorage.create(first.objectSize) : EconomicMapStorage.create();
+                    }
+                    HashingStorage newStorage = HashingStorageSetItem.executeUncached(mapStorage, key, val);
+                    assert newStorage == mapStorage;
+                }
+
+                /* bail if the object is closed or we didn't get the , delimiter */
+                skipWhitespace();
+                int c = peek();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw decodeError(ErrorMessages.EXPECTING_COMMA_DELIMITER, position());
+                }
+                pos++;
+                skipWhitespace();
+            }
+        }
+        pos++;
+        if (first != null) {
+            first.objectSize = count;
+        }
+
+        if (hasPairsHook) {
+            return CallNode.getUncached().execute(scanner.objectPairsHook, keys.popPairs(pairsStart, scanner.reusePairs, factory));
+        }
+        if (mapStorage == null) {
+            mapStorage = EconomicMapStorage.create();
+        }
+        Object rval = factory.createDict(mapStorage);
+        if (scanner.objectHook != PNone.NONE) {
+            return CallNode.getUncached().execute(scanner.objectHook, rval);
+        }
+        return rval;
+    }
+
+    private Object parseArray() {
+        ObjectSequenceStorage storage = new ObjectSequenceStorage(4);
+        skipWhitespace();
+        if (peek() != ']') {
+            while (true) {
+                storage.insertItem(storage.length(), scanOnce());
+
+                /* bail if the array is closed or we didn't get the , delimiter */
+                skipWhitespace();
+                int c = peek();
+                if (c == ']') {
+                    break;
+                }
+                if (c != ',') {
+                    throw decodeError(ErrorMessages.EXPECTING_COMMA_DELIMITER, position());
+                }
+                pos++;
+                skipWhitespace();
+            }
+        }
+        pos++;
+        return PythonObjectFactory.getUncached().createList(storage);
+    }
+
+    /**
+     * Scans a string literal starting at the opening quote at {@link #pos}. Like
+     * {@link JSONScannerBuiltins#scanStringUnicode}, it only copies characters into a builder once
+     * an escape sequence is seen.
+     */
+    private TruffleString scanString() {
+        mark = pos++;
+        long start = position() - 1;
+        boolean strict = scanner.strict;
+        StringBuilder builder = null;
+        try {
+            while (true) {
+                if (pos >= limit && !fill(1)) {
+                    throw decodeError(ErrorMessages.UNTERMINATED_STR_STARTING_AT, start);
+                }
+                char c = chars[pos++];
+                if (c == '"') {
+                    // we reached the end of the string literal
+                    return toTruffleStringUncached(builder == null ? new String(chars, mark + 1, pos - mark - 2) : builder.toString());
+                } else if (c == '\\') {
+                    // escape sequence, switch to StringBuilder
+                    if (builder == null) {
+                        builder = new StringBuilder().append(chars, mark + 1, pos - mark - 2);
+                    }
+                    if (pos >= limit && !fill(1)) {
+                        throw decodeError(ErrorMessages.UTERMINATED_STR_STARTING, start);
+                    }
+                    c = chars[pos++];
+                    if (c == 'u') {
+                        long escapePos = position() - 1;
+                        if (!fill(4)) {
+                            throw decodeError(ErrorMessages.INVALID_UXXXX_ESCAPE, escapePos);
+                        }
+                        c = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(chars[pos++], 16);
+                            if (digit == -1) {
+                                throw decodeError(ErrorMessages.INVALID_UXXXX_ESCAPE, escapePos);
+                            }
+                            c = (char) ((c << 4) + digit);
+                        }
+                    } else {
+                        switch (c) {
+                            case '"':
+                            case '\\':
+                            case '/':
+                                break;
+                            case 'b':
+                                c = '\b';
+                                break;
+                            case 'f':
+                                c = '\f';
+                                break;
+                            case 'n':
+                                c = '\n';
+                                break;
+                            case 'r':
+                                c = '\r';
+                                break;
+                            case 't':
+                                c = '\t';
+                                break;
+                            default:
+                                throw decodeError(ErrorMessages.INVALID_ESCAPE, position() - 2);
+                        }
+                    }
+                    builder.append(c);
+                } else {
+                    // any other character: check if in strict mode
+                    if (strict && c < 0x20) {
+                        throw decodeError(ErrorMessages.INVALID_CTRL_CHARACTER_AT, position() - 1);
+                    }
+                    if (builder != null) {
+                        builder.append(c);
+                    }
+                }
+            }
+        } finally {
+            mark = -1;
+        }
+    }
+
+    private Object matchNumber() {
+        mark = pos;
+        long start = position();
+        try {
+            /* read a sign if it's there */
+            if (chars[pos] == '-') {
+                pos++;
+            }
+
+            /* read as many integer digits as we find as long as it doesn't start with 0 */
+            int c = peek();
+            if (c >= '1' && c <= '9') {
+                pos++;
+                skipDigits();
+            } else if (c == '0') {
+                pos++;
+            } else {
+                throw decodeError(ErrorMessages.EXPECTING_VALUE, start);
+            }
+            boolean isFloat = false;
+
+            /* if the next char is '.' followed by a digit then read all float digits */
+            if (fill(2) && chars[pos] == '.' && isDigit(chars[pos + 1])) {
+                isFloat = true;
+                pos += 2;
+                skipDigits();
+            }
+
+            /* if the next char is 'e' or 'E' then maybe read the exponent (or backtrack) */
+            if (fill(2) && (chars[pos] == 'e' || chars[pos] == 'E')) {
+                int k = (chars[pos + 1] == '-' || chars[pos + 1] == '+') && fill(3) ? 2 : 1;
+                if (isDigit(chars[pos + k])) {
+                    isFloat = true;
+                    pos += k + 1;
+                    skipDigits();
+                }
+            }
+            return createNumber(new String(chars, mark, pos - mark), isFloat);
+        } finally {
+            mark = -1;
+        }
+    }
+
+    private void skipDigits() {
+        do {
+            while (pos < limit) {
+                if (!isDigit(chars[pos])) {
+                    return;
+                }
+                pos++;
+            }
+        } while (fill(1));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private Object createNumber(String numStr, boolean isFloat) {
+        if (isFloat) {
+            if (PyFloatCheckExactNode.getUncached().execute(scanner.parseFloat)) {
+                return FloatUtils.parseValidString(numStr);
+            }
+            return CallNode.getUncached().execute(scanner.parseFloat, toTruffleStringUncached(numStr));
+        }
+        if (PyLongCheckExactNode.getUncached().execute(scanner.parseInt)) {
+            Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(numStr, 0, numStr.length());
+            if (rval != null) {
+                return rval;
+            }
+            BigInteger bi = PInt.parseDecimal(numStr);
+            try {
+                return bi.intValueExact();
+            } catch (ArithmeticException e) {
+                // fall through
+            }
+            try {
+                return bi.longValueExact();
+            } catch (ArithmeticException e) {
+                // fall through
+            }
+            return PythonObjectFactory.getUncached().createInt(bi);
+        }
+        return CallNode.getUncached().execute(scanner.parseInt, toTruffleStringUncached(numStr));
+    }
+
+    /**
+     * Raises {@code JSONDecodeError} for a position (in UTF-16 units) in the whole document. If the
+     * input is a file, the error's {@code doc} is only the current window, so position, line and
+     * column are computed here and patched into the exception.
+     */
+    private RuntimeException decodeError(TruffleString format, long errorUnitPos) {
+        CompilerAsserts.neverPartOfCompilation();
+        int end = (int) (errorUnitPos - offset);
+        assert 0 <= end && end <= limit;
+        long pairs = surrogatePairs;
+        int lineno = lineCount + 1;
+        long lineStart = lastNewline;
+        for (int i = 0; i < end; i++) {
+            char c = chars[i];
+            if (c == '\n') {
+                lineno++;
+                lineStart = offset + i - pairs;
+            } else if (Character.isLowSurrogate(c) && Character.isHighSurrogate(i > 0 ? chars[i - 1] : lastDropped)) {
+                pairs++;
+            }
+        }
+        long errorPos = errorUnitPos - pairs;
+        Object module = AbstractImportNode.importModule(T_JSON_DECODER);
+        Object errorClass = PyObjectLookupAttr.getUncached().execute(null, module, JSONScannerBuiltins.T_JSON_DECODE_ERROR);
+        Object doc = wholeDocument();
+        if (doc != null) {
+            Object exception = CallNode.getUncached().execute(errorClass, format, doc, errorPos);
+            throw PRaiseNode.raise(location, (PBaseException) exception, false);
+        }
+        long colno = errorPos - lineStart;
+        Object exception = CallNode.getUncached().execute(errorClass, format, toTruffleStringUncached(new String(chars, 0, limit)), Character.codePointCount(chars, 0, end));
+        PyObjectSetAttr setAttr = PyObjectSetAttr.getUncached();
+        setAttr.execute(null, exception, T_POS, errorPos);
+        setAttr.execute(null, exception, T_LINENO, lineno);
+        setAttr.execute(null, exception, T_COLNO, colno);
+        TruffleString message = simpleTruffleStringFormatUncached("%s: line %d column %d (char %d)", format, lineno, colno, errorPos);
+        setAttr.execute(null, exception, T_ARGS, PythonObjectFactory.getUncached().createTuple(new Object[]{message}));
+        throw PRaiseNode.raise(location, (PBaseException) exception, false);
+    }
+
+    /**
+     * Returns the whole document as a {@code str} if the input is in memory, decoding the buffer
+     * again if needed, or {@code null} for files.
+     */
+    private Object wholeDocument() {
+        if (document != null) {
+            return document;
+        }
+        if (buffer != null && encoding != null) {
+            byte[] data = PythonBufferAccessLibrary.getUncached().getCopiedByteArray(buffer);
+            Object docBytes = PythonObjectFactory.getUncached().createBytes(data);
+            return PyObjectCallMethodObjArgs.getUncached().execute(null, docBytes, T_DECODE, toTruffleStringUncached(encoding), T_SURROGATEPASS);
+        }
+        return null;
+    }
+
+    static final class BufferRef extends SharedFinalizer.FinalizableReference {
+
+        BufferRef(JSONStreamScanner referent, Object buffer, SharedFinalizer finalizer) {
+            super(referent, buffer, finalizer);
+        }
+
+        @Override
+        public AsyncAction release() {
+            if (!isReleased()) {
+                return new ReleaseCallback(this);
+            }
+            return null;
+        }
+    }
+
+    static final class ReleaseCallback implements AsyncAction {
+        private final BufferRef ref;
+
+        ReleaseCallback(BufferRef ref) {
+            this.ref = ref;
+        }
+
+        @Override
+        public void execute(PythonContext context) {
+            if (ref.isReleased()) {
+                return;
+            }
+            ref.markReleased();
+            PythonBufferAccessLibrary.getUncached().release(ref.getReference());
+        }
+    }
+
+    private static String castToString(Object obj) {
+        try {
+            return CastToJavaStringNode.getUncached().execute(obj);
+        } catch (CannotCastException e) {
+            return null;
+        }
+    }
+}
@@ -40,6 +40,7 @@
  */
 package com.oracle.graal.python.builtins.modules.json;
 
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
@@ -70,6 +71,13 @@ public final class PJSONEncoder extends PythonBuiltinObject {
     private final IdentityHashMap<Object, Object> circular = new IdentityHashMap<>();
     private static final Object dummy = new Object();
 
+    /*
+     * Quoted and escaped dict keys. Encoders are created for each json.dumps call, so this only
+     * caches the keys of one document, which typically repeat in every object of a list.
+     */
+    private static final int MAX_ENCODED_KEYS = 1024;
+    private final HashMap<TruffleString, TruffleString> encodedKeys = new HashMap<>();
+
     public PJSONEncoder(Object cls, Shape instanceShape, Object markers, Object defaultFn, Object encoder, Object indent, TruffleString keySeparator, TruffleString itemSeparator, boolean sortKeys,
                     boolean skipKeys, boolean allowNan, FastEncode fastEncode) {
         super(cls, instanceShape);
@@ -95,4 +103,16 @@ public final class PJSONEncoder extends PythonBuiltinObject {
     boolean tryAddCircular(Object obj) {
         return circular.put(obj, dummy) == null;
     }
+
+    @TruffleBoundary
+    TruffleString getEncodedKey(TruffleString key) {
+        return encodedKeys.get(key);
+    }
+
+    @TruffleBoundary
+    void putEncodedKey(TruffleString key, TruffleString encoded) {
+        if (encodedKeys.size() < MAX_ENCODED_KEYS) {
+            encodedKeys.put(key, encoded);
+        }
+    }
 }
@@ -40,32 +40,30 @@
  */
 package com.oracle.graal.python.builtins.modules.json;
 
-import java.util.HashMap;
-
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.object.Shape;
-import com.oracle.truffle.api.strings.TruffleString;
 
 public final class PJSONScanner extends PythonBuiltinObject {
 
-    final HashMap<TruffleString, TruffleString> memo;
     final boolean strict;
     final Object objectHook;
     final Object objectPairsHook;
     final Object parseFloat;
     final Object parseInt;
     final Object parseConstant;
+    final boolean reusePairs;
 
-    public PJSONScanner(Object cls, Shape instanceShape, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant) {
+    public PJSONScanner(Object cls, Shape instanceShape, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant,
+                    boolean reusePairs) {
         super(cls, instanceShape);
         CompilerAsserts.neverPartOfCompilation();
-        this.memo = new HashMap<>();
         this.strict = strict;
         this.objectHook = objectHook;
         this.objectPairsHook = objectPairsHook;
         this.parseFloat = parseFloat;
         this.parseInt = parseInt;
         this.parseConstant = parseConstant;
+        this.reusePairs = reusePairs;
     }
 }
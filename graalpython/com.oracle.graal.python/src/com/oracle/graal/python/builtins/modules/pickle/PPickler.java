@@ -0,0 +1,1585 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.ADDITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPEND;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPENDS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BATCHSIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINFLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BUILD;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BYTEARRAY8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_SET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_HEADER_SIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_SIZE_MIN;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_SIZE_TARGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FROZENSET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.INT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MEMOIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWFALSE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ_EX;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWTRUE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEXT_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NONE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP_MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PROTO;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.READONLY_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.REDUCE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEM;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STACK_GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STOP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE3;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_DISPATCH_TABLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_EXTENSION_REGISTRY;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_LATIN1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_CODECS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COMPAT_PICKLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COPYREG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_FUNCTOOLS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MP_MAIN;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_PARTIAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_PERSISTENT_ID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_REDUCER_OVERRIDE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_REVERSE_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_REVERSE_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ENCODE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_GETATTR;
+import static com.oracle.graal.python.nodes.BuiltinNames.T___MAIN__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___CLASS__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___MODULE__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NAME__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NEWOBJ_EX__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NEWOBJ__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T_GET;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___REDUCE__;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetItem;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorKey;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodesFactory.GetObjectArrayNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ellipsis.PEllipsis;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.lib.PyObjectStrAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.object.IsNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.memory.ByteArraySupport;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.CodeRange;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
+
+/**
+ * The {@code _pickle.Pickler} object. Like {@code MarshalModuleBuiltins.Marshal}, the serializer
+ * runs behind a {@link TruffleBoundary} using uncached nodes, and writes into a growable byte array
+ * that is committed in frames of {@link PickleUtils#FRAME_SIZE_TARGET} bytes for protocol 4 and
+ * higher. The memo is keyed by object identity. Exact {@code int}, {@code float}, {@code str},
+ * {@code bytes}, {@code tuple}, {@code list}, {@code dict}, {@code set} and {@code frozenset}
+ * objects are written directly from their storages; everything else goes through the usual
+ * {@code reducer_override}/{@code dispatch_table}/{@code __reduce_ex__} protocol.
+ */
+public final class PPickler extends PythonBuiltinObject {
+    private static final ByteArraySupport LE = ByteArraySupport.littleEndian();
+    private static final ByteArraySupport BE = ByteArraySupport.bigEndian();
+
+    private Object write;
+    private int proto = PickleUtils.DEFAULT_PROTOCOL;
+    private boolean bin = true;
+    private boolean fixImports = true;
+    private Object bufferCallback;
+    boolean fast;
+    Object persistentId;
+    Object dispatchTable;
+    final IdentityHashMap<Object, Integer> memo = new IdentityHashMap<>();
+
+    /* State of a single dump() call. */
+    private byte[] output = new byte[256];
+    private int outputLen;
+    private int frameStart = -1;
+    private boolean framing;
+    private Object persFunc;
+    private Object reducerOverride;
+    private Object dispatch;
+    private int depth;
+    private int recursionLimit;
+    private final byte[] header = new byte[9];
+    private boolean initialized;
+
+    public PPickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    /**
+     * Converts the {@code protocol} argument the way {@code Pickler.__init__} does: {@code None}
+     * selects the default protocol and negative values select the highest one.
+     */
+    @TruffleBoundary
+    static int parseProtocol(Object protocol) {
+        if (PickleUtils.isNone(protocol)) {
+            return PickleUtils.DEFAULT_PROTOCOL;
+        }
+        int value = PyNumberAsSizeNode.getUncached().executeExact(null, protocol);
+        if (value < 0) {
+            return PickleUtils.HIGHEST_PROTOCOL;
+        }
+        if (value > PickleUtils.HIGHEST_PROTOCOL) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.ValueError, ErrorMessages.PICKLE_PROTOCOL_MUST_BE_LE, PickleUtils.HIGHEST_PROTOCOL);
+        }
+        return value;
+    }
+
+    /**
+     * Equivalent of {@code _pickle_Pickler___init___impl}. A {@code null} file means that the
+     * result is collected in memory and retrieved with {@link #getValue()}.
+     */
+    @TruffleBoundary
+    void init(Object file, Object protocol, boolean fixImportsArg, Object bufferCallbackArg) {
+        this.proto = parseProtocol(protocol);
+        this.bin = proto > 0;
+        this.fixImports = fixImportsArg && proto < 3;
+        if (!PickleUtils.isNone(bufferCallbackArg)) {
+            if (proto < 5) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.ValueError, ErrorMessages.BUFFER_CALLBACK_NEEDS_PROTOCOL_5);
+            }
+            this.bufferCallback = bufferCallbackArg;
+        } else {
+            this.bufferCallback = null;
+        }
+        if (file != null) {
+            Object writeMethod = PyObjectLookupAttr.getUncached().execute(null, file, T_WRITE);
+            if (writeMethod == PNone.NO_VALUE) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_WRITE_ATTR);
+            }
+            this.write = writeMethod;
+        } else {
+            this.write = null;
+        }
+        this.memo.clear();
+        this.fast = false;
+        this.initialized = true;
+    }
+
+    int getProto() {
+        return proto;
+    }
+
+    boolean isBin() {
+        return bin;
+    }
+
+    void setBin(boolean bin) {
+        this.bin = bin;
+    }
+
+    @TruffleBoundary
+    void clearMemo() {
+        memo.clear();
+    }
+
+    @TruffleBoundary
+    void dump(Object obj) {
+        if (!initialized) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_INIT_WAS_NOT_CALLED_BY_P_INIT, "Pickler", this);
+        }
+        recursionLimit = PythonContext.get(null).getSysModuleState().getRecursionLimit();
+        persFunc = lookupHook(T_PERSISTENT_ID);
+        reducerOverride = lookupHook(T_REDUCER_OVERRIDE);
+        dispatch = lookupHook(T_DISPATCH_TABLE);
+        if (dispatch == null) {
+            dispatch = PyObjectGetAttr.getUncached().execute(null, PickleUtils.importModule(T_MOD_COPYREG), T_DISPATCH_TABLE);
+        }
+        outputLen = 0;
+        frameStart = -1;
+        depth = 0;
+        try {
+            if (proto >= 2) {
+                writeByte(PROTO);
+                writeByte((byte) proto);
+            }
+            framing = proto >= 4;
+            save(obj, false);
+            writeByte(STOP);
+            commitFrame();
+            framing = false;
+            if (write != null) {
+                flushToFile();
+            }
+        } finally {
+            framing = false;
+            persFunc = null;
+            reducerOverride = null;
+            dispatch = null;
+        }
+    }
+
+    /**
+     * Returns the pickled data of the last {@link #dump(Object)} when there is no file and releases
+     * the internal buffer.
+     */
+    @TruffleBoundary
+    byte[] getValue() {
+        byte[] result = Arrays.copyOf(output, outputLen);
+        output = new byte[256];
+        outputLen = 0;
+        return result;
+    }
+
+    private Object lookupHook(TruffleString name) {
+        Object hook = PyObjectLookupAttr.getUncached().execute(null, this, name);
+        return PickleUtils.isNone(hook) ? null : hook;
+    }
+
+    private static PException raise(PythonBuiltinClassType type, TruffleString message, Object... args) {
+        throw PRaiseNode.getUncached().raise(type, message, args);
+    }
+
+    // output handling
+
+    private void ensureCapacity(int n) {
+        if (outputLen + n > output.length) {
+            long newSize = Math.max((long) output.length * 2, (long) outputLen + n);
+            if (newSize > Integer.MAX_VALUE - 8) {
+                throw PRaiseNode.getUncached().raiseMemoryError();
+            }
+            output = Arrays.copyOf(output, (int) newSize);
+        }
+    }
+
+    /**
+     * Reserves {@code n} bytes in the output and returns the position to write them to. Starts a
+     * new frame lazily, like {@code _Pickler_Write} does.
+     */
+    private int reserve(int n) {
+        boolean newFrame = framing && frameStart == -1;
+        ensureCapacity(newFrame ? n + FRAME_HEADER_SIZE : n);
+        if (newFrame) {
+            frameStart = outputLen;
+            outputLen += FRAME_HEADER_SIZE;
+        }
+        int pos = outputLen;
+        outputLen += n;
+        return pos;
+    }
+
+    private void writeByte(byte b) {
+        int pos = reserve(1);
+        output[pos] = b;
+    }
+
+    private void writeBytes(byte b, byte c) {
+        int pos = reserve(2);
+        output[pos] = b;
+        output[pos + 1] = c;
+    }
+
+    private void writeRaw(byte[] data, int offset, int length) {
+        int pos = reserve(length);
+        System.arraycopy(data, offset, output, pos, length);
+    }
+
+    private void writeAscii(byte opcode, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        int pos = reserve(bytes.length + 2);
+        output[pos] = opcode;
+        System.arraycopy(bytes, 0, output, pos + 1, bytes.length);
+        output[pos + 1 + bytes.length] = '\n';
+    }
+
+    private void writeOpWithInt(byte opcode, int value) {
+        int pos = reserve(5);
+        output[pos] = opcode;
+        LE.putInt(output, pos + 1, value);
+    }
+
+    private void commitFrame() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        int frameLen = outputLen - frameStart - FRAME_HEADER_SIZE;
+        if (frameLen >= FRAME_SIZE_MIN) {
+            output[frameStart] = FRAME;
+            LE.putLong(output, frameStart + 1, frameLen);
+        } else {
+            System.arraycopy(output, frameStart + FRAME_HEADER_SIZE, output, frameStart, frameLen);
+            outputLen -= FRAME_HEADER_SIZE;
+        }
+        frameStart = -1;
+    }
+
+    private void opcodeBoundary() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        if (outputLen - frameStart - FRAME_HEADER_SIZE >= FRAME_SIZE_TARGET) {
+            commitFrame();
+            if (write != null) {
+                flushToFile();
+            }
+        }
+    }
+
+    private void flushToFile() {
+        if (outputLen > 0) {
+            byte[] data = Arrays.copyOf(output, outputLen);
+            outputLen = 0;
+            CallNode.getUncached().execute(write, PythonObjectFactory.getUncached().createBytes(data));
+        }
+    }
+
+    /**
+     * Equivalent of {@code _Pickler_write_bytes}: payloads of at least one frame size are written
+     * outside of any frame and, when pickling to a file, passed to {@code write} directly instead of
+     * being copied into the output buffer.
+     */
+    private void writeLarge(int headerLen, byte[] data, int offset, int length, Object payload) {
+        boolean bypass = length >= FRAME_SIZE_TARGET;
+        boolean savedFraming = framing;
+        if (bypass) {
+            commitFrame();
+            framing = false;
+        }
+        writeRaw(header, 0, headerLen);
+        if (bypass && write != null) {
+            flushToFile();
+            Object payloadObj = payload;
+            if (payloadObj == null) {
+                payloadObj = PythonObjectFactory.getUncached().createBytes(Arrays.copyOfRange(data, offset, offset + length));
+            }
+            CallNode.getUncached().execute(write, payloadObj);
+        } else {
+            writeRaw(data, offset, length);
+        }
+        framing = savedFraming;
+    }
+
+    // memo
+
+    private void memoPut(Object obj) {
+        if (fast) {
+            return;
+        }
+        int idx = memo.size();
+        memo.put(obj, idx);
+        if (proto >= 4) {
+            writeByte(MEMOIZE);
+        } else if (!bin) {
+            writeAscii(PUT, Integer.toString(idx));
+        } else if (idx < 256) {
+            writeBytes(BINPUT, (byte) idx);
+        } else {
+            writeOpWithInt(LONG_BINPUT, idx);
+        }
+    }
+
+    private void memoGet(int idx) {
+        if (!bin) {
+            writeAscii(GET, Integer.toString(idx));
+        } else if (idx < 256) {
+            writeBytes(BINGET, (byte) idx);
+        } else {
+            writeOpWithInt(LONG_BINGET, idx);
+        }
+    }
+
+    // save
+
+    private void save(Object obj, boolean persSave) {
+        opcodeBoundary();
+        if (++depth > recursionLimit) {
+            depth = 0;
+            throw raise(PythonBuiltinClassType.RecursionError, ErrorMessages.MAXIMUM_RECURSION_DEPTH_EXCEEDED_WHILE_PICKLING);
+        }
+        try {
+            saveImpl(obj, persSave);
+        } finally {
+            depth--;
+        }
+    }
+
+    private void saveImpl(Object obj, boolean persSave) {
+        if (!persSave && persFunc != null && savePers(obj)) {
+            return;
+        }
+
+        /* Atom types; these aren't memoized, so don't check the memo. */
+        if (obj == PNone.NONE) {
+            writeByte(NONE);
+            return;
+        }
+        if (obj instanceof Boolean) {
+            saveBool((Boolean) obj);
+            return;
+        }
+        if (obj instanceof Integer) {
+            saveLong((Integer) obj);
+            return;
+        }
+        if (obj instanceof Long) {
+            saveLong((Long) obj);
+            return;
+        }
+        if (obj instanceof Double) {
+            saveFloat((Double) obj);
+            return;
+        }
+        Object type = GetClassNode.getUncached().execute(obj);
+        IsBuiltinClassProfile profile = IsBuiltinClassProfile.getUncached();
+        if (profile.profileClass(type, PythonBuiltinClassType.Boolean)) {
+            saveBool(PyObjectIsTrueNode.getUncached().execute(null, obj));
+            return;
+        }
+        if (obj instanceof PInt && profile.profileClass(type, PythonBuiltinClassType.PInt)) {
+            PInt pint = (PInt) obj;
+            if (pint.fitsIn(PInt.MIN_LONG, PInt.MAX_LONG)) {
+                saveLong(pint.longValue());
+            } else {
+                saveBigInteger(pint.getValue());
+            }
+            return;
+        }
+        if (obj instanceof PFloat && profile.profileClass(type, PythonBuiltinClassType.PFloat)) {
+            saveFloat(((PFloat) obj).getValue());
+            return;
+        }
+
+        /* Check the memo for previously stored objects. */
+        Integer memoIdx = memo.get(obj);
+        if (memoIdx != null) {
+            memoGet(memoIdx);
+            return;
+        }
+
+        if (profile.profileClass(type, PythonBuiltinClassType.PBytes)) {
+            saveBytes(obj);
+            return;
+        }
+        if (profile.profileClass(type, PythonBuiltinClassType.PString)) {
+            saveStr(obj, PickleUtils.asString(obj));
+            return;
+        }
+        if (obj instanceof PDict && profile.profileClass(type, PythonBuiltinClassType.PDict)) {
+            saveDict((PDict) obj);
+            return;
+        }
+        if (obj instanceof PHashingCollection && profile.profileClass(type, PythonBuiltinClassType.PSet)) {
+            saveSet((PHashingCollection) obj);
+            return;
+        }
+        if (obj instanceof PHashingCollection && profile.profileClass(type, PythonBuiltinClassType.PFrozenSet)) {
+            saveFrozenSet((PHashingCollection) obj);
+            return;
+        }
+        if (obj instanceof PList && profile.profileClass(type, PythonBuiltinClassType.PList)) {
+            saveList((PList) obj);
+            return;
+        }
+        if (obj instanceof PTuple && profile.profileClass(type, PythonBuiltinClassType.PTuple)) {
+            saveTuple(obj);
+            return;
+        }
+        if (obj instanceof PBytesLike && profile.profileClass(type, PythonBuiltinClassType.PByteArray)) {
+            saveByteArray(obj);
+            return;
+        }
+        if (obj instanceof PPickleBuffer) {
+            savePickleBuffer((PPickleBuffer) obj);
+            return;
+        }
+
+        Object reduceValue = null;
+        if (reducerOverride != null) {
+            reduceValue = CallNode.getUncached().execute(reducerOverride, obj);
+            if (reduceValue == PNotImplemented.NOT_IMPLEMENTED) {
+                reduceValue = null;
+            }
+        }
+        if (reduceValue == null) {
+            if (profile.profileClass(type, PythonBuiltinClassType.PythonClass)) {
+                saveType(obj);
+                return;
+            }
+            if (profile.profileClass(type, PythonBuiltinClassType.PFunction)) {
+                saveGlobal(obj, null);
+                return;
+            }
+            Object reduceFunc = lookupDispatch(type);
+            if (reduceFunc != null) {
+                reduceValue = CallNode.getUncached().execute(reduceFunc, obj);
+            } else if (TypeNodes.IsTypeNode.getUncached().execute(obj)) {
+                saveGlobal(obj, null);
+                return;
+            } else {
+                reduceFunc = PyObjectLookupAttr.getUncached().execute(null, obj, T___REDUCE_EX__);
+                if (reduceFunc != PNone.NO_VALUE) {
+                    reduceValue = CallNode.getUncached().execute(reduceFunc, proto);
+                } else {
+                    reduceFunc = PyObjectLookupAttr.getUncached().execute(null, obj, T___REDUCE__);
+                    if (reduceFunc == PNone.NO_VALUE) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_P_OBJECT_S, obj, PickleUtils.repr(obj));
+                    }
+                    reduceValue = CallNode.getUncached().execute(reduceFunc);
+                }
+            }
+        }
+
+        if (PickleUtils.isString(reduceValue)) {
+            saveGlobal(obj, PickleUtils.asString(reduceValue));
+            return;
+        }
+        if (!(reduceValue instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_MUST_RETURN_STRING_OR_TUPLE);
+        }
+        saveReduce(GetObjectArrayNodeGen.getUncached().execute(reduceValue), obj);
+    }
+
+    private Object lookupDispatch(Object type) {
+        if (dispatch instanceof PDict) {
+            return HashingStorageGetItem.executeUncached(((PDict) dispatch).getDictStorage(), type);
+        }
+        try {
+            return PyObjectGetItem.getUncached().execute(null, dispatch, type);
+        } catch (PException e) {
+            e.expect(PythonBuiltinClassType.KeyError, IsBuiltinClassProfile.getUncached());
+            return null;
+        }
+    }
+
+    private boolean savePers(Object obj) {
+        Object pid = CallNode.getUncached().execute(persFunc, obj);
+        if (pid == PNone.NONE) {
+            return false;
+        }
+        if (bin) {
+            save(pid, true);
+            writeByte(BINPERSID);
+        } else {
+            TruffleString pidStr = PyObjectStrAsTruffleStringNode.getUncached().execute(null, pid);
+            if (pidStr.getCodeRangeUncached(TS_ENCODING) != CodeRange.ASCII) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII);
+            }
+            writeAscii(PERSID, pidStr.toJavaStringUncached());
+        }
+        return true;
+    }
+
+    private void saveBool(boolean value) {
+        if (proto >= 2) {
+            writeByte(value ? NEWTRUE : NEWFALSE);
+        } else {
+            writeAscii(INT, value ? "01" : "00");
+        }
+    }
+
+    private void saveLong(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            if (bin) {
+                if (value >= 0 && value <= 0xff) {
+                    writeBytes(BININT1, (byte) value);
+                } else if (value >= 0 && value <= 0xffff) {
+                    int pos = reserve(3);
+                    output[pos] = BININT2;
+                    LE.putShort(output, pos + 1, (short) value);
+                } else {
+                    writeOpWithInt(BININT, (int) value);
+                }
+            } else {
+                writeAscii(INT, Long.toString(value));
+            }
+        } else {
+            saveBigInteger(BigInteger.valueOf(value));
+        }
+    }
+
+    private void saveBigInteger(BigInteger value) {
+        if (proto >= 2) {
+            if (value.signum() == 0) {
+                writeBytes(LONG1, (byte) 0);
+                return;
+            }
+            /* Two's complement, little endian, as short as possible - toByteArray is big endian. */
+            byte[] data = value.toByteArray();
+            int n = data.length;
+            if (n < 256) {
+                int pos = reserve(2 + n);
+                output[pos] = LONG1;
+                output[pos + 1] = (byte) n;
+                for (int i = 0; i < n; i++) {
+                    output[pos + 2 + i] = data[n - 1 - i];
+                }
+            } else {
+                int pos = reserve(5 + n);
+                output[pos] = LONG4;
+                LE.putInt(output, pos + 1, n);
+                for (int i = 0; i < n; i++) {
+                    output[pos + 5 + i] = data[n - 1 - i];
+                }
+            }
+        } else {
+            byte[] digits = value.toString().getBytes(StandardCharsets.US_ASCII);
+            int pos = reserve(digits.length + 3);
+            output[pos] = LONG;
+            System.arraycopy(digits, 0, output, pos + 1, digits.length);
+            output[pos + 1 + digits.length] = 'L';
+            output[pos + 2 + digits.length] = '\n';
+        }
+    }
+
+    private void saveFloat(double value) {
+        if (bin) {
+            int pos = reserve(9);
+            output[pos] = BINFLOAT;
+            BE.putLong(output, pos + 1, Double.doubleToRawLongBits(value));
+        } else {
+            writeAscii(FLOAT, PFloat.doubleToString(value).toJavaStringUncached());
+        }
+    }
+
+    private void saveBytes(Object obj) {
+        PythonBufferAcquireLibrary acquireLib = PythonBufferAcquireLibrary.getUncached();
+        Object buffer = acquireLib.acquireReadonly(obj);
+        PythonBufferAccessLibrary accessLib = PythonBufferAccessLibrary.getUncached();
+        try {
+            int len = accessLib.getBufferLength(buffer);
+            byte[] data = accessLib.getInternalOrCopiedByteArray(buffer);
+            if (proto < 3) {
+                /*
+                 * Older protocols have no bytes type, so we use codecs.encode with a latin-1 string
+                 * like CPython, and reduce empty bytes to a call without arguments.
+                 */
+                PythonObjectFactory factory = PythonObjectFactory.getUncached();
+                Object bytesType = PythonContext.get(null).lookupType(PythonBuiltinClassType.PBytes);
+                Object[] reduceValue;
+                if (len == 0) {
+                    reduceValue = new Object[]{bytesType, factory.createEmptyTuple()};
+                } else {
+                    Object encode = PickleUtils.getModuleAttribute(T_MOD_CODECS, T_ENCODE);
+                    TruffleString latin1 = TruffleString.fromByteArrayUncached(data, 0, len, Encoding.ISO_8859_1, true).switchEncodingUncached(TS_ENCODING);
+                    reduceValue = new Object[]{encode, factory.createTuple(new Object[]{latin1, T_LATIN1})};
+                }
+                saveReduce(reduceValue, obj);
+                return;
+            }
+            saveBytesData(obj, data, len, obj);
+        } finally {
+            accessLib.release(buffer);
+        }
+    }
+
+    private void saveBytesData(Object obj, byte[] data, int len, Object payload) {
+        int headerLen;
+        if (len <= 0xff) {
+            header[0] = SHORT_BINBYTES;
+            header[1] = (byte) len;
+            headerLen = 2;
+        } else {
+            header[0] = BINBYTES;
+            LE.putInt(header, 1, len);
+            headerLen = 5;
+        }
+        writeLarge(headerLen, data, 0, len, payload);
+        memoPut(obj);
+    }
+
+    private void saveByteArrayData(Object obj, byte[] data, int len, Object payload) {
+        header[0] = BYTEARRAY8;
+        LE.putLong(header, 1, len);
+        writeLarge(9, data, 0, len, payload);
+        memoPut(obj);
+    }
+
+    private void saveByteArray(Object obj) {
+        PythonBufferAcquireLibrary acquireLib = PythonBufferAcquireLibrary.getUncached();
+        Object buffer = acquireLib.acquireReadonly(obj);
+        PythonBufferAccessLibrary accessLib = PythonBufferAccessLibrary.getUncached();
+        try {
+            int len = accessLib.getBufferLength(buffer);
+            byte[] data = accessLib.getInternalOrCopiedByteArray(buffer);
+            if (proto < 5) {
+                PythonObjectFactory factory = PythonObjectFactory.getUncached();
+                Object byteArrayType = PythonContext.get(null).lookupType(PythonBuiltinClassType.PByteArray);
+                Object args;
+                if (len == 0) {
+                    args = factory.createEmptyTuple();
+                } else {
+                    args = factory.createTuple(new Object[]{factory.createBytes(Arrays.copyOf(data, len))});
+                }
+                saveReduce(new Object[]{byteArrayType, args}, obj);
+                return;
+            }
+            saveByteArrayData(obj, data, len, obj);
+        } finally {
+            accessLib.release(buffer);
+        }
+    }
+
+    private void savePickleBuffer(PPickleBuffer obj) {
+        if (proto < 5) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLEBUFFER_CAN_ONLY_BE_PICKLED_WITH_PROTOCOL_5);
+        }
+        Object view = obj.getView();
+        if (view == null) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.OP_FORBIDDEN_ON_RELEASED_PICKLEBUFFER);
+        }
+        PythonBufferAccessLibrary accessLib = PythonBufferAccessLibrary.getUncached();
+        boolean readonly = accessLib.isReadonly(view);
+        boolean inBand = true;
+        if (bufferCallback != null) {
+            Object ret = CallNode.getUncached().execute(bufferCallback, obj);
+            inBand = PyObjectIsTrueNode.getUncached().execute(null, ret);
+        }
+        if (inBand) {
+            int len = accessLib.getBufferLength(view);
+            byte[] data = accessLib.getInternalOrCopiedByteArray(view);
+            if (readonly) {
+                saveBytesData(obj, data, len, null);
+            } else {
+                saveByteArrayData(obj, data, len, null);
+            }
+        } else {
+            writeByte(NEXT_BUFFER);
+            if (readonly) {
+                writeByte(READONLY_BUFFER);
+            }
+        }
+    }
+
+    private void saveStr(Object obj, TruffleString str) {
+        if (bin) {
+            byte[] encoded = PickleUtils.encodeUTF8(str);
+            int len = encoded.length;
+            int headerLen;
+            if (len <= 0xff && proto >= 4) {
+                header[0] = SHORT_BINUNICODE;
+                header[1] = (byte) len;
+                headerLen = 2;
+            } else {
+                header[0] = BINUNICODE;
+                LE.putInt(header, 1, len);
+                headerLen = 5;
+            }
+            writeLarge(headerLen, encoded, 0, len, null);
+        } else {
+            byte[] escaped = PickleUtils.rawUnicodeEscape(str);
+            int pos = reserve(escaped.length + 2);
+            output[pos] = PickleUtils.UNICODE;
+            System.arraycopy(escaped, 0, output, pos + 1, escaped.length);
+            output[pos + 1 + escaped.length] = '\n';
+        }
+        memoPut(obj);
+    }
+
+    private void saveTuple(Object obj) {
+        Object[] items = GetObjectArrayNodeGen.getUncached().execute(obj);
+        int len = items.length;
+        if (len == 0) {
+            if (proto > 0) {
+                writeByte(EMPTY_TUPLE);
+            } else {
+                writeBytes(MARK, TUPLE);
+            }
+            return;
+        }
+        if (len <= 3 && proto >= 2) {
+            for (Object item : items) {
+                save(item, false);
+            }
+            Integer memoIdx = memo.get(obj);
+            if (memoIdx != null) {
+                /* The tuple is recursive: pop the items and fetch it from the memo instead. */
+                for (int i = 0; i < len; i++) {
+                    writeByte(POP);
+                }
+                memoGet(memoIdx);
+                return;
+            }
+            writeByte(len == 1 ? TUPLE1 : len == 2 ? TUPLE2 : TUPLE3);
+            memoPut(obj);
+            return;
+        }
+        writeByte(MARK);
+        for (Object item : items) {
+            save(item, false);
+        }
+        Integer memoIdx = memo.get(obj);
+        if (memoIdx != null) {
+            if (bin) {
+                writeByte(POP_MARK);
+            } else {
+                for (int i = 0; i <= len; i++) {
+                    writeByte(POP);
+                }
+            }
+            memoGet(memoIdx);
+            return;
+        }
+        writeByte(TUPLE);
+        memoPut(obj);
+    }
+
+    private void saveList(PList list) {
+        if (bin) {
+            writeByte(EMPTY_LIST);
+        } else {
+            writeBytes(MARK, LIST);
+        }
+        memoPut(list);
+        if (list.getSequenceStorage().length() == 0) {
+            return;
+        }
+        if (persFunc == null && savePrimitiveListItems(list.getSequenceStorage())) {
+            return;
+        }
+        if (!bin) {
+            for (int i = 0; i < list.getSequenceStorage().length(); i++) {
+                save(list.getSequenceStorage().getItemNormalized(i), false);
+                writeByte(APPEND);
+            }
+            return;
+        }
+        if (list.getSequenceStorage().length() == 1) {
+            save(list.getSequenceStorage().getItemNormalized(0), false);
+            writeByte(APPEND);
+            return;
+        }
+        /* The list may change while we save its items, so re-read the storage every time. */
+        int total = 0;
+        do {
+            int thisBatch = 0;
+            writeByte(MARK);
+            while (total < list.getSequenceStorage().length()) {
+                save(list.getSequenceStorage().getItemNormalized(total), false);
+                total++;
+                if (++thisBatch == BATCHSIZE) {
+                    break;
+                }
+            }
+            writeByte(APPENDS);
+        } while (total < list.getSequenceStorage().length());
+    }
+
+    /**
+     * Fast path for lists with primitive storages: saving ints, floats or bools cannot call back
+     * into Python code (unless there is a {@code persistent_id} hook), so the items can be written
+     * straight from the unboxed array.
+     */
+    private boolean savePrimitiveListItems(SequenceStorage storage) {
+        int len = storage.length();
+        if (storage instanceof IntSequenceStorage) {
+            int[] values = ((IntSequenceStorage) storage).getInternalIntArray();
+            for (int start = 0; start < len; start += BATCHSIZE) {
+                int end = Math.min(len, start + BATCHSIZE);
+                beginItems(end - start);
+                for (int i = start; i < end; i++) {
+                    saveLong(values[i]);
+                    endItem();
+                }
+                endItems(end - start);
+            }
+        } else if (storage instanceof LongSequenceStorage) {
+            long[] values = ((LongSequenceStorage) storage).getInternalLongArray();
+            for (int start = 0; start < len; start += BATCHSIZE) {
+                int end = Math.min(len, start + BATCHSIZE);
+                beginItems(end - start);
+                for (int i = start; i < end; i++) {
+                    saveLong(values[i]);
+                    endItem();
+                }
+                endItems(end - start);
+            }
+        } else if (storage instanceof DoubleSequenceStorage) {
+            double[] values = ((DoubleSequenceStorage) storage).getInternalDoubleArray();
+            for (int start = 0; start < len; start += BATCHSIZE) {
+                int end = Math.min(len, start + BATCHSIZE);
+                beginItems(end - start);
+                for (int i = start; i < end; i++) {
+                    saveFloat(values[i]);
+                    endItem();
+                }
+                endItems(end - start);
+            }
+        } else if (storage instanceof BoolSequenceStorage) {
+            boolean[] values = ((BoolSequenceStorage) storage).getInternalBoolArray();
+            for (int start = 0; start < len; start += BATCHSIZE) {
+                int end = Math.min(len, start + BATCHSIZE);
+                beginItems(end - start);
+                for (int i = start; i < end; i++) {
+                    saveBool(values[i]);
+                    endItem();
+                }
+                endItems(end - start);
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void beginItems(int count) {
+        if (bin && count > 1) {
+            writeByte(MARK);
+        }
+    }
+
+    private void endItem() {
+        if (!bin) {
+            writeByte(APPEND);
+        }
+        opcodeBoundary();
+    }
+
+    private void endItems(int count) {
+        if (bin) {
+            writeByte(count > 1 ? APPENDS : APPEND);
+        }
+    }
+
+    private void saveDict(PDict dict) {
+        if (bin) {
+            writeByte(EMPTY_DICT);
+        } else {
+            writeBytes(MARK, DICT);
+        }
+        memoPut(dict);
+        HashingStorage storage = dict.getDictStorage();
+        int size = HashingStorageLen.executeUncached(storage);
+        if (size == 0) {
+            return;
+        }
+        HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+        if (!bin) {
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                save(HashingStorageIteratorKey.executeUncached(storage, it), false);
+                save(HashingStorageIteratorValue.executeUncached(storage, it), false);
+                writeByte(SETITEM);
+                checkDictSize(dict, size);
+            }
+            return;
+        }
+        if (size == 1) {
+            HashingStorageIteratorNext.executeUncached(storage, it);
+            save(HashingStorageIteratorKey.executeUncached(storage, it), false);
+            save(HashingStorageIteratorValue.executeUncached(storage, it), false);
+            writeByte(SETITEM);
+            return;
+        }
+        int i;
+        do {
+            i = 0;
+            writeByte(MARK);
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                save(HashingStorageIteratorKey.executeUncached(storage, it), false);
+                save(HashingStorageIteratorValue.executeUncached(storage, it), false);
+                checkDictSize(dict, size);
+                if (++i == BATCHSIZE) {
+                    break;
+                }
+            }
+            writeByte(SETITEMS);
+        } while (i == BATCHSIZE);
+    }
+
+    private static void checkDictSize(PDict dict, int size) {
+        if (HashingStorageLen.executeUncached(dict.getDictStorage()) != size) {
+            throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "dictionary");
+        }
+    }
+
+    private void saveSet(PHashingCollection set) {
+        if (proto < 4) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object items = factory.createList(setItems(set));
+            saveReduce(new Object[]{PythonContext.get(null).lookupType(PythonBuiltinClassType.PSet), factory.createTuple(new Object[]{items})}, set);
+            return;
+        }
+        writeByte(EMPTY_SET);
+        memoPut(set);
+        HashingStorage storage = set.getDictStorage();
+        int size = HashingStorageLen.executeUncached(storage);
+        if (size == 0) {
+            return;
+        }
+        HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+        int i;
+        do {
+            i = 0;
+            writeByte(MARK);
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                save(HashingStorageIteratorKey.executeUncached(storage, it), false);
+                if (HashingStorageLen.executeUncached(set.getDictStorage()) != size) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "set");
+                }
+                if (++i == BATCHSIZE) {
+                    break;
+                }
+            }
+            writeByte(ADDITEMS);
+        } while (i == BATCHSIZE);
+    }
+
+    private static Object[] setItems(PHashingCollection set) {
+        HashingStorage storage = set.getDictStorage();
+        Object[] items = new Object[HashingStorageLen.executeUncached(storage)];
+        HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+        int i = 0;
+        while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+            items[i++] = HashingStorageIteratorKey.executeUncached(storage, it);
+        }
+        return items;
+    }
+
+    private void saveFrozenSet(PHashingCollection set) {
+        if (proto < 4) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object items = factory.createList(setItems(set));
+            saveReduce(new Object[]{PythonContext.get(null).lookupType(PythonBuiltinClassType.PFrozenSet), factory.createTuple(new Object[]{items})}, set);
+            return;
+        }
+        writeByte(MARK);
+        for (Object item : setItems(set)) {
+            save(item, false);
+        }
+        Integer memoIdx = memo.get(set);
+        if (memoIdx != null) {
+            /* The frozenset was saved recursively while saving its items. */
+            writeByte(POP_MARK);
+            memoGet(memoIdx);
+            return;
+        }
+        writeByte(FROZENSET);
+        memoPut(set);
+    }
+
+    private void saveType(Object obj) {
+        PythonContext context = PythonContext.get(null);
+        Object singleton = null;
+        if (PickleUtils.isBuiltinType(obj, PythonBuiltinClassType.PNone)) {
+            singleton = PNone.NONE;
+        } else if (PickleUtils.isBuiltinType(obj, PythonBuiltinClassType.PNotImplemented)) {
+            singleton = PNotImplemented.NOT_IMPLEMENTED;
+        } else if (PickleUtils.isBuiltinType(obj, PythonBuiltinClassType.PEllipsis)) {
+            singleton = PEllipsis.INSTANCE;
+        }
+        if (singleton != null) {
+            Object typeType = context.lookupType(PythonBuiltinClassType.PythonClass);
+            saveReduce(new Object[]{typeType, PythonObjectFactory.getUncached().createTuple(new Object[]{singleton})}, obj);
+        } else {
+            saveGlobal(obj, null);
+        }
+    }
+
+    private static TruffleString whichModule(Object obj, TruffleString[] dottedPath) {
+        Object moduleName = PyObjectLookupAttr.getUncached().execute(null, obj, T___MODULE__);
+        if (moduleName != PNone.NO_VALUE && moduleName != PNone.NONE) {
+            return PickleUtils.asString(moduleName);
+        }
+        HashingStorage modules = PythonContext.get(null).getSysModules().getDictStorage();
+        Object[] names = new Object[HashingStorageLen.executeUncached(modules)];
+        Object[] values = new Object[names.length];
+        HashingStorageIterator it = HashingStorageGetIterator.executeUncached(modules);
+        int n = 0;
+        while (HashingStorageIteratorNext.executeUncached(modules, it) && n < names.length) {
+            names[n] = HashingStorageIteratorKey.executeUncached(modules, it);
+            values[n++] = HashingStorageIteratorValue.executeUncached(modules, it);
+        }
+        for (int i = 0; i < n; i++) {
+            if (!PickleUtils.isString(names[i]) || values[i] == PNone.NONE) {
+                continue;
+            }
+            TruffleString name = PickleUtils.asString(names[i]);
+            if (name.equalsUncached(T___MAIN__, TS_ENCODING) || name.equalsUncached(T_MP_MAIN, TS_ENCODING)) {
+                continue;
+            }
+            Object candidate = PickleUtils.getDeepAttribute(values[i], dottedPath, null);
+            if (candidate != null && IsNode.getUncached().execute(candidate, obj)) {
+                return name;
+            }
+        }
+        return T___MAIN__;
+    }
+
+    private void saveGlobal(Object obj, TruffleString name) {
+        TruffleString globalName = name;
+        if (globalName == null) {
+            Object qualname = PyObjectLookupAttr.getUncached().execute(null, obj, T___QUALNAME__);
+            if (qualname == PNone.NO_VALUE) {
+                qualname = PyObjectGetAttr.getUncached().execute(null, obj, T___NAME__);
+            }
+            globalName = PickleUtils.asString(qualname);
+        }
+        TruffleString[] dottedPath = PickleUtils.getDottedPath(obj, globalName);
+        TruffleString moduleName = whichModule(obj, dottedPath);
+
+        Object module;
+        try {
+            module = PickleUtils.importModule(moduleName);
+        } catch (PException e) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED, PickleUtils.repr(obj), PickleUtils.repr(moduleName));
+        }
+        Object[] parentOut = new Object[1];
+        Object cls = PickleUtils.getDeepAttribute(module, dottedPath, parentOut);
+        if (cls == null) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_ATTRIBUTE_LOOKUP_S_ON_S_FAILED, PickleUtils.repr(obj), globalName, moduleName);
+        }
+        if (!IsNode.getUncached().execute(cls, obj)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S, PickleUtils.repr(obj), moduleName, globalName);
+        }
+        Object parent = parentOut[0];
+
+        if (proto >= 2) {
+            Object registry = PyObjectGetAttr.getUncached().execute(null, PickleUtils.importModule(T_MOD_COPYREG), T_EXTENSION_REGISTRY);
+            Object code = dictGet(registry, PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, globalName}));
+            if (code != null) {
+                long codeValue = PyLongAsLongNodeGen.getUncached().execute(null, code);
+                if (codeValue <= 0 || codeValue > 0x7fffffffL) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_EXTENSION_CODE_D_OUT_OF_RANGE, PickleUtils.repr(obj), codeValue);
+                }
+                if (codeValue <= 0xff) {
+                    writeBytes(EXT1, (byte) codeValue);
+                } else if (codeValue <= 0xffff) {
+                    int pos = reserve(3);
+                    output[pos] = EXT2;
+                    LE.putShort(output, pos + 1, (short) codeValue);
+                } else {
+                    writeOpWithInt(EXT4, (int) codeValue);
+                }
+                return;
+            }
+        }
+
+        TruffleString lastName = dottedPath[dottedPath.length - 1];
+        boolean nested = !IsNode.getUncached().execute(parent, module);
+        if (!nested) {
+            globalName = lastName;
+        }
+        if (proto >= 4) {
+            save(moduleName, false);
+            save(globalName, false);
+            writeByte(STACK_GLOBAL);
+        } else if (nested) {
+            Object getattr = PyObjectGetAttr.getUncached().execute(null, PythonContext.get(null).getBuiltins(), T_GETATTR);
+            saveReduce(new Object[]{getattr, PythonObjectFactory.getUncached().createTuple(new Object[]{parent, lastName})}, null);
+        } else {
+            if (proto < 3 && fixImports) {
+                Object[] mapped = fixImportsMapping(moduleName, globalName);
+                moduleName = (TruffleString) mapped[0];
+                globalName = (TruffleString) mapped[1];
+            }
+            byte[] moduleBytes = encodeIdentifier(moduleName);
+            byte[] nameBytes = encodeIdentifier(globalName);
+            int pos = reserve(moduleBytes.length + nameBytes.length + 3);
+            output[pos++] = GLOBAL;
+            System.arraycopy(moduleBytes, 0, output, pos, moduleBytes.length);
+            pos += moduleBytes.length;
+            output[pos++] = '\n';
+            System.arraycopy(nameBytes, 0, output, pos, nameBytes.length);
+            pos += nameBytes.length;
+            output[pos] = '\n';
+        }
+        memoPut(obj);
+    }
+
+    private byte[] encodeIdentifier(TruffleString identifier) {
+        if (proto >= 3) {
+            return PickleUtils.encodeUTF8(identifier);
+        }
+        if (identifier.getCodeRangeUncached(TS_ENCODING) != CodeRange.ASCII) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_MODULE_IDENTIFIER_S_USING_PROTOCOL_D, identifier, proto);
+        }
+        return identifier.toJavaStringUncached().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static Object[] fixImportsMapping(TruffleString moduleName, TruffleString globalName) {
+        Object compatPickle = PickleUtils.importModule(T_MOD_COMPAT_PICKLE);
+        Object nameMapping = PyObjectGetAttr.getUncached().execute(null, compatPickle, T_REVERSE_NAME_MAPPING);
+        Object item = dictGet(nameMapping, PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, globalName}));
+        if (item != null) {
+            if (!(item instanceof PTuple) || PyObjectSizeNode.getUncached().execute(null, item) != 2) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_2_TUPLES_NOT_P, "REVERSE_NAME_MAPPING", item);
+            }
+            Object[] pair = GetObjectArrayNodeGen.getUncached().execute(item);
+            if (!PickleUtils.isString(pair[0]) || !PickleUtils.isString(pair[1])) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_PAIRS_OF_STR_NOT_P_P, "REVERSE_NAME_MAPPING", pair[0], pair[1]);
+            }
+            return new Object[]{PickleUtils.asString(pair[0]), PickleUtils.asString(pair[1])};
+        }
+        Object importMapping = PyObjectGetAttr.getUncached().execute(null, compatPickle, T_REVERSE_IMPORT_MAPPING);
+        item = dictGet(importMapping, moduleName);
+        if (item != null) {
+            if (!PickleUtils.isString(item)) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_STRINGS_NOT_P, "REVERSE_IMPORT_MAPPING", item);
+            }
+            return new Object[]{PickleUtils.asString(item), globalName};
+        }
+        return new Object[]{moduleName, globalName};
+    }
+
+    static Object dictGet(Object dict, Object key) {
+        if (dict instanceof PDict) {
+            return HashingStorageGetItem.executeUncached(((PDict) dict).getDictStorage(), key);
+        }
+        Object result = PyObjectCallMethodObjArgs.getUncached().execute(null, dict, T_GET, key);
+        return result == PNone.NONE ? null : result;
+    }
+
+    private static boolean isCallableNamed(Object callable, TruffleString name) {
+        Object callableName = PyObjectLookupAttr.getUncached().execute(null, callable, T___NAME__);
+        return PickleUtils.isString(callableName) && PickleUtils.asString(callableName).equalsUncached(name, TS_ENCODING);
+    }
+
+    /**
+     * Equivalent of {@code save_reduce}: {@code args} is the tuple returned by the reduction and
+     * {@code obj} the object to memoize, or {@code null}.
+     */
+    private void saveReduce(Object[] args, Object obj) {
+        int size = args.length;
+        if (size < 2 || size > 6) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.TUPLE_RETURNED_BY_REDUCE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS);
+        }
+        Object callable = args[0];
+        Object argtup = args[1];
+        Object state = size > 2 ? args[2] : PNone.NONE;
+        Object listitems = size > 3 ? args[3] : PNone.NONE;
+        Object dictitems = size > 4 ? args[4] : PNone.NONE;
+        Object stateSetter = size > 5 ? args[5] : PNone.NONE;
+
+        if (!PyCallableCheckNode.getUncached().execute(callable)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.FIRST_ITEM_OF_REDUCE_TUPLE_MUST_BE_CALLABLE);
+        }
+        if (!(argtup instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.SECOND_ITEM_OF_REDUCE_TUPLE_MUST_BE_TUPLE);
+        }
+        if (listitems != PNone.NONE && !isIterator(listitems)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ELEMENT_OF_REDUCE_TUPLE_MUST_BE_ITERATOR_NOT_P, "fourth", listitems);
+        }
+        if (dictitems != PNone.NONE && !isIterator(dictitems)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ELEMENT_OF_REDUCE_TUPLE_MUST_BE_ITERATOR_NOT_P, "fifth", dictitems);
+        }
+        if (stateSetter != PNone.NONE && !PyCallableCheckNode.getUncached().execute(stateSetter)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.SIXTH_ELEMENT_OF_REDUCE_TUPLE_MUST_BE_FUNCTION_NOT_P, stateSetter);
+        }
+
+        Object[] argItems = GetObjectArrayNodeGen.getUncached().execute(argtup);
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        if (proto >= 2 && isCallableNamed(callable, T___NEWOBJ_EX__)) {
+            if (argItems.length != 3) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.LENGTH_OF_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_3_NOT_D, argItems.length);
+            }
+            Object cls = argItems[0];
+            Object newArgs = argItems[1];
+            Object kwargs = argItems[2];
+            if (!TypeNodes.IsTypeNode.getUncached().execute(cls)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ITEM_FROM_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_S_NOT_P, "first", "a class", cls);
+            }
+            if (!(newArgs instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ITEM_FROM_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_S_NOT_P, "second", "a tuple", newArgs);
+            }
+            if (!(kwargs instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ITEM_FROM_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_S_NOT_P, "third", "a dict", kwargs);
+            }
+            if (proto >= 4) {
+                save(cls, false);
+                save(newArgs, false);
+                save(kwargs, false);
+                writeByte(NEWOBJ_EX);
+            } else {
+                /* Emulate NEWOBJ_EX with functools.partial(cls.__new__, cls, *args, **kwargs). */
+                Object clsNew = PyObjectGetAttr.getUncached().execute(null, cls, T___NEW__);
+                Object[] newArgItems = GetObjectArrayNodeGen.getUncached().execute(newArgs);
+                Object[] partialArgs = new Object[newArgItems.length + 2];
+                partialArgs[0] = clsNew;
+                partialArgs[1] = cls;
+                System.arraycopy(newArgItems, 0, partialArgs, 2, newArgItems.length);
+                Object partial = PickleUtils.getModuleAttribute(T_MOD_FUNCTOOLS, T_PARTIAL);
+                Object newCallable = CallNode.getUncached().execute(partial, partialArgs, PickleUtils.toKeywords((PDict) kwargs));
+                save(newCallable, false);
+                save(factory.createEmptyTuple(), false);
+                writeByte(REDUCE);
+            }
+        } else if (proto >= 2 && isCallableNamed(callable, T___NEWOBJ__)) {
+            if (argItems.length < 1) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_ARGLIST_IS_EMPTY);
+            }
+            Object cls = argItems[0];
+            if (!TypeNodes.IsTypeNode.getUncached().execute(cls)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS0_FROM_NEWOBJ_ARGS_IS_NOT_A_TYPE);
+            }
+            if (obj != null) {
+                Object objClass = PyObjectGetAttr.getUncached().execute(null, obj, T___CLASS__);
+                if (!IsNode.getUncached().execute(objClass, cls)) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS0_FROM_NEWOBJ_ARGS_HAS_WRONG_CLASS);
+                }
+            }
+            save(cls, false);
+            save(factory.createTuple(Arrays.copyOfRange(argItems, 1, argItems.length)), false);
+            writeByte(NEWOBJ);
+        } else {
+            save(callable, false);
+            save(argtup, false);
+            writeByte(REDUCE);
+        }
+
+        if (obj != null) {
+            Integer memoIdx = memo.get(obj);
+            if (memoIdx != null) {
+                /* The object was memoized while saving its arguments (recursive reduction). */
+                writeByte(POP);
+                memoGet(memoIdx);
+            } else {
+                memoPut(obj);
+            }
+        }
+        if (listitems != PNone.NONE) {
+            batchList(listitems);
+        }
+        if (dictitems != PNone.NONE) {
+            batchDict(dictitems);
+        }
+        if (state != PNone.NONE) {
+            if (stateSetter == PNone.NONE) {
+                save(state, false);
+                writeByte(BUILD);
+            } else {
+                /* Call state_setter(obj, state) and discard the result. */
+                save(stateSetter, false);
+                save(obj, false);
+                save(state, false);
+                writeByte(TUPLE2);
+                writeByte(REDUCE);
+                writeByte(POP);
+            }
+        }
+    }
+
+    private static boolean isIterator(Object obj) {
+        return PyObjectLookupAttr.getUncached().execute(null, GetClassNode.getUncached().execute(obj), T___NEXT__) != PNone.NO_VALUE;
+    }
+
+    private void batchList(Object iterator) {
+        PyIterNextNode next = PyIterNextNode.getUncached();
+        if (!bin) {
+            Object item;
+            while ((item = next.execute(null, iterator)) != null) {
+                save(item, false);
+                writeByte(APPEND);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object first = next.execute(null, iterator);
+            if (first == null) {
+                break;
+            }
+            Object item = next.execute(null, iterator);
+            if (item == null) {
+                save(first, false);
+                writeByte(APPEND);
+                break;
+            }
+            writeByte(MARK);
+            save(first, false);
+            n = 1;
+            while (item != null) {
+                save(item, false);
+                if (++n == BATCHSIZE) {
+                    break;
+                }
+                item = next.execute(null, iterator);
+            }
+            writeByte(APPENDS);
+        } while (n == BATCHSIZE);
+    }
+
+    private Object[] nextDictItem(Object iterator) {
+        Object item = PyIterNextNode.getUncached().execute(null, iterator);
+        if (item == null) {
+            return null;
+        }
+        if (!(item instanceof PTuple) || PyObjectSizeNode.getUncached().execute(null, item) != 2) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES);
+        }
+        return GetObjectArrayNodeGen.getUncached().execute(item);
+    }
+
+    private void batchDict(Object iterator) {
+        if (!bin) {
+            Object[] item;
+            while ((item = nextDictItem(iterator)) != null) {
+                save(item[0], false);
+                save(item[1], false);
+                writeByte(SETITEM);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object[] first = nextDictItem(iterator);
+            if (first == null) {
+                break;
+            }
+            Object[] item = nextDictItem(iterator);
+            if (item == null) {
+                save(first[0], false);
+                save(first[1], false);
+                writeByte(SETITEM);
+                break;
+            }
+            writeByte(MARK);
+            save(first[0], false);
+            save(first[1], false);
+            n = 1;
+            while (item != null) {
+                save(item[0], false);
+                save(item[1], false);
+                if (++n == BATCHSIZE) {
+                    break;
+                }
+                item = nextDictItem(iterator);
+            }
+            writeByte(SETITEMS);
+        } while (n == BATCHSIZE);
+    }
+
+    // helpers for the memo proxy
+
+    @TruffleBoundary
+    Object[] memoEntries() {
+        Object[] entries = new Object[memo.size() * 2];
+        int i = 0;
+        for (var e : memo.entrySet()) {
+            entries[i++] = e.getKey();
+            entries[i++] = e.getValue();
+        }
+        return entries;
+    }
+
+    @TruffleBoundary
+    void setMemoEntry(Object obj, int idx) {
+        memo.put(obj, idx);
+    }
+}
@@ -0,0 +1,1144 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ENCODING_BYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ESCAPE_DECODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_EXTENSION_CACHE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_INVERTED_REGISTRY;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_CODECS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COMPAT_PICKLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COPYREG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_PERSISTENT_LOAD;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_RAW_UNICODE_ESCAPE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_TOREADONLY;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ADD;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_APPEND;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_DECODE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_EXTEND;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_READLINE;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___GETINITARGS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___SETSTATE__;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorKey;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodesFactory.GetObjectArrayNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.lib.PyObjectSetItem;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.memory.ByteArraySupport;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The {@code _pickle.Unpickler} object. The pickle is decoded by a single opcode loop behind a
+ * {@link TruffleBoundary}. Data is read from an in-memory byte array, which is either the argument
+ * of {@code loads} or a chunk read from the file; for protocol 4 and higher the chunk is a whole
+ * frame, so the file is not called for each opcode. The memo is a plain array indexed by the memo
+ * key.
+ */
+public final class PUnpickler extends PythonBuiltinObject {
+    private static final ByteArraySupport LE = ByteArraySupport.littleEndian();
+    private static final ByteArraySupport BE = ByteArraySupport.bigEndian();
+
+    private Object read;
+    private Object readline;
+    private int proto;
+    private boolean fixImports = true;
+    private TruffleString encoding;
+    private TruffleString errors;
+    private Object buffers;
+    Object persistentLoad;
+    Object[] memo = new Object[32];
+    int memoLen;
+
+    /* State of a single load() call. */
+    private byte[] input = PythonUtils.EMPTY_BYTE_ARRAY;
+    private int pos;
+    private int inputLen;
+    private Object[] stack = new Object[16];
+    private int stackLen;
+    private int[] marks = new int[8];
+    private int numMarks;
+    private int fence;
+    private boolean findClassOverridden;
+    private boolean initialized;
+
+    public PUnpickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    /**
+     * Equivalent of {@code _pickle_Unpickler___init___impl}. A {@code null} file means that
+     * {@link #setInput(byte[], int)} provides the data.
+     */
+    @TruffleBoundary
+    void init(Object file, boolean fixImportsArg, TruffleString encodingArg, TruffleString errorsArg, Object buffersArg) {
+        if (file != null) {
+            Object readMethod = PyObjectLookupAttr.getUncached().execute(null, file, T_READ);
+            Object readlineMethod = PyObjectLookupAttr.getUncached().execute(null, file, T_READLINE);
+            if (readMethod == PNone.NO_VALUE || readlineMethod == PNone.NO_VALUE) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_READ_AND_READLINE_ATTRS);
+            }
+            this.read = readMethod;
+            this.readline = readlineMethod;
+        } else {
+            this.read = null;
+            this.readline = null;
+        }
+        this.fixImports = fixImportsArg;
+        this.encoding = encodingArg;
+        this.errors = errorsArg;
+        this.buffers = PickleUtils.isNone(buffersArg) ? null : PyObjectGetIter.getUncached().execute(null, buffersArg);
+        this.proto = 0;
+        this.memo = new Object[32];
+        this.memoLen = 0;
+        this.initialized = true;
+    }
+
+    void setInput(byte[] data, int length) {
+        this.input = data;
+        this.pos = 0;
+        this.inputLen = length;
+    }
+
+    private static PException raise(PythonBuiltinClassType type, TruffleString message, Object... args) {
+        throw PRaiseNode.getUncached().raise(type, message, args);
+    }
+
+    // input handling
+
+    /**
+     * Makes sure that {@code n} bytes are available at {@link #pos}, reading from the file if
+     * necessary. Returns {@code false} if the data ends before that.
+     */
+    private boolean fill(long n) {
+        if (inputLen - pos >= n) {
+            return true;
+        }
+        if (read == null) {
+            return false;
+        }
+        if (n > Integer.MAX_VALUE - 8) {
+            throw PRaiseNode.getUncached().raiseMemoryError();
+        }
+        int remaining = inputLen - pos;
+        int missing = (int) n - remaining;
+        byte[] data = readFromFile(missing);
+        if (remaining == 0) {
+            input = data;
+        } else {
+            byte[] joined = new byte[remaining + data.length];
+            System.arraycopy(input, pos, joined, 0, remaining);
+            System.arraycopy(data, 0, joined, remaining, data.length);
+            input = joined;
+        }
+        pos = 0;
+        inputLen = input.length;
+        return inputLen >= n;
+    }
+
+    private byte[] readFromFile(int n) {
+        Object data = CallNode.getUncached().execute(read, n);
+        return toByteArray(data, ErrorMessages.READ_RETURNED_NOT_BYTES);
+    }
+
+    private static byte[] toByteArray(Object data, TruffleString error) {
+        PythonBufferAcquireLibrary acquireLib = PythonBufferAcquireLibrary.getUncached();
+        if (!acquireLib.hasBuffer(data)) {
+            throw raise(PythonBuiltinClassType.TypeError, error, data);
+        }
+        Object buffer = acquireLib.acquireReadonly(data);
+        PythonBufferAccessLibrary accessLib = PythonBufferAccessLibrary.getUncached();
+        try {
+            return accessLib.getCopiedByteArray(buffer);
+        } finally {
+            accessLib.release(buffer);
+        }
+    }
+
+    private int readByte() {
+        if (!fill(1)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+        }
+        return input[pos++] & 0xff;
+    }
+
+    /** Returns the position of {@code n} bytes in {@link #input} and skips them. */
+    private int readBytes(long n) {
+        if (n < 0 || !fill(n)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+        }
+        int start = pos;
+        pos += (int) n;
+        return start;
+    }
+
+    private int readUInt16() {
+        int start = readBytes(2);
+        return LE.getShort(input, start) & 0xffff;
+    }
+
+    private int readInt32() {
+        int start = readBytes(4);
+        return LE.getInt(input, start);
+    }
+
+    private long readUInt32() {
+        return readInt32() & 0xffffffffL;
+    }
+
+    private long readSize64() {
+        int start = readBytes(8);
+        long size = LE.getLong(input, start);
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.OverflowError, ErrorMessages.SIZE_EXCEEDS_MAX);
+        }
+        return size;
+    }
+
+    /** Reads a line without the trailing newline. */
+    private byte[] readLine() {
+        for (int i = pos; i < inputLen; i++) {
+            if (input[i] == '\n') {
+                byte[] line = Arrays.copyOfRange(input, pos, i);
+                pos = i + 1;
+                return line;
+            }
+        }
+        if (readline == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+        }
+        byte[] data = toByteArray(CallNode.getUncached().execute(readline), ErrorMessages.READLINE_RETURNED_NOT_BYTES);
+        if (data.length == 0 || data[data.length - 1] != '\n') {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+        }
+        int remaining = inputLen - pos;
+        byte[] line = new byte[remaining + data.length - 1];
+        System.arraycopy(input, pos, line, 0, remaining);
+        System.arraycopy(data, 0, line, remaining, data.length - 1);
+        pos = inputLen;
+        return line;
+    }
+
+    private static String asciiLine(byte[] line) {
+        return new String(line, StandardCharsets.ISO_8859_1);
+    }
+
+    // stack
+
+    private void push(Object obj) {
+        if (stackLen == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[stackLen++] = obj;
+    }
+
+    private Object pop() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        Object obj = stack[--stackLen];
+        stack[stackLen] = null;
+        return obj;
+    }
+
+    private Object peek() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        return stack[stackLen - 1];
+    }
+
+    private PException stackUnderflow() {
+        throw raise(PythonBuiltinClassType.UnpicklingError, numMarks > 0 ? ErrorMessages.UNEXPECTED_MARK_FOUND : ErrorMessages.UNPICKLING_STACK_UNDERFLOW);
+    }
+
+    private void pushMark() {
+        if (numMarks == marks.length) {
+            marks = Arrays.copyOf(marks, marks.length * 2);
+        }
+        marks[numMarks++] = stackLen;
+        fence = stackLen;
+    }
+
+    private int popMark() {
+        if (numMarks < 1) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.COULD_NOT_FIND_MARK);
+        }
+        int mark = marks[--numMarks];
+        fence = numMarks > 0 ? marks[numMarks - 1] : 0;
+        return mark;
+    }
+
+    /** Pops the items above {@code start} into a new array. */
+    private Object[] popSlice(int start) {
+        Object[] items = Arrays.copyOfRange(stack, start, stackLen);
+        Arrays.fill(stack, start, stackLen, null);
+        stackLen = start;
+        return items;
+    }
+
+    private Object[] popMarkedItems() {
+        return popSlice(popMark());
+    }
+
+    // memo
+
+    private void memoPut(long idx, Object obj) {
+        if (idx < 0 || idx > Integer.MAX_VALUE - 8) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_PUT_ARGUMENT);
+        }
+        int i = (int) idx;
+        if (i >= memo.length) {
+            memo = Arrays.copyOf(memo, Math.max(memo.length * 2, i + 1));
+        }
+        if (memo[i] == null) {
+            memoLen++;
+        }
+        memo[i] = obj;
+    }
+
+    private void memoGet(long idx) {
+        if (idx < 0 || idx >= memo.length || memo[(int) idx] == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.MEMO_VALUE_NOT_FOUND_AT_INDEX_D, idx);
+        }
+        push(memo[(int) idx]);
+    }
+
+    @TruffleBoundary
+    void clearMemo() {
+        memo = new Object[32];
+        memoLen = 0;
+    }
+
+    @TruffleBoundary
+    Object[] memoEntries() {
+        Object[] entries = new Object[memoLen * 2];
+        int n = 0;
+        for (int i = 0; i < memo.length; i++) {
+            if (memo[i] != null) {
+                entries[n++] = i;
+                entries[n++] = memo[i];
+            }
+        }
+        return entries;
+    }
+
+    @TruffleBoundary
+    void setMemoEntry(long idx, Object obj) {
+        memoPut(idx, obj);
+    }
+
+    // load
+
+    @TruffleBoundary
+    Object load() {
+        if (!initialized) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_INIT_WAS_NOT_CALLED_BY_P_INIT, "Unpickler", this);
+        }
+        findClassOverridden = !PickleUtils.isExactInstance(this, PythonBuiltinClassType.Unpickler);
+        stackLen = 0;
+        numMarks = 0;
+        fence = 0;
+        proto = 0;
+        Object lookup = PyObjectLookupAttr.getUncached().execute(null, this, T_PERSISTENT_LOAD);
+        Object persLoad = PickleUtils.isNone(lookup) ? null : lookup;
+        try {
+            while (true) {
+                if (!fill(1)) {
+                    throw raise(PythonBuiltinClassType.EOFError, ErrorMessages.RAN_OUT_OF_INPUT);
+                }
+                byte opcode = input[pos++];
+                if (opcode == PickleUtils.STOP) {
+                    return pop();
+                }
+                dispatch(opcode, persLoad);
+            }
+        } finally {
+            Arrays.fill(stack, 0, stackLen, null);
+            stackLen = 0;
+            numMarks = 0;
+            fence = 0;
+            if (read == null) {
+                input = PythonUtils.EMPTY_BYTE_ARRAY;
+                pos = 0;
+                inputLen = 0;
+            }
+        }
+    }
+
+    private void dispatch(byte opcode, Object persLoad) {
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        switch (opcode) {
+            case PickleUtils.NONE:
+                push(PNone.NONE);
+                break;
+            case PickleUtils.NEWTRUE:
+                push(true);
+                break;
+            case PickleUtils.NEWFALSE:
+                push(false);
+                break;
+            case PickleUtils.INT:
+                loadInt();
+                break;
+            case PickleUtils.BININT:
+                push(readInt32());
+                break;
+            case PickleUtils.BININT1:
+                push(readByte());
+                break;
+            case PickleUtils.BININT2:
+                push(readUInt16());
+                break;
+            case PickleUtils.LONG:
+                loadLong();
+                break;
+            case PickleUtils.LONG1:
+                loadCountedLong(readByte());
+                break;
+            case PickleUtils.LONG4: {
+                int size = readInt32();
+                if (size < 0) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.LONG_PICKLE_HAS_NEGATIVE_BYTE_COUNT);
+                }
+                loadCountedLong(size);
+                break;
+            }
+            case PickleUtils.FLOAT:
+                push(callBuiltinType(PythonBuiltinClassType.PFloat, asciiString(readLine())));
+                break;
+            case PickleUtils.BINFLOAT: {
+                int start = readBytes(8);
+                push(Double.longBitsToDouble(BE.getLong(input, start)));
+                break;
+            }
+            case PickleUtils.STRING:
+                loadString();
+                break;
+            case PickleUtils.BINSTRING: {
+                int size = readInt32();
+                if (size < 0) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.BINSTRING_PICKLE_HAS_NEGATIVE_BYTE_COUNT);
+                }
+                push(decodeString(copyBytes(size)));
+                break;
+            }
+            case PickleUtils.SHORT_BINSTRING:
+                push(decodeString(copyBytes(readByte())));
+                break;
+            case PickleUtils.BINBYTES:
+                push(factory.createBytes(copyBytes(readUInt32())));
+                break;
+            case PickleUtils.SHORT_BINBYTES:
+                push(factory.createBytes(copyBytes(readByte())));
+                break;
+            case PickleUtils.BINBYTES8:
+                push(factory.createBytes(copyBytes(readSize64())));
+                break;
+            case PickleUtils.BYTEARRAY8:
+                push(factory.createByteArray(copyBytes(readSize64())));
+                break;
+            case PickleUtils.NEXT_BUFFER:
+                loadNextBuffer();
+                break;
+            case PickleUtils.READONLY_BUFFER:
+                loadReadonlyBuffer();
+                break;
+            case PickleUtils.UNICODE: {
+                Object line = factory.createBytes(readLine());
+                push(PyObjectCallMethodObjArgs.getUncached().execute(null, line, T_DECODE, T_RAW_UNICODE_ESCAPE));
+                break;
+            }
+            case PickleUtils.BINUNICODE:
+                loadUnicode(readUInt32());
+                break;
+            case PickleUtils.SHORT_BINUNICODE:
+                loadUnicode(readByte());
+                break;
+            case PickleUtils.BINUNICODE8:
+                loadUnicode(readSize64());
+                break;
+            case PickleUtils.EMPTY_TUPLE:
+                push(factory.createEmptyTuple());
+                break;
+            case PickleUtils.TUPLE:
+                push(factory.createTuple(popMarkedItems()));
+                break;
+            case PickleUtils.TUPLE1:
+                loadCountedTuple(1);
+                break;
+            case PickleUtils.TUPLE2:
+                loadCountedTuple(2);
+                break;
+            case PickleUtils.TUPLE3:
+                loadCountedTuple(3);
+                break;
+            case PickleUtils.EMPTY_LIST:
+                push(factory.createList());
+                break;
+            case PickleUtils.LIST:
+                push(factory.createList(popMarkedItems()));
+                break;
+            case PickleUtils.EMPTY_DICT:
+                push(factory.createDict());
+                break;
+            case PickleUtils.DICT: {
+                Object[] items = popMarkedItems();
+                if ((items.length & 1) != 0) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "DICT");
+                }
+                PDict dict = factory.createDict();
+                HashingStorage storage = dict.getDictStorage();
+                for (int i = 0; i < items.length; i += 2) {
+                    storage = HashingStorageSetItem.executeUncached(storage, items[i], items[i + 1]);
+                }
+                dict.setDictStorage(storage);
+                push(dict);
+                break;
+            }
+            case PickleUtils.EMPTY_SET:
+                push(factory.createSet());
+                break;
+            case PickleUtils.FROZENSET:
+                push(factory.createFrozenSet(toSetStorage(popMarkedItems())));
+                break;
+            case PickleUtils.APPEND:
+                doAppend(stackLen - 1);
+                break;
+            case PickleUtils.APPENDS:
+                doAppend(popMark());
+                break;
+            case PickleUtils.SETITEM:
+                doSetItems(stackLen - 2);
+                break;
+            case PickleUtils.SETITEMS:
+                doSetItems(popMark());
+                break;
+            case PickleUtils.ADDITEMS:
+                doAddItems(popMark());
+                break;
+            case PickleUtils.BUILD:
+                loadBuild();
+                break;
+            case PickleUtils.GLOBAL: {
+                TruffleString module = decodeLine(readLine());
+                TruffleString name = decodeLine(readLine());
+                push(findClass(module, name));
+                break;
+            }
+            case PickleUtils.STACK_GLOBAL: {
+                Object name = pop();
+                Object module = pop();
+                if (!PickleUtils.isString(module) || !PickleUtils.isString(name)) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STACK_GLOBAL_REQUIRES_STR);
+                }
+                push(findClass(PickleUtils.asString(module), PickleUtils.asString(name)));
+                break;
+            }
+            case PickleUtils.EXT1:
+                loadExtension(readByte());
+                break;
+            case PickleUtils.EXT2:
+                loadExtension(readUInt16());
+                break;
+            case PickleUtils.EXT4:
+                loadExtension(readInt32());
+                break;
+            case PickleUtils.REDUCE: {
+                Object args = pop();
+                Object callable = pop();
+                push(CallNode.getUncached().execute(callable, GetObjectArrayNodeGen.getUncached().execute(args)));
+                break;
+            }
+            case PickleUtils.NEWOBJ:
+                loadNewObj();
+                break;
+            case PickleUtils.NEWOBJ_EX:
+                loadNewObjEx();
+                break;
+            case PickleUtils.INST: {
+                TruffleString module = decodeLine(readLine());
+                TruffleString name = decodeLine(readLine());
+                Object[] args = popMarkedItems();
+                push(instantiate(findClass(module, name), args));
+                break;
+            }
+            case PickleUtils.OBJ: {
+                Object[] items = popMarkedItems();
+                if (items.length == 0) {
+                    throw stackUnderflow();
+                }
+                push(instantiate(items[0], Arrays.copyOfRange(items, 1, items.length)));
+                break;
+            }
+            case PickleUtils.PERSID: {
+                if (persLoad == null) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD);
+                }
+                byte[] line = readLine();
+                for (byte b : line) {
+                    if (b < 0) {
+                        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII);
+                    }
+                }
+                push(CallNode.getUncached().execute(persLoad, asciiString(line)));
+                break;
+            }
+            case PickleUtils.BINPERSID: {
+                if (persLoad == null) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD);
+                }
+                Object pid = pop();
+                push(CallNode.getUncached().execute(persLoad, pid));
+                break;
+            }
+            case PickleUtils.POP:
+                if (stackLen > fence) {
+                    pop();
+                } else if (numMarks > 0) {
+                    popMark();
+                } else {
+                    throw stackUnderflow();
+                }
+                break;
+            case PickleUtils.POP_MARK:
+                popMarkedItems();
+                break;
+            case PickleUtils.DUP:
+                push(peek());
+                break;
+            case PickleUtils.MARK:
+                pushMark();
+                break;
+            case PickleUtils.GET:
+                memoGet(parseLong(readLine()));
+                break;
+            case PickleUtils.BINGET:
+                memoGet(readByte());
+                break;
+            case PickleUtils.LONG_BINGET:
+                memoGet(readUInt32());
+                break;
+            case PickleUtils.PUT: {
+                long idx = parseLong(readLine());
+                if (idx < 0) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_PUT_ARGUMENT);
+                }
+                memoPut(idx, peek());
+                break;
+            }
+            case PickleUtils.BINPUT:
+                memoPut(readByte(), peek());
+                break;
+            case PickleUtils.LONG_BINPUT: {
+                long idx = readUInt32();
+                memoPut(idx, peek());
+                break;
+            }
+            case PickleUtils.MEMOIZE:
+                memoPut(memoLen, peek());
+                break;
+            case PickleUtils.PROTO: {
+                int version = readByte();
+                if (version > PickleUtils.HIGHEST_PROTOCOL) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNSUPPORTED_PICKLE_PROTOCOL_D, version);
+                }
+                proto = version;
+                break;
+            }
+            case PickleUtils.FRAME: {
+                long size = readSize64();
+                /* Read the whole frame at once, so that its opcodes don't call into the file. */
+                if (!fill(size)) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+                }
+                break;
+            }
+            default:
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.INVALID_LOAD_KEY_S, invalidKey(opcode));
+        }
+    }
+
+    private static String invalidKey(byte opcode) {
+        int ch = opcode & 0xff;
+        if (ch >= 0x20 && ch < 0x7f) {
+            return String.valueOf((char) ch);
+        }
+        return String.format("\\x%02x", ch);
+    }
+
+    private byte[] copyBytes(long n) {
+        int start = readBytes(n);
+        return Arrays.copyOfRange(input, start, start + (int) n);
+    }
+
+    private static TruffleString asciiString(byte[] line) {
+        return PythonUtils.toTruffleStringUncached(asciiLine(line));
+    }
+
+    private static Object callBuiltinType(PythonBuiltinClassType type, Object arg) {
+        return CallNode.getUncached().execute(PythonContext.get(null).lookupType(type), arg);
+    }
+
+    private static long parseLong(byte[] line) {
+        Object value = parseInt(asciiLine(line));
+        return PyLongAsLongNodeGen.getUncached().execute(null, value);
+    }
+
+    private static Object parseInt(String text) {
+        try {
+            long value = Long.parseLong(text);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            return callBuiltinType(PythonBuiltinClassType.PInt, PythonUtils.toTruffleStringUncached(text));
+        }
+    }
+
+    private void loadInt() {
+        String text = asciiLine(readLine());
+        if (text.length() == 2 && text.charAt(0) == '0' && (text.charAt(1) == '0' || text.charAt(1) == '1')) {
+            /* Protocol 0 and 1 write booleans as "I00" and "I01". */
+            push(text.charAt(1) == '1');
+        } else {
+            push(parseInt(text));
+        }
+    }
+
+    private void loadLong() {
+        String text = asciiLine(readLine());
+        if (text.endsWith("L")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        push(parseInt(text));
+    }
+
+    private void loadCountedLong(int size) {
+        if (size == 0) {
+            push(0);
+            return;
+        }
+        int start = readBytes(size);
+        /* Little endian two's complement, BigInteger wants big endian. */
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = input[start + size - 1 - i];
+        }
+        BigInteger value = new BigInteger(data);
+        if (value.bitLength() < 32) {
+            push(value.intValue());
+        } else if (value.bitLength() < 64) {
+            push(value.longValue());
+        } else {
+            push(PythonObjectFactory.getUncached().createInt(value));
+        }
+    }
+
+    private void loadString() {
+        byte[] line = readLine();
+        int len = line.length;
+        /* Strip the outermost quotes. */
+        if (len < 2 || line[0] != line[len - 1] || (line[0] != '\'' && line[0] != '"')) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED);
+        }
+        Object escaped = PythonObjectFactory.getUncached().createBytes(Arrays.copyOfRange(line, 1, len - 1));
+        Object result = PyObjectCallMethodObjArgs.getUncached().execute(null, PickleUtils.importModule(T_MOD_CODECS), T_ESCAPE_DECODE, escaped);
+        Object bytes = GetObjectArrayNodeGen.getUncached().execute(result)[0];
+        push(decodeString(bytes));
+    }
+
+    private Object decodeString(byte[] data) {
+        return decodeString(PythonObjectFactory.getUncached().createBytes(data));
+    }
+
+    /** Decodes a Python 2 {@code str} using the {@code encoding} and {@code errors} arguments. */
+    private Object decodeString(Object bytes) {
+        if (encoding.equalsUncached(T_ENCODING_BYTES, TS_ENCODING)) {
+            return bytes;
+        }
+        return PyObjectCallMethodObjArgs.getUncached().execute(null, bytes, T_DECODE, encoding, errors);
+    }
+
+    private void loadUnicode(long size) {
+        int start = readBytes(size);
+        push(PickleUtils.decodeUTF8(input, start, (int) size));
+    }
+
+    private void loadCountedTuple(int len) {
+        if (stackLen - fence < len) {
+            throw stackUnderflow();
+        }
+        push(PythonObjectFactory.getUncached().createTuple(popSlice(stackLen - len)));
+    }
+
+    private void loadNextBuffer() {
+        if (buffers == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_STREAM_REFERS_TO_OUT_OF_BAND_DATA);
+        }
+        Object buffer = PyIterNextNode.getUncached().execute(null, buffers);
+        if (buffer == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NOT_ENOUGH_OUT_OF_BAND_BUFFERS);
+        }
+        push(buffer);
+    }
+
+    private void loadReadonlyBuffer() {
+        Object obj = peek();
+        PythonBufferAcquireLibrary acquireLib = PythonBufferAcquireLibrary.getUncached();
+        if (acquireLib.hasBuffer(obj)) {
+            Object buffer = acquireLib.acquireReadonly(obj);
+            PythonBufferAccessLibrary accessLib = PythonBufferAccessLibrary.getUncached();
+            boolean readonly;
+            try {
+                readonly = accessLib.isReadonly(buffer);
+            } finally {
+                accessLib.release(buffer);
+            }
+            if (readonly) {
+                return;
+            }
+        }
+        Object view = callBuiltinType(PythonBuiltinClassType.PMemoryView, obj);
+        stack[stackLen - 1] = PyObjectCallMethodObjArgs.getUncached().execute(null, view, T_TOREADONLY);
+    }
+
+    private static HashingStorage toSetStorage(Object[] items) {
+        HashingStorage storage = PythonObjectFactory.getUncached().createSet().getDictStorage();
+        for (Object item : items) {
+            storage = HashingStorageSetItem.executeUncached(storage, item, PNone.NONE);
+        }
+        return storage;
+    }
+
+    private void doAppend(int start) {
+        if (start < 1 || start > stackLen) {
+            throw stackUnderflow();
+        }
+        Object list = stack[start - 1];
+        Object[] items = popSlice(start);
+        if (items.length == 0) {
+            return;
+        }
+        if (list instanceof PList && PickleUtils.isExactInstance(list, PythonBuiltinClassType.PList)) {
+            PList plist = (PList) list;
+            SequenceStorage storage = plist.getSequenceStorage();
+            if (storage.length() == 0) {
+                plist.setSequenceStorage(SequenceStorageFactory.createStorage(items));
+            } else {
+                AppendNode append = AppendNode.getUncached();
+                for (Object item : items) {
+                    append.execute(plist, item);
+                }
+            }
+            return;
+        }
+        Object extend = PyObjectLookupAttr.getUncached().execute(null, list, T_EXTEND);
+        if (extend != PNone.NO_VALUE) {
+            CallNode.getUncached().execute(extend, PythonObjectFactory.getUncached().createList(items));
+        } else {
+            Object append = PyObjectGetAttr.getUncached().execute(null, list, T_APPEND);
+            for (Object item : items) {
+                CallNode.getUncached().execute(append, item);
+            }
+        }
+    }
+
+    private void doSetItems(int start) {
+        if (start < 1 || start > stackLen) {
+            throw stackUnderflow();
+        }
+        Object dict = stack[start - 1];
+        Object[] items = popSlice(start);
+        if ((items.length & 1) != 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "SETITEMS");
+        }
+        if (dict instanceof PDict && PickleUtils.isExactInstance(dict, PythonBuiltinClassType.PDict)) {
+            PDict pdict = (PDict) dict;
+            HashingStorage storage = pdict.getDictStorage();
+            for (int i = 0; i < items.length; i += 2) {
+                storage = HashingStorageSetItem.executeUncached(storage, items[i], items[i + 1]);
+            }
+            pdict.setDictStorage(storage);
+            return;
+        }
+        for (int i = 0; i < items.length; i += 2) {
+            PyObjectSetItem.getUncached().execute(null, dict, items[i], items[i + 1]);
+        }
+    }
+
+    private void doAddItems(int start) {
+        if (start < 1 || start > stackLen) {
+            throw stackUnderflow();
+        }
+        Object set = stack[start - 1];
+        Object[] items = popSlice(start);
+        if (set instanceof PHashingCollection && PickleUtils.isExactInstance(set, PythonBuiltinClassType.PSet)) {
+            PHashingCollection pset = (PHashingCollection) set;
+            HashingStorage storage = pset.getDictStorage();
+            for (Object item : items) {
+                storage = HashingStorageSetItem.executeUncached(storage, item, PNone.NONE);
+            }
+            pset.setDictStorage(storage);
+            return;
+        }
+        Object add = PyObjectGetAttr.getUncached().execute(null, set, T_ADD);
+        for (Object item : items) {
+            CallNode.getUncached().execute(add, item);
+        }
+    }
+
+    private void loadBuild() {
+        Object state = pop();
+        Object inst = peek();
+        Object setstate = PyObjectLookupAttr.getUncached().execute(null, inst, T___SETSTATE__);
+        if (setstate != PNone.NO_VALUE) {
+            CallNode.getUncached().execute(setstate, state);
+            return;
+        }
+        /* A default __reduce__ implementation can return (state, slotstate). */
+        Object slotstate = PNone.NONE;
+        if (state instanceof PTuple && PyObjectSizeNode.getUncached().execute(null, state) == 2) {
+            Object[] items = GetObjectArrayNodeGen.getUncached().execute(state);
+            state = items[0];
+            slotstate = items[1];
+        }
+        if (state != PNone.NONE) {
+            if (!(state instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STATE_IS_NOT_A_DICTIONARY);
+            }
+            Object dict = PyObjectGetAttr.getUncached().execute(null, inst, T___DICT__);
+            HashingStorage storage = ((PDict) state).getDictStorage();
+            HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                Object key = HashingStorageIteratorKey.executeUncached(storage, it);
+                Object value = HashingStorageIteratorValue.executeUncached(storage, it);
+                PyObjectSetItem.getUncached().execute(null, dict, key, value);
+            }
+        }
+        if (slotstate != PNone.NONE) {
+            if (!(slotstate instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.SLOT_STATE_IS_NOT_A_DICTIONARY);
+            }
+            HashingStorage storage = ((PDict) slotstate).getDictStorage();
+            HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+            while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                Object key = HashingStorageIteratorKey.executeUncached(storage, it);
+                Object value = HashingStorageIteratorValue.executeUncached(storage, it);
+                PyObjectSetAttr.getUncached().execute(null, inst, key, value);
+            }
+        }
+    }
+
+    private void loadNewObj() {
+        Object args = pop();
+        Object cls = pop();
+        if (!TypeNodes.IsTypeNode.getUncached().execute(cls)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_CLASS_ARGUMENT_MUST_BE_A_TYPE_NOT_P, "NEWOBJ", cls);
+        }
+        if (!(args instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_ARGS_ARGUMENT_MUST_BE_A_TUPLE_NOT_P, "NEWOBJ", args);
+        }
+        push(callNew(cls, GetObjectArrayNodeGen.getUncached().execute(args), PKeyword.EMPTY_KEYWORDS));
+    }
+
+    private void loadNewObjEx() {
+        Object kwargs = pop();
+        Object args = pop();
+        Object cls = pop();
+        if (!TypeNodes.IsTypeNode.getUncached().execute(cls)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_CLASS_ARGUMENT_MUST_BE_A_TYPE_NOT_P, "NEWOBJ_EX", cls);
+        }
+        if (!(args instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_ARGS_ARGUMENT_MUST_BE_A_TUPLE_NOT_P, "NEWOBJ_EX", args);
+        }
+        if (!(kwargs instanceof PDict)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_EX_KWARGS_ARGUMENT_MUST_BE_A_DICT_NOT_P, kwargs);
+        }
+        push(callNew(cls, GetObjectArrayNodeGen.getUncached().execute(args), PickleUtils.toKeywords((PDict) kwargs)));
+    }
+
+    private static Object callNew(Object cls, Object[] args, PKeyword[] kwargs) {
+        Object newMethod = PyObjectGetAttr.getUncached().execute(null, cls, T___NEW__);
+        Object[] newArgs = new Object[args.length + 1];
+        newArgs[0] = cls;
+        System.arraycopy(args, 0, newArgs, 1, args.length);
+        return CallNode.getUncached().execute(newMethod, newArgs, kwargs);
+    }
+
+    /**
+     * Creates the instance for the {@code INST} and {@code OBJ} opcodes: classes without
+     * {@code __getinitargs__} and without arguments are created with {@code cls.__new__(cls)}.
+     */
+    private static Object instantiate(Object cls, Object[] args) {
+        if (args.length == 0 && TypeNodes.IsTypeNode.getUncached().execute(cls) &&
+                        PyObjectLookupAttr.getUncached().execute(null, cls, T___GETINITARGS__) == PNone.NO_VALUE) {
+            return callNew(cls, args, PKeyword.EMPTY_KEYWORDS);
+        }
+        return CallNode.getUncached().execute(cls, args);
+    }
+
+    private static TruffleString decodeLine(byte[] line) {
+        return PickleUtils.asString(PickleUtils.decodeUTF8(line, 0, line.length));
+    }
+
+    private Object findClass(TruffleString module, TruffleString name) {
+        if (findClassOverridden) {
+            return PyObjectCallMethodObjArgs.getUncached().execute(null, this, PickleUtils.T_FIND_CLASS, module, name);
+        }
+        return findClassImpl(module, name);
+    }
+
+    /**
+     * The default implementation of {@code Unpickler.find_class}, including the Python 2 name
+     * mapping and the dotted name lookup of protocol 4.
+     */
+    @TruffleBoundary
+    Object findClassImpl(TruffleString moduleName, TruffleString globalName) {
+        TruffleString module = moduleName;
+        TruffleString name = globalName;
+        if (proto < 3 && fixImports) {
+            Object compatPickle = PickleUtils.importModule(T_MOD_COMPAT_PICKLE);
+            Object nameMapping = PyObjectGetAttr.getUncached().execute(null, compatPickle, T_NAME_MAPPING);
+            Object item = PPickler.dictGet(nameMapping, PythonObjectFactory.getUncached().createTuple(new Object[]{module, name}));
+            if (item != null) {
+                if (!(item instanceof PTuple) || PyObjectSizeNode.getUncached().execute(null, item) != 2) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_2_TUPLES_NOT_P, "NAME_MAPPING", item);
+                }
+                Object[] pair = GetObjectArrayNodeGen.getUncached().execute(item);
+                if (!PickleUtils.isString(pair[0]) || !PickleUtils.isString(pair[1])) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_PAIRS_OF_STR_NOT_P_P, "NAME_MAPPING", pair[0], pair[1]);
+                }
+                module = PickleUtils.asString(pair[0]);
+                name = PickleUtils.asString(pair[1]);
+            } else {
+                Object importMapping = PyObjectGetAttr.getUncached().execute(null, compatPickle, T_IMPORT_MAPPING);
+                item = PPickler.dictGet(importMapping, module);
+                if (item != null) {
+                    if (!PickleUtils.isString(item)) {
+                        throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_STRINGS_NOT_P, "IMPORT_MAPPING", item);
+                    }
+                    module = PickleUtils.asString(item);
+                }
+            }
+        }
+        Object moduleObj = PickleUtils.importModule(module);
+        if (proto >= 4) {
+            Object obj = moduleObj;
+            for (TruffleString part : PickleUtils.getDottedPath(null, name)) {
+                obj = PyObjectGetAttr.getUncached().execute(null, obj, part);
+            }
+            return obj;
+        }
+        return PyObjectGetAttr.getUncached().execute(null, moduleObj, name);
+    }
+
+    private void loadExtension(int code) {
+        if (code <= 0) {
+            throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.EXT_SPECIFIES_CODE_LE_0);
+        }
+        Object copyreg = PickleUtils.importModule(T_MOD_COPYREG);
+        Object cache = PyObjectGetAttr.getUncached().execute(null, copyreg, T_EXTENSION_CACHE);
+        Object obj = PPickler.dictGet(cache, code);
+        if (obj != null) {
+            push(obj);
+            return;
+        }
+        Object registry = PyObjectGetAttr.getUncached().execute(null, copyreg, T_INVERTED_REGISTRY);
+        Object key = PPickler.dictGet(registry, code);
+        if (key == null) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNREGISTERED_EXTENSION_CODE_D, code);
+        }
+        Object[] pair = key instanceof PTuple ? GetObjectArrayNodeGen.getUncached().execute(key) : null;
+        if (pair == null || pair.length != 2 || !PickleUtils.isString(pair[0]) || !PickleUtils.isString(pair[1])) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.INVERTED_REGISTRY_D_ISNT_2_TUPLE_OF_STRINGS, code);
+        }
+        obj = findClass(PickleUtils.asString(pair[0]), PickleUtils.asString(pair[1]));
+        PyObjectSetItem.getUncached().execute(null, cache, code, obj);
+        push(obj);
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorKey;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.BuiltinNames;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
+import com.oracle.truffle.api.strings.TruffleStringIterator;
+
+/**
+ * Opcodes and helpers shared by {@link PPickler} and {@link PUnpickler}. The opcode names follow
+ * {@code Lib/pickletools.py}.
+ */
+public final class PickleUtils {
+    static final int DEFAULT_PROTOCOL = 4;
+    static final int HIGHEST_PROTOCOL = 5;
+
+    /* Number of elements save_list/dict/set writes out before doing APPENDS/SETITEMS/ADDITEMS. */
+    static final int BATCHSIZE = 1000;
+
+    static final int FRAME_SIZE_MIN = 4;
+    static final int FRAME_SIZE_TARGET = 64 * 1024;
+    static final int FRAME_HEADER_SIZE = 9;
+
+    static final byte MARK = '(';
+    static final byte STOP = '.';
+    static final byte POP = '0';
+    static final byte POP_MARK = '1';
+    static final byte DUP = '2';
+    static final byte FLOAT = 'F';
+    static final byte INT = 'I';
+    static final byte BININT = 'J';
+    static final byte BININT1 = 'K';
+    static final byte LONG = 'L';
+    static final byte BININT2 = 'M';
+    static final byte NONE = 'N';
+    static final byte PERSID = 'P';
+    static final byte BINPERSID = 'Q';
+    static final byte REDUCE = 'R';
+    static final byte STRING = 'S';
+    static final byte BINSTRING = 'T';
+    static final byte SHORT_BINSTRING = 'U';
+    static final byte UNICODE = 'V';
+    static final byte BINUNICODE = 'X';
+    static final byte APPEND = 'a';
+    static final byte BUILD = 'b';
+    static final byte GLOBAL = 'c';
+    static final byte DICT = 'd';
+    static final byte EMPTY_DICT = '}';
+    static final byte APPENDS = 'e';
+    static final byte GET = 'g';
+    static final byte BINGET = 'h';
+    static final byte INST = 'i';
+    static final byte LONG_BINGET = 'j';
+    static final byte LIST = 'l';
+    static final byte EMPTY_LIST = ']';
+    static final byte OBJ = 'o';
+    static final byte PUT = 'p';
+    static final byte BINPUT = 'q';
+    static final byte LONG_BINPUT = 'r';
+    static final byte SETITEM = 's';
+    static final byte TUPLE = 't';
+    static final byte EMPTY_TUPLE = ')';
+    static final byte SETITEMS = 'u';
+    static final byte BINFLOAT = 'G';
+
+    /* Protocol 2. */
+    static final byte PROTO = (byte) 0x80;
+    static final byte NEWOBJ = (byte) 0x81;
+    static final byte EXT1 = (byte) 0x82;
+    static final byte EXT2 = (byte) 0x83;
+    static final byte EXT4 = (byte) 0x84;
+    static final byte TUPLE1 = (byte) 0x85;
+    static final byte TUPLE2 = (byte) 0x86;
+    static final byte TUPLE3 = (byte) 0x87;
+    static final byte NEWTRUE = (byte) 0x88;
+    static final byte NEWFALSE = (byte) 0x89;
+    static final byte LONG1 = (byte) 0x8a;
+    static final byte LONG4 = (byte) 0x8b;
+
+    /* Protocol 3 (Python 3.x) */
+    static final byte BINBYTES = 'B';
+    static final byte SHORT_BINBYTES = 'C';
+
+    /* Protocol 4 */
+    static final byte SHORT_BINUNICODE = (byte) 0x8c;
+    static final byte BINUNICODE8 = (byte) 0x8d;
+    static final byte BINBYTES8 = (byte) 0x8e;
+    static final byte EMPTY_SET = (byte) 0x8f;
+    static final byte ADDITEMS = (byte) 0x90;
+    static final byte FROZENSET = (byte) 0x91;
+    static final byte NEWOBJ_EX = (byte) 0x92;
+    static final byte STACK_GLOBAL = (byte) 0x93;
+    static final byte MEMOIZE = (byte) 0x94;
+    static final byte FRAME = (byte) 0x95;
+
+    /* Protocol 5 */
+    static final byte BYTEARRAY8 = (byte) 0x96;
+    static final byte NEXT_BUFFER = (byte) 0x97;
+    static final byte READONLY_BUFFER = (byte) 0x98;
+
+    static final TruffleString T_MOD_COPYREG = tsLiteral("copyreg");
+    static final TruffleString T_MOD_COMPAT_PICKLE = tsLiteral("_compat_pickle");
+    static final TruffleString T_MOD_CODECS = tsLiteral("codecs");
+    static final TruffleString T_MOD_FUNCTOOLS = tsLiteral("functools");
+    static final TruffleString T_DISPATCH_TABLE = tsLiteral("dispatch_table");
+    static final TruffleString T_EXTENSION_REGISTRY = tsLiteral("_extension_registry");
+    static final TruffleString T_INVERTED_REGISTRY = tsLiteral("_inverted_registry");
+    static final TruffleString T_EXTENSION_CACHE = tsLiteral("_extension_cache");
+    static final TruffleString T_NAME_MAPPING = tsLiteral("NAME_MAPPING");
+    static final TruffleString T_IMPORT_MAPPING = tsLiteral("IMPORT_MAPPING");
+    static final TruffleString T_REVERSE_NAME_MAPPING = tsLiteral("REVERSE_NAME_MAPPING");
+    static final TruffleString T_REVERSE_IMPORT_MAPPING = tsLiteral("REVERSE_IMPORT_MAPPING");
+    static final TruffleString T_PARTIAL = tsLiteral("partial");
+    static final TruffleString T_PERSISTENT_ID = tsLiteral("persistent_id");
+    static final TruffleString T_PERSISTENT_LOAD = tsLiteral("persistent_load");
+    static final TruffleString T_REDUCER_OVERRIDE = tsLiteral("reducer_override");
+    static final TruffleString T_FIND_CLASS = tsLiteral("find_class");
+    static final TruffleString T_LOCALS = tsLiteral("<locals>");
+    static final TruffleString T_MP_MAIN = tsLiteral("__mp_main__");
+    static final TruffleString T_LATIN1 = tsLiteral("latin1");
+    static final TruffleString T_RAW_UNICODE_ESCAPE = tsLiteral("raw_unicode_escape");
+    static final TruffleString T_ENCODING_BYTES = tsLiteral("bytes");
+    static final TruffleString T_ESCAPE_DECODE = tsLiteral("escape_decode");
+    static final TruffleString T_TOREADONLY = tsLiteral("toreadonly");
+
+    private PickleUtils() {
+    }
+
+    static boolean isBuiltinType(Object type, PythonBuiltinClassType builtinType) {
+        return IsBuiltinClassProfile.getUncached().profileClass(type, builtinType);
+    }
+
+    static boolean isExactInstance(Object obj, PythonBuiltinClassType builtinType) {
+        return isBuiltinType(GetClassNode.getUncached().execute(obj), builtinType);
+    }
+
+    static boolean isNone(Object obj) {
+        return obj == null || obj == PNone.NONE || obj == PNone.NO_VALUE;
+    }
+
+    static TruffleString asString(Object obj) {
+        if (obj instanceof TruffleString) {
+            return (TruffleString) obj;
+        }
+        return CastToTruffleStringNode.getUncached().execute(obj);
+    }
+
+    static TruffleString repr(Object obj) {
+        return PyObjectReprAsTruffleStringNode.getUncached().execute(null, obj);
+    }
+
+    static boolean isString(Object obj) {
+        return obj instanceof TruffleString || obj instanceof PString;
+    }
+
+    /**
+     * Equivalent of CPython's {@code PyImport_Import}: imports the module and returns it from
+     * {@code sys.modules} (so that dotted names give the submodule, not the top-level package).
+     */
+    @TruffleBoundary
+    static Object importModule(TruffleString name) {
+        AbstractImportNode.importModule(name);
+        return PyObjectGetItem.getUncached().execute(null, PythonContext.get(null).getSysModules(), name);
+    }
+
+    @TruffleBoundary
+    static Object getModuleAttribute(TruffleString module, TruffleString name) {
+        return PyObjectGetAttr.getUncached().execute(null, importModule(module), name);
+    }
+
+    /**
+     * Splits a dotted qualified name. Raises {@code AttributeError} for names that contain
+     * {@code <locals>}, as those can never be looked up again.
+     */
+    @TruffleBoundary
+    static TruffleString[] getDottedPath(Object obj, TruffleString name) {
+        TruffleString[] parts = splitDots(name);
+        for (TruffleString part : parts) {
+            if (part.equalsUncached(T_LOCALS, TS_ENCODING)) {
+                if (obj == null) {
+                    throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_OBJECT_S, repr(name));
+                }
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_ATTRIBUTE_S_ON_S, repr(name), repr(obj));
+            }
+        }
+        return parts;
+    }
+
+    @TruffleBoundary
+    static TruffleString[] splitDots(TruffleString name) {
+        int len = name.codePointLengthUncached(TS_ENCODING);
+        int count = 1;
+        for (int i = name.indexOfCodePointUncached('.', 0, len, TS_ENCODING); i >= 0; i = name.indexOfCodePointUncached('.', i + 1, len, TS_ENCODING)) {
+            count++;
+        }
+        TruffleString[] parts = new TruffleString[count];
+        int start = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int dot = name.indexOfCodePointUncached('.', start, len, TS_ENCODING);
+            parts[i] = name.substringUncached(start, dot - start, TS_ENCODING, true);
+            start = dot + 1;
+        }
+        parts[count - 1] = name.substringUncached(start, len - start, TS_ENCODING, true);
+        return parts;
+    }
+
+    /**
+     * Walks the dotted path starting at {@code obj}. Returns {@code null} if any of the attributes
+     * is missing; {@code parentOut[0]} receives the object the last attribute was read from.
+     */
+    @TruffleBoundary
+    static Object getDeepAttribute(Object obj, TruffleString[] path, Object[] parentOut) {
+        Object parent = null;
+        Object current = obj;
+        for (TruffleString part : path) {
+            parent = current;
+            current = PyObjectLookupAttr.getUncached().execute(null, parent, part);
+            if (current == PNone.NO_VALUE) {
+                return null;
+            }
+        }
+        if (parentOut != null) {
+            parentOut[0] = parent;
+        }
+        return current;
+    }
+
+    @TruffleBoundary
+    static PKeyword[] toKeywords(PDict kwargs) {
+        HashingStorage storage = kwargs.getDictStorage();
+        PKeyword[] keywords = new PKeyword[HashingStorageLen.executeUncached(storage)];
+        HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+        int i = 0;
+        while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+            keywords[i++] = new PKeyword(asString(HashingStorageIteratorKey.executeUncached(storage, it)), HashingStorageIteratorValue.executeUncached(storage, it));
+        }
+        return keywords;
+    }
+
+    /**
+     * Encodes a string as UTF-8 the way {@code str.encode('utf-8', 'surrogatepass')} does. Strings
+     * that do not contain lone surrogates take the fast path through {@link TruffleString}.
+     */
+    @TruffleBoundary
+    static byte[] encodeUTF8(TruffleString str) {
+        if (TruffleString.IsValidNode.getUncached().execute(str, TS_ENCODING)) {
+            InternalByteArray ba = str.switchEncodingUncached(Encoding.UTF_8).getInternalByteArrayUncached(Encoding.UTF_8);
+            if (ba.getOffset() == 0 && ba.getLength() == ba.getArray().length) {
+                return ba.getArray();
+            }
+            return Arrays.copyOfRange(ba.getArray(), ba.getOffset(), ba.getOffset() + ba.getLength());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TruffleStringIterator it = TruffleString.CreateCodePointIteratorNode.getUncached().execute(str, TS_ENCODING);
+        while (it.hasNext()) {
+            int cp = TruffleStringIterator.NextNode.getUncached().execute(it);
+            if (cp < 0x80) {
+                out.write(cp);
+            } else if (cp < 0x800) {
+                out.write(0xc0 | (cp >> 6));
+                out.write(0x80 | (cp & 0x3f));
+            } else if (cp < 0x10000) {
+                out.write(0xe0 | (cp >> 12));
+                out.write(0x80 | ((cp >> 6) & 0x3f));
+                out.write(0x80 | (cp & 0x3f));
+            } else {
+                out.write(0xf0 | (cp >> 18));
+                out.write(0x80 | ((cp >> 12) & 0x3f));
+                out.write(0x80 | ((cp >> 6) & 0x3f));
+                out.write(0x80 | (cp & 0x3f));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes UTF-8 with the {@code surrogatepass} error handler. Valid input is converted
+     * directly, anything else goes through the codec so that the error reporting matches.
+     */
+    @TruffleBoundary
+    static Object decodeUTF8(byte[] data, int offset, int length) {
+        TruffleString utf8 = TruffleString.fromByteArrayUncached(data, offset, length, Encoding.UTF_8, true);
+        if (TruffleString.IsValidNode.getUncached().execute(utf8, Encoding.UTF_8)) {
+            return utf8.switchEncodingUncached(TS_ENCODING);
+        }
+        Object bytes = PythonObjectFactory.getUncached().createBytes(data, offset, length);
+        return PyObjectCallMethodObjArgs.getUncached().execute(null, bytes, BuiltinNames.T_DECODE, T_UTF8, T_SURROGATEPASS);
+    }
+
+    /**
+     * Equivalent of CPython's {@code raw_unicode_escape} codec, used for the text-mode
+     * {@code UNICODE} opcode. Newlines and backslashes are escaped as well, because the opcode
+     * argument is terminated by a newline.
+     */
+    @TruffleBoundary
+    static byte[] rawUnicodeEscape(TruffleString str) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TruffleStringIterator it = TruffleString.CreateCodePointIteratorNode.getUncached().execute(str, TS_ENCODING);
+        while (it.hasNext()) {
+            int ch = TruffleStringIterator.NextNode.getUncached().execute(it);
+            if (ch >= 0x10000) {
+                writeEscape(out, 'U', ch, 8);
+            } else if (ch >= 256 || ch == '\\' || ch == 0 || ch == '\n' || ch == '\r' || ch == 0x1a) {
+                writeEscape(out, 'u', ch, 4);
+            } else {
+                out.write(ch);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeEscape(ByteArrayOutputStream out, char kind, int ch, int digits) {
+        out.write('\\');
+        out.write(kind);
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.write(Character.forDigit((ch >> shift) & 0xf, 16));
+        }
+    }
+}
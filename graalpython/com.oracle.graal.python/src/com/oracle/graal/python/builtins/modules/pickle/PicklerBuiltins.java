@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodesFactory.GetObjectArrayNodeGen;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Pickler)
+public final class PicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file", "protocol", "fix_imports", "buffer_callback"})
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object init(VirtualFrame frame, PPickler self, Object file, Object protocol, boolean fixImports, Object bufferCallback) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                self.init(file, protocol, fixImports, bufferCallback);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class DumpNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object dump(VirtualFrame frame, PPickler self, Object obj) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                self.dump(obj);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_memo", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearMemoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clear(PPickler self) {
+            self.clearMemo();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class MemoNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return factory().createPickleMemoProxy(PythonBuiltinClassType.PicklerMemoProxy, self);
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PPickler self, Object value) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                setMemo(self, value);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return PNone.NONE;
+        }
+
+        /**
+         * Accepts the memo of another pickler or a dict in the format returned by
+         * {@code memo.copy()}, i.e., mapping ids to {@code (index, object)} pairs.
+         */
+        @TruffleBoundary
+        private static void setMemo(PPickler self, Object value) {
+            if (value instanceof PPickleMemoProxy && ((PPickleMemoProxy) value).getOwner() instanceof PPickler) {
+                PPickler other = (PPickler) ((PPickleMemoProxy) value).getOwner();
+                Object[] entries = other.memoEntries();
+                self.clearMemo();
+                for (int i = 0; i < entries.length; i += 2) {
+                    self.setMemoEntry(entries[i], (int) entries[i + 1]);
+                }
+            } else if (value instanceof PDict) {
+                HashingStorage storage = ((PDict) value).getDictStorage();
+                HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+                self.clearMemo();
+                while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                    Object entry = HashingStorageIteratorValue.executeUncached(storage, it);
+                    Object[] pair = entry instanceof PTuple ? GetObjectArrayNodeGen.getUncached().execute(entry) : null;
+                    if (pair == null || pair.length != 2) {
+                        throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_VALUES_MUST_BE_2_ITEM_TUPLES);
+                    }
+                    self.setMemoEntry(pair[1], PyNumberAsSizeNode.getUncached().executeExact(null, pair[0]));
+                }
+            } else {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_MUST_BE_S_OR_DICT_NOT_P, "PicklerMemoProxy", value);
+            }
+        }
+    }
+
+    @Builtin(name = "persistent_id", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class PersistentIdNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.persistentId == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, "persistent_id");
+            }
+            return self.persistentId;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PPickler self, Object value,
+                        @Cached PyCallableCheckNode callableCheck) {
+            if (!callableCheck.execute(value)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.S_MUST_BE_A_CALLABLE_TAKING_ONE_ARGUMENT, "persistent_id");
+            }
+            self.persistentId = value;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dispatch_table", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class DispatchTableNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.dispatchTable == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, "dispatch_table");
+            }
+            return self.dispatchTable;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PPickler self, Object value) {
+            self.dispatchTable = value;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "bin", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class BinNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return self.isBin() ? 1 : 0;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PPickler self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.setBin(isTrueNode.execute(frame, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "fast", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class FastNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return self.fast ? 1 : 0;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PPickler self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.fast = isTrueNode.execute(frame, value);
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorKey;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Unpickler)
+public final class UnpicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return UnpicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file"}, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @ArgumentClinic(name = "encoding", conversion = ClinicConversion.TString, defaultValue = "T_ASCII_UPPERCASE")
+    @ArgumentClinic(name = "errors", conversion = ClinicConversion.TString, defaultValue = "T_STRICT")
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnpicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object init(VirtualFrame frame, PUnpickler self, Object file, boolean fixImports, TruffleString encoding, TruffleString errors, Object buffers) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                self.init(file, fixImports, encoding, errors, buffers);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "load", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LoadNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object load(VirtualFrame frame, PUnpickler self) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                return self.load();
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+        }
+    }
+
+    @Builtin(name = "find_class", minNumOfPositionalArgs = 3, parameterNames = {"$self", "module_name", "global_name"})
+    @ArgumentClinic(name = "module_name", conversion = ClinicConversion.TString)
+    @ArgumentClinic(name = "global_name", conversion = ClinicConversion.TString)
+    @GenerateNodeFactory
+    abstract static class FindClassNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnpicklerBuiltinsClinicProviders.FindClassNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object findClass(VirtualFrame frame, PUnpickler self, TruffleString moduleName, TruffleString globalName) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                return self.findClassImpl(moduleName, globalName);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+        }
+    }
+
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class MemoNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PUnpickler self, @SuppressWarnings("unused") PNone value) {
+            return factory().createPickleMemoProxy(PythonBuiltinClassType.UnpicklerMemoProxy, self);
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PUnpickler self, Object value) {
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                setMemo(self, value);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return PNone.NONE;
+        }
+
+        /**
+         * Accepts the memo of another unpickler or a dict mapping non-negative indices to objects.
+         */
+        @TruffleBoundary
+        private static void setMemo(PUnpickler self, Object value) {
+            if (value instanceof PPickleMemoProxy && ((PPickleMemoProxy) value).getOwner() instanceof PUnpickler) {
+                PUnpickler other = (PUnpickler) ((PPickleMemoProxy) value).getOwner();
+                Object[] entries = other.memoEntries();
+                self.clearMemo();
+                for (int i = 0; i < entries.length; i += 2) {
+                    self.setMemoEntry((int) entries[i], entries[i + 1]);
+                }
+            } else if (value instanceof PDict) {
+                HashingStorage storage = ((PDict) value).getDictStorage();
+                HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
+                self.clearMemo();
+                while (HashingStorageIteratorNext.executeUncached(storage, it)) {
+                    Object key = HashingStorageIteratorKey.executeUncached(storage, it);
+                    int idx = PyNumberAsSizeNode.getUncached().executeExact(null, key);
+                    if (idx < 0) {
+                        throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.ValueError, ErrorMessages.MEMO_KEYS_MUST_BE_POSITIVE_INTEGERS);
+                    }
+                    self.setMemoEntry(idx, HashingStorageIteratorValue.executeUncached(storage, it));
+                }
+            } else {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_MUST_BE_S_OR_DICT_NOT_P, "UnpicklerMemoProxy", value);
+            }
+        }
+    }
+
+    @Builtin(name = "persistent_load", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class PersistentLoadNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PUnpickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.persistentLoad == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, "persistent_load");
+            }
+            return self.persistentLoad;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PUnpickler self, Object value,
+                        @Cached PyCallableCheckNode callableCheck) {
+            if (!callableCheck.execute(value)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.S_MUST_BE_A_CALLABLE_TAKING_ONE_ARGUMENT, "persistent_load");
+            }
+            self.persistentLoad = value;
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
+import com.oracle.graal.python.runtime.AsyncHandler.SharedFinalizer;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The iterator returned by {@code iter_unpack}. It keeps the acquired buffer and unpacks directly
+ * from it, the buffer is released once the iterator is exhausted or, if it is abandoned before
+ * that, when the iterator is collected.
+ */
+public final class PStructUnpackIterator extends PythonBuiltinObject {
+    private final StructFormat format;
+    private final int length;
+    private final BufferRef ref;
+    private int index;
+
+    public PStructUnpackIterator(Object cls, Shape instanceShape, PythonContext context, StructFormat format, Object buffer, int length) {
+        super(cls, instanceShape);
+        this.format = format;
+        this.ref = new BufferRef(this, buffer, context.getSharedFinalizer());
+        this.length = length;
+    }
+
+    public StructFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * The acquired buffer or {@code null} if the iterator is exhausted.
+     */
+    Object getBuffer() {
+        return ref.isReleased() ? null : ref.getReference();
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    void markExhausted() {
+        ref.markReleased();
+    }
+
+    static final class BufferRef extends SharedFinalizer.FinalizableReference {
+
+        BufferRef(PStructUnpackIterator referent, Object buffer, SharedFinalizer finalizer) {
+            super(referent, buffer, finalizer);
+        }
+
+        @Override
+        public AsyncAction release() {
+            if (!isReleased()) {
+                return new StructUnpackIteratorBuiltins.ReleaseCallback(this);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.NumericSupport;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * A compiled struct format. The format string is parsed once into flat arrays holding, for every
+ * format code, its character, byte offset, item size and repeat count, so that packing and
+ * unpacking is a plain loop over those arrays. Compiled formats do not depend on the context and are
+ * shared through a process-wide cache, the equivalent of the {@code Struct} cache of CPython's
+ * {@code _struct} module.
+ */
+public final class StructFormat {
+    /** Same as {@code MAXCACHE} in CPython. */
+    private static final int MAX_CACHE_SIZE = 100;
+    private static final ConcurrentHashMap<String, StructFormat> CACHE = new ConcurrentHashMap<>();
+
+    private static final NumericSupport NATIVE_NUMERIC_SUPPORT = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? NumericSupport.littleEndian() : NumericSupport.bigEndian();
+
+    static final StructFormat EMPTY = compile("");
+
+    private final TruffleString format;
+    private final NumericSupport numericSupport;
+    private final boolean nativeSizes;
+    private final char[] codes;
+    private final int[] offsets;
+    private final int[] sizes;
+    private final int[] repeats;
+    private final int size;
+    private final int numValues;
+
+    private StructFormat(TruffleString format, NumericSupport numericSupport, boolean nativeSizes, char[] codes, int[] offsets, int[] sizes, int[] repeats, int size, int numValues) {
+        this.format = format;
+        this.numericSupport = numericSupport;
+        this.nativeSizes = nativeSizes;
+        this.codes = codes;
+        this.offsets = offsets;
+        this.sizes = sizes;
+        this.repeats = repeats;
+        this.size = size;
+        this.numValues = numValues;
+    }
+
+    public TruffleString getFormat() {
+        return format;
+    }
+
+    /**
+     * The number of bytes of packed data.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The number of values that are packed or unpacked.
+     */
+    public int getNumValues() {
+        return numValues;
+    }
+
+    @TruffleBoundary
+    static StructFormat lookup(TruffleString format) {
+        return lookup(format.toJavaStringUncached());
+    }
+
+    @TruffleBoundary
+    static StructFormat lookup(byte[] format, int len) {
+        char[] chars = new char[len];
+        for (int i = 0; i < len; i++) {
+            chars[i] = (char) (format[i] & 0xFF);
+        }
+        return lookup(new String(chars));
+    }
+
+    private static StructFormat lookup(String format) {
+        StructFormat result = CACHE.get(format);
+        if (result == null) {
+            result = compile(format);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(format, result);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+
+    private static boolean isUnsigned(char c) {
+        return c == 'B' || c == 'H' || c == 'I' || c == 'L' || c == 'Q' || c == 'N' || c == 'P';
+    }
+
+    /**
+     * Returns the size of a single item of the given format code or {@code -1} if the code is not
+     * valid.
+     */
+    private static int itemSize(char c, boolean nativeSizes) {
+        switch (c) {
+            case 'x':
+            case 'c':
+            case 'b':
+            case 'B':
+            case '?':
+            case 's':
+            case 'p':
+                return 1;
+            case 'h':
+            case 'H':
+            case 'e':
+                return 2;
+            case 'i':
+            case 'I':
+            case 'f':
+                return 4;
+            case 'l':
+            case 'L':
+                return nativeSizes ? Long.BYTES : 4;
+            case 'q':
+            case 'Q':
+            case 'd':
+                return 8;
+            case 'n':
+            case 'N':
+            case 'P':
+                return nativeSizes ? Long.BYTES : -1;
+            default:
+                return -1;
+        }
+    }
+
+    @TruffleBoundary
+    private static StructFormat compile(String format) {
+        if (format.indexOf('\0') >= 0) {
+            throw PRaiseNode.getUncached().raise(StructError, ErrorMessages.EMBEDDED_NULL_CHARACTER);
+        }
+        int len = format.length();
+        int start = 1;
+        boolean nativeSizes = false;
+        NumericSupport numericSupport;
+        switch (len > 0 ? format.charAt(0) : '@') {
+            case '=':
+                numericSupport = NATIVE_NUMERIC_SUPPORT;
+                break;
+            case '<':
+                numericSupport = NumericSupport.littleEndian();
+                break;
+            case '>':
+            case '!':
+                numericSupport = NumericSupport.bigEndian();
+                break;
+            case '@':
+                numericSupport = NATIVE_NUMERIC_SUPPORT;
+                nativeSizes = true;
+                break;
+            default:
+                numericSupport = NATIVE_NUMERIC_SUPPORT;
+                nativeSizes = true;
+                start = 0;
+                break;
+        }
+        // there cannot be more format codes than characters
+        char[] codes = new char[len];
+        int[] offsets = new int[len];
+        int[] sizes = new int[len];
+        int[] repeats = new int[len];
+        int numCodes = 0;
+        long numValues = 0;
+        long size = 0;
+        int i = start;
+        while (i < len) {
+            char c = format.charAt(i++);
+            if (isSpace(c)) {
+                continue;
+            }
+            long num = 1;
+            if (isDigit(c)) {
+                num = c - '0';
+                while (true) {
+                    if (i >= len) {
+                        throw PRaiseNode.getUncached().raise(StructError, ErrorMessages.REPEAT_COUNT_WITHOUT_FMT);
+                    }
+                    c = format.charAt(i++);
+                    if (!isDigit(c)) {
+                        break;
+                    }
+                    num = num * 10 + (c - '0');
+                    if (num > Integer.MAX_VALUE) {
+                        throw PRaiseNode.getUncached().raise(StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+                    }
+                }
+            }
+            int itemSize = itemSize(c, nativeSizes);
+            if (itemSize < 0) {
+                throw PRaiseNode.getUncached().raise(StructError, ErrorMessages.BAD_CHAR_IN_STRUCT_FORMAT);
+            }
+            if (nativeSizes && itemSize > 1) {
+                // native mode aligns every item to its size
+                size = (size + itemSize - 1) / itemSize * itemSize;
+            }
+            if (c == 's' || c == 'p') {
+                codes[numCodes] = c;
+                offsets[numCodes] = (int) size;
+                sizes[numCodes] = (int) num;
+                repeats[numCodes] = 1;
+                numCodes++;
+                numValues++;
+                size += num;
+            } else if (c == 'x') {
+                size += num;
+            } else {
+                if (num > 0) {
+                    codes[numCodes] = c;
+                    offsets[numCodes] = (int) size;
+                    sizes[numCodes] = itemSize;
+                    repeats[numCodes] = (int) num;
+                    numCodes++;
+                    numValues += num;
+                }
+                size += num * itemSize;
+            }
+            if (size > Integer.MAX_VALUE || numValues > Integer.MAX_VALUE) {
+                throw PRaiseNode.getUncached().raise(StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+            }
+        }
+        return new StructFormat(TruffleString.fromJavaStringUncached(format, TS_ENCODING), numericSupport, nativeSizes, PythonUtils.arrayCopyOf(codes, numCodes),
+                        PythonUtils.arrayCopyOf(offsets, numCodes), PythonUtils.arrayCopyOf(sizes, numCodes), PythonUtils.arrayCopyOf(repeats, numCodes), (int) size, (int) numValues);
+    }
+
+    /**
+     * Packs the given {@link #getNumValues()} values into {@code dest} at {@code destOffset}. Pad
+     * bytes are not written, the caller has to provide zeroed memory.
+     */
+    @TruffleBoundary
+    void pack(PNodeWithRaise node, Object[] values, byte[] dest, int destOffset) {
+        assert values.length == numValues;
+        int v = 0;
+        for (int i = 0; i < codes.length; i++) {
+            char code = codes[i];
+            int itemSize = sizes[i];
+            int offset = destOffset + offsets[i];
+            for (int j = 0; j < repeats[i]; j++) {
+                Object value = values[v++];
+                switch (code) {
+                    case 'c':
+                        packChar(node, value, dest, offset);
+                        break;
+                    case '?':
+                        dest[offset] = (byte) (isTrue(value) ? 1 : 0);
+                        break;
+                    case 's':
+                    case 'p':
+                        packBytes(node, code, itemSize, value, dest, offset);
+                        break;
+                    case 'e':
+                    case 'f':
+                    case 'd':
+                        packFloat(node, itemSize, value, dest, offset);
+                        break;
+                    default:
+                        packInteger(node, code, itemSize, value, dest, offset);
+                        break;
+                }
+                offset += itemSize;
+            }
+        }
+    }
+
+    private static boolean isTrue(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        }
+        return PyObjectIsTrueNode.getUncached().execute(null, value);
+    }
+
+    private static void packChar(PNodeWithRaise node, Object value, byte[] dest, int offset) {
+        if (value instanceof PBytes) {
+            PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+            if (bufferLib.getBufferLength(value) == 1) {
+                dest[offset] = bufferLib.readByte(value, 0);
+                return;
+            }
+        }
+        throw node.raise(StructError, ErrorMessages.CHAR_FORMAT_REQUIRES_BYTES_OF_LENGTH_1);
+    }
+
+    private static void packBytes(PNodeWithRaise node, char code, int itemSize, Object value, byte[] dest, int offset) {
+        if (!(value instanceof PBytesLike)) {
+            throw node.raise(StructError, ErrorMessages.ARGUMENT_FOR_S_MUST_BE_A_BYTES_OBJECT, String.valueOf(code));
+        }
+        PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getUncached();
+        int len = bufferLib.getBufferLength(value);
+        if (code == 's') {
+            bufferLib.readIntoByteArray(value, 0, dest, offset, Math.min(len, itemSize));
+        } else if (itemSize > 0) {
+            // Pascal string: a length byte followed by at most 'itemSize - 1' bytes of data
+            int n = Math.min(len, itemSize - 1);
+            bufferLib.readIntoByteArray(value, 0, dest, offset + 1, n);
+            dest[offset] = (byte) Math.min(n, 255);
+        }
+    }
+
+    private void packFloat(PNodeWithRaise node, int itemSize, Object value, byte[] dest, int offset) {
+        double x;
+        if (value instanceof Double) {
+            x = (double) value;
+        } else if (value instanceof Integer) {
+            x = (int) value;
+        } else if (value instanceof Long) {
+            x = (long) value;
+        } else {
+            try {
+                x = PyFloatAsDoubleNode.getUncached().execute(null, value);
+            } catch (PException e) {
+                throw node.raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_A_FLOAT);
+            }
+        }
+        if (itemSize == 4) {
+            float f = (float) x;
+            if (Float.isInfinite(f) && !Double.isInfinite(x)) {
+                throw node.raise(OverflowError, ErrorMessages.FLOAT_TO_LARGE_TO_PACK_WITH_S_FMT, "f");
+            }
+            numericSupport.putFloat(dest, offset, f);
+        } else {
+            numericSupport.putDouble(node, dest, offset, x, itemSize);
+        }
+    }
+
+    private void packInteger(PNodeWithRaise node, char code, int itemSize, Object value, byte[] dest, int offset) {
+        Object index = value;
+        if (!(index instanceof Integer || index instanceof Long || index instanceof Boolean || index instanceof PInt)) {
+            if (!PyIndexCheckNode.getUncached().execute(value)) {
+                throw node.raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER);
+            }
+            index = PyNumberIndexNode.getUncached().execute(null, value);
+        }
+        long x;
+        if (index instanceof Integer) {
+            x = (int) index;
+        } else if (index instanceof Long) {
+            x = (long) index;
+        } else if (index instanceof Boolean) {
+            x = (boolean) index ? 1 : 0;
+        } else {
+            BigInteger big = ((PInt) index).getValue();
+            if (big.bitLength() < Long.SIZE) {
+                x = big.longValue();
+            } else if (itemSize == Long.BYTES && isUnsigned(code) && big.signum() >= 0 && big.bitLength() == Long.SIZE) {
+                numericSupport.putLong(dest, offset, big.longValue());
+                return;
+            } else {
+                throw node.raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+            }
+        }
+        if (itemSize < Long.BYTES) {
+            checkRange(node, code, itemSize, x);
+        } else if (x < 0 && code != 'P' && isUnsigned(code)) {
+            throw node.raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+        }
+        numericSupport.putLong(dest, offset, x, itemSize);
+    }
+
+    private void checkRange(PNodeWithRaise node, char code, int itemSize, long x) {
+        if (nativeSizes) {
+            // the native byte and short codes have their own messages in CPython
+            switch (code) {
+                case 'b':
+                    if (x < Byte.MIN_VALUE || x > Byte.MAX_VALUE) {
+                        throw node.raise(StructError, ErrorMessages.S_FORMAT_REQUIRES_D_LE_NUMBER_LE_D, "byte", Byte.MIN_VALUE, Byte.MAX_VALUE);
+                    }
+                    return;
+                case 'B':
+                    if (x < 0 || x > 0xFF) {
+                        throw node.raise(StructError, ErrorMessages.S_FORMAT_REQUIRES_D_LE_NUMBER_LE_D, "ubyte", 0, 0xFF);
+                    }
+                    return;
+                case 'h':
+                    if (x < Short.MIN_VALUE || x > Short.MAX_VALUE) {
+                        throw node.raise(StructError, ErrorMessages.S_FORMAT_REQUIRES_D_LE_NUMBER_LE_D, "short", Short.MIN_VALUE, Short.MAX_VALUE);
+                    }
+                    return;
+                case 'H':
+                    if (x < 0 || x > 0xFFFF) {
+                        throw node.raise(StructError, ErrorMessages.S_FORMAT_REQUIRES_D_LE_NUMBER_LE_D, "ushort", 0, 0xFFFF);
+                    }
+                    return;
+                default:
+                    break;
+            }
+        }
+        int bits = itemSize * Byte.SIZE;
+        if (isUnsigned(code)) {
+            if (x < 0) {
+                throw node.raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+            }
+            long max = (1L << bits) - 1;
+            if (x > max) {
+                throw node.raise(StructError, ErrorMessages.FMT_REQUIRES_0_LE_NUMBER_LE_D, String.valueOf(code), max);
+            }
+        } else {
+            long max = (1L << (bits - 1)) - 1;
+            if (x < -max - 1 || x > max) {
+                throw node.raise(StructError, ErrorMessages.FMT_REQUIRES_D_LE_NUMBER_LE_D, String.valueOf(code), -max - 1, max);
+            }
+        }
+    }
+
+    /**
+     * Unpacks the values of this format from {@code src} at {@code srcOffset}. The caller has to
+     * ensure that there are at least {@link #getSize()} bytes available.
+     */
+    @TruffleBoundary
+    Object[] unpack(PythonObjectFactory factory, byte[] src, int srcOffset) {
+        Object[] result = new Object[numValues];
+        int v = 0;
+        for (int i = 0; i < codes.length; i++) {
+            char code = codes[i];
+            int itemSize = sizes[i];
+            int offset = srcOffset + offsets[i];
+            for (int j = 0; j < repeats[i]; j++) {
+                result[v++] = unpackValue(factory, code, itemSize, src, offset);
+                offset += itemSize;
+            }
+        }
+        return result;
+    }
+
+    private Object unpackValue(PythonObjectFactory factory, char code, int itemSize, byte[] src, int offset) {
+        switch (code) {
+            case 'c':
+                return factory.createBytes(new byte[]{src[offset]});
+            case '?':
+                return src[offset] != 0;
+            case 's':
+                return factory.createBytes(PythonUtils.arrayCopyOfRange(src, offset, offset + itemSize));
+            case 'p': {
+                if (itemSize == 0) {
+                    return factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY);
+                }
+                int n = Math.min(src[offset] & 0xFF, itemSize - 1);
+                return factory.createBytes(PythonUtils.arrayCopyOfRange(src, offset + 1, offset + 1 + n));
+            }
+            case 'e':
+            case 'f':
+            case 'd':
+                return numericSupport.getDouble(src, offset, itemSize);
+            default:
+                if (!isUnsigned(code)) {
+                    if (itemSize == Long.BYTES) {
+                        return numericSupport.getLong(src, offset);
+                    }
+                    return (int) numericSupport.getLong(src, offset, itemSize);
+                } else if (itemSize < Integer.BYTES) {
+                    return (int) numericSupport.getLongUnsigned(src, offset, itemSize);
+                } else if (itemSize == Integer.BYTES) {
+                    return numericSupport.getLongUnsigned(src, offset, itemSize);
+                } else {
+                    long x = numericSupport.getLong(src, offset);
+                    if (x >= 0) {
+                        return x;
+                    }
+                    return factory.createInt(NumericSupport.asUnsigned(x));
+                }
+        }
+    }
+}
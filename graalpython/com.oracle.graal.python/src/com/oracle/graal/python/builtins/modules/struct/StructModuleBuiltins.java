@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.nodes.BuiltinNames.J__STRUCT;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = J__STRUCT)
+public final class StructModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant("error", PythonBuiltinClassType.StructError);
+    }
+
+    @Builtin(name = "Struct", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PStruct)
+    @GenerateNodeFactory
+    abstract static class ConstructStructNode extends PythonBuiltinNode {
+        @Specialization
+        PStruct construct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            return factory().createStruct(cls, StructFormat.EMPTY);
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, parameterNames = {"format"}, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackNode extends PythonBuiltinNode {
+        @Specialization
+        static PBytes pack(VirtualFrame frame, Object format, Object[] args,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.PackNode packNode) {
+            return packNode.execute(frame, getFormatNode.execute(format), args);
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 3, parameterNames = {"format", "buffer", "offset"}, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoNode extends PythonBuiltinNode {
+        @Specialization(limit = "3")
+        PNone packInto(VirtualFrame frame, Object format, Object bufferObj, Object offset, Object[] args,
+                        @CachedLibrary("bufferObj") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.PackIntoNode packIntoNode) {
+            StructFormat structFormat = getFormatNode.execute(format);
+            Object buffer = acquireLib.acquireWritableWithTypeError(bufferObj, "pack_into", frame, this);
+            try {
+                packIntoNode.execute(frame, structFormat, buffer, asSizeNode.executeExact(frame, offset), args);
+                return PNone.NONE;
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class UnpackNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        PTuple unpack(VirtualFrame frame, Object format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.UnpackBufferNode unpackNode) {
+            try {
+                return unpackNode.execute(getFormatNode.execute(format), buffer);
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 1, parameterNames = {"format", "buffer", "offset"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversion = ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFromNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        PTuple unpackFrom(VirtualFrame frame, Object format, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.UnpackFromBufferNode unpackNode) {
+            try {
+                return unpackNode.execute(getFormatNode.execute(format), buffer, offset);
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class IterUnpackNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.IterUnpackNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        PStructUnpackIterator iterUnpack(VirtualFrame frame, Object format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.IterUnpackNode iterUnpackNode) {
+            StructFormat structFormat;
+            try {
+                structFormat = getFormatNode.execute(format);
+            } catch (PException e) {
+                bufferLib.release(buffer, frame, this);
+                throw e;
+            }
+            return iterUnpackNode.execute(frame, structFormat, buffer);
+        }
+    }
+
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 1, parameterNames = {"format"})
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int calcsize(Object format,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode) {
+            return getFormatNode.execute(format).getSize();
+        }
+    }
+
+    @Builtin(name = "_clearcache")
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone clearCache() {
+            StructFormat.clearCache();
+            return PNone.NONE;
+        }
+    }
+}
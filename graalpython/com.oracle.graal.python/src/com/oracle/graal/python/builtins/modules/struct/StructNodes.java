@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public class StructNodes {
+
+    /**
+     * Converts the format argument of the module functions and of {@code Struct.__init__} to a
+     * compiled {@link StructFormat}. A call site that keeps using the same format strings looks them
+     * up only once.
+     */
+    @ImportStatic({PGuards.class, StructFormat.class})
+    public abstract static class GetStructFormatNode extends PNodeWithRaise {
+
+        public abstract StructFormat execute(Object format);
+
+        @Specialization(guards = "stringEquals(cachedFormat, format, equalNode)", limit = "3")
+        static StructFormat doCached(@SuppressWarnings("unused") TruffleString format,
+                        @SuppressWarnings("unused") @Cached("format") TruffleString cachedFormat,
+                        @SuppressWarnings("unused") @Cached TruffleString.EqualNode equalNode,
+                        @Cached("lookup(format)") StructFormat cachedStructFormat) {
+            return cachedStructFormat;
+        }
+
+        @Specialization(replaces = "doCached")
+        static StructFormat doString(TruffleString format) {
+            return StructFormat.lookup(format);
+        }
+
+        @Specialization
+        static StructFormat doPString(PString format,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            return StructFormat.lookup(castToStringNode.execute(format));
+        }
+
+        @Specialization(limit = "1")
+        static StructFormat doBytes(PBytes format,
+                        @CachedLibrary("format") PythonBufferAccessLibrary bufferLib) {
+            return StructFormat.lookup(bufferLib.getInternalOrCopiedByteArray(format), bufferLib.getBufferLength(format));
+        }
+
+        @Fallback
+        StructFormat doOther(Object format) {
+            throw raise(TypeError, ErrorMessages.STRUCT_ARG_MUST_BE_STR_OR_BYTES_NOT_P, format);
+        }
+    }
+
+    public abstract static class PackNode extends PNodeWithRaiseAndIndirectCall {
+
+        public abstract PBytes execute(VirtualFrame frame, StructFormat format, Object[] args);
+
+        @Specialization
+        PBytes pack(VirtualFrame frame, StructFormat format, Object[] args,
+                        @Cached PythonObjectFactory factory) {
+            if (args.length != format.getNumValues()) {
+                throw raise(StructError, ErrorMessages.PACK_EXPECTED_D_ITEMS_GOT_D, format.getNumValues(), args.length);
+            }
+            byte[] bytes = new byte[format.getSize()];
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                format.pack(this, args, bytes, 0);
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * Packs values into an acquired writable buffer. Buffers that are backed by a byte array are
+     * written in place.
+     */
+    public abstract static class PackIntoNode extends PNodeWithRaiseAndIndirectCall {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] args);
+
+        @Specialization(limit = "3")
+        void packInto(VirtualFrame frame, StructFormat format, Object buffer, int offsetArg, Object[] args,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached ConditionProfile internalArrayProfile) {
+            int size = format.getSize();
+            if (args.length != format.getNumValues()) {
+                throw raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_D_ITEMS_GOT_D, format.getNumValues(), args.length);
+            }
+            int len = bufferLib.getBufferLength(buffer);
+            int offset = offsetArg;
+            if (offset < 0) {
+                if ((long) offset + size > 0) {
+                    throw raise(StructError, ErrorMessages.NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D, size, offset);
+                }
+                if ((long) offset + len < 0) {
+                    throw raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, len);
+                }
+                offset += len;
+            }
+            if (len - offset < size) {
+                throw raise(StructError, ErrorMessages.PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES, (long) size + offset, size, offset, len);
+            }
+            Object savedState = IndirectCallContext.enter(frame, this);
+            try {
+                if (internalArrayProfile.profile(bufferLib.hasInternalByteArray(buffer))) {
+                    byte[] bytes = bufferLib.getInternalByteArray(buffer);
+                    Arrays.fill(bytes, offset, offset + size, (byte) 0);
+                    format.pack(this, args, bytes, offset);
+                } else {
+                    byte[] bytes = new byte[size];
+                    format.pack(this, args, bytes, 0);
+                    bufferLib.writeFromByteArray(buffer, offset, bytes, 0, size);
+                }
+            } finally {
+                IndirectCallContext.exit(frame, this, savedState);
+            }
+        }
+    }
+
+    /**
+     * Unpacks {@link StructFormat#getSize()} bytes of an acquired buffer at an offset that has
+     * already been checked. Buffers that are backed by a byte array are read without copying.
+     */
+    public abstract static class UnpackNode extends PNodeWithContext {
+
+        public abstract PTuple execute(StructFormat format, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        static PTuple unpack(StructFormat format, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached ConditionProfile internalArrayProfile,
+                        @Cached PythonObjectFactory factory) {
+            byte[] bytes;
+            int start;
+            if (internalArrayProfile.profile(bufferLib.hasInternalByteArray(buffer))) {
+                bytes = bufferLib.getInternalByteArray(buffer);
+                start = offset;
+            } else {
+                bytes = new byte[format.getSize()];
+                bufferLib.readIntoByteArray(buffer, offset, bytes, 0, bytes.length);
+                start = 0;
+            }
+            return factory.createTuple(format.unpack(factory, bytes, start));
+        }
+    }
+
+    public abstract static class UnpackBufferNode extends PNodeWithRaise {
+
+        public abstract PTuple execute(StructFormat format, Object buffer);
+
+        @Specialization(limit = "3")
+        PTuple unpack(StructFormat format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackNode unpackNode) {
+            if (bufferLib.getBufferLength(buffer) != format.getSize()) {
+                throw raise(StructError, ErrorMessages.UNPACK_REQUIRES_BUFFER_OF_D_BYTES, format.getSize());
+            }
+            return unpackNode.execute(format, buffer, 0);
+        }
+    }
+
+    public abstract static class UnpackFromBufferNode extends PNodeWithRaise {
+
+        public abstract PTuple execute(StructFormat format, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        PTuple unpackFrom(StructFormat format, Object buffer, int offsetArg,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackNode unpackNode) {
+            int size = format.getSize();
+            int len = bufferLib.getBufferLength(buffer);
+            int offset = offsetArg;
+            if (offset < 0) {
+                if ((long) offset + len < 0) {
+                    throw raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, len);
+                }
+                offset += len;
+            }
+            if (len - offset < size) {
+                throw raise(StructError, ErrorMessages.UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES, (long) size + offset, size, offset, len);
+            }
+            return unpackNode.execute(format, buffer, offset);
+        }
+    }
+
+    /**
+     * Creates the iterator of {@code iter_unpack}, which takes over the acquired buffer. The buffer
+     * is released here if the arguments are invalid.
+     */
+    public abstract static class IterUnpackNode extends PNodeWithRaiseAndIndirectCall {
+
+        public abstract PStructUnpackIterator execute(VirtualFrame frame, StructFormat format, Object buffer);
+
+        @Specialization(limit = "3")
+        PStructUnpackIterator iterUnpack(VirtualFrame frame, StructFormat format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory) {
+            int size = format.getSize();
+            int len = bufferLib.getBufferLength(buffer);
+            if (size == 0) {
+                bufferLib.release(buffer, frame, this);
+                throw raise(StructError, ErrorMessages.CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LENGTH_0);
+            }
+            if (len % size != 0) {
+                bufferLib.release(buffer, frame, this);
+                throw raise(StructError, ErrorMessages.ITERATIVE_UNPACKING_REQUIRES_MULTIPLE_OF_D_BYTES, size);
+            }
+            return factory.createStructUnpackIterator(getContext(), format, buffer, len);
+        }
+    }
+}
@@ -50,6 +50,7 @@ import com.oracle.graal.python.builtins.objects.common.ObjectHashMap.DictKey;
 import com.oracle.graal.python.builtins.objects.common.ObjectHashMap.MapCursor;
 import com.oracle.graal.python.builtins.objects.common.ObjectHashMap.PutNode;
 import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -76,10 +77,34 @@ public class EconomicMapStorage extends HashingStorage {
         return new EconomicMapStorage(initialCapacity, false);
     }
 
+    /**
+     * Creates storage that does not allocate value slots as long as all the values are
+     * {@code None}, which is always the case for sets.
+     */
+    public static EconomicMapStorage createKeysOnly(int initialCapacity) {
+        return new EconomicMapStorage(initialCapacity, false, true);
+    }
+
+    /**
+     * Used by sets before putting a key into their storage: the first non-integer key put into an
+     * empty set storage gets a keys-only map instead of the regular one that the generic transition
+     * from {@link EmptyStorage} creates for dicts. Integer keys still go to {@link LongMapStorage}.
+     */
+    public static HashingStorage prepareForSetItem(HashingStorage storage, Object key) {
+        if (storage instanceof EmptyStorage && !PGuards.isInteger(key)) {
+            return createKeysOnly(1);
+        }
+        return storage;
+    }
+
     final ObjectHashMap map;
 
     private EconomicMapStorage(int initialCapacity, boolean hasSideEffects) {
-        this.map = new ObjectHashMap(initialCapacity, hasSideEffects);
+        this(initialCapacity, hasSideEffects, false);
+    }
+
+    private EconomicMapStorage(int initialCapacity, boolean hasSideEffects, boolean keysOnly) {
+        this.map = new ObjectHashMap(initialCapacity, hasSideEffects, keysOnly);
     }
 
     private EconomicMapStorage() {
@@ -133,6 +158,12 @@ public class EconomicMapStorage extends HashingStorage {
     }
 
     protected void setValueForAllKeys(VirtualFrame frame, Object value, PutNode putNode, ConditionProfile hasFrame, LoopConditionProfile loopProfile) {
+        if (map.isKeysOnly()) {
+            // e.g., dict.fromkeys(someSet, value) on a copy of a set storage: fill in the value
+            // slots in one pass rather than putting the keys one by one
+            map.materializeValues(value);
+            return;
+        }
         MapCursor cursor = map.getEntries();
         final int size = map.size();
         loopProfile.profileCounted(size);
@@ -53,6 +53,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.dict.PDictView;
+import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.lib.GetNextNode;
 import com.oracle.graal.python.lib.PyObjectGetIter;
@@ -87,8 +88,12 @@ public abstract class HashingCollectionNodes {
 
         @Specialization
         static void doSetItem(Frame frame, PHashingCollection c, Object key, Object value,
+                        @Cached ConditionProfile isSetProfile,
                         @Cached HashingStorageSetItem setItem) {
             HashingStorage storage = c.getDictStorage();
+            if (isSetProfile.profile(c instanceof PBaseSet)) {
+                storage = EconomicMapStorage.prepareForSetItem(storage, key);
+            }
             storage = setItem.execute(frame, storage, key, value);
             c.setDictStorage(storage);
         }
@@ -138,7 +143,9 @@ public abstract class HashingCollectionNodes {
 
     /**
      * Gets clone of the keys of the storage with all values either set to given value or with no
-     * guarantees about the values if {@link PNone#NO_VALUE} is passed as {@code value}.
+     * guarantees about the values if {@link PNone#NO_VALUE} is passed as {@code value}. The latter
+     * is meant for sets, new storages are then created keys-only (see
+     * {@link EconomicMapStorage#prepareForSetItem}).
      */
     @ImportStatic({PGuards.class, PythonOptions.class})
     public abstract static class GetClonedHashingStorageNode extends PNodeWithContext {
@@ -183,7 +190,13 @@ public abstract class HashingCollectionNodes {
                         @Cached TruffleString.CreateCodePointIteratorNode createCodePointIteratorNode,
                         @Cached TruffleStringIterator.NextNode nextNode,
                         @Cached TruffleString.FromCodePointNode fromCodePointNode) {
-            HashingStorage storage = PDict.createNewStorage(codePointLengthNode.execute(str, TS_ENCODING));
+            int length = codePointLengthNode.execute(str, TS_ENCODING);
+            HashingStorage storage;
+            if (value == PNone.NO_VALUE && length > 0) {
+                storage = EconomicMapStorage.createKeysOnly(length);
+            } else {
+                storage = PDict.createNewStorage(length);
+            }
             Object val = value == PNone.NO_VALUE ? PNone.NONE : value;
             TruffleStringIterator it = createCodePointIteratorNode.execute(str, TS_ENCODING);
             while (it.hasNext()) {
@@ -214,7 +227,8 @@ public abstract class HashingCollectionNodes {
                         @Shared("setStorageItem") @Cached HashingStorageSetItem setStorageItem) {
             HashingStorage curStorage = EmptyStorage.INSTANCE;
             Object iterator = getIter.execute(frame, other);
-            Object val = value == PNone.NO_VALUE ? PNone.NONE : value;
+            boolean forSet = value == PNone.NO_VALUE;
+            Object val = forSet ? PNone.NONE : value;
             while (true) {
                 Object key;
                 try {
@@ -223,6 +237,9 @@ public abstract class HashingCollectionNodes {
                     e.expectStopIteration(errorProfile);
                     return curStorage;
                 }
+                if (forSet) {
+                    curStorage = EconomicMapStorage.prepareForSetItem(curStorage, key);
+                }
                 curStorage = setStorageItem.execute(frame, curStorage, key, val);
             }
         }
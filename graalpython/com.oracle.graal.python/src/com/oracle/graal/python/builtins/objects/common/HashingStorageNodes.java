@@ -80,6 +80,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
@@ -94,7 +95,8 @@ public class HashingStorageNodes {
          * implementation.
          */
         public static boolean mayHaveSideEffectingEq(PHashingCollection wrapper) {
-            return wrapper.getDictStorage() instanceof EconomicMapStorage;
+            HashingStorage s = wrapper.getDictStorage();
+            return s instanceof EconomicMapStorage || s instanceof LongMapStorage;
         }
 
         public static boolean mayHaveSideEffects(PHashingCollection wrapper) {
@@ -104,6 +106,7 @@ public class HashingStorageNodes {
     }
 
     @GenerateUncached
+    @ImportStatic(PGuards.class)
     public abstract static class HashingStorageGetItemWithHash extends Node {
         public abstract Object execute(Frame frame, HashingStorage self, Object key, long keyHash);
 
@@ -113,6 +116,17 @@ public class HashingStorageNodes {
             return getNode.execute(frame, self.map, key, keyHash);
         }
 
+        @Specialization(guards = "isInteger(key)")
+        static Object longMap(LongMapStorage self, Object key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(LongMapStorage.asLong(key));
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longMapOther(Frame frame, LongMapStorage self, Object key, long keyHash,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            return self.getAtBucket(LongMapStorage.findBucketGeneric(frame, self, key, keyHash, eqNode));
+        }
+
         @Specialization
         static Object dom(Frame frame, DynamicObjectStorage self, Object key, long keyHash,
                         @Cached DynamicObjectStorage.GetItemNode getNode) {
@@ -139,6 +153,7 @@ public class HashingStorageNodes {
     }
 
     @GenerateUncached
+    @ImportStatic(PGuards.class)
     public abstract static class HashingStorageGetItem extends Node {
         public static boolean hasKeyUncached(HashingStorage storage, Object key) {
             return HashingStorageGetItemNodeGen.getUncached().execute(null, storage, key) != null;
@@ -176,6 +191,20 @@ public class HashingStorageNodes {
             return getNode.execute(frame, self.map, key, hashNode.execute(frame, key));
         }
 
+        // The int keys are hashed and compared without calling into Python code
+        @Specialization(guards = "isInteger(key)")
+        static Object longMap(LongMapStorage self, Object key) {
+            return self.get(LongMapStorage.asLong(key));
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longMapOther(Frame frame, LongMapStorage self, Object key,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long keyHash = hashNode.execute(frame, key);
+            return self.getAtBucket(LongMapStorage.findBucketGeneric(frame, self, key, keyHash, eqNode));
+        }
+
         @Specialization
         static Object dom(Frame frame, DynamicObjectStorage self, Object key,
                         @Cached DynamicObjectStorage.GetItemNode getNode) {
@@ -221,6 +250,12 @@ public class HashingStorageNodes {
             return EconomicMapStorage.create();
         }
 
+        @Specialization
+        static EconomicMapStorage doLongMap(LongMapStorage s,
+                        @Cached ObjectHashMap.PutNode putNode) {
+            return s.toEconomicMap(putNode);
+        }
+
         @Specialization
         static EconomicMapStorage doDynamicObjectStorage(DynamicObjectStorage s,
                         @CachedLibrary(limit = "3") DynamicObjectLibrary dylib,
@@ -281,7 +316,25 @@ public class HashingStorageNodes {
             return self;
         }
 
-        @Specialization
+        @Specialization(guards = "isInteger(key)")
+        static HashingStorage longMap(LongMapStorage self, Object key, @SuppressWarnings("unused") long keyHash, Object value) {
+            self.put(LongMapStorage.asLong(key), value);
+            return self;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static HashingStorage longMapGeneralize(Frame frame, LongMapStorage self, Object key, long keyHash, Object value,
+                        @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
+                        @Shared("economicPut") @Cached ObjectHashMap.PutNode putNode) {
+            return economicMap(frame, self.toEconomicMap(putNode), key, keyHash, value, profile, putNode);
+        }
+
+        @Specialization(guards = "isInteger(key)")
+        static HashingStorage emptyLongKey(@SuppressWarnings("unused") EmptyStorage self, Object key, long keyHash, Object value) {
+            return longMap(LongMapStorage.create(1), key, keyHash, value);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
         static HashingStorage empty(Frame frame, @SuppressWarnings("unused") EmptyStorage self, Object key, long keyHash, Object value,
                         @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
                         @Exclusive @Cached ObjectHashMap.PutNode putNode) {
@@ -393,7 +446,26 @@ public class HashingStorageNodes {
             return self;
         }
 
-        @Specialization
+        @Specialization(guards = "isInteger(key)")
+        static HashingStorage longMap(LongMapStorage self, Object key, Object value) {
+            self.put(LongMapStorage.asLong(key), value);
+            return self;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static HashingStorage longMapGeneralize(Frame frame, LongMapStorage self, Object key, Object value,
+                        @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Shared("economicPut") @Cached ObjectHashMap.PutNode putNode) {
+            return economicMap(frame, self.toEconomicMap(putNode), key, value, profile, hashNode, putNode);
+        }
+
+        @Specialization(guards = "isInteger(key)")
+        static HashingStorage emptyLongKey(@SuppressWarnings("unused") EmptyStorage self, Object key, Object value) {
+            return longMap(LongMapStorage.create(1), key, value);
+        }
+
+        @Specialization(guards = "!isInteger(key)")
         static HashingStorage empty(Frame frame, @SuppressWarnings("unused") EmptyStorage self, Object key, Object value,
                         @Shared("isBuiltin") @Cached IsBuiltinClassProfile profile,
                         @Shared("hash") @Cached PyObjectHashNode hashNode,
@@ -511,6 +583,21 @@ public class HashingStorageNodes {
             return isPop ? result : null;
         }
 
+        @Specialization(guards = "isInteger(key)")
+        static Object longMap(LongMapStorage self, Object key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate) {
+            Object result = self.remove(LongMapStorage.asLong(key));
+            return isPop ? result : null;
+        }
+
+        @Specialization(guards = "!isInteger(key)")
+        static Object longMapOther(Frame frame, LongMapStorage self, Object key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
+                        @Shared("hash") @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long keyHash = hashNode.execute(frame, key);
+            Object result = self.removeBucket(LongMapStorage.findBucketGeneric(frame, self, key, keyHash, eqNode));
+            return isPop ? result : null;
+        }
+
         @Specialization
         static Object domStringKey(DynamicObjectStorage self, TruffleString key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
                         @Shared("invalidateMro") @Cached BranchProfile invalidateMroProfile,
@@ -598,6 +685,11 @@ public class HashingStorageNodes {
             return self.length();
         }
 
+        @Specialization
+        static int longMap(LongMapStorage self) {
+            return self.length();
+        }
+
         @Specialization
         static int dom(DynamicObjectStorage self,
                         @Cached DynamicObjectStorage.LengthNode lengthNode) {
@@ -662,6 +754,11 @@ public class HashingStorageNodes {
             return map.copy();
         }
 
+        @Specialization
+        static HashingStorage longMap(LongMapStorage map) {
+            return map.copy();
+        }
+
         @Specialization
         static EmptyStorage empty(EmptyStorage map) {
             return EmptyStorage.INSTANCE;
@@ -747,6 +844,11 @@ public class HashingStorageNodes {
             return new HashingStorageIterator();
         }
 
+        @Specialization
+        static HashingStorageIterator longMap(@SuppressWarnings("unused") LongMapStorage self) {
+            return new HashingStorageIterator();
+        }
+
         @Specialization
         static HashingStorageIterator dom(DynamicObjectStorage self,
                         @CachedLibrary(limit = "3") DynamicObjectLibrary dylib) {
@@ -792,6 +894,13 @@ public class HashingStorageNodes {
             return it;
         }
 
+        @Specialization
+        static HashingStorageIterator longMap(LongMapStorage self) {
+            HashingStorageIterator it = new HashingStorageIterator(true);
+            it.index = self.usedEntries;
+            return it;
+        }
+
         @Specialization
         static HashingStorageIterator dom(DynamicObjectStorage self,
                         @CachedLibrary(limit = "3") DynamicObjectLibrary dylib) {
@@ -843,11 +952,12 @@ public class HashingStorageNodes {
         public abstract boolean execute(HashingStorage storage, HashingStorageIterator it);
 
         @Specialization(guards = "!it.isReverse")
-        static boolean economicMap(EconomicMapStorage self, HashingStorageIterator it) {
+        static boolean economicMap(EconomicMapStorage self, HashingStorageIterator it,
+                        @Shared("keysOnly") @Cached ConditionProfile keysOnlyProfile) {
             ObjectHashMap map = self.map;
             it.index++;
             while (it.index < map.usedHashes) {
-                Object val = map.getValue(it.index);
+                Object val = map.getValue(it.index, keysOnlyProfile);
                 if (val != null) {
                     it.currentValue = val;
                     return true;
@@ -859,11 +969,42 @@ public class HashingStorageNodes {
         }
 
         @Specialization(guards = "it.isReverse")
-        static boolean economicMapReverse(EconomicMapStorage self, HashingStorageIterator it) {
+        static boolean economicMapReverse(EconomicMapStorage self, HashingStorageIterator it,
+                        @Shared("keysOnly") @Cached ConditionProfile keysOnlyProfile) {
             ObjectHashMap map = self.map;
             it.index--;
             while (it.index >= 0) {
-                Object val = map.getValue(it.index);
+                Object val = map.getValue(it.index, keysOnlyProfile);
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index--;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "!it.isReverse")
+        static boolean longMap(LongMapStorage self, HashingStorageIterator it) {
+            it.index++;
+            while (it.index < self.usedEntries) {
+                Object val = self.getValueAt(it.index);
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index++;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "it.isReverse")
+        static boolean longMapReverse(LongMapStorage self, HashingStorageIterator it) {
+            it.index--;
+            while (it.index >= 0) {
+                Object val = self.getValueAt(it.index);
                 if (val != null) {
                     it.currentValue = val;
                     return true;
@@ -975,6 +1116,11 @@ public class HashingStorageNodes {
             return it.currentValue;
         }
 
+        @Specialization
+        static Object longMap(@SuppressWarnings("unused") LongMapStorage self, HashingStorageIterator it) {
+            return it.currentValue;
+        }
+
         @Specialization
         static Object dom(@SuppressWarnings("unused") DynamicObjectStorage self, HashingStorageIterator it) {
             return it.currentValue;
@@ -1011,8 +1157,14 @@ public class HashingStorageNodes {
         public abstract Object execute(HashingStorage storage, HashingStorageIterator it);
 
         @Specialization
-        static Object economicMap(EconomicMapStorage self, HashingStorageIterator it) {
-            return self.map.getKey(it.index);
+        static Object economicMap(EconomicMapStorage self, HashingStorageIterator it,
+                        @Cached ConditionProfile keysOnlyProfile) {
+            return self.map.getKey(it.index, keysOnlyProfile);
+        }
+
+        @Specialization
+        static long longMap(LongMapStorage self, HashingStorageIterator it) {
+            return self.getKeyAt(it.index);
         }
 
         @Specialization
@@ -1047,6 +1199,11 @@ public class HashingStorageNodes {
             return self.map.hashes[it.index];
         }
 
+        @Specialization
+        static long longMap(LongMapStorage self, HashingStorageIterator it) {
+            return LongMapStorage.hash(self.getKeyAt(it.index));
+        }
+
         @Specialization
         static long dom(@SuppressWarnings("unused") DynamicObjectStorage self, HashingStorageIterator it,
                         @Shared("hash") @Cached TruffleString.HashCodeNode hashNode) {
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.common;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.nodes.LoopNode;
+
+/**
+ * Storage for dicts and sets whose keys are all Python {@code int} objects represented as Java
+ * {@code int} or {@code long}. The layout follows {@link ObjectHashMap}: sparse array of indices
+ * pointing into compact arrays that keep the insertion order. Unlike {@link ObjectHashMap}, the keys
+ * are stored unboxed and the hashes are not stored at all, because the Python hash of a
+ * {@code long} is cheap to recompute (see {@link PyObjectHashNode#hash(long)}). Lookups of
+ * {@code int} keys therefore never call {@code __hash__} or {@code __eq__} and do not allocate.
+ *
+ * Lookups with other keys that may be equal to an {@code int} (e.g., {@code True} or {@code 1.0})
+ * use the regular hash and {@code __eq__} protocol. Inserting a key that is not a Java {@code int}
+ * or {@code long} generalizes the storage to {@link EconomicMapStorage} (see
+ * {@link #toEconomicMap(ObjectHashMap.PutNode)}).
+ *
+ * Removed items leave a dummy entry in the indices array and {@code null} in the values array.
+ * Insertion of a key that is not present reuses the first dummy entry on its collision chain, and a
+ * removed item at the end of the compact arrays is reclaimed right away, so that repeated insertion
+ * and removal of the same keys does not pile up dummy entries. The remaining ones are dropped once
+ * the compact arrays or the indices are full and the map is rehashed.
+ */
+public final class LongMapStorage extends HashingStorage {
+    private static final int INITIAL_INDICES_SIZE = 8;
+
+    /**
+     * We limit the max size of preallocated maps, see the comment in the {@link ObjectHashMap}
+     * constructor.
+     */
+    private static final int MAX_PREALLOCATED_INDICES_SIZE = 1 << 20;
+
+    private static final int EMPTY_INDEX = -1;
+    private static final int DUMMY_INDEX = -2;
+
+    private static final long PERTURB_SHIFT = 5;
+    // It takes at most this many >>> shifts to turn any long into 0
+    private static final int PERTURB_SHIFTS_COUNT = 13;
+
+    // Sparse array with indices pointing to keys and values
+    private int[] indices;
+
+    // Compact arrays with the actual items, removed items have null value
+    long[] keys;
+    Object[] values;
+
+    // How many real items are in the map
+    int size;
+    // How many of the slots in the keys/values arrays are occupied either with real or removed item
+    int usedEntries;
+    // How many of the buckets in the indices array are not empty, i.e., real or dummy entries
+    private int usedBuckets;
+
+    private LongMapStorage(int capacity) {
+        allocateData(Math.min(getIndicesSizeFor(capacity), MAX_PREALLOCATED_INDICES_SIZE));
+    }
+
+    private LongMapStorage(LongMapStorage original) {
+        indices = PythonUtils.arrayCopyOf(original.indices, original.indices.length);
+        keys = PythonUtils.arrayCopyOf(original.keys, original.keys.length);
+        values = PythonUtils.arrayCopyOf(original.values, original.values.length);
+        size = original.size;
+        usedEntries = original.usedEntries;
+        usedBuckets = original.usedBuckets;
+    }
+
+    public static LongMapStorage create(int capacity) {
+        return new LongMapStorage(capacity);
+    }
+
+    public static long asLong(Object key) {
+        return key instanceof Integer ? (int) key : (long) key;
+    }
+
+    public static long hash(long key) {
+        return PyObjectHashNode.hash(key);
+    }
+
+    private static int getIndicesSizeFor(int capacity) {
+        // only 2/3 of the buckets can be used, so that there are always some empty buckets
+        long required = capacity + (capacity >> 1) + 1L;
+        if (required > (1 << 30)) {
+            throw new OutOfMemoryError();
+        }
+        int result = INITIAL_INDICES_SIZE;
+        while (result < required) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    private void allocateData(int bucketsCount) {
+        indices = new int[bucketsCount];
+        Arrays.fill(indices, EMPTY_INDEX);
+        int usableSize = (int) ((bucketsCount * 2L) / 3);
+        keys = new long[usableSize];
+        values = new Object[usableSize];
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public LongMapStorage copy() {
+        return new LongMapStorage(this);
+    }
+
+    long getKeyAt(int index) {
+        return keys[index];
+    }
+
+    Object getValueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the bucket holding the given key or {@code -1 - bucket} where {@code bucket} is the
+     * empty bucket in which the collision chain for the key ends.
+     */
+    private int findBucket(long key, long keyHash) {
+        int[] localIndices = indices;
+        int mask = localIndices.length - 1;
+        int bucket = (int) (keyHash & mask);
+        long perturb = keyHash;
+        int searchLimit = localIndices.length + PERTURB_SHIFTS_COUNT;
+        for (int i = 0; i < searchLimit; i++) {
+            int index = localIndices[bucket];
+            if (index == EMPTY_INDEX) {
+                return -1 - bucket;
+            }
+            if (index != DUMMY_INDEX && keys[index] == key) {
+                return bucket;
+            }
+            perturb >>>= PERTURB_SHIFT;
+            bucket = (int) ((bucket * 5L + perturb + 1L) & mask);
+        }
+        // there is always an empty bucket, because we use at most 2/3 of them
+        throw CompilerDirectives.shouldNotReachHere();
+    }
+
+    /**
+     * Lookup with a key that is not a Java {@code int} or {@code long}, but it may still be equal
+     * to some of the keys. The {@code __eq__} may have side effects, in which case we restart the
+     * lookup. Same return value as {@link #findBucket(long, long)}.
+     */
+    static int findBucketGeneric(Frame frame, LongMapStorage self, Object key, long keyHash, PyObjectRichCompareBool.EqNode eqNode) {
+        restart: while (true) {
+            int[] localIndices = self.indices;
+            int mask = localIndices.length - 1;
+            int bucket = (int) (keyHash & mask);
+            long perturb = keyHash;
+            int searchLimit = localIndices.length + PERTURB_SHIFTS_COUNT;
+            for (int i = 0; i < searchLimit; i++) {
+                int index = localIndices[bucket];
+                if (index == EMPTY_INDEX) {
+                    return -1 - bucket;
+                }
+                if (index != DUMMY_INDEX) {
+                    long storedKey = self.keys[index];
+                    if (hash(storedKey) == keyHash) {
+                        boolean equal = eqNode.execute(frame, storedKey, key);
+                        if (localIndices != self.indices || localIndices[bucket] != index) {
+                            // the map was changed by the __eq__
+                            continue restart;
+                        }
+                        if (equal) {
+                            return bucket;
+                        }
+                    }
+                }
+                perturb >>>= PERTURB_SHIFT;
+                bucket = (int) ((bucket * 5L + perturb + 1L) & mask);
+            }
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    Object getAtBucket(int bucket) {
+        return bucket < 0 ? null : values[indices[bucket]];
+    }
+
+    public Object get(long key) {
+        return getAtBucket(findBucket(key, hash(key)));
+    }
+
+    public void put(long key, Object value) {
+        assert value != null;
+        long keyHash = hash(key);
+        int bucket = findBucket(key, keyHash);
+        if (bucket >= 0) {
+            values[indices[bucket]] = value;
+            return;
+        }
+        int freeBucket = findFreeBucket(keyHash);
+        boolean reuseDummy = indices[freeBucket] == DUMMY_INDEX;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, usedEntries == keys.length || (!reuseDummy && usedBuckets == keys.length))) {
+            rehash();
+            freeBucket = findFreeBucket(keyHash);
+            reuseDummy = false;
+        }
+        int index = usedEntries++;
+        keys[index] = key;
+        values[index] = value;
+        indices[freeBucket] = index;
+        if (!reuseDummy) {
+            usedBuckets++;
+        }
+        size++;
+    }
+
+    /**
+     * Returns the first dummy or empty bucket on the collision chain for the given hash. Must be
+     * called only if the key is known to be absent, then the new item can be stored in that bucket.
+     */
+    private int findFreeBucket(long keyHash) {
+        int[] localIndices = indices;
+        int mask = localIndices.length - 1;
+        int bucket = (int) (keyHash & mask);
+        long perturb = keyHash;
+        while (localIndices[bucket] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            bucket = (int) ((bucket * 5L + perturb + 1L) & mask);
+        }
+        return bucket;
+    }
+
+    public Object remove(long key) {
+        return removeBucket(findBucket(key, hash(key)));
+    }
+
+    Object removeBucket(int bucket) {
+        if (bucket < 0) {
+            return null;
+        }
+        int index = indices[bucket];
+        Object result = values[index];
+        values[index] = null;
+        indices[bucket] = DUMMY_INDEX;
+        size--;
+        // no bucket points to removed items, so we can reclaim them at the end of the compact arrays
+        while (usedEntries > 0 && values[usedEntries - 1] == null) {
+            usedEntries--;
+        }
+        return result;
+    }
+
+    /**
+     * Called when the compact arrays or the indices are full. The new size is determined from the number of real
+     * items, so this also drops the removed items and may actually shrink the map.
+     */
+    @TruffleBoundary
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsedEntries = usedEntries;
+        allocateData(getIndicesSizeFor(size * 2));
+        int[] localIndices = indices;
+        int mask = localIndices.length - 1;
+        int newIndex = 0;
+        for (int i = 0; i < oldUsedEntries; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                long key = oldKeys[i];
+                long keyHash = hash(key);
+                int bucket = (int) (keyHash & mask);
+                long perturb = keyHash;
+                while (localIndices[bucket] != EMPTY_INDEX) {
+                    perturb >>>= PERTURB_SHIFT;
+                    bucket = (int) ((bucket * 5L + perturb + 1L) & mask);
+                }
+                keys[newIndex] = key;
+                values[newIndex] = value;
+                localIndices[bucket] = newIndex;
+                newIndex++;
+            }
+        }
+        assert newIndex == size;
+        usedEntries = newIndex;
+        usedBuckets = newIndex;
+    }
+
+    /**
+     * Copies the items into a new {@link EconomicMapStorage}, used when a key that is not a Java
+     * {@code int} or {@code long} is inserted.
+     */
+    EconomicMapStorage toEconomicMap(ObjectHashMap.PutNode putNode) {
+        EconomicMapStorage result = EconomicMapStorage.create(size);
+        ObjectHashMap resultMap = result.map;
+        for (int i = 0; i < usedEntries; i++) {
+            Object value = values[i];
+            if (value != null) {
+                long key = keys[i];
+                putNode.put(null, resultMap, key, hash(key), value);
+            }
+        }
+        LoopNode.reportLoopCount(putNode, usedEntries);
+        if (size > 0) {
+            resultMap.setSideEffectingKeysFlag();
+        }
+        return result;
+    }
+}
@@ -44,6 +44,7 @@ import static com.oracle.truffle.api.CompilerDirectives.SLOWPATH_PROBABILITY;
 
 import java.util.Arrays;
 
+import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.lib.PyObjectRichCompareBool;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -93,28 +94,43 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
  * implications of this is that for close to full maps, lookups of items that are not present in the
  * map are faster, because we can terminate the collisions chain chasing earlier.
  *
- * Notable use case that does not (yet) work well with this approach: repeated insertion and removal
- * of the same key. This keeps on adding dummy entries when removing the entry and creating long
- * collisions chains that the insertion needs to follow to find a free slot. This all repeats until
- * the insertion concludes that the map is too full and rehashes it, in this case actually not
- * growing it, but just removing the dummy entries. The same seems to happen on CPython also, but
- * can be improved.
+ * The sparse indices array is a {@code byte[]} whose element width depends on the number of
+ * buckets: maps with at most {@link #MAX_BYTE_INDICES_SIZE} buckets store the indices in single
+ * bytes, maps with at most {@link #MAX_SHORT_INDICES_SIZE} buckets in two bytes and larger maps in
+ * four bytes. The width can be always derived from the length of the array (see
+ * {@link #getIndexShift(byte[])}). In every width, {@link #EMPTY_INDEX} and {@link #DUMMY_INDEX} are
+ * stored as the narrow {@code -1} and {@code -2} and the collision flag is the narrow sign bit, so
+ * that small dicts, which are by far the most common, use a quarter of the memory for the indices.
+ * The accessors {@link #readIndex(byte[], int)} and {@link #writeIndex(byte[], int, int)} convert
+ * between the narrow representation and the {@code int} representation used by the algorithm.
+ *
+ * Sets store {@code None} as the value of every item. A map created with the {@code keysOnly} flag
+ * (see {@link #ObjectHashMap(int, boolean, boolean)}) does not allocate the value slots at all: the
+ * keysAndValues array holds just the keys and {@link #getValue(int)} returns {@code None} for every
+ * live item. Only set storages are created keys-only (see
+ * {@link EconomicMapStorage#prepareForSetItem}), dicts always use the regular layout. Putting any
+ * other value into a keys-only map transparently switches it to the regular layout (see
+ * {@link #materializeValues(Object)}), so the flag is only a hint and never changes the semantics.
+ * The lookup nodes profile the flag, so that they compile only the layout they actually see.
+ *
+ * Dicts and sets whose keys are all {@code int} objects use {@link LongMapStorage} instead, which
+ * follows the same design, but stores the keys unboxed.
+ *
+ * Removal keeps the collision chains intact without piling up dummy entries, which matters for
+ * repeated insertion and removal of the same keys (e.g., caches built on top of dicts):
+ * <ul>
+ * <li>Bucket of a removed item that does not participate in any collision chain (the collision
+ * bit is not set) becomes empty again. Only buckets with the collision bit are turned into
+ * {@link #DUMMY_INDEX}, so every dummy bucket implicitly carries the collision bit.</li>
+ * <li>Insertion reuses the first dummy bucket on the collision chain once it verified that the key
+ * is not present further down the chain. The reused bucket keeps the collision bit.</li>
+ * <li>If the removed item is the last one in the compact arrays, the slot is reclaimed right away,
+ * so that the next inserted item reuses it without breaking the insertion order.</li>
+ * </ul>
  *
  * Areas for future improvements:
  * <ul>
- * <li>Use byte[] array for the sparse indices array and determine the size of an index according to
- * the compact array size, i.e., 1 byte is enough for 256 items. This needs to also properly handle
- * the bit flag used to mark collisions.</li>
- * <li>Use another bit from the index in the sparse indices array to remember index of removed
- * items, i.e., dummy items would carry the old index and collision mask. Such dummy items can be
- * reused when inserting new items. This will help with the insert/remove of the same key
- * scenario.</li>
  * <li>Inline {@link ObjectHashMap} into {@code EconomicMapStorage} to save an indirection.</li>
- * <li>New strategy for long keys where the hashes array is used to store the keys, and the
- * keysAndValues array will store just values. Can be implemented by extending this class and
- * overriding few methods.</li>
- * <li>Flag that indicates that the hash-map is used as a storage for a set, so all values are
- * {@code None} and there is no need to allocate space for values in the keysAndValues array.</li>
  * </ul>
  */
 public final class ObjectHashMap {
@@ -142,9 +158,22 @@ public final class ObjectHashMap {
     private static final int DUMMY_INDEX = -2;
     private static final int EMPTY_INDEX = -1;
 
-    private static void markCollision(int[] indices, int compactIndex) {
-        assert indices[compactIndex] != EMPTY_INDEX;
-        indices[compactIndex] = indices[compactIndex] | COLLISION_MASK;
+    /**
+     * Maps with up to this many buckets use one byte per index. The usable size for such map is
+     * below {@code 0x7E}, so the largest index with the collision flag never clashes with the
+     * narrow {@link #EMPTY_INDEX} or {@link #DUMMY_INDEX}.
+     */
+    private static final int MAX_BYTE_INDICES_SIZE = 1 << 7;
+
+    /**
+     * Maps with up to this many buckets use two bytes per index, larger maps use four bytes.
+     */
+    private static final int MAX_SHORT_INDICES_SIZE = 1 << 15;
+
+    private static void markCollision(byte[] indices, int compactIndex) {
+        int index = readIndex(indices, compactIndex);
+        assert index != EMPTY_INDEX;
+        writeIndex(indices, compactIndex, index | COLLISION_MASK);
     }
 
     private static boolean isCollision(int index) {
@@ -166,12 +195,14 @@ public final class ObjectHashMap {
     // It takes at most this many >>> shifts to turn any long into 0
     private static final int PERTURB_SHIFTS_COUT = 13;
 
-    // Sparse array with indices pointing to hashes and keysAndValues
-    private int[] indices;
+    // Sparse array with indices pointing to hashes and keysAndValues, see readIndex/writeIndex
+    private byte[] indices;
 
     // Compact arrays with the actual dict items:
     long[] hashes;
     Object[] keysAndValues;
+    // If true, keysAndValues contains only keys and all the values are implicitly None
+    private boolean keysOnly;
 
     // How many real items are in the dict
     int size;
@@ -193,6 +224,11 @@ public final class ObjectHashMap {
     boolean hasSideEffectingKeys;
 
     public ObjectHashMap(int capacity, boolean hasSideEffects) {
+        this(capacity, hasSideEffects, false);
+    }
+
+    public ObjectHashMap(int capacity, boolean hasSideEffects, boolean keysOnly) {
+        this.keysOnly = keysOnly;
         if (capacity <= INITIAL_INDICES_SIZE) {
             allocateData(INITIAL_INDICES_SIZE);
         } else {
@@ -228,14 +264,39 @@ public final class ObjectHashMap {
 
     private void allocateData(int newSize) {
         assert isPow2(newSize);
-        indices = new int[newSize];
-        Arrays.fill(indices, EMPTY_INDEX);
+        indices = new byte[newSize << getIndexShiftForBuckets(newSize)];
+        // EMPTY_INDEX is -1 in all widths, i.e., all bits set
+        Arrays.fill(indices, (byte) EMPTY_INDEX);
         // since we allow ourselves to fill only up to 3/4 of the hash table, we need this many
         // entries for the actual values: (we intentionally over-allocate by a small constant)
         int quarter = newSize >> 2;
         int usableSize = 3 * quarter + 2;
         hashes = new long[usableSize];
-        keysAndValues = new Object[usableSize * 2];
+        keysAndValues = new Object[keysOnly ? usableSize : usableSize * 2];
+    }
+
+    /**
+     * Switches a keys-only map to the regular layout with a value slot for every key. All the
+     * existing live items get the given value.
+     */
+    @TruffleBoundary
+    void materializeValues(Object value) {
+        assert keysOnly;
+        Object[] keys = keysAndValues;
+        Object[] newKeysAndValues = new Object[keys.length * 2];
+        for (int i = 0; i < usedHashes; i++) {
+            Object key = keys[i];
+            if (key != null) {
+                newKeysAndValues[i << 1] = key;
+                newKeysAndValues[(i << 1) + 1] = value;
+            }
+        }
+        keysAndValues = newKeysAndValues;
+        keysOnly = false;
+    }
+
+    public boolean isKeysOnly() {
+        return keysOnly;
     }
 
     public void setSideEffectingKeysFlag() {
@@ -258,6 +319,7 @@ public final class ObjectHashMap {
         result.indices = PythonUtils.arrayCopyOf(indices, indices.length);
         result.keysAndValues = PythonUtils.arrayCopyOf(keysAndValues, keysAndValues.length);
         result.hasSideEffectingKeys = hasSideEffectingKeys;
+        result.keysOnly = keysOnly;
         return result;
     }
 
@@ -312,15 +374,77 @@ public final class ObjectHashMap {
         }
     }
 
-    private static int getBucketsCount(int[] indices) {
-        return indices.length;
+    private static int getIndexShiftForBuckets(int bucketsCount) {
+        if (bucketsCount <= MAX_BYTE_INDICES_SIZE) {
+            return 0;
+        } else if (bucketsCount <= MAX_SHORT_INDICES_SIZE) {
+            return 1;
+        }
+        return 2;
     }
 
-    private boolean needsResize(int[] localIndices) {
-        // when the hash table is 3/4 full, we resize on insertion
+    /**
+     * Returns log2 of the width of a single index in the given indices array. Note that the byte
+     * length of an array with two byte wide indices is always larger than
+     * {@link #MAX_BYTE_INDICES_SIZE} and of an array with four byte wide indices larger than
+     * {@code 2 * MAX_SHORT_INDICES_SIZE}.
+     */
+    private static int getIndexShift(byte[] indices) {
+        int len = indices.length;
+        if (len <= MAX_BYTE_INDICES_SIZE) {
+            return 0;
+        } else if (len <= MAX_SHORT_INDICES_SIZE << 1) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static int getBucketsCount(byte[] indices) {
+        return indices.length >> getIndexShift(indices);
+    }
+
+    private static int readIndex(byte[] indices, int bucket) {
+        int value;
+        int narrowMask;
+        switch (getIndexShift(indices)) {
+            case 0:
+                value = indices[bucket];
+                narrowMask = 0x7F;
+                break;
+            case 1:
+                value = PythonUtils.arrayAccessor.getShort(indices, bucket << 1);
+                narrowMask = 0x7FFF;
+                break;
+            default:
+                return PythonUtils.arrayAccessor.getInt(indices, bucket << 2);
+        }
+        if (value < DUMMY_INDEX) {
+            // the narrow sign bit is the collision flag, the value was sign-extended
+            return (value & narrowMask) | COLLISION_MASK;
+        }
+        return value;
+    }
+
+    private static void writeIndex(byte[] indices, int bucket, int value) {
+        switch (getIndexShift(indices)) {
+            case 0:
+                indices[bucket] = (byte) (value < DUMMY_INDEX ? unwrapIndex(value) | 0x80 : value);
+                break;
+            case 1:
+                PythonUtils.arrayAccessor.putShort(indices, bucket << 1, (short) (value < DUMMY_INDEX ? unwrapIndex(value) | 0x8000 : value));
+                break;
+            default:
+                PythonUtils.arrayAccessor.putInt(indices, bucket << 2, value);
+                break;
+        }
+    }
+
+    private boolean needsResize(byte[] localIndices) {
+        // when the hash table is 3/4 full, we resize on insertion. Buckets of removed items can be
+        // reused, so we also need to check that there is a free slot in the compact arrays
         int bucketsCount = getBucketsCount(localIndices);
         int bucketsCntQuarter = Math.max(1, bucketsCount >> 2);
-        return usedIndices + bucketsCntQuarter > bucketsCount;
+        return usedIndices + bucketsCntQuarter > bucketsCount || usedHashes == hashes.length;
     }
 
     public int size() {
@@ -348,11 +472,12 @@ public final class ObjectHashMap {
                         @Cached("createCountingProfile()") ConditionProfile foundEqKey,
                         @Cached("createCountingProfile()") ConditionProfile collisionFoundNoValue,
                         @Cached("createCountingProfile()") ConditionProfile collisionFoundEqKey,
+                        @Cached ConditionProfile keysOnlyProfile,
                         @Cached PyObjectRichCompareBool.EqNode eqNode) {
             while (true) {
                 try {
                     return doGet(frame, map, key, keyHash, foundNullKey, foundSameHashKey,
-                                    foundEqKey, collisionFoundNoValue, collisionFoundEqKey, eqNode);
+                                    foundEqKey, collisionFoundNoValue, collisionFoundEqKey, keysOnlyProfile, eqNode);
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter();
                 }
@@ -365,21 +490,22 @@ public final class ObjectHashMap {
                         ConditionProfile foundEqKey,
                         ConditionProfile collisionFoundNoValue,
                         ConditionProfile collisionFoundEqKey,
+                        ConditionProfile keysOnlyProfile,
                         PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
             assert map.checkInternalState();
-            int[] indices = map.indices;
-            int indicesLen = indices.length;
+            byte[] indices = map.indices;
+            int indicesLen = getBucketsCount(indices);
 
             int compactIndex = getIndex(indicesLen, keyHash);
-            int index = indices[compactIndex];
+            int index = readIndex(indices, compactIndex);
             if (foundNullKey.profile(index == EMPTY_INDEX)) {
                 return null;
             }
             if (foundSameHashKey.profile(index != DUMMY_INDEX)) {
                 int unwrappedIndex = unwrapIndex(index);
-                if (foundEqKey.profile(map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, eqNode))) {
-                    return map.getValue(unwrappedIndex);
-                } else if (!isCollision(indices[compactIndex])) {
+                if (foundEqKey.profile(map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, keysOnlyProfile, eqNode))) {
+                    return map.getValue(unwrappedIndex, keysOnlyProfile);
+                } else if (!isCollision(readIndex(indices, compactIndex))) {
                     // ^ note: we need to re-read indices[compactIndex],
                     // it may have been changed during __eq__
                     return null;
@@ -398,15 +524,15 @@ public final class ObjectHashMap {
                     }
                     perturb >>>= PERTURB_SHIFT;
                     compactIndex = nextIndex(indicesLen, compactIndex, perturb);
-                    index = map.indices[compactIndex];
+                    index = readIndex(indices, compactIndex);
                     if (collisionFoundNoValue.profile(index == EMPTY_INDEX)) {
                         return null;
                     }
                     if (index != DUMMY_INDEX) {
                         int unwrappedIndex = unwrapIndex(index);
-                        if (collisionFoundEqKey.profile(map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, eqNode))) {
-                            return map.getValue(unwrappedIndex);
-                        } else if (!isCollision(indices[compactIndex])) {
+                        if (collisionFoundEqKey.profile(map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, keysOnlyProfile, eqNode))) {
+                            return map.getValue(unwrappedIndex, keysOnlyProfile);
+                        } else if (!isCollision(readIndex(indices, compactIndex))) {
                             // ^ note: we need to re-read indices[compactIndex],
                             // it may have been changed during __eq__
                             return null;
@@ -445,12 +571,13 @@ public final class ObjectHashMap {
                         @Cached("createCountingProfile()") ConditionProfile collisionFoundEqKey,
                         @Cached BranchProfile rehash1Profile,
                         @Cached BranchProfile rehash2Profile,
+                        @Cached ConditionProfile keysOnlyProfile,
                         @Cached PyObjectRichCompareBool.EqNode eqNode) {
             while (true) {
                 try {
                     doPut(frame, map, key, keyHash, value, foundNullKey, foundEqKey,
                                     collisionFoundNoValue, collisionFoundEqKey, rehash1Profile, rehash2Profile,
-                                    eqNode);
+                                    keysOnlyProfile, eqNode);
                     return;
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter();
@@ -465,25 +592,27 @@ public final class ObjectHashMap {
                         ConditionProfile collisionFoundEqKey,
                         BranchProfile rehash1Profile,
                         BranchProfile rehash2Profile,
+                        ConditionProfile keysOnlyProfile,
                         PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
             assert map.checkInternalState();
-            int[] indices = map.indices;
-            int indicesLen = indices.length;
+            byte[] indices = map.indices;
+            int indicesLen = getBucketsCount(indices);
 
             int compactIndex = getIndex(indicesLen, keyHash);
-            int index = indices[compactIndex];
+            int index = readIndex(indices, compactIndex);
             if (foundNullKey.profile(index == EMPTY_INDEX)) {
-                map.putInNewSlot(indices, rehash1Profile, key, keyHash, value, compactIndex);
+                map.putInNewSlot(indices, rehash1Profile, keysOnlyProfile, key, keyHash, value, compactIndex, false);
                 return;
             }
 
-            if (foundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrapIndex(index), key, keyHash, eqNode))) {
+            if (foundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrapIndex(index), key, keyHash, keysOnlyProfile, eqNode))) {
                 // we found the key, override the value, Python does not override the key though
-                map.setValue(unwrapIndex(index), value);
+                map.setValue(unwrapIndex(index), value, keysOnlyProfile);
                 return;
             }
 
-            // collision
+            // collision: remember the first dummy bucket, we can reuse it if the key is not found
+            int dummyIndex = index == DUMMY_INDEX ? compactIndex : -1;
             markCollision(indices, compactIndex);
             long perturb = keyHash;
             int searchLimit = getBucketsCount(indices) + PERTURB_SHIFTS_COUT;
@@ -496,17 +625,24 @@ public final class ObjectHashMap {
                     }
                     perturb >>>= PERTURB_SHIFT;
                     compactIndex = nextIndex(indicesLen, compactIndex, perturb);
-                    index = indices[compactIndex];
+                    index = readIndex(indices, compactIndex);
                     if (collisionFoundNoValue.profile(index == EMPTY_INDEX)) {
-                        map.putInNewSlot(indices, rehash2Profile, key, keyHash, value, compactIndex);
+                        if (dummyIndex != -1) {
+                            map.putInNewSlot(indices, rehash2Profile, keysOnlyProfile, key, keyHash, value, dummyIndex, true);
+                        } else {
+                            map.putInNewSlot(indices, rehash2Profile, keysOnlyProfile, key, keyHash, value, compactIndex, false);
+                        }
                         return;
                     }
-                    if (collisionFoundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrapIndex(index), key, keyHash, eqNode))) {
+                    if (collisionFoundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrapIndex(index), key, keyHash, keysOnlyProfile, eqNode))) {
                         // we found the key, override the value, Python does not override the key
                         // though
-                        map.setValue(unwrapIndex(index), value);
+                        map.setValue(unwrapIndex(index), value, keysOnlyProfile);
                         return;
                     }
+                    if (index == DUMMY_INDEX && dummyIndex == -1) {
+                        dummyIndex = compactIndex;
+                    }
                     markCollision(indices, compactIndex);
                 }
             } finally {
@@ -522,10 +658,11 @@ public final class ObjectHashMap {
 
     // Internal helper: it is not profiling, never rehashes, and it assumes that the hash map never
     // contains the key that we are inserting
-    private void insertNewKey(int[] localIndices, Object key, long keyHash, Object value) {
+    private void insertNewKey(byte[] localIndices, Object key, long keyHash, Object value) {
         assert localIndices == this.indices;
-        int compactIndex = getIndex(localIndices.length, keyHash);
-        int index = localIndices[compactIndex];
+        int indicesLen = getBucketsCount(localIndices);
+        int compactIndex = getIndex(indicesLen, keyHash);
+        int index = readIndex(localIndices, compactIndex);
         if (index == EMPTY_INDEX) {
             putInNewSlot(localIndices, key, keyHash, value, compactIndex);
             return;
@@ -537,8 +674,8 @@ public final class ObjectHashMap {
         int searchLimit = getBucketsCount(localIndices) + PERTURB_SHIFTS_COUT;
         for (int i = 0; i < searchLimit; i++) {
             perturb >>>= PERTURB_SHIFT;
-            compactIndex = nextIndex(localIndices.length, compactIndex, perturb);
-            index = localIndices[compactIndex];
+            compactIndex = nextIndex(indicesLen, compactIndex, perturb);
+            index = readIndex(localIndices, compactIndex);
             if (index == EMPTY_INDEX) {
                 putInNewSlot(localIndices, key, keyHash, value, compactIndex);
                 return;
@@ -551,26 +688,64 @@ public final class ObjectHashMap {
         throw CompilerDirectives.shouldNotReachHere();
     }
 
-    private void putInNewSlot(int[] localIndices, BranchProfile rehashProfile, Object key, long keyHash, Object value, int compactIndex) {
+    private void putInNewSlot(byte[] localIndices, BranchProfile rehashProfile, ConditionProfile keysOnlyProfile, Object key, long keyHash, Object value, int compactIndex,
+                    boolean reuseDummy) {
         assert indices == localIndices;
         if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, needsResize(localIndices))) {
             rehashProfile.enter();
             rehashAndPut(key, keyHash, value);
             return;
         }
-        putInNewSlot(localIndices, key, keyHash, value, compactIndex);
+        if (reuseDummy) {
+            assert readIndex(localIndices, compactIndex) == DUMMY_INDEX;
+            size++;
+            int newIndex = usedHashes++;
+            // the dummy was left in place of an item with the collision bit set
+            writeIndex(localIndices, compactIndex, newIndex | COLLISION_MASK);
+            setValue(newIndex, value, keysOnlyProfile);
+            setKey(newIndex, key, keysOnlyProfile);
+            hashes[newIndex] = keyHash;
+        } else {
+            putInNewSlot(localIndices, keysOnlyProfile, key, keyHash, value, compactIndex);
+        }
     }
 
-    private void putInNewSlot(int[] localIndices, Object key, long keyHash, Object value, int compactIndex) {
+    private void putInNewSlot(byte[] localIndices, Object key, long keyHash, Object value, int compactIndex) {
+        putInNewSlot(localIndices, ConditionProfile.getUncached(), key, keyHash, value, compactIndex);
+    }
+
+    private void putInNewSlot(byte[] localIndices, ConditionProfile keysOnlyProfile, Object key, long keyHash, Object value, int compactIndex) {
         size++;
         usedIndices++;
         int newIndex = usedHashes++;
-        localIndices[compactIndex] = newIndex;
-        setValue(newIndex, value);
-        setKey(newIndex, key);
+        writeIndex(localIndices, compactIndex, newIndex);
+        setValue(newIndex, value, keysOnlyProfile);
+        setKey(newIndex, key, keysOnlyProfile);
         hashes[newIndex] = keyHash;
     }
 
+    private Object removeFromSlot(byte[] localIndices, int compactIndex, ConditionProfile keysOnlyProfile) {
+        // re-read the index, the collision bit may have been set during __eq__
+        int index = readIndex(localIndices, compactIndex);
+        int unwrappedIndex = unwrapIndex(index);
+        Object result = getValue(unwrappedIndex, keysOnlyProfile);
+        if (isCollision(index)) {
+            // other keys may continue their collision chains through this bucket
+            writeIndex(localIndices, compactIndex, DUMMY_INDEX);
+        } else {
+            writeIndex(localIndices, compactIndex, EMPTY_INDEX);
+            usedIndices--;
+        }
+        setValue(unwrappedIndex, null, keysOnlyProfile);
+        setKey(unwrappedIndex, null, keysOnlyProfile);
+        size--;
+        // no bucket points to removed items, so we can reclaim them at the end of the compact arrays
+        while (usedHashes > 0 && getValue(usedHashes - 1, keysOnlyProfile) == null) {
+            usedHashes--;
+        }
+        return result;
+    }
+
     private boolean needsCompaction() {
         // if more than quarter of all the slots are occupied by dummy values -> compact
         int quarterOfUsable = hashes.length >> 2;
@@ -600,12 +775,13 @@ public final class ObjectHashMap {
                         @Cached("createCountingProfile()") ConditionProfile collisionFoundEqKey,
                         @Cached BranchProfile compactProfile,
                         @Cached ConditionProfile hasState,
+                        @Cached ConditionProfile keysOnlyProfile,
                         @Cached PyObjectRichCompareBool.EqNode eqNode) {
             while (true) {
                 try {
                     return doRemove(frame, map, key, keyHash, foundNullKey, foundEqKey,
                                     collisionFoundNoValue, collisionFoundEqKey, compactProfile,
-                                    hasState, eqNode);
+                                    hasState, keysOnlyProfile, eqNode);
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter();
                 }
@@ -619,6 +795,7 @@ public final class ObjectHashMap {
                         ConditionProfile collisionFoundEqKey,
                         BranchProfile compactProfile,
                         ConditionProfile hasState,
+                        ConditionProfile keysOnlyProfile,
                         PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
             assert map.checkInternalState();
             // TODO: move this to the point after we find the value to remove?
@@ -626,25 +803,20 @@ public final class ObjectHashMap {
                 compactProfile.enter();
                 map.compact();
             }
-            int[] indices = map.indices;
-            int indicesLen = indices.length;
+            byte[] indices = map.indices;
+            int indicesLen = getBucketsCount(indices);
 
             // Note: CPython is not shrinking the capacity of the hash table on delete, we do the
             // same
             int compactIndex = getIndex(indicesLen, keyHash);
-            int index = indices[compactIndex];
+            int index = readIndex(indices, compactIndex);
             if (foundNullKey.profile(index == EMPTY_INDEX)) {
                 return null; // not found
             }
 
             int unwrappedIndex = unwrapIndex(index);
-            if (foundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, eqNode))) {
-                Object result = map.getValue(unwrappedIndex);
-                indices[compactIndex] = DUMMY_INDEX;
-                map.setValue(unwrappedIndex, null);
-                map.setKey(unwrappedIndex, null);
-                map.size--;
-                return result;
+            if (foundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, keysOnlyProfile, eqNode))) {
+                return map.removeFromSlot(indices, compactIndex, keysOnlyProfile);
             }
 
             // collision: intentionally counted loop
@@ -659,18 +831,13 @@ public final class ObjectHashMap {
                     }
                     perturb >>>= PERTURB_SHIFT;
                     compactIndex = nextIndex(indicesLen, compactIndex, perturb);
-                    index = indices[compactIndex];
+                    index = readIndex(indices, compactIndex);
                     if (collisionFoundNoValue.profile(index == EMPTY_INDEX)) {
                         return null; // not found
                     }
                     unwrappedIndex = unwrapIndex(index);
-                    if (collisionFoundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, eqNode))) {
-                        Object result = map.getValue(unwrappedIndex);
-                        indices[compactIndex] = DUMMY_INDEX;
-                        map.setValue(unwrappedIndex, null);
-                        map.setKey(unwrappedIndex, null);
-                        map.size--;
-                        return result;
+                    if (collisionFoundEqKey.profile(index != DUMMY_INDEX && map.keysEqual(indices, frame, unwrappedIndex, key, keyHash, keysOnlyProfile, eqNode))) {
+                        return map.removeFromSlot(indices, compactIndex, keysOnlyProfile);
                     }
                 }
             } finally {
@@ -697,17 +864,17 @@ public final class ObjectHashMap {
         }
     }
 
-    private boolean keysEqual(int[] originalIndices, Frame frame, int index, Object key, long keyHash,
-                    PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+    private boolean keysEqual(byte[] originalIndices, Frame frame, int index, Object key, long keyHash,
+                    ConditionProfile keysOnlyProfile, PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
         if (hashes[index] != keyHash) {
             return false;
         }
-        Object originalKey = getKey(index);
+        Object originalKey = getKey(index, keysOnlyProfile);
         if (originalKey == key) {
             return true;
         }
         boolean result = eqNode.execute(frame, originalKey, key);
-        if (getKey(index) != originalKey || indices != originalIndices) {
+        if (getKey(index, keysOnlyProfile) != originalKey || indices != originalIndices) {
             // Either someone overridden the slot we are just examining, or rehasing reallocated the
             // indices array. We need to restart the lookup. Other situations are OK:
             //
@@ -746,17 +913,19 @@ public final class ObjectHashMap {
         }
         long[] oldHashes = hashes;
         Object[] oldKeysAndValues = keysAndValues;
+        boolean oldKeysOnly = keysOnly;
         int oldUsedSize = usedHashes;
         int oldSize = size;
         allocateData(indicesCapacity);
         size = 0;
         usedHashes = 0;
         usedIndices = 0;
-        int[] localIndices = this.indices;
+        byte[] localIndices = this.indices;
         for (int i = 0; i < oldUsedSize; i++) {
-            if (getValue(i, oldKeysAndValues) != null) {
-                final Object key = getKey(i, oldKeysAndValues);
-                insertNewKey(localIndices, key, oldHashes[i], getValue(i, oldKeysAndValues));
+            Object value = getValue(i, oldKeysAndValues, oldKeysOnly);
+            if (value != null) {
+                final Object key = getKey(i, oldKeysAndValues, oldKeysOnly);
+                insertNewKey(localIndices, key, oldHashes[i], value);
             }
         }
         assert size == oldSize : String.format("size=%d, oldSize=%d, oldUsedSize=%d, usedHashes=%d, usedIndices=%d",
@@ -787,24 +956,19 @@ public final class ObjectHashMap {
             }
         }
         usedHashes -= dummyCount; // We've "removed" the dummy entries
-        int[] localIndices = indices;
-        for (int i = 0; i < localIndices.length; i++) {
-            int index = localIndices[i];
+        byte[] localIndices = indices;
+        int bucketsCount = getBucketsCount(localIndices);
+        for (int i = 0; i < bucketsCount; i++) {
+            int index = readIndex(localIndices, i);
             if (index != EMPTY_INDEX && index != DUMMY_INDEX) {
                 boolean collision = isCollision(index);
                 int unwrapped = unwrapIndex(index);
                 int newIndex = unwrapped - shuffle[unwrapped];
-                localIndices[i] = newIndex;
-                if (collision) {
-                    markCollision(localIndices, i);
-                }
-            } else if (index == DUMMY_INDEX) {
-                dummyCount--;
+                writeIndex(localIndices, i, collision ? newIndex | COLLISION_MASK : newIndex);
             }
         }
-        // Indices may contain dummy values removed from hashes and keysAndValues arrays in some
-        // previous rounds of compaction, but we should have seen at least this many dummy values
-        assert dummyCount <= 0;
+        // Note: the buckets of the removed items are either empty or dummy (if they had the
+        // collision bit), dummy buckets may have been reused for new items in the meantime
     }
 
     private static int nextIndex(int indicesLen, int i, long perturb) {
@@ -816,34 +980,70 @@ public final class ObjectHashMap {
         return (int) (hash & (indicesLen - 1));
     }
 
-    public static Object getKey(int index, Object[] keysAndValues) {
-        return keysAndValues[index << 1];
+    private static Object getKey(int index, Object[] keysAndValues, boolean keysOnly) {
+        return keysOnly ? keysAndValues[index] : keysAndValues[index << 1];
     }
 
-    public static Object getValue(int index, Object[] keysAndValues) {
+    private static Object getValue(int index, Object[] keysAndValues, boolean keysOnly) {
+        if (keysOnly) {
+            // removed items have null key, which is how we mark the dummy entries in this layout
+            return keysAndValues[index] == null ? null : PNone.NONE;
+        }
         return keysAndValues[(index << 1) + 1];
     }
 
     public Object getKey(int index) {
-        return getKey(index, keysAndValues);
+        return getKey(index, keysAndValues, keysOnly);
     }
 
     public Object getValue(int index) {
-        return getValue(index, keysAndValues);
+        return getValue(index, keysAndValues, keysOnly);
+    }
+
+    /*
+     * The layout is read again on every access, because __eq__ or a nested put may have switched it
+     * in the meantime. Nodes pass their own profile, so that code working only with dicts, or only
+     * with sets, compiles just one layout.
+     */
+    Object getKey(int index, ConditionProfile keysOnlyProfile) {
+        return getKey(index, keysAndValues, keysOnlyProfile.profile(keysOnly));
+    }
+
+    Object getValue(int index, ConditionProfile keysOnlyProfile) {
+        return getValue(index, keysAndValues, keysOnlyProfile.profile(keysOnly));
     }
 
     public void setValue(int index, Object value) {
+        setValue(index, value, ConditionProfile.getUncached());
+    }
+
+    private void setValue(int index, Object value, ConditionProfile keysOnlyProfile) {
+        if (keysOnlyProfile.profile(keysOnly)) {
+            if (value == null || value == PNone.NONE) {
+                // null value is always accompanied with setting the key to null
+                return;
+            }
+            materializeValues(PNone.NONE);
+        }
         keysAndValues[(index << 1) + 1] = value;
     }
 
     public void setKey(int index, Object key) {
-        keysAndValues[(index << 1)] = key;
+        setKey(index, key, ConditionProfile.getUncached());
+    }
+
+    private void setKey(int index, Object key, ConditionProfile keysOnlyProfile) {
+        if (keysOnlyProfile.profile(keysOnly)) {
+            keysAndValues[index] = key;
+        } else {
+            keysAndValues[(index << 1)] = key;
+        }
     }
 
     private boolean checkInternalState() {
         // We must have at least one empty slot, collision resolution relies on the fact that it is
         // always going to find an empty slot
-        assert usedIndices < indices.length : usedIndices;
+        assert usedIndices < getBucketsCount(indices) : usedIndices;
         return true;
     }
 
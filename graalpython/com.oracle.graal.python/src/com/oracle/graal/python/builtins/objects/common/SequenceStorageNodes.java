@@ -49,6 +49,7 @@ import static com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.L
 import static com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType.Int;
 import static com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType.Long;
 import static com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType.Uninitialized;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
@@ -110,6 +111,7 @@ import com.oracle.graal.python.builtins.objects.slice.SliceNodes;
 import com.oracle.graal.python.builtins.objects.slice.SliceNodes.CoerceToIntSlice;
 import com.oracle.graal.python.builtins.objects.slice.SliceNodes.ComputeIndices;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
 import com.oracle.graal.python.lib.GetNextNode;
 import com.oracle.graal.python.lib.PyIndexCheckNode;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
@@ -146,6 +148,7 @@ import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage.ListStorageType;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.graal.python.runtime.sequence.storage.StringSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStoreException;
 import com.oracle.graal.python.runtime.sequence.storage.TypedSequenceStorage;
 import com.oracle.graal.python.util.BiFunction;
@@ -213,6 +216,8 @@ public abstract class SequenceStorageNodes {
                     return rhsType == Boolean || rhsType == Byte || rhsType == Int || rhsType == Long || rhsType == Uninitialized || rhsType == Empty;
                 case Double:
                     return rhsType == Double || rhsType == Uninitialized || rhsType == Empty;
+                case String:
+                    return rhsType == ListStorageType.String || rhsType == Uninitialized || rhsType == Empty;
                 case Generic:
                     return true;
                 case Empty:
@@ -252,6 +257,8 @@ public abstract class SequenceStorageNodes {
                     return rhsType == Boolean || rhsType == Byte || rhsType == Int || rhsType == Long || rhsType == Uninitialized || rhsType == Empty;
                 case Double:
                     return rhsType == Double || rhsType == Uninitialized || rhsType == Empty;
+                case String:
+                    return rhsType == ListStorageType.String || rhsType == Uninitialized || rhsType == Empty;
                 case Generic:
                     return true;
                 case Empty:
@@ -274,8 +281,8 @@ public abstract class SequenceStorageNodes {
     @ImportStatic(PythonOptions.class)
     abstract static class SequenceStorageBaseNode extends PNodeWithContext {
 
-        protected static final int MAX_SEQUENCE_STORAGES = 9;
-        protected static final int MAX_ARRAY_STORAGES = 7;
+        protected static final int MAX_SEQUENCE_STORAGES = 10;
+        protected static final int MAX_ARRAY_STORAGES = 8;
 
         @InliningCutoff
         protected static boolean isByteStorage(NativeSequenceStorage store) {
@@ -297,6 +304,8 @@ public abstract class SequenceStorageNodes {
                     return left instanceof LongSequenceStorage;
                 case Double:
                     return left instanceof DoubleSequenceStorage;
+                case String:
+                    return left instanceof StringSequenceStorage;
                 case Generic:
                     return left instanceof ObjectSequenceStorage;
             }
@@ -342,6 +351,11 @@ public abstract class SequenceStorageNodes {
             return getElementTypeNode.execute(s) == ListStorageType.Double;
         }
 
+        @InliningCutoff
+        protected static boolean isString(GetElementType getElementTypeNode, SequenceStorage s) {
+            return getElementTypeNode.execute(s) == ListStorageType.String;
+        }
+
         @InliningCutoff
         protected static boolean isObject(GetElementType getElementTypeNode, SequenceStorage s) {
             return getElementTypeNode.execute(s) == ListStorageType.Generic;
@@ -371,6 +385,10 @@ public abstract class SequenceStorageNodes {
             return et == ListStorageType.Double;
         }
 
+        protected static boolean isString(ListStorageType et) {
+            return et == ListStorageType.String;
+        }
+
         protected static boolean isObject(ListStorageType et) {
             return et == ListStorageType.Generic;
         }
@@ -451,6 +469,10 @@ public abstract class SequenceStorageNodes {
             return getGetItemScalarNode().executeKnownInt(s, normalizeIndex(key, s));
         }
 
+        public final long executeLong(SequenceStorage s, int key) throws UnexpectedResultException {
+            return getGetItemScalarNode().executeLong(s, normalizeIndex(key, s));
+        }
+
         public final double executeDouble(SequenceStorage s, int key) throws UnexpectedResultException {
             return getGetItemScalarNode().executeDouble(s, normalizeIndex(key, s));
         }
@@ -624,6 +646,8 @@ public abstract class SequenceStorageNodes {
             }
         }
 
+        public abstract long executeLong(SequenceStorage s, int idx) throws UnexpectedResultException;
+
         public abstract double executeDouble(SequenceStorage s, int idx) throws UnexpectedResultException;
 
         @Specialization
@@ -651,6 +675,11 @@ public abstract class SequenceStorageNodes {
             return storage.getDoubleItemNormalized(idx);
         }
 
+        @Specialization
+        protected static TruffleString doString(StringSequenceStorage storage, int idx) {
+            return storage.getStringItemNormalized(idx);
+        }
+
         @Specialization
         protected static Object doObject(ObjectSequenceStorage storage, int idx) {
             return storage.getItemNormalized(idx);
@@ -1228,6 +1257,11 @@ public abstract class SequenceStorageNodes {
             storage.setDoubleItemNormalized(idx, value);
         }
 
+        @Specialization
+        protected static void doString(StringSequenceStorage storage, int idx, TruffleString value) {
+            storage.setStringItemNormalized(idx, value);
+        }
+
         @Specialization
         protected static void doObject(ObjectSequenceStorage storage, int idx, Object value) {
             storage.setItemNormalized(idx, value);
@@ -1755,6 +1789,25 @@ public abstract class SequenceStorageNodes {
             return cmpOp.cmp(llen, rlen);
         }
 
+        @Specialization
+        boolean doStringStorage(StringSequenceStorage left, StringSequenceStorage right,
+                        @Cached TruffleString.EqualNode equalNode,
+                        @Cached TruffleString.CompareIntsUTF32Node compareNode) {
+            int llen = left.length();
+            int rlen = right.length();
+            if (testingEqualsWithDifferingLengths(llen, rlen)) {
+                return false;
+            }
+            for (int i = 0; i < Math.min(llen, rlen); i++) {
+                TruffleString litem = left.getStringItemNormalized(i);
+                TruffleString ritem = right.getStringItemNormalized(i);
+                if (!equalNode.execute(litem, ritem, TS_ENCODING)) {
+                    return cmpOp.cmp(StringUtils.compareStrings(litem, ritem, compareNode), 0);
+                }
+            }
+            return cmpOp.cmp(llen, rlen);
+        }
+
         @Specialization
         boolean doGeneric(VirtualFrame frame, SequenceStorage left, SequenceStorage right,
                         @Cached PyObjectRichCompareBool.EqNode eqNode) {
@@ -2362,6 +2415,21 @@ public abstract class SequenceStorageNodes {
             }
         }
 
+        /* special but common case: something like '[""] * n' */
+        @Specialization(guards = {"s.length() == 1", "times > 0"})
+        StringSequenceStorage doStringSingleElement(StringSequenceStorage s, int times,
+                        @Shared("raiseNode") @Cached PRaiseNode raiseNode) {
+            try {
+                TruffleString[] repeated = new TruffleString[PythonUtils.multiplyExact(s.length(), times)];
+                Arrays.fill(repeated, s.getStringItemNormalized(0));
+                return new StringSequenceStorage(repeated);
+            } catch (OutOfMemoryError e) {
+                throw raiseNode.raise(MemoryError);
+            } catch (OverflowException e) {
+                throw raiseNode.raise(errorForOverflow);
+            }
+        }
+
         /* special but common case: something like '[None] * n' */
         @Specialization(guards = {"s.length() == 1", "times > 0"})
         ObjectSequenceStorage doObjectSingleElement(ObjectSequenceStorage s, int times,
@@ -2517,6 +2585,17 @@ public abstract class SequenceStorageNodes {
             return s.indexOfDouble(item);
         }
 
+        @Specialization
+        public static int doStringStorage(StringSequenceStorage s, TruffleString item,
+                        @Cached TruffleString.EqualNode equalNode) {
+            for (int i = 0; i < s.length(); i++) {
+                if (equalNode.execute(s.getStringItemNormalized(i), item, TS_ENCODING)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
         @Specialization
         static int doGeneric(VirtualFrame frame, SequenceStorage self, Object item,
                         @Cached GetItemScalarNode getItemNode,
@@ -2577,7 +2656,8 @@ public abstract class SequenceStorageNodes {
             ListStorageType et = getElementType.execute(s);
             if (val instanceof Byte && SequenceStorageBaseNode.isByteLike(et) ||
                             val instanceof Integer && (SequenceStorageBaseNode.isInt(et) || SequenceStorageBaseNode.isLong(et)) ||
-                            val instanceof Long && SequenceStorageBaseNode.isLong(et) || SequenceStorageBaseNode.isObject(et)) {
+                            val instanceof Long && SequenceStorageBaseNode.isLong(et) ||
+                            val instanceof TruffleString && SequenceStorageBaseNode.isString(et) || SequenceStorageBaseNode.isObject(et)) {
                 return s;
             }
 
@@ -2659,8 +2739,13 @@ public abstract class SequenceStorageNodes {
             return new DoubleSequenceStorage();
         }
 
+        @Specialization
+        static StringSequenceStorage doEmptyString(@SuppressWarnings("unused") EmptySequenceStorage s, @SuppressWarnings("unused") TruffleString val) {
+            return new StringSequenceStorage(DEFAULT_CAPACITY);
+        }
+
         protected static boolean isKnownType(Object val) {
-            return val instanceof Byte || val instanceof Integer || val instanceof Long || val instanceof Double;
+            return val instanceof Byte || val instanceof Integer || val instanceof Long || val instanceof Double || val instanceof TruffleString;
         }
 
         @Specialization(guards = "!isKnownType(val)")
@@ -2720,6 +2805,11 @@ public abstract class SequenceStorageNodes {
             return s;
         }
 
+        @Specialization
+        static StringSequenceStorage doStringString(StringSequenceStorage s, @SuppressWarnings("unused") TruffleString val) {
+            return s;
+        }
+
         // TODO native sequence storage
 
         @Specialization(guards = "isAssignCompatibleNode.execute(s, indicationStorage)", limit = "1")
@@ -2749,6 +2839,9 @@ public abstract class SequenceStorageNodes {
                             (value instanceof Byte || value instanceof Integer || value instanceof Long)) {
                 return false;
             }
+            if (s instanceof StringSequenceStorage && value instanceof TruffleString) {
+                return false;
+            }
             return !(value instanceof SequenceStorage) || !isAssignCompatibleNode.execute(s, (SequenceStorage) value);
         }
 
@@ -2850,6 +2943,10 @@ public abstract class SequenceStorageNodes {
             return getElementType(s) == ListStorageType.Double;
         }
 
+        protected boolean isString(SequenceStorage s) {
+            return getElementType(s) == ListStorageType.String;
+        }
+
         protected boolean isObject(SequenceStorage s) {
             return getElementType(s) == ListStorageType.Generic;
         }
@@ -2904,6 +3001,16 @@ public abstract class SequenceStorageNodes {
             return ss;
         }
 
+        @Specialization(guards = "isString(s)")
+        static StringSequenceStorage doString(@SuppressWarnings("unused") SequenceStorage s, int cap, int len) {
+            StringSequenceStorage ss = new StringSequenceStorage(cap);
+            if (len != -1) {
+                ss.ensureCapacity(len);
+                ss.setNewLength(len);
+            }
+            return ss;
+        }
+
         @Fallback
         static ObjectSequenceStorage doObject(@SuppressWarnings("unused") SequenceStorage s, int cap, int len) {
             ObjectSequenceStorage ss = new ObjectSequenceStorage(cap);
@@ -3438,6 +3545,17 @@ public abstract class SequenceStorageNodes {
             return -1;
         }
 
+        @Specialization
+        int doString(StringSequenceStorage s, TruffleString item, int start, int end,
+                        @Cached TruffleString.EqualNode equalNode) {
+            for (int i = start; i < getLength(s, end); i++) {
+                if (equalNode.execute(s.getStringItemNormalized(i), item, TS_ENCODING)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
         @Specialization
         int doGeneric(VirtualFrame frame, SequenceStorage s, Object item, int start, int end,
                         @Cached GetItemScalarNode getItemNode,
@@ -3708,6 +3826,26 @@ public abstract class SequenceStorageNodes {
                             }
                             return new DoubleSequenceStorage(elements, i);
                         }
+                        case String: {
+                            TruffleString[] elements = new TruffleString[size];
+                            array = elements;
+                            try {
+                                while (true) {
+                                    Object value = nextNode.execute(frame, iterator);
+                                    if (!(value instanceof TruffleString)) {
+                                        throw new UnexpectedResultException(value);
+                                    }
+                                    if (growArrayProfile.profile(i >= elements.length)) {
+                                        array = elements = PythonUtils.arrayCopyOf(elements, elements.length * 2);
+                                    }
+                                    elements[i++] = (TruffleString) value;
+                                }
+                            } catch (PException e) {
+                                LoopNode.reportLoopCount(this, i);
+                                e.expectStopIteration(errorProfile);
+                            }
+                            return new StringSequenceStorage(elements, i);
+                        }
                         case Generic: {
                             Object[] elements = new Object[size];
                             try {
@@ -3889,6 +4027,24 @@ public abstract class SequenceStorageNodes {
                             }
                             return new DoubleSequenceStorage(elements, i);
                         }
+                        case String: {
+                            TruffleString[] elements = new TruffleString[size];
+                            array = elements;
+                            try {
+                                for (; loopProfile.profile((value = nextNode.execute(frame, iterator)) != STOP_MARKER); i++) {
+                                    if (!(value instanceof TruffleString)) {
+                                        throw new UnexpectedResultException(value);
+                                    }
+                                    if (growArrayProfile.profile(i >= elements.length)) {
+                                        array = elements = PythonUtils.arrayCopyOf(elements, elements.length * 2);
+                                    }
+                                    elements[i] = (TruffleString) value;
+                                }
+                            } catch (PException e) {
+                                e.expectStopIteration(errorProfile);
+                            }
+                            return new StringSequenceStorage(elements, i);
+                        }
                         case Generic: {
                             Object[] elements = new Object[size];
                             try {
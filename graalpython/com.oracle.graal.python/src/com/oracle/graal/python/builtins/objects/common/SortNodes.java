@@ -60,6 +60,7 @@ import com.oracle.graal.python.runtime.ExecutionContext.CallContext;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCalleeContext;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
@@ -67,6 +68,7 @@ import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.StringSequenceStorage;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -77,7 +79,6 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
@@ -158,8 +159,9 @@ public abstract class SortNodes {
     public abstract static class SortSequenceStorageNode extends PNodeWithContext {
 
         @CompilationFinal private RootCallTarget comparatorCallTarget;
+        @CompilationFinal private int parallelSortThreshold = -1;
 
-        private final ValueProfile keyClassProfile = ValueProfile.createIdentityProfile();
+        private final ValueProfile keyKindProfile = ValueProfile.createIdentityProfile();
 
         public abstract void execute(VirtualFrame frame, SequenceStorage storage, Object keyfunc, boolean reverse);
 
@@ -192,7 +194,11 @@ public abstract class SortNodes {
         void sort(IntSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             int[] array = storage.getInternalIntArray();
             int len = storage.length();
-            Arrays.sort(array, 0, len);
+            if (useParallelSort(len)) {
+                Arrays.parallelSort(array, 0, len);
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
@@ -203,7 +209,11 @@ public abstract class SortNodes {
         void sort(LongSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             long[] array = storage.getInternalLongArray();
             int len = storage.length();
-            Arrays.sort(array, 0, len);
+            if (useParallelSort(len)) {
+                Arrays.parallelSort(array, 0, len);
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
@@ -214,23 +224,49 @@ public abstract class SortNodes {
         void sort(DoubleSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             int len = storage.length();
             double[] array = storage.getInternalDoubleArray();
-            Arrays.sort(array, 0, len);
+            if (useParallelSort(len)) {
+                Arrays.parallelSort(array, 0, len);
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
         }
 
+        @Specialization
+        void sort(StringSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
+            sortStrings(storage.getInternalStringArray(), storage.length(), reverse);
+        }
+
         @TruffleBoundary
-        private static void sortStrings(ObjectSequenceStorage storage, boolean reverse) {
-            Object[] array = storage.getInternalArray();
-            int len = storage.length();
+        private void sortStrings(Object[] array, int len, boolean reverse) {
             Comparator<Object> comparator;
             if (reverse) {
                 comparator = (a, b) -> StringUtils.compareStringsUncached((TruffleString) b, (TruffleString) a);
             } else {
                 comparator = (a, b) -> StringUtils.compareStringsUncached((TruffleString) a, (TruffleString) b);
             }
-            Arrays.sort(array, 0, len, comparator);
+            // both sorts are stable, so the reversed comparator keeps equal strings in order
+            if (useParallelSort(len)) {
+                Arrays.parallelSort(array, 0, len, comparator);
+            } else {
+                Arrays.sort(array, 0, len, comparator);
+            }
+        }
+
+        /**
+         * Large lists of primitives and strings are sorted with {@link Arrays#parallelSort} on the
+         * common fork/join pool. The comparisons do not call back into Python, so the worker
+         * threads do not need the GIL. The threshold is an engine option, so it is read once per
+         * node. Contexts that may not create threads always sort sequentially.
+         */
+        private boolean useParallelSort(int len) {
+            if (parallelSortThreshold < 0) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                parallelSortThreshold = PythonLanguage.get(this).getEngineOption(PythonOptions.ParallelSortThreshold);
+            }
+            return parallelSortThreshold > 0 && len >= parallelSortThreshold && PythonContext.get(this).getEnv().isCreateThreadAllowed();
         }
 
         protected boolean isStringOnly(ObjectSequenceStorage storage, LoopConditionProfile isStringOnlyLoopProfile, ConditionProfile isStringOnlyBreakProfile) {
@@ -257,7 +293,7 @@ public abstract class SortNodes {
                 // Sorting of strings seems to be so much faster (especially on SVM) that it is
                 // worth always checking for string only sequences and not replacing the strings
                 // specialized code with generic object storage code
-                sortStrings(storage, reverse);
+                sortStrings(storage.getInternalArray(), storage.length(), reverse);
             } else {
                 sortWithoutKey(frame, storage.getInternalArray(), storage.length(), reverse, callContext);
             }
@@ -337,29 +373,25 @@ public abstract class SortNodes {
             }
         }
 
-        private enum KeySortComparator {
-            INT(Integer.class, Comparator.comparing(a -> ((Integer) a.key))),
-            LONG(Long.class, Comparator.comparing(a -> ((Long) a.key))),
-            DOUBLE(Double.class, Comparator.comparing(a -> ((Double) a.key))),
-            BOOLEAN(Boolean.class, Comparator.comparing(a -> ((Boolean) a.key))),
-            STRING(TruffleString.class, (a, b) -> StringUtils.compareStringsUncached((TruffleString) a.key, (TruffleString) b.key));
-
-            final Class<?> clazz;
-            final Comparator<SortingPair> comparator;
-
-            KeySortComparator(Class<?> clazz, Comparator<SortingPair> comparator) {
-                this.clazz = clazz;
-                this.comparator = comparator;
-            }
-
-            @ExplodeLoop
-            public static KeySortComparator forClass(Class<?> clazz) {
-                for (KeySortComparator c : KeySortComparator.values()) {
-                    if (clazz == c.clazz) {
-                        return c;
-                    }
+        /**
+         * Kinds of keys that are copied into a primitive array and sorted without calling back into
+         * Python.
+         */
+        private enum KeyKind {
+            LONG,
+            DOUBLE,
+            STRING,
+            OBJECT;
+
+            static KeyKind of(Object key) {
+                if (key instanceof Integer || key instanceof Long || key instanceof Boolean) {
+                    return LONG;
+                } else if (key instanceof Double) {
+                    return DOUBLE;
+                } else if (key instanceof TruffleString) {
+                    return STRING;
                 }
-                return null;
+                return OBJECT;
             }
         }
 
@@ -368,33 +400,33 @@ public abstract class SortNodes {
                 return;
             }
             /*
-             * Box the values into (key, value) pairs so that the comparator can compare they keys.
-             * We want to avoid calling the key function from the comparator because CPython also
-             * computes the keys only once. There is an additional optimization opportunity where we
-             * could avoid boxing primitive numbers, but that would result in quite a lot of
-             * duplicate code.
-             */
-            SortingPair[] pairArray = new SortingPair[len];
-            /*
-             * Look at the first key and determine which comparator we could use to compare if the
-             * keys turn all to be the same primitive type
+             * Compute all keys first, CPython also calls the key function only once per element
+             * and in the original order. If all keys are ints, floats or strings, they are copied
+             * into a primitive array and an index permutation is sorted by them. Otherwise, the
+             * values are boxed into (key, value) pairs which are compared using Python's '<'.
              */
+            Object[] keys = new Object[len];
             Object key = callNode.execute(frame, keyfunc, array[0]);
-            pairArray[reverse ? len - 1 : 0] = new SortingPair(key, array[0]);
-            Class<?> keyClass = keyClassProfile.profile(key.getClass());
-            KeySortComparator keySortComparator = KeySortComparator.forClass(keyClass);
-
+            keys[0] = key;
+            KeyKind keyKind = keyKindProfile.profile(KeyKind.of(key));
             for (int i = 1; i < len; i++) {
                 key = callNode.execute(frame, keyfunc, array[i]);
-                /* Check if the keys are all of the same type */
-                if (keySortComparator != null && key.getClass() != keySortComparator.clazz) {
-                    keySortComparator = null;
+                keys[i] = key;
+                if (keyKind != KeyKind.OBJECT && KeyKind.of(key) != keyKind) {
+                    keyKind = KeyKind.OBJECT;
                 }
-                pairArray[reverse ? len - i - 1 : i] = new SortingPair(key, array[i]);
             }
-            if (keySortComparator != null) {
-                callSortWithKey(pairArray, len, keySortComparator);
+            if (keyKind != KeyKind.OBJECT) {
+                sortByPrimitiveKeys(array, keys, len, keyKind, reverse);
             } else {
+                /*
+                 * Filling the pairs in reverse order and reading them back in reverse order keeps
+                 * elements with equal keys in their original order, like in CPython.
+                 */
+                SortingPair[] pairArray = new SortingPair[len];
+                for (int i = 0; i < len; i++) {
+                    pairArray[reverse ? len - i - 1 : i] = new SortingPair(keys[i], array[i]);
+                }
                 PythonLanguage language = PythonLanguage.get(this);
                 final Object[] arguments = PArguments.create(2);
                 final RootCallTarget callTarget = getComparatorCallTarget(language);
@@ -410,15 +442,108 @@ public abstract class SortNodes {
                     callContext.prepareCall(frame, arguments, callTarget, this);
                     callSortWithKey(pairArray, len, callTarget, arguments);
                 }
+                for (int i = 0; i < len; i++) {
+                    array[reverse ? len - i - 1 : i] = pairArray[i].value;
+                }
+            }
+        }
+
+        @FunctionalInterface
+        private interface IndexLessThan {
+            boolean lessThan(int a, int b);
+        }
+
+        @TruffleBoundary
+        private static void sortByPrimitiveKeys(Object[] array, Object[] keys, int len, KeyKind keyKind, boolean reverse) {
+            IndexLessThan lt;
+            switch (keyKind) {
+                case LONG: {
+                    long[] longKeys = new long[len];
+                    for (int i = 0; i < len; i++) {
+                        Object key = keys[i];
+                        if (key instanceof Integer) {
+                            longKeys[i] = (Integer) key;
+                        } else if (key instanceof Long) {
+                            longKeys[i] = (Long) key;
+                        } else {
+                            longKeys[i] = ((Boolean) key) ? 1 : 0;
+                        }
+                    }
+                    lt = (a, b) -> longKeys[a] < longKeys[b];
+                    break;
+                }
+                case DOUBLE: {
+                    double[] doubleKeys = new double[len];
+                    for (int i = 0; i < len; i++) {
+                        doubleKeys[i] = (Double) keys[i];
+                    }
+                    // plain '<' rather than Double.compare, -0.0 and 0.0 are equal keys in Python
+                    lt = (a, b) -> doubleKeys[a] < doubleKeys[b];
+                    break;
+                }
+                case STRING: {
+                    TruffleString[] stringKeys = new TruffleString[len];
+                    for (int i = 0; i < len; i++) {
+                        stringKeys[i] = (TruffleString) keys[i];
+                    }
+                    lt = (a, b) -> StringUtils.compareStringsUncached(stringKeys[a], stringKeys[b]) < 0;
+                    break;
+                }
+                default:
+                    throw CompilerDirectives.shouldNotReachHere();
             }
+            // same trick as for the pairs: sort the reversed permutation and read it backwards
+            int[] perm = new int[len];
             for (int i = 0; i < len; i++) {
-                array[reverse ? len - i - 1 : i] = pairArray[i].value;
+                perm[i] = reverse ? len - i - 1 : i;
+            }
+            mergeSort(perm, new int[len], 0, len, lt);
+            Object[] values = PythonUtils.arrayCopyOf(array, len);
+            for (int i = 0; i < len; i++) {
+                array[reverse ? len - i - 1 : i] = values[perm[i]];
             }
         }
 
-        @TruffleBoundary
-        private static void callSortWithKey(SortingPair[] array, int len, KeySortComparator comparator) {
-            Arrays.sort(array, 0, len, comparator.comparator);
+        private static final int INSERTION_SORT_THRESHOLD = 32;
+
+        /**
+         * Stable merge sort of the indices in {@code perm[from:to]}. Only ever asks whether the
+         * right element is less than the left one, the same question CPython's list.sort asks.
+         */
+        private static void mergeSort(int[] perm, int[] tmp, int from, int to, IndexLessThan lt) {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                for (int i = from + 1; i < to; i++) {
+                    int idx = perm[i];
+                    int j = i - 1;
+                    while (j >= from && lt.lessThan(idx, perm[j])) {
+                        perm[j + 1] = perm[j];
+                        j--;
+                    }
+                    perm[j + 1] = idx;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(perm, tmp, from, mid, lt);
+            mergeSort(perm, tmp, mid, to, lt);
+            if (!lt.lessThan(perm[mid], perm[mid - 1])) {
+                // already in order
+                return;
+            }
+            PythonUtils.arraycopy(perm, from, tmp, from, mid - from);
+            int i = from;
+            int j = mid;
+            int k = from;
+            while (i < mid && j < to) {
+                if (lt.lessThan(perm[j], tmp[i])) {
+                    perm[k++] = perm[j++];
+                } else {
+                    perm[k++] = tmp[i++];
+                }
+            }
+            while (i < mid) {
+                perm[k++] = tmp[i++];
+            }
         }
 
         @TruffleBoundary
@@ -512,7 +512,9 @@ public final class DictBuiltins extends PythonBuiltins {
         public Object doKeys(VirtualFrame frame, Object cls, Object iterable, Object value,
                         @SuppressWarnings("unused") @Cached TypeNodes.IsSameTypeNode isSameTypeNode,
                         @Cached HashingCollectionNodes.GetClonedHashingStorageNode getHashingStorageNode) {
-            HashingStorage s = getHashingStorageNode.execute(frame, iterable, value);
+            // NO_VALUE would ask for the keys-only storage of a set
+            Object val = value == PNone.NO_VALUE ? PNone.NONE : value;
+            HashingStorage s = getHashingStorageNode.execute(frame, iterable, val);
             return factory().createDict(cls, s);
         }
 
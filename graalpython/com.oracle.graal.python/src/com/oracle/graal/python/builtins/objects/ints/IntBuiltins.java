@@ -362,6 +362,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class AddNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int add(int left, int right) {
             return Math.addExact(left, right);
@@ -436,6 +438,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class SubNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int doII(int x, int y) throws ArithmeticException {
             return Math.subtractExact(x, y);
@@ -516,6 +520,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization
         double divII(int x, int y) {
             return divDD(x, y);
@@ -613,6 +619,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class FloorDivNode extends IntBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization
         int doII(int left, int right) {
             raiseDivisionByZero(right == 0);
@@ -766,6 +774,8 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization
         int doII(int left, int right) {
             raiseDivisionByZero(right == 0);
@@ -883,6 +893,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class MulNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int doII(int x, int y) throws ArithmeticException {
             return Math.multiplyExact(x, y);
@@ -978,6 +990,8 @@ public class IntBuiltins extends PythonBuiltins {
 
         protected abstract Object execute(int left, int right, PNone none);
 
+        protected abstract Object execute(long left, long right, PNone none);
+
         public final int executeInt(int left, int right) throws UnexpectedResultException {
             return executeInt(left, right, PNone.NO_VALUE);
         }
@@ -986,6 +1000,10 @@ public class IntBuiltins extends PythonBuiltins {
             return execute(left, right, PNone.NO_VALUE);
         }
 
+        public final Object execute(long left, long right) {
+            return execute(left, right, PNone.NO_VALUE);
+        }
+
         @Specialization(guards = "right >= 0", rewriteOn = ArithmeticException.class)
         static int doIIFast(int left, int right, @SuppressWarnings("unused") PNone none) {
             int result = 1;
@@ -1379,6 +1397,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class NegNode extends PythonUnaryBuiltinNode {
         public abstract Object execute(int value);
 
+        public abstract Object execute(long value);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int neg(int arg) {
             return Math.negateExact(arg);
@@ -1453,6 +1473,8 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         private long leftShiftExact(long left, long right) throws OverflowException {
             if (right >= Long.SIZE || right < 0) {
                 shiftError(right);
@@ -1624,6 +1646,8 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(guards = "right < 32")
         int doIISmall(int left, int right) {
             raiseNegativeShiftCount(right < 0);
@@ -63,6 +63,9 @@ public final class PInt extends PythonBuiltinObject {
     private static final BigInteger MAX_SHORT = BigInteger.valueOf(Short.MAX_VALUE);
     private static final BigInteger MIN_SHORT = BigInteger.valueOf(Short.MIN_VALUE);
 
+    private static final int DECIMAL_PARSE_LEAF_DIGITS = 1024;
+    private static final BigInteger[] DECIMAL_PARSE_POWERS = new BigInteger[Integer.SIZE];
+
     private final BigInteger value;
 
     public PInt(Object clazz, Shape instanceShape, BigInteger value) {
@@ -332,6 +335,57 @@ public final class PInt extends PythonBuiltinObject {
         return value.toString();
     }
 
+    /**
+     * Parses a string of decimal digits with an optional sign. Strings of more than
+     * {@link #DECIMAL_PARSE_LEAF_DIGITS} digits are split in two parts that are parsed recursively
+     * and combined as {@code high * 10^n + low}, using cached powers of ten. The cost is then
+     * dominated by the subquadratic multiplication of large {@link BigInteger}s rather than by
+     * {@code new BigInteger(String)}, which is quadratic in the number of digits.
+     */
+    @TruffleBoundary
+    public static BigInteger parseDecimal(String str) {
+        if (str.length() <= 2 * DECIMAL_PARSE_LEAF_DIGITS) {
+            return new BigInteger(str);
+        }
+        char sign = str.charAt(0);
+        BigInteger result = parseDecimal(str, sign == '-' || sign == '+' ? 1 : 0, str.length());
+        return sign == '-' ? result.negate() : result;
+    }
+
+    private static BigInteger parseDecimal(String str, int from, int to) {
+        int len = to - from;
+        if (len <= DECIMAL_PARSE_LEAF_DIGITS) {
+            char first = str.charAt(from);
+            if (first == '-' || first == '+') {
+                throw new NumberFormatException("Illegal embedded sign character");
+            }
+            return new BigInteger(str.substring(from, to));
+        }
+        // the low part has the largest cached length that is shorter than the string, so the
+        // high part is never longer than the low part
+        int k = 0;
+        while ((long) DECIMAL_PARSE_LEAF_DIGITS << (k + 1) < len) {
+            k++;
+        }
+        int split = to - (DECIMAL_PARSE_LEAF_DIGITS << k);
+        BigInteger high = parseDecimal(str, from, split);
+        BigInteger low = parseDecimal(str, split, to);
+        return high.multiply(decimalPower(k)).add(low);
+    }
+
+    /**
+     * Returns {@code 10^(DECIMAL_PARSE_LEAF_DIGITS * 2^k)}. Racing threads may compute the same
+     * power twice, which is harmless because the values are immutable.
+     */
+    private static BigInteger decimalPower(int k) {
+        BigInteger power = DECIMAL_PARSE_POWERS[k];
+        if (power == null) {
+            power = k == 0 ? BigInteger.TEN.pow(DECIMAL_PARSE_LEAF_DIGITS) : decimalPower(k - 1).pow(2);
+            DECIMAL_PARSE_POWERS[k] = power;
+        }
+        return power;
+    }
+
     @TruffleBoundary
     public static String toHexString(long value) {
         return Long.toHexString(value);
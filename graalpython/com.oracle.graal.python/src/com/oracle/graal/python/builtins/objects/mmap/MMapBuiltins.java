@@ -348,6 +348,9 @@ public class MMapBuiltins extends PythonBuiltins {
         @Specialization
         PNone close(PMMap self,
                         @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixSupportLib) {
+            if (self.hasExports()) {
+                throw raise(PythonErrorType.BufferError, ErrorMessages.CANNOT_CLOSE_EXPORTED_PTRS_EXIST);
+            }
             try {
                 self.close(posixSupportLib, getPosixSupport());
             } catch (PosixException e) {
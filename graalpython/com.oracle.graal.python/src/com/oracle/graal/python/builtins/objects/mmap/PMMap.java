@@ -44,12 +44,14 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.memoryview.BufferLifecycleManager;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -72,6 +74,11 @@ public final class PMMap extends PythonObject {
     private final int fd; // -1 for anonymous mapping
     private final long length;
     private final int access;
+    /*
+     * Counts the acquired buffers and memoryviews of this mapping. Like in CPython, the mapping
+     * cannot be closed while any of them is alive.
+     */
+    private final BufferLifecycleManager exports = new BufferLifecycleManager();
 
     public PMMap(Object pythonClass, Shape instanceShape, Object handle, int fd, long length, int access) {
         super(pythonClass, instanceShape);
@@ -100,6 +107,14 @@ public final class PMMap extends PythonObject {
         return handle == null;
     }
 
+    public BufferLifecycleManager getLifecycleManager() {
+        return exports;
+    }
+
+    boolean hasExports() {
+        return exports.getExports().get() != 0;
+    }
+
     public boolean isWriteable() {
         return access != ACCESS_READ;
     }
@@ -151,11 +166,79 @@ public final class PMMap extends PythonObject {
         }
     }
 
+    @ExportMessage
+    boolean isReadonly() {
+        return !isWriteable();
+    }
+
+    @ExportMessage
+    void writeByte(int byteOffset, byte value,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        try {
+            posixLib.mmapWriteBytes(PythonContext.get(raiseNode).getPosixSupport(), getPosixSupportHandle(), byteOffset, new byte[]{value}, 1);
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+    }
+
+    /*
+     * The bulk accessors copy between the mapping and the target array in one POSIX call instead
+     * of going through readByte/writeByte for every byte.
+     */
+    @ExportMessage
+    void readIntoByteArray(int srcOffset, byte[] dest, int destOffset, int len,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        try {
+            Object posixSupport = PythonContext.get(raiseNode).getPosixSupport();
+            if (destOffset == 0) {
+                posixLib.mmapReadBytes(posixSupport, getPosixSupportHandle(), srcOffset, dest, len);
+            } else {
+                byte[] tmp = new byte[len];
+                posixLib.mmapReadBytes(posixSupport, getPosixSupportHandle(), srcOffset, tmp, len);
+                PythonUtils.arraycopy(tmp, 0, dest, destOffset, len);
+            }
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+    }
+
+    @ExportMessage
+    void writeFromByteArray(int destOffset, byte[] src, int srcOffset, int len,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        try {
+            byte[] data = src;
+            if (srcOffset != 0) {
+                data = PythonUtils.arrayCopyOfRange(src, srcOffset, srcOffset + len);
+            }
+            posixLib.mmapWriteBytes(PythonContext.get(raiseNode).getPosixSupport(), getPosixSupportHandle(), destOffset, data, len);
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+    }
+
     @ExportMessage
     Object acquire(@SuppressWarnings("unused") int flags) {
+        exports.incrementExports();
         return this;
     }
 
+    @ExportMessage
+    void release() {
+        exports.decrementExports();
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     boolean hasBuffer() {
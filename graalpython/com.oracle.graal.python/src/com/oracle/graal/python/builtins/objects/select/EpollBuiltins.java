@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EXIT__;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLPRI;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
+import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+import static com.oracle.graal.python.util.TimeUtils.SEC_TO_NS;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.FileDescriptorConversionNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltinsClinicProviders.ModifyNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltinsClinicProviders.PollNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltinsClinicProviders.RegisterNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltinsClinicProviders.UnregisterNodeClinicProviderGen;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode.RoundType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.util.TimeUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PEpoll)
+public class EpollBuiltins extends PythonBuiltins {
+
+    static final long DEFAULT_EVENTMASK = EPOLLIN.defined ? EPOLLIN.getValueIfDefined() | EPOLLPRI.getValueIfDefined() | EPOLLOUT.getValueIfDefined() : 0;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return EpollBuiltinsFactory.getFactories();
+    }
+
+    abstract static class EpollCtlBaseNode extends PythonTernaryClinicBuiltinNode {
+        PNone ctl(VirtualFrame frame, PEpoll self, int op, int fd, long eventmask, PosixSupportLibrary posixLib) {
+            if (self.isClosed()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+            }
+            try {
+                // the event mask is an unsigned int, EPOLLET is the sign bit
+                posixLib.epollCtl(getPosixSupport(), self.getEpfd(), op, fd, (int) eventmask);
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversion = ClinicConversion.Long, defaultValue = "DEFAULT_EVENTMASK")
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends EpollCtlBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return RegisterNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone register(VirtualFrame frame, PEpoll self, int fd, long eventmask,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            return ctl(frame, self, EPOLL_CTL_ADD.getValueIfDefined(), fd, eventmask, posixLib);
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends EpollCtlBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return ModifyNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone modify(VirtualFrame frame, PEpoll self, int fd, long eventmask,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            return ctl(frame, self, EPOLL_CTL_MOD.getValueIfDefined(), fd, eventmask, posixLib);
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnregisterNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone unregister(VirtualFrame frame, PEpoll self, int fd,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            if (self.isClosed()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+            }
+            try {
+                posixLib.epollCtl(getPosixSupport(), self.getEpfd(), EPOLL_CTL_DEL.getValueIfDefined(), fd, 0);
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout", "maxevents"})
+    @ArgumentClinic(name = "maxevents", conversion = ClinicConversion.Int, defaultValue = "-1")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PollNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PList poll(VirtualFrame frame, PEpoll self, Object timeout, int maxevents,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached GilNode gil) {
+            if (self.isClosed()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+            }
+            int timeoutMs = -1;
+            if (!PGuards.isPNone(timeout)) {
+                long ms = TimeUtils.pyTimeDivide(pyTimeFromObjectNode.execute(frame, timeout, RoundType.TIMEOUT, SEC_TO_NS), MS_TO_NS);
+                if (ms > Integer.MAX_VALUE) {
+                    throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.TIMEOUT_VALUE_TOO_LARGE);
+                }
+                // negative timeout means infinite timeout
+                timeoutMs = ms < 0 ? -1 : (int) ms;
+            }
+            int max = maxevents;
+            if (max == -1) {
+                max = FD_SETSIZE.value - 1;
+            } else if (max < 1) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MAXEVENTS_MUST_BE_GREATER_THAN_ZERO, maxevents);
+            }
+            int[] fds = new int[max];
+            int[] events = new int[max];
+            int count;
+            try {
+                gil.release(true);
+                try {
+                    count = posixLib.epollWait(getPosixSupport(), self.getEpfd(), fds, events, timeoutMs);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            Object[] result = new Object[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = factory().createTuple(new Object[]{fds[i], Integer.toUnsignedLong(events[i])});
+            }
+            return factory().createList(result);
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone close(VirtualFrame frame, PEpoll self,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            if (!self.isClosed()) {
+                int epfd = self.getEpfd();
+                self.markClosed();
+                try {
+                    posixLib.close(getPosixSupport(), epfd);
+                } catch (PosixException e) {
+                    throw raiseOSErrorFromPosixException(frame, e);
+                }
+            }
+            return PNone.NONE;
+        }
+    }
+
+    static final class ReleaseCallback implements AsyncAction {
+        private final PEpoll.EpollFdRef ref;
+
+        ReleaseCallback(PEpoll.EpollFdRef ref) {
+            this.ref = ref;
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        public void execute(PythonContext context) {
+            if (ref.isReleased()) {
+                return;
+            }
+            ref.markReleased();
+            try (GilNode.UncachedRelease gil = GilNode.uncachedRelease()) {
+                PosixSupportLibrary.getUncached().close(context.getPosixSupport(), (int) ref.getReference());
+            } catch (PosixException e) {
+                // ignore
+            }
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PEpoll self) {
+            return self.isClosed();
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FilenoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int fileno(PEpoll self) {
+            if (self.isClosed()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+            }
+            return self.getEpfd();
+        }
+    }
+
+    @Builtin(name = J___ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PEpoll enter(PEpoll self) {
+            if (self.isClosed()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = J___EXIT__, minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonBuiltinNode {
+        protected static final TruffleString T_CLOSE = tsLiteral("close");
+
+        @Specialization
+        static Object exit(VirtualFrame frame, PEpoll self, @SuppressWarnings("unused") Object typ, @SuppressWarnings("unused") Object val, @SuppressWarnings("unused") Object tb,
+                        @Cached("create(T_CLOSE)") LookupAndCallUnaryNode callCloseNode) {
+            return callCloseNode.executeObject(frame, self);
+        }
+    }
+}
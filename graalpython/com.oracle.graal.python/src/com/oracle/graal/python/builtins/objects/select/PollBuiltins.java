@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLPRI;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.FileDescriptorConversionNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltinsClinicProviders.ModifyNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltinsClinicProviders.RegisterNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltinsClinicProviders.UnregisterNodeClinicProviderGen;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode.RoundType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.graal.python.util.TimeUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.BranchProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPoll)
+public class PollBuiltins extends PythonBuiltins {
+
+    static final int DEFAULT_EVENTMASK = POLLIN.defined ? POLLIN.getValueIfDefined() | POLLPRI.getValueIfDefined() | POLLOUT.getValueIfDefined() : 0;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PollBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversion = ClinicConversion.Int, defaultValue = "DEFAULT_EVENTMASK")
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return RegisterNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PNone register(PPoll self, int fd, int eventmask) {
+            self.register(fd, eventmask);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return ModifyNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone modify(VirtualFrame frame, PPoll self, int fd, int eventmask) {
+            if (!self.modify(fd, eventmask)) {
+                throw raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnregisterNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PNone unregister(PPoll self, int fd) {
+            if (!self.unregister(fd)) {
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{fd});
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PPoll self, Object timeout,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached BranchProfile notSelectableBranch,
+                        @Cached GilNode gil) {
+            int timeoutMs = -1;
+            if (!PGuards.isPNone(timeout)) {
+                long ms = TimeUtils.pyTimeDivide(pyTimeFromObjectNode.execute(frame, timeout, RoundType.TIMEOUT, MS_TO_NS), MS_TO_NS);
+                if (ms > Integer.MAX_VALUE) {
+                    throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.TIMEOUT_VALUE_TOO_LARGE);
+                }
+                // negative timeout means infinite timeout
+                timeoutMs = ms < 0 ? -1 : (int) ms;
+            }
+            if (self.isRunning()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CONCURRENT_POLL_INVOCATION);
+            }
+            int[][] fdsAndEvents = self.getFdsAndEvents();
+            int[] fds = fdsAndEvents[0];
+            int[] events = fdsAndEvents[1];
+            int[] revents = new int[fds.length];
+            int count;
+            self.setRunning(true);
+            try {
+                gil.release(true);
+                try {
+                    count = posixLib.poll(getPosixSupport(), fds, events, revents, timeoutMs);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } catch (ChannelNotSelectableException e) {
+                // GraalPython hack: if one of the channels is not selectable (can happen only in
+                // the emulated mode), we report all the requested events, like select does.
+                notSelectableBranch.enter();
+                PythonUtils.arraycopy(events, 0, revents, 0, events.length);
+                count = events.length;
+            } finally {
+                self.setRunning(false);
+            }
+            Object[] result = new Object[count];
+            int resultIdx = 0;
+            for (int i = 0; i < fds.length && resultIdx < count; i++) {
+                if (revents[i] != 0) {
+                    result[resultIdx++] = factory().createTuple(new Object[]{fds[i], revents[i]});
+                }
+            }
+            return factory().createList(resultIdx == count ? result : PythonUtils.arrayCopyOf(result, resultIdx));
+        }
+    }
+}
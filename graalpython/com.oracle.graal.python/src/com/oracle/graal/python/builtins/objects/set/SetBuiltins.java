@@ -51,6 +51,7 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingCollectionNodes;
 import com.oracle.graal.python.builtins.objects.common.HashingCollectionNodes.GetHashingStorageNode;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
@@ -287,6 +288,7 @@ public final class SetBuiltins extends PythonBuiltins {
             HashingStorage curStorage = collection.getDictStorage();
             for (int i = 0; i < length; i++) {
                 Object key = getItemScalarNode.execute(sequenceStorage, i);
+                curStorage = EconomicMapStorage.prepareForSetItem(curStorage, key);
                 curStorage = setStorageItem.execute(frame, curStorage, key, PNone.NONE);
             }
             collection.setDictStorage(curStorage);
@@ -310,6 +312,7 @@ public final class SetBuiltins extends PythonBuiltins {
                     collection.setDictStorage(curStorage);
                     return;
                 }
+                curStorage = EconomicMapStorage.prepareForSetItem(curStorage, key);
                 curStorage = setStorageItem.execute(frame, curStorage, key, PNone.NONE);
             }
         }
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CLASS_GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.SREModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.lib.PyDictSetItem;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PMatch)
+public class MatchBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_GROUPINDEX = tsLiteral("groupindex");
+    private static final TruffleString T_RE = tsLiteral("re");
+    private static final TruffleString T__EXPAND = tsLiteral("_expand");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return MatchBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Resolves a group argument, either a group number or a group name, to a group number.
+     */
+    abstract static class GroupIndexNode extends PNodeWithRaiseAndIndirectCall {
+
+        abstract int execute(VirtualFrame frame, PMatch self, Object group);
+
+        @Specialization
+        int doInt(PMatch self, int group) {
+            if (group < 0 || group > self.getGroups()) {
+                throw raise(IndexError, ErrorMessages.NO_SUCH_GROUP);
+            }
+            return group;
+        }
+
+        @Specialization(replaces = "doInt")
+        int doGeneric(VirtualFrame frame, PMatch self, Object group,
+                        @Cached PyIndexCheckNode indexCheckNode,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached PyObjectGetItem getItem) {
+            int index;
+            try {
+                if (indexCheckNode.execute(group)) {
+                    index = asSizeNode.executeExact(frame, group);
+                } else {
+                    Object groupindex = getAttr.execute(frame, self.getPattern(), T_GROUPINDEX);
+                    index = asSizeNode.executeExact(frame, getItem.execute(frame, groupindex, group));
+                }
+            } catch (PException e) {
+                throw raise(IndexError, ErrorMessages.NO_SUCH_GROUP);
+            }
+            return doInt(self, index);
+        }
+    }
+
+    /**
+     * Returns the substring matched by a group, or {@code defaultValue} if the group did not
+     * participate in the match.
+     */
+    abstract static class GetGroupNode extends PNodeWithRaiseAndIndirectCall {
+
+        abstract Object execute(VirtualFrame frame, PMatch self, int group, Object defaultValue);
+
+        @Specialization(guards = "!self.isBinary()")
+        static Object doString(PMatch self, int group, Object defaultValue,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib,
+                        @Cached TruffleString.SubstringNode substringNode) {
+            Object result = self.getRegexResult();
+            int start = SREModuleBuiltins.getStart(resultLib, result, group);
+            if (start < 0) {
+                return defaultValue;
+            }
+            int end = SREModuleBuiltins.getEnd(resultLib, result, group);
+            return substringNode.execute(self.getInput(), start, end - start, TS_ENCODING, false);
+        }
+
+        @Specialization(guards = "self.isBinary()")
+        Object doBytes(VirtualFrame frame, PMatch self, int group, Object defaultValue,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory) {
+            Object result = self.getRegexResult();
+            int start = SREModuleBuiltins.getStart(resultLib, result, group);
+            if (start < 0) {
+                return defaultValue;
+            }
+            int end = SREModuleBuiltins.getEnd(resultLib, result, group);
+            // like CPython, slice the subject as it is now
+            Object buffer = bufferAcquireLib.acquireReadonly(self.getString(), frame, this);
+            try {
+                int length = bufferLib.getBufferLength(buffer);
+                end = Math.min(end, length);
+                return factory.createBytes(bufferLib.getCopyOfRange(buffer, Math.min(start, end), end));
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "Match", constructsClass = PythonBuiltinClassType.PMatch, takesVarArgs = true, takesVarKeywordArgs = true, isPublic = false)
+    @GenerateNodeFactory
+    abstract static class MatchNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        Object doNew(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "re.Match");
+        }
+    }
+
+    @Builtin(name = "group", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class GroupNode extends PythonBuiltinNode {
+        @Specialization
+        Object group(VirtualFrame frame, PMatch self, Object[] args,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @Cached GetGroupNode getGroupNode) {
+            if (args.length == 0) {
+                return getGroupNode.execute(frame, self, 0, PNone.NONE);
+            } else if (args.length == 1) {
+                return getGroupNode.execute(frame, self, groupIndexNode.execute(frame, self, args[0]), PNone.NONE);
+            }
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = getGroupNode.execute(frame, self, groupIndexNode.execute(frame, self, args[i]), PNone.NONE);
+            }
+            return factory().createTuple(values);
+        }
+    }
+
+    @Builtin(name = J___GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object getItem(VirtualFrame frame, PMatch self, Object group,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @Cached GetGroupNode getGroupNode) {
+            return getGroupNode.execute(frame, self, groupIndexNode.execute(frame, self, group), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "groups", minNumOfPositionalArgs = 1, parameterNames = {"$self", "default"})
+    @GenerateNodeFactory
+    abstract static class GroupsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object groups(VirtualFrame frame, PMatch self, Object defaultValue,
+                        @Cached GetGroupNode getGroupNode) {
+            Object dflt = defaultValue == PNone.NO_VALUE ? PNone.NONE : defaultValue;
+            Object[] values = new Object[self.getGroups()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = getGroupNode.execute(frame, self, i + 1, dflt);
+            }
+            return factory().createTuple(values);
+        }
+    }
+
+    @Builtin(name = "groupdict", minNumOfPositionalArgs = 1, parameterNames = {"$self", "default"})
+    @GenerateNodeFactory
+    abstract static class GroupDictNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object groupdict(VirtualFrame frame, PMatch self, Object defaultValue,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached PyIterNextNode nextNode,
+                        @Cached PyDictSetItem setItem,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @Cached GetGroupNode getGroupNode) {
+            Object dflt = defaultValue == PNone.NO_VALUE ? PNone.NONE : defaultValue;
+            PDict dict = factory().createDict();
+            Object iterator = getIter.execute(frame, getAttr.execute(frame, self.getPattern(), T_GROUPINDEX));
+            Object name;
+            while ((name = nextNode.execute(frame, iterator)) != null) {
+                setItem.execute(frame, dict, name, getGroupNode.execute(frame, self, groupIndexNode.execute(frame, self, name), dflt));
+            }
+            return dict;
+        }
+    }
+
+    @Builtin(name = "start", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    abstract static class StartNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int start(VirtualFrame frame, PMatch self, Object group,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            int index = group == PNone.NO_VALUE ? 0 : groupIndexNode.execute(frame, self, group);
+            return SREModuleBuiltins.getStart(resultLib, self.getRegexResult(), index);
+        }
+    }
+
+    @Builtin(name = "end", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    abstract static class EndNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int end(VirtualFrame frame, PMatch self, Object group,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            int index = group == PNone.NO_VALUE ? 0 : groupIndexNode.execute(frame, self, group);
+            return SREModuleBuiltins.getEnd(resultLib, self.getRegexResult(), index);
+        }
+    }
+
+    @Builtin(name = "span", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    abstract static class SpanNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object span(VirtualFrame frame, PMatch self, Object group,
+                        @Cached GroupIndexNode groupIndexNode,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            int index = group == PNone.NO_VALUE ? 0 : groupIndexNode.execute(frame, self, group);
+            Object result = self.getRegexResult();
+            return factory().createTuple(new Object[]{SREModuleBuiltins.getStart(resultLib, result, index), SREModuleBuiltins.getEnd(resultLib, result, index)});
+        }
+    }
+
+    @Builtin(name = "regs", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class RegsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object regs(PMatch self,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            Object result = self.getRegexResult();
+            Object[] spans = new Object[self.getGroups() + 1];
+            for (int i = 0; i < spans.length; i++) {
+                spans[i] = factory().createTuple(new Object[]{SREModuleBuiltins.getStart(resultLib, result, i), SREModuleBuiltins.getEnd(resultLib, result, i)});
+            }
+            return factory().createTuple(spans);
+        }
+    }
+
+    @Builtin(name = "expand", minNumOfPositionalArgs = 2, parameterNames = {"$self", "template"})
+    @GenerateNodeFactory
+    abstract static class ExpandNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object expand(VirtualFrame frame, PMatch self, Object template,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            return callMethod.execute(frame, importRe(), T__EXPAND, self.getPattern(), self, template);
+        }
+
+        @TruffleBoundary
+        private static Object importRe() {
+            return AbstractImportNode.importModule(T_RE);
+        }
+    }
+
+    @Builtin(name = "string", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class StringNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object string(PMatch self) {
+            return self.getString();
+        }
+    }
+
+    @Builtin(name = "re", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ReNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object re(PMatch self) {
+            return self.getPattern();
+        }
+    }
+
+    @Builtin(name = "pos", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int pos(PMatch self) {
+            return self.getPos();
+        }
+    }
+
+    @Builtin(name = "endpos", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class EndposNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int endpos(PMatch self) {
+            return self.getEndpos();
+        }
+    }
+
+    @Builtin(name = "lastindex", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class LastIndexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object lastindex(PMatch self,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            int lastGroup = SREModuleBuiltins.getLastGroup(resultLib, self.getRegexResult());
+            return lastGroup < 0 ? PNone.NONE : lastGroup;
+        }
+    }
+
+    @Builtin(name = "lastgroup", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class LastGroupNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object lastgroup(PMatch self,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib) {
+            int lastGroup = SREModuleBuiltins.getLastGroup(resultLib, self.getRegexResult());
+            return lastGroup < 0 ? PNone.NONE : findGroupName(self.getPattern(), lastGroup);
+        }
+
+        @TruffleBoundary
+        private static Object findGroupName(Object pattern, int group) {
+            Object groupindex = PyObjectGetAttr.getUncached().execute(null, pattern, T_GROUPINDEX);
+            Object iterator = PyObjectGetIter.getUncached().execute(null, groupindex);
+            Object name;
+            while ((name = PyIterNextNode.getUncached().execute(null, iterator)) != null) {
+                Object index = PyObjectGetItem.getUncached().execute(null, groupindex, name);
+                if (PyObjectRichCompareBool.EqNode.getUncached().execute(null, index, group)) {
+                    return name;
+                }
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PMatch self,
+                        @CachedLibrary(limit = "3") InteropLibrary resultLib,
+                        @Cached GetGroupNode getGroupNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            Object result = self.getRegexResult();
+            TruffleString match = reprNode.execute(frame, getGroupNode.execute(frame, self, 0, PNone.NONE));
+            return StringUtils.simpleTruffleStringFormatUncached("<%s object; span=(%d, %d), match=%s>", PythonBuiltinClassType.PMatch.getPrintName(),
+                            SREModuleBuiltins.getStart(resultLib, result, 0), SREModuleBuiltins.getEnd(resultLib, result, 0), match);
+        }
+    }
+
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PMatch copy(PMatch self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PMatch deepcopy(PMatch self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___CLASS_GETITEM__, minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class ClassGetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object classGetItem(Object cls, Object key) {
+            return factory().createGenericAlias(cls, key);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * A {@code re.Match} object produced by TRegex. It only keeps the raw TRegex result; group
+ * boundaries are read from it and group substrings are sliced out of the subject on demand.
+ */
+public final class PMatch extends PythonBuiltinObject {
+    private final Object pattern;
+    private final Object string;
+    /** The subject as a {@code str}, or {@code null} for bytes-like subjects. */
+    private final TruffleString input;
+    private final Object regexResult;
+    private final int groups;
+    private final int pos;
+    private final int endpos;
+
+    public PMatch(Object cls, Shape instanceShape, Object pattern, Object string, TruffleString input, Object regexResult, int groups, int pos, int endpos) {
+        super(cls, instanceShape);
+        this.pattern = pattern;
+        this.string = string;
+        this.input = input;
+        this.regexResult = regexResult;
+        this.groups = groups;
+        this.pos = pos;
+        this.endpos = endpos;
+    }
+
+    public Object getPattern() {
+        return pattern;
+    }
+
+    public Object getString() {
+        return string;
+    }
+
+    public TruffleString getInput() {
+        return input;
+    }
+
+    public boolean isBinary() {
+        return input == null;
+    }
+
+    public Object getRegexResult() {
+        return regexResult;
+    }
+
+    /**
+     * The number of capturing groups of the pattern, not counting group 0.
+     */
+    public int getGroups() {
+        return groups;
+    }
+
+    public int getPos() {
+        return pos;
+    }
+
+    public int getEndpos() {
+        return endpos;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A bounded LRU cache of compiled TRegex regexes shared by all contexts of a language instance.
+ * Compiled regexes do not depend on the context, so a context that compiles a pattern another
+ * context has already compiled gets the existing regex. The key is the full TRegex source, which
+ * includes the pattern, the flags, the encoding and the options like the method and MustAdvance.
+ */
+public final class TRegexCache {
+    /**
+     * Marks sources that TRegex cannot compile, so that they go straight to the SRE fallback.
+     */
+    public static final Object UNSUPPORTED = new Object();
+
+    private final int capacity;
+    private final LinkedHashMap<String, Object> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TRegexCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                if (size() > TRegexCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled regex or {@link #UNSUPPORTED} for the given source, or {@code null} if
+     * it has to be compiled.
+     */
+    @TruffleBoundary
+    public synchronized Object get(String source) {
+        Object compiledRegex = entries.get(source);
+        if (compiledRegex == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return compiledRegex;
+    }
+
+    @TruffleBoundary
+    public synchronized void put(String source, Object compiledRegex) {
+        if (capacity > 0) {
+            entries.put(source, compiledRegex);
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @TruffleBoundary
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @TruffleBoundary
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    @TruffleBoundary
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @TruffleBoundary
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -764,22 +764,41 @@ public enum OpCodes {
     UNARY_OP_O_O(UNARY_OP, QuickeningTypes.OBJECT, QuickeningTypes.OBJECT),
     UNARY_OP_I_O(UNARY_OP, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     UNARY_OP_I_I(UNARY_OP, QuickeningTypes.INT, QuickeningTypes.INT, UNARY_OP_I_O),
+    UNARY_OP_L_O(UNARY_OP, QuickeningTypes.LONG, QuickeningTypes.OBJECT),
+    UNARY_OP_L_L(UNARY_OP, QuickeningTypes.LONG, QuickeningTypes.LONG, UNARY_OP_L_O),
     UNARY_OP_D_O(UNARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
     UNARY_OP_D_D(UNARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, UNARY_OP_D_O),
     UNARY_OP_B_O(UNARY_OP, QuickeningTypes.BOOLEAN, QuickeningTypes.OBJECT),
-    UNARY_OP_B_B(UNARY_OP, QuickeningTypes.BOOLEAN, QuickeningTypes.BOOLEAN, UNARY_OP_I_O),
+    UNARY_OP_B_B(UNARY_OP, QuickeningTypes.BOOLEAN, QuickeningTypes.BOOLEAN, UNARY_OP_B_O),
     BINARY_OP_OO_O(BINARY_OP, QuickeningTypes.OBJECT, QuickeningTypes.OBJECT),
     BINARY_OP_II_O(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     BINARY_OP_II_I(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.INT, BINARY_OP_II_O),
     BINARY_OP_II_B(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.BOOLEAN, BINARY_OP_II_O),
+    /*
+     * The long variants also accept an int in either operand, it gets widened to long.
+     */
+    BINARY_OP_LL_O(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.OBJECT),
+    BINARY_OP_LL_L(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.LONG, BINARY_OP_LL_O),
+    BINARY_OP_LL_B(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.BOOLEAN, BINARY_OP_LL_O),
     BINARY_OP_DD_O(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
     BINARY_OP_DD_D(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, BINARY_OP_DD_O),
     BINARY_OP_DD_B(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.BOOLEAN, BINARY_OP_DD_O),
+    /*
+     * Mixed int and double operands. The input type parameter is just a union of the operand types,
+     * the concrete operand order is encoded in the opcode.
+     */
+    BINARY_OP_ID_O(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
+    BINARY_OP_ID_D(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, BINARY_OP_ID_O),
+    BINARY_OP_ID_B(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.BOOLEAN, BINARY_OP_ID_O),
+    BINARY_OP_DI_O(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
+    BINARY_OP_DI_D(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, BINARY_OP_DI_O),
+    BINARY_OP_DI_B(BINARY_OP, QuickeningTypes.INT | QuickeningTypes.DOUBLE, QuickeningTypes.BOOLEAN, BINARY_OP_DI_O),
     FOR_ITER_O(FOR_ITER, 0, QuickeningTypes.OBJECT),
     FOR_ITER_I(FOR_ITER, 0, QuickeningTypes.INT, FOR_ITER_O),
     BINARY_SUBSCR_SEQ_O_O(BINARY_SUBSCR, QuickeningTypes.OBJECT, QuickeningTypes.OBJECT),
     BINARY_SUBSCR_SEQ_I_O(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     BINARY_SUBSCR_SEQ_I_I(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.INT, BINARY_SUBSCR_SEQ_I_O),
+    BINARY_SUBSCR_SEQ_I_L(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.LONG, BINARY_SUBSCR_SEQ_I_O),
     BINARY_SUBSCR_SEQ_I_D(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.DOUBLE, BINARY_SUBSCR_SEQ_I_O),
     STORE_SUBSCR_OOO(STORE_SUBSCR, QuickeningTypes.OBJECT, 0),
     /*
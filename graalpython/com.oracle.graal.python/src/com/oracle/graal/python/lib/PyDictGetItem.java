@@ -67,6 +67,19 @@ public abstract class PyDictGetItem extends Node {
         return getItem.execute(dict.getDictStorage(), item);
     }
 
+    // Nor for int keys, their __hash__ does not need it either
+    @Specialization
+    static Object getInt(PDict dict, int item,
+                    @Shared("getItem") @Cached HashingStorageGetItem getItem) {
+        return getItem.execute(null, dict.getDictStorage(), item);
+    }
+
+    @Specialization
+    static Object getLong(PDict dict, long item,
+                    @Shared("getItem") @Cached HashingStorageGetItem getItem) {
+        return getItem.execute(null, dict.getDictStorage(), item);
+    }
+
     @Specialization(replaces = "getString")
     static Object getItemCached(VirtualFrame frame, PDict dict, Object item,
                     @Shared("getItem") @Cached HashingStorageGetItem getItem) {
@@ -95,10 +95,11 @@ public abstract class PyMemoryViewFromObject extends PNodeWithRaiseAndIndirectCa
 
     @Specialization
     PMemoryView fromMMap(PMMap object,
-                    @Cached PythonObjectFactory factory,
-                    @Cached TruffleString.CodePointLengthNode lengthNode,
-                    @Cached TruffleString.CodePointAtIndexNode atIndexNode) {
-        return factory.createMemoryViewForManagedObject(object, 1, (int) object.getLength(), false, T_UINT_8_TYPE_CODE, lengthNode, atIndexNode);
+                    @Cached PythonObjectFactory factory) {
+        // the memoryview counts as an export of the mapping until it is released or collected
+        int length = (int) object.getLength();
+        return factory.createMemoryView(PythonContext.get(this), object.getLifecycleManager(), object, object, length, !object.isWriteable(), 1, BufferFormat.UINT_8, T_UINT_8_TYPE_CODE, 1,
+                        null, 0, new int[]{length}, new int[]{1}, null, PMemoryView.FLAG_C | PMemoryView.FLAG_FORTRAN);
     }
 
     @Specialization(guards = {"!isMemoryView(object)", "!isNativeObject(object)", "!isMMap(object)"}, limit = "3")
@@ -334,6 +334,7 @@ public abstract class ErrorMessages {
     public static final TruffleString GENERATOR_ALREADY_EXECUTING = tsLiteral("generator already executing");
     public static final TruffleString GETATTR_ATTRIBUTE_NAME_MUST_BE_STRING = tsLiteral("getattr(): attribute name must be string");
     public static final TruffleString GETTING_THER_SOURCE_NOT_SUPPORTED_FOR_P = tsLiteral("getting the source is not supported for '%p'");
+    public static final TruffleString GIL_STATISTICS_NOT_ENABLED = tsLiteral("GIL statistics are not enabled, run with --python.GilStatistics");
     public static final TruffleString GLOBALS_MUST_BE_DICT = tsLiteral("%s() globals must be a dict, not %p");
     public static final TruffleString GOT_AN_INVALID_TYPE_IN_CONSTANT = tsLiteral("got an invalid type in Constant: %p");
     public static final TruffleString S_GOT_MULTIPLE_SUBPATTERNS_FOR_ATTR_S = tsLiteral("%s() got multiple sub-patterns for attribute '%s'");
@@ -982,6 +983,9 @@ public abstract class ErrorMessages {
     public static final TruffleString EXPECTING_COLON_DELIMITER = tsLiteral("Expecting ':' delimiter");
     public static final TruffleString EXPECTING_COMMA_DELIMITER = tsLiteral("Expecting ',' delimiter");
     public static final TruffleString EXPECTING_VALUE = tsLiteral("Expecting value");
+    public static final TruffleString EXPECTING_ARRAY = tsLiteral("Expecting '['");
+    public static final TruffleString EXTRA_DATA = tsLiteral("Extra data");
+    public static final TruffleString UNEXPECTED_UTF8_BOM = tsLiteral("Unexpected UTF-8 BOM (decode using utf-8-sig)");
     public static final TruffleString IOR_IS_NOT_SUPPORTED_BY_P_USE_INSTEAD = tsLiteral("'|=' is not supported by %p; use '|' instead");
     public static final TruffleString ZIP_ARG_D_IS_LONGER_THEN_ARG_SD = tsLiteral("zip() argument %d is longer than argument%s%d");
     public static final TruffleString ZIP_ARG_D_IS_SHORTER_THEN_ARG_SD = tsLiteral("zip() argument %d is shorter than argument%s%d");
@@ -1088,6 +1092,10 @@ public abstract class ErrorMessages {
     public static final TruffleString DETACHED_BUFFER = tsLiteral("underlying buffer has been detached");
     public static final TruffleString UNSUPPORTED_WHENCE = tsLiteral("whence value %d unsupported");
     public static final TruffleString IO_CLOSED = tsLiteral("I/O operation on closed file.");
+    public static final TruffleString IO_OPERATION_ON_CLOSED_EPOLL = tsLiteral("I/O operation on closed epoll object");
+    public static final TruffleString CONCURRENT_POLL_INVOCATION = tsLiteral("concurrent poll() invocation");
+    public static final TruffleString MAXEVENTS_MUST_BE_GREATER_THAN_ZERO = tsLiteral("maxevents must be greater than 0, got %d");
+    public static final TruffleString NEGATIVE_SIZEHINT = tsLiteral("negative sizehint");
     public static final TruffleString MUST_BE_NON_NEG_OR_NEG_1 = tsLiteral("read length must be non-negative or -1");
     public static final TruffleString BUF_SIZE_POS = tsLiteral("buffer size must be strictly positive");
     public static final TruffleString S_SHOULD_RETURN_BYTES = tsLiteral("%s should return bytes");
@@ -1277,6 +1285,8 @@ public abstract class ErrorMessages {
     public static final TruffleString CTYPES_OBJECTS_CONTAINING_POINTERS_CANNOT_BE_PICKLED = tsLiteral("ctypes objects containing pointers cannot be pickled");
     public static final TruffleString S_DICT_MUST_BE_A_DICTIONARY_NOT_S = tsLiteral("%s.__dict__ must be a dictionary, not %s");
     public static final TruffleString STRING_TOO_LONG = tsLiteral("string too long");
+    public static final TruffleString STRINGS_MUST_BE_ENCODED_BEFORE_HASHING = tsLiteral("Strings must be encoded before hashing");
+    public static final TruffleString OBJ_SUPPORTING_BUFFER_API_REQUIRED = tsLiteral("object supporting the buffer API required");
     public static final TruffleString UNICODE_STRING_EXPECTED_INSTEAD_OF_S_INSTANCE = tsLiteral("unicode string expected instead of %s instance");
     public static final TruffleString BYTES_EXPECTED_INSTEAD_OF_S_INSTANCE = tsLiteral("bytes expected instead of %s instance");
     public static final TruffleString BYTE_STRING_TOO_LONG = tsLiteral("byte string too long");
@@ -1300,6 +1310,96 @@ public abstract class ErrorMessages {
 
     // pickle errors
     public static final TruffleString CANNOT_PICKLE_OBJECT_TYPE = tsLiteral("cannot pickle '%p' object");
+    public static final TruffleString ARGS0_FROM_NEWOBJ_ARGS_HAS_WRONG_CLASS = tsLiteral("args[0] from __newobj__ args has the wrong class");
+    public static final TruffleString ARGS0_FROM_NEWOBJ_ARGS_IS_NOT_A_TYPE = tsLiteral("args[0] from __newobj__ args is not a type");
+    public static final TruffleString BINSTRING_PICKLE_HAS_NEGATIVE_BYTE_COUNT = tsLiteral("BINSTRING pickle has negative byte count");
+    public static final TruffleString BUFFER_CALLBACK_NEEDS_PROTOCOL_5 = tsLiteral("buffer_callback needs protocol >= 5");
+    public static final TruffleString CANT_PICKLE_LOCAL_ATTRIBUTE_S_ON_S = tsLiteral("Can't pickle local attribute %s on %s");
+    public static final TruffleString CANT_PICKLE_LOCAL_OBJECT_S = tsLiteral("Can't pickle local object %s");
+    public static final TruffleString CANT_PICKLE_MODULE_IDENTIFIER_S_USING_PROTOCOL_D = tsLiteral("can't pickle module identifier '%s' using pickle protocol %d");
+    public static final TruffleString CANT_PICKLE_P_OBJECT_S = tsLiteral("can't pickle '%p' object: %s");
+    public static final TruffleString CANT_PICKLE_S_ATTRIBUTE_LOOKUP_S_ON_S_FAILED = tsLiteral("Can't pickle %s: attribute lookup %s on %s failed");
+    public static final TruffleString CANT_PICKLE_S_EXTENSION_CODE_D_OUT_OF_RANGE = tsLiteral("Can't pickle %s: extension code %d is out of range");
+    public static final TruffleString CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED = tsLiteral("Can't pickle %s: import of module %s failed");
+    public static final TruffleString CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S = tsLiteral("Can't pickle %s: it's not the same object as %s.%s");
+    public static final TruffleString COMPAT_PICKLE_S_VALUES_SHOULD_BE_2_TUPLES_NOT_P = tsLiteral("_compat_pickle.%s values should be 2-tuples, not %p");
+    public static final TruffleString COMPAT_PICKLE_S_VALUES_SHOULD_BE_PAIRS_OF_STR_NOT_P_P = tsLiteral("_compat_pickle.%s values should be pairs of str, not (%p, %p)");
+    public static final TruffleString COMPAT_PICKLE_S_VALUES_SHOULD_BE_STRINGS_NOT_P = tsLiteral("_compat_pickle.%s values should be strings, not %p");
+    public static final TruffleString COULD_NOT_FIND_MARK = tsLiteral("could not find MARK");
+    public static final TruffleString DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES = tsLiteral("dict items iterator must return 2-tuples");
+    public static final TruffleString EXT_SPECIFIES_CODE_LE_0 = tsLiteral("EXT specifies code <= 0");
+    public static final TruffleString FILE_MUST_HAVE_READ_AND_READLINE_ATTRS = tsLiteral("file must have 'read' and 'readline' attributes");
+    public static final TruffleString FILE_MUST_HAVE_WRITE_ATTR = tsLiteral("file must have a 'write' attribute");
+    public static final TruffleString FIRST_ITEM_OF_REDUCE_TUPLE_MUST_BE_CALLABLE = tsLiteral("first item of the tuple returned by __reduce__ must be callable");
+    public static final TruffleString INVALID_LOAD_KEY_S = tsLiteral("invalid load key, '%s'.");
+    public static final TruffleString INVERTED_REGISTRY_D_ISNT_2_TUPLE_OF_STRINGS = tsLiteral("_inverted_registry[%d] isn't a 2-tuple of strings");
+    public static final TruffleString LENGTH_OF_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_3_NOT_D = tsLiteral("length of the NEWOBJ_EX argument tuple must be exactly 3, not %d");
+    public static final TruffleString LONG_PICKLE_HAS_NEGATIVE_BYTE_COUNT = tsLiteral("LONG pickle has negative byte count");
+    public static final TruffleString MAXIMUM_RECURSION_DEPTH_EXCEEDED_WHILE_PICKLING = tsLiteral("maximum recursion depth exceeded while pickling an object");
+    public static final TruffleString MEMO_KEYS_MUST_BE_POSITIVE_INTEGERS = tsLiteral("memo key must be positive integers.");
+    public static final TruffleString MEMO_MUST_BE_S_OR_DICT_NOT_P = tsLiteral("'memo' attribute must be a %s object or dict, not %p");
+    public static final TruffleString MEMO_VALUES_MUST_BE_2_ITEM_TUPLES = tsLiteral("'memo' values must be 2-item tuples");
+    public static final TruffleString MEMO_VALUE_NOT_FOUND_AT_INDEX_D = tsLiteral("Memo value not found at index %d");
+    public static final TruffleString NEGATIVE_PUT_ARGUMENT = tsLiteral("negative PUT argument");
+    public static final TruffleString NEWOBJ_ARGLIST_IS_EMPTY = tsLiteral("__newobj__ arglist is empty");
+    public static final TruffleString NEWOBJ_EX_KWARGS_ARGUMENT_MUST_BE_A_DICT_NOT_P = tsLiteral("NEWOBJ_EX kwargs argument must be a dict, not %p");
+    public static final TruffleString NOT_ENOUGH_OUT_OF_BAND_BUFFERS = tsLiteral("not enough out-of-band buffers");
+    public static final TruffleString NO_PERSISTENT_LOAD = tsLiteral("A load persistent id instruction was encountered, but no persistent_load function was specified.");
+    public static final TruffleString ODD_NUMBER_OF_ITEMS_FOR_S = tsLiteral("odd number of items for %s");
+    public static final TruffleString OP_FORBIDDEN_ON_RELEASED_PICKLEBUFFER = tsLiteral("operation forbidden on released PickleBuffer object");
+    public static final TruffleString PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII = tsLiteral("persistent IDs in protocol 0 must be ASCII strings");
+    public static final TruffleString PICKLEBUFFER_CAN_ONLY_BE_PICKLED_WITH_PROTOCOL_5 = tsLiteral("PickleBuffer can only pickled with protocol >= 5");
+    public static final TruffleString PICKLE_DATA_WAS_TRUNCATED = tsLiteral("pickle data was truncated");
+    public static final TruffleString PICKLE_PROTOCOL_MUST_BE_LE = tsLiteral("pickle protocol must be <= %d");
+    public static final TruffleString PICKLE_STREAM_REFERS_TO_OUT_OF_BAND_DATA = tsLiteral("pickle stream refers to out-of-band data but no *buffers* argument was given");
+    public static final TruffleString RAN_OUT_OF_INPUT = tsLiteral("Ran out of input");
+    public static final TruffleString READLINE_RETURNED_NOT_BYTES = tsLiteral("readline() returned a non-bytes object: '%p'");
+    public static final TruffleString REDUCE_MUST_RETURN_STRING_OR_TUPLE = tsLiteral("__reduce__ must return a string or tuple");
+    public static final TruffleString SECOND_ITEM_OF_REDUCE_TUPLE_MUST_BE_TUPLE = tsLiteral("second item of the tuple returned by __reduce__ must be a tuple");
+    public static final TruffleString SIXTH_ELEMENT_OF_REDUCE_TUPLE_MUST_BE_FUNCTION_NOT_P = tsLiteral("sixth element of the tuple returned by __reduce__ must be a function, not %p");
+    public static final TruffleString SIZE_EXCEEDS_MAX = tsLiteral("pickle data exceeds the maximum supported size");
+    public static final TruffleString SLOT_STATE_IS_NOT_A_DICTIONARY = tsLiteral("slot state is not a dictionary");
+    public static final TruffleString STACK_GLOBAL_REQUIRES_STR = tsLiteral("STACK_GLOBAL requires str");
+    public static final TruffleString STATE_IS_NOT_A_DICTIONARY = tsLiteral("state is not a dictionary");
+    public static final TruffleString STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED = tsLiteral("the STRING opcode argument must be quoted");
+    public static final TruffleString S_ARGS_ARGUMENT_MUST_BE_A_TUPLE_NOT_P = tsLiteral("%s args argument must be a tuple, not %p");
+    public static final TruffleString S_CLASS_ARGUMENT_MUST_BE_A_TYPE_NOT_P = tsLiteral("%s class argument must be a type, not %p");
+    public static final TruffleString S_ELEMENT_OF_REDUCE_TUPLE_MUST_BE_ITERATOR_NOT_P = tsLiteral("%s element of the tuple returned by __reduce__ must be an iterator, not %p");
+    public static final TruffleString S_INIT_WAS_NOT_CALLED_BY_P_INIT = tsLiteral("%s.__init__() was not called by %p.__init__()");
+    public static final TruffleString S_ITEM_FROM_NEWOBJ_EX_ARGUMENT_TUPLE_MUST_BE_S_NOT_P = tsLiteral("%s item from NEWOBJ_EX argument tuple must be %s, not %p");
+    public static final TruffleString S_MUST_BE_A_CALLABLE_TAKING_ONE_ARGUMENT = tsLiteral("%s must be a callable taking one argument");
+    public static final TruffleString TUPLE_RETURNED_BY_REDUCE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS = tsLiteral("tuple returned by __reduce__ must contain 2 through 6 elements");
+    public static final TruffleString UNEXPECTED_MARK_FOUND = tsLiteral("unexpected MARK found");
+    public static final TruffleString UNPICKLING_STACK_UNDERFLOW = tsLiteral("unpickling stack underflow");
+    public static final TruffleString UNREGISTERED_EXTENSION_CODE_D = tsLiteral("unregistered extension code %d");
+    public static final TruffleString UNSUPPORTED_PICKLE_PROTOCOL_D = tsLiteral("unsupported pickle protocol: %d");
+
+    // struct errors
+    public static final TruffleString ARGUMENT_FOR_S_MUST_BE_A_BYTES_OBJECT = tsLiteral("argument for '%s' must be a bytes object");
+    public static final TruffleString ARGUMENT_OUT_OF_RANGE = tsLiteral("argument out of range");
+    public static final TruffleString BAD_CHAR_IN_STRUCT_FORMAT = tsLiteral("bad char in struct format");
+    public static final TruffleString CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LENGTH_0 = tsLiteral("cannot iteratively unpack with a struct of length 0");
+    public static final TruffleString CHAR_FORMAT_REQUIRES_BYTES_OF_LENGTH_1 = tsLiteral("char format requires a bytes object of length 1");
+    public static final TruffleString FMT_REQUIRES_0_LE_NUMBER_LE_D = tsLiteral("'%s' format requires 0 <= number <= %d");
+    public static final TruffleString FMT_REQUIRES_D_LE_NUMBER_LE_D = tsLiteral("'%s' format requires %d <= number <= %d");
+    public static final TruffleString ITERATIVE_UNPACKING_REQUIRES_MULTIPLE_OF_D_BYTES = tsLiteral("iterative unpacking requires a buffer of a multiple of %d bytes");
+    public static final TruffleString NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D = tsLiteral("no space to pack %d bytes at offset %d");
+    public static final TruffleString OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER = tsLiteral("offset %d out of range for %d-byte buffer");
+    public static final TruffleString PACK_EXPECTED_D_ITEMS_GOT_D = tsLiteral("pack expected %d items for packing (got %d)");
+    public static final TruffleString PACK_INTO_EXPECTED_D_ITEMS_GOT_D = tsLiteral("pack_into expected %d items for packing (got %d)");
+    public static final TruffleString PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES = tsLiteral("pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString REPEAT_COUNT_WITHOUT_FMT = tsLiteral("repeat count given without format specifier");
+    public static final TruffleString REQUIRED_ARGUMENT_IS_NOT_A_FLOAT = tsLiteral("required argument is not a float");
+    public static final TruffleString REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER = tsLiteral("required argument is not an integer");
+    public static final TruffleString S_FORMAT_REQUIRES_D_LE_NUMBER_LE_D = tsLiteral("%s format requires %d <= number <= %d");
+    public static final TruffleString STRUCT_ARG_MUST_BE_STR_OR_BYTES_NOT_P = tsLiteral("Struct() argument 1 must be a str or bytes object, not %p");
+    public static final TruffleString TOTAL_STRUCT_SIZE_TOO_LONG = tsLiteral("total struct size too long");
+    public static final TruffleString UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES = tsLiteral("unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString UNPACK_REQUIRES_BUFFER_OF_D_BYTES = tsLiteral("unpack requires a buffer of %d bytes");
+
+    // re errors
+    public static final TruffleString EXPECTED_STR_INSTANCE_P_FOUND = tsLiteral("expected str instance, %p found");
+    public static final TruffleString NO_SUCH_GROUP = tsLiteral("no such group");
 
     // csv errors
     public static final TruffleString MUST_BE_ONE_CHARACTER_STRING = tsLiteral("\"%s\" must be a 1-character string");
@@ -1317,6 +1417,7 @@ public abstract class ErrorMessages {
     public static final TruffleString EMPTY_FIELD_RECORD_MUST_BE_QUOTED = tsLiteral("single empty field record must be quoted");
     public static final TruffleString ESCAPE_WITHOUT_ESCAPECHAR = tsLiteral("need to escape, but no escapechar set");
     public static final TruffleString S_MUST_HAVE_WRITE_METHOD = tsLiteral("%s must have \"write\" method");
+    public static final TruffleString BULK_READER_REQUIRES_ASCII_S = tsLiteral("bulk_reader requires an ASCII \"%s\"");
 
     // frozen module errors
     public static final TruffleString NO_SUCH_FROZEN_OBJECT = tsLiteral("No such frozen object named %s");
@@ -104,6 +104,7 @@ import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.StringSequenceStorage;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
@@ -236,6 +237,10 @@ public abstract class PGuards {
         return sequence.getSequenceStorage() instanceof IntSequenceStorage;
     }
 
+    public static boolean isStringStorage(PSequence sequence) {
+        return sequence.getSequenceStorage() instanceof StringSequenceStorage;
+    }
+
     public static boolean isByteStorage(PSequence array) {
         return array.getSequenceStorage() instanceof ByteSequenceStorage;
     }
@@ -351,6 +351,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     private static final NodeSupplier<GetSendValueNode> NODE_GET_SEND_VALUE = GetSendValueNode::create;
     private static final NodeSupplier<BinarySubscrSeq.ONode> NODE_BINARY_SUBSCR_SEQ_O = BinarySubscrSeq.ONode::create;
     private static final NodeSupplier<BinarySubscrSeq.INode> NODE_BINARY_SUBSCR_SEQ_I = BinarySubscrSeq.INode::create;
+    private static final NodeSupplier<BinarySubscrSeq.LNode> NODE_BINARY_SUBSCR_SEQ_L = BinarySubscrSeq.LNode::create;
     private static final NodeSupplier<BinarySubscrSeq.DNode> NODE_BINARY_SUBSCR_SEQ_D = BinarySubscrSeq.DNode::create;
     private static final NodeSupplier<StoreSubscrSeq.ONode> NODE_STORE_SUBSCR_SEQ_O = StoreSubscrSeq.ONode::create;
     private static final NodeSupplier<StoreSubscrSeq.INode> NODE_STORE_SUBSCR_SEQ_I = StoreSubscrSeq.INode::create;
@@ -1654,6 +1655,16 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeUnaryOpIO(virtualFrame, stackTop, bci++, localNodes, op);
                         break;
                     }
+                    case OpCodesConstants.UNARY_OP_L_L: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeUnaryOpLL(virtualFrame, stackTop, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.UNARY_OP_L_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeUnaryOpLO(virtualFrame, stackTop, bci++, localNodes, op);
+                        break;
+                    }
                     case OpCodesConstants.UNARY_OP_D_D: {
                         int op = Byte.toUnsignedInt(localBC[bci + 1]);
                         bytecodeUnaryOpDD(virtualFrame, stackTop, bci++, localNodes, op);
@@ -1699,6 +1710,21 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeBinaryOpIIO(virtualFrame, stackTop--, bci++, localNodes, op);
                         break;
                     }
+                    case OpCodesConstants.BINARY_OP_LL_L: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLL(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_LL_B: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLB(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_LL_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
                     case OpCodesConstants.BINARY_OP_DD_D: {
                         int op = Byte.toUnsignedInt(localBC[bci + 1]);
                         bytecodeBinaryOpDDD(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
@@ -1714,6 +1740,36 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeBinaryOpDDO(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
                         break;
                     }
+                    case OpCodesConstants.BINARY_OP_ID_D: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpIDD(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_ID_B: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpIDB(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_ID_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpIDO(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_DI_D: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpDID(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_DI_B: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpDIB(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_DI_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpDIO(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
                     case OpCodesConstants.BINARY_SUBSCR: {
                         stackTop = bytecodeBinarySubscrAdaptive(virtualFrame, stackTop, bci, localNodes, bciSlot);
                         break;
@@ -1722,6 +1778,10 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         stackTop = bytecodeBinarySubscrSeqII(virtualFrame, stackTop, bci, localNodes);
                         break;
                     }
+                    case OpCodesConstants.BINARY_SUBSCR_SEQ_I_L: {
+                        stackTop = bytecodeBinarySubscrSeqIL(virtualFrame, stackTop, bci, localNodes);
+                        break;
+                    }
                     case OpCodesConstants.BINARY_SUBSCR_SEQ_I_D: {
                         stackTop = bytecodeBinarySubscrSeqID(virtualFrame, stackTop, bci, localNodes);
                         break;
@@ -2723,6 +2783,9 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                 if (result instanceof Integer && (outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
                     bytecode[bci] = OpCodesConstants.BINARY_SUBSCR_SEQ_I_I;
                     virtualFrame.setInt(stackTop, (Integer) result);
+                } else if (result instanceof Long && (outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+                    bytecode[bci] = OpCodesConstants.BINARY_SUBSCR_SEQ_I_L;
+                    virtualFrame.setLong(stackTop, (Long) result);
                 } else if (result instanceof Double && (outputCanQuicken[bci] & QuickeningTypes.DOUBLE) != 0) {
                     bytecode[bci] = OpCodesConstants.BINARY_SUBSCR_SEQ_I_D;
                     virtualFrame.setDouble(stackTop, (Double) result);
@@ -2792,6 +2855,25 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return stackTop;
     }
 
+    @BytecodeInterpreterSwitch
+    private int bytecodeBinarySubscrSeqIL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes) {
+        if (!virtualFrame.isInt(stackTop)) {
+            return generalizeBinarySubscr(virtualFrame, stackTop, bci, localNodes);
+        }
+        int index = virtualFrame.getInt(stackTop);
+        Object sequence = virtualFrame.getObject(stackTop - 1);
+        BinarySubscrSeq.LNode node = insertChildNode(localNodes, bci, BinarySubscrSeqFactory.LNodeGen.class, NODE_BINARY_SUBSCR_SEQ_L);
+        long value;
+        try {
+            value = node.execute(sequence, index);
+        } catch (QuickeningGeneralizeException e) {
+            return generalizeBinarySubscrSeq(virtualFrame, stackTop, bci, localNodes, e);
+        }
+        virtualFrame.setObject(stackTop--, null);
+        virtualFrame.setLong(stackTop, value);
+        return stackTop;
+    }
+
     @BytecodeInterpreterSwitch
     private int bytecodeBinarySubscrSeqID(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes) {
         if (!virtualFrame.isInt(stackTop)) {
@@ -3105,6 +3187,60 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     }
                     return;
             }
+        } else if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            // At least one of the operands is a long, the other one can be an int
+            switch (op) {
+                case BinaryOpsConstants.ADD:
+                case BinaryOpsConstants.INPLACE_ADD:
+                case BinaryOpsConstants.SUB:
+                case BinaryOpsConstants.INPLACE_SUB:
+                case BinaryOpsConstants.MUL:
+                case BinaryOpsConstants.INPLACE_MUL:
+                case BinaryOpsConstants.FLOORDIV:
+                case BinaryOpsConstants.INPLACE_FLOORDIV:
+                case BinaryOpsConstants.MOD:
+                case BinaryOpsConstants.INPLACE_MOD:
+                case BinaryOpsConstants.AND:
+                case BinaryOpsConstants.INPLACE_AND:
+                case BinaryOpsConstants.OR:
+                case BinaryOpsConstants.INPLACE_OR:
+                case BinaryOpsConstants.XOR:
+                case BinaryOpsConstants.INPLACE_XOR:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_L;
+                        bytecodeBinaryOpLLL(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+                    } else {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    }
+                    return;
+                case BinaryOpsConstants.TRUEDIV:
+                case BinaryOpsConstants.INPLACE_TRUEDIV:
+                case BinaryOpsConstants.LSHIFT:
+                case BinaryOpsConstants.INPLACE_LSHIFT:
+                case BinaryOpsConstants.RSHIFT:
+                case BinaryOpsConstants.INPLACE_RSHIFT:
+                case BinaryOpsConstants.POW:
+                case BinaryOpsConstants.INPLACE_POW:
+                    localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                    bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                case BinaryOpsConstants.EQ:
+                case BinaryOpsConstants.NE:
+                case BinaryOpsConstants.GT:
+                case BinaryOpsConstants.GE:
+                case BinaryOpsConstants.LE:
+                case BinaryOpsConstants.LT:
+                case BinaryOpsConstants.IS:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.BOOLEAN) != 0) {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_B;
+                        bytecodeBinaryOpLLB(virtualFrame, stackTop, bci, localNodes, op);
+                    } else {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    }
+                    return;
+            }
         } else if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
             switch (op) {
                 case BinaryOpsConstants.ADD:
@@ -3117,7 +3253,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                 case BinaryOpsConstants.INPLACE_TRUEDIV:
                 case BinaryOpsConstants.POW:
                 case BinaryOpsConstants.INPLACE_POW:
-                    if ((outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
+                    if ((outputCanQuicken[bci] & QuickeningTypes.DOUBLE) != 0) {
                         localBC[bci] = OpCodesConstants.BINARY_OP_DD_D;
                         bytecodeBinaryOpDDD(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
                     } else {
@@ -3140,6 +3276,45 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     }
                     return;
             }
+        } else if ((virtualFrame.isInt(stackTop - 1) && virtualFrame.isDouble(stackTop)) || (virtualFrame.isDouble(stackTop - 1) && virtualFrame.isInt(stackTop))) {
+            // The int operand is widened to double, which is exact for 32-bit values
+            boolean intLeft = virtualFrame.isInt(stackTop - 1);
+            double left = intLeft ? virtualFrame.getInt(stackTop - 1) : virtualFrame.getDouble(stackTop - 1);
+            double right = intLeft ? virtualFrame.getDouble(stackTop) : virtualFrame.getInt(stackTop);
+            switch (op) {
+                case BinaryOpsConstants.ADD:
+                case BinaryOpsConstants.INPLACE_ADD:
+                case BinaryOpsConstants.SUB:
+                case BinaryOpsConstants.INPLACE_SUB:
+                case BinaryOpsConstants.MUL:
+                case BinaryOpsConstants.INPLACE_MUL:
+                case BinaryOpsConstants.TRUEDIV:
+                case BinaryOpsConstants.INPLACE_TRUEDIV:
+                case BinaryOpsConstants.POW:
+                case BinaryOpsConstants.INPLACE_POW:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.DOUBLE) != 0) {
+                        localBC[bci] = intLeft ? OpCodesConstants.BINARY_OP_ID_D : OpCodesConstants.BINARY_OP_DI_D;
+                        binaryOpDDD(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+                    } else {
+                        localBC[bci] = intLeft ? OpCodesConstants.BINARY_OP_ID_O : OpCodesConstants.BINARY_OP_DI_O;
+                        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+                    }
+                    return;
+                case BinaryOpsConstants.EQ:
+                case BinaryOpsConstants.NE:
+                case BinaryOpsConstants.GT:
+                case BinaryOpsConstants.GE:
+                case BinaryOpsConstants.LE:
+                case BinaryOpsConstants.LT:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.BOOLEAN) != 0) {
+                        localBC[bci] = intLeft ? OpCodesConstants.BINARY_OP_ID_B : OpCodesConstants.BINARY_OP_DI_B;
+                        binaryOpDDB(virtualFrame, stackTop, op, left, right);
+                    } else {
+                        localBC[bci] = intLeft ? OpCodesConstants.BINARY_OP_ID_O : OpCodesConstants.BINARY_OP_DI_O;
+                        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+                    }
+                    return;
+            }
         }
         // TODO other types
         generalizeFrameSlot(virtualFrame, stackTop);
@@ -3374,9 +3549,225 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         virtualFrame.setInt(stackTop - 1, result);
     }
 
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        long right, left, result;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        switch (op) {
+            case BinaryOpsConstants.ADD:
+            case BinaryOpsConstants.INPLACE_ADD:
+                try {
+                    result = Math.addExact(left, right);
+                } catch (ArithmeticException e) {
+                    generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                break;
+            case BinaryOpsConstants.SUB:
+            case BinaryOpsConstants.INPLACE_SUB:
+                try {
+                    result = Math.subtractExact(left, right);
+                } catch (ArithmeticException e) {
+                    generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                break;
+            case BinaryOpsConstants.MUL:
+            case BinaryOpsConstants.INPLACE_MUL:
+                try {
+                    result = Math.multiplyExact(left, right);
+                } catch (ArithmeticException e) {
+                    generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                break;
+            case BinaryOpsConstants.FLOORDIV:
+            case BinaryOpsConstants.INPLACE_FLOORDIV:
+                if (left == Long.MIN_VALUE && right == -1) {
+                    generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                if (right == 0) {
+                    PRaiseNode raiseNode = insertChildNode(localNodes, bci, UNCACHED_RAISE, PRaiseNodeGen.class, NODE_RAISE, useCachedNodes);
+                    throw raiseNode.raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+                }
+                result = Math.floorDiv(left, right);
+                break;
+            case BinaryOpsConstants.MOD:
+            case BinaryOpsConstants.INPLACE_MOD:
+                if (right == 0) {
+                    PRaiseNode raiseNode = insertChildNode(localNodes, bci, UNCACHED_RAISE, PRaiseNodeGen.class, NODE_RAISE, useCachedNodes);
+                    throw raiseNode.raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+                }
+                result = Math.floorMod(left, right);
+                break;
+            case BinaryOpsConstants.AND:
+            case BinaryOpsConstants.INPLACE_AND:
+                result = left & right;
+                break;
+            case BinaryOpsConstants.OR:
+            case BinaryOpsConstants.INPLACE_OR:
+                result = left | right;
+                break;
+            case BinaryOpsConstants.XOR:
+            case BinaryOpsConstants.INPLACE_XOR:
+                result = left ^ right;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_L");
+        }
+        virtualFrame.setLong(stackTop - 1, result);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long right, left;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        boolean result;
+        switch (op) {
+            case BinaryOpsConstants.EQ:
+            case BinaryOpsConstants.IS:
+                result = left == right;
+                break;
+            case BinaryOpsConstants.NE:
+                result = left != right;
+                break;
+            case BinaryOpsConstants.LT:
+                result = left < right;
+                break;
+            case BinaryOpsConstants.LE:
+                result = left <= right;
+                break;
+            case BinaryOpsConstants.GT:
+                result = left > right;
+                break;
+            case BinaryOpsConstants.GE:
+                result = left >= right;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_B");
+        }
+        virtualFrame.setBoolean(stackTop - 1, result);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long right, left;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        Object result;
+        switch (op) {
+            case BinaryOpsConstants.ADD:
+            case BinaryOpsConstants.INPLACE_ADD:
+                IntBuiltins.AddNode addNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.AddNodeFactory.AddNodeGen.class, NODE_INT_ADD);
+                result = addNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.SUB:
+            case BinaryOpsConstants.INPLACE_SUB:
+                IntBuiltins.SubNode subNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.SubNodeFactory.SubNodeGen.class, NODE_INT_SUB);
+                result = subNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.MUL:
+            case BinaryOpsConstants.INPLACE_MUL:
+                IntBuiltins.MulNode mulNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.MulNodeFactory.MulNodeGen.class, NODE_INT_MUL);
+                result = mulNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.FLOORDIV:
+            case BinaryOpsConstants.INPLACE_FLOORDIV:
+                IntBuiltins.FloorDivNode floorDivNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.FloorDivNodeFactory.FloorDivNodeGen.class, NODE_INT_FLOORDIV);
+                result = floorDivNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.TRUEDIV:
+            case BinaryOpsConstants.INPLACE_TRUEDIV:
+                IntBuiltins.TrueDivNode trueDivNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.TrueDivNodeFactory.TrueDivNodeGen.class, NODE_INT_TRUEDIV);
+                result = trueDivNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.MOD:
+            case BinaryOpsConstants.INPLACE_MOD:
+                IntBuiltins.ModNode modNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.ModNodeFactory.ModNodeGen.class, NODE_INT_MOD);
+                result = modNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.LSHIFT:
+            case BinaryOpsConstants.INPLACE_LSHIFT:
+                IntBuiltins.LShiftNode lShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.LShiftNodeFactory.LShiftNodeGen.class, NODE_INT_LSHIFT);
+                result = lShiftNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.RSHIFT:
+            case BinaryOpsConstants.INPLACE_RSHIFT:
+                IntBuiltins.RShiftNode rShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.RShiftNodeFactory.RShiftNodeGen.class, NODE_INT_RSHIFT);
+                result = rShiftNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.POW:
+            case BinaryOpsConstants.INPLACE_POW:
+                IntBuiltins.PowNode powNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.PowNodeFactory.PowNodeGen.class, NODE_INT_POW);
+                result = powNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.AND:
+            case BinaryOpsConstants.INPLACE_AND:
+                result = left & right;
+                break;
+            case BinaryOpsConstants.OR:
+            case BinaryOpsConstants.INPLACE_OR:
+                result = left | right;
+                break;
+            case BinaryOpsConstants.XOR:
+            case BinaryOpsConstants.INPLACE_XOR:
+                result = left ^ right;
+                break;
+            case BinaryOpsConstants.IS:
+            case BinaryOpsConstants.EQ:
+                result = left == right;
+                break;
+            case BinaryOpsConstants.NE:
+                result = left != right;
+                break;
+            case BinaryOpsConstants.LT:
+                result = left < right;
+                break;
+            case BinaryOpsConstants.LE:
+                result = left <= right;
+                break;
+            case BinaryOpsConstants.GT:
+                result = left > right;
+                break;
+            case BinaryOpsConstants.GE:
+                result = left >= right;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_O");
+        }
+        virtualFrame.setObject(stackTop, null);
+        virtualFrame.setObject(stackTop - 1, result);
+    }
+
+    private static boolean isIntOrLong(VirtualFrame virtualFrame, int slot) {
+        return virtualFrame.isLong(slot) || virtualFrame.isInt(slot);
+    }
+
+    private static long getIntOrLong(VirtualFrame virtualFrame, int slot) {
+        return virtualFrame.isLong(slot) ? virtualFrame.getLong(slot) : virtualFrame.getInt(slot);
+    }
+
     @BytecodeInterpreterSwitch
     private void bytecodeBinaryOpDDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
-        double right, left, result;
+        double right, left;
         if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
             right = virtualFrame.getDouble(stackTop);
             left = virtualFrame.getDouble(stackTop - 1);
@@ -3384,6 +3775,116 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
             return;
         }
+        binaryOpDDD(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpDDB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        double right, left;
+        if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
+            right = virtualFrame.getDouble(stackTop);
+            left = virtualFrame.getDouble(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDB(virtualFrame, stackTop, op, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpDDO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        double right, left;
+        if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
+            right = virtualFrame.getDouble(stackTop);
+            left = virtualFrame.getDouble(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpIDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        double right, left;
+        if (virtualFrame.isDouble(stackTop) && virtualFrame.isInt(stackTop - 1)) {
+            right = virtualFrame.getDouble(stackTop);
+            left = virtualFrame.getInt(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDD(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpIDB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        double right, left;
+        if (virtualFrame.isDouble(stackTop) && virtualFrame.isInt(stackTop - 1)) {
+            right = virtualFrame.getDouble(stackTop);
+            left = virtualFrame.getInt(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDB(virtualFrame, stackTop, op, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpIDO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        double right, left;
+        if (virtualFrame.isDouble(stackTop) && virtualFrame.isInt(stackTop - 1)) {
+            right = virtualFrame.getDouble(stackTop);
+            left = virtualFrame.getInt(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpDID(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        double right, left;
+        if (virtualFrame.isInt(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
+            right = virtualFrame.getInt(stackTop);
+            left = virtualFrame.getDouble(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDD(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpDIB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        double right, left;
+        if (virtualFrame.isInt(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
+            right = virtualFrame.getInt(stackTop);
+            left = virtualFrame.getDouble(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDB(virtualFrame, stackTop, op, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpDIO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        double right, left;
+        if (virtualFrame.isInt(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
+            right = virtualFrame.getInt(stackTop);
+            left = virtualFrame.getDouble(stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void binaryOpDDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes, double left, double right) {
+        double result;
         try {
             switch (op) {
                 case BinaryOpsConstants.ADD:
@@ -3415,22 +3916,14 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_DD_D");
             }
         } catch (UnexpectedResultException e) {
-            generalizeBinaryOpDDDOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+            generalizeBinaryOpDDDOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
             return;
         }
         virtualFrame.setDouble(stackTop - 1, result);
     }
 
     @BytecodeInterpreterSwitch
-    private void bytecodeBinaryOpDDB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
-        double right, left;
-        if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
-            right = virtualFrame.getDouble(stackTop);
-            left = virtualFrame.getDouble(stackTop - 1);
-        } else {
-            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
-            return;
-        }
+    private static void binaryOpDDB(VirtualFrame virtualFrame, int stackTop, int op, double left, double right) {
         boolean result;
         switch (op) {
             case BinaryOpsConstants.EQ:
@@ -3458,15 +3951,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     }
 
     @BytecodeInterpreterSwitch
-    private void bytecodeBinaryOpDDO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
-        int right, left;
-        if (virtualFrame.isInt(stackTop) && virtualFrame.isInt(stackTop - 1)) {
-            right = virtualFrame.getInt(stackTop);
-            left = virtualFrame.getInt(stackTop - 1);
-        } else {
-            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
-            return;
-        }
+    private void binaryOpDDO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes, double left, double right) {
         Object result;
         switch (op) {
             case BinaryOpsConstants.ADD:
@@ -3535,10 +4020,17 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         bytecodeBinaryOpIIO(virtualFrame, stackTop, bci, localNodes, op);
     }
 
-    private void generalizeBinaryOpDDDOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+    private void generalizeBinaryOpLLLOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        bytecode[bci] = OpCodesConstants.BINARY_OP_DD_O;
-        bytecodeBinaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+        bytecode[bci] = OpCodesConstants.BINARY_OP_LL_O;
+        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+    }
+
+    private void generalizeBinaryOpDDDOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes, double left, double right) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        // DD_D, ID_D and DI_D all generalize to the object result variant with the same inputs
+        bytecode[bci] = (byte) OpCodes.fromOpCode(bytecode[bci]).generalizesTo.ordinal();
+        binaryOpDDO(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes, left, right);
     }
 
     @BytecodeInterpreterSwitch
@@ -3580,9 +4072,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             localBC[bci] = OpCodesConstants.UNARY_OP_I_O;
             bytecodeUnaryOpIO(virtualFrame, stackTop, bci, localNodes, op);
             return;
-        } else if (virtualFrame.isDouble(stackTop)) {
-            if ((outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
-                if (op == UnaryOpsConstants.NOT || op == UnaryOpsConstants.INVERT) {
+        } else if (virtualFrame.isLong(stackTop)) {
+            if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0 && op != UnaryOpsConstants.NOT) {
+                localBC[bci] = OpCodesConstants.UNARY_OP_L_L;
+                bytecodeUnaryOpLL(virtualFrame, stackTop, bci, localNodes, op);
+                return;
+            }
+            localBC[bci] = OpCodesConstants.UNARY_OP_L_O;
+            bytecodeUnaryOpLO(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        } else if (virtualFrame.isDouble(stackTop) && op != UnaryOpsConstants.INVERT) {
+            if ((outputCanQuicken[bci] & QuickeningTypes.DOUBLE) != 0) {
+                if (op == UnaryOpsConstants.NOT) {
                     // TODO UNARY_OP_D_B
                     localBC[bci] = OpCodesConstants.UNARY_OP_D_O;
                     bytecodeUnaryOpDO(virtualFrame, stackTop, bci, localNodes, op);
@@ -3593,7 +4094,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                 return;
             }
             localBC[bci] = OpCodesConstants.UNARY_OP_D_O;
-            bytecodeUnaryOpIO(virtualFrame, stackTop, bci, localNodes, op);
+            bytecodeUnaryOpDO(virtualFrame, stackTop, bci, localNodes, op);
             return;
         } else if (virtualFrame.isBoolean(stackTop)) {
             if (op == UnaryOpsConstants.NOT) {
@@ -3673,6 +4174,66 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         virtualFrame.setObject(stackTop, result);
     }
 
+    @BytecodeInterpreterSwitch
+    private void bytecodeUnaryOpLL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long value;
+        if (virtualFrame.isLong(stackTop)) {
+            value = virtualFrame.getLong(stackTop);
+        } else {
+            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        switch (op) {
+            case UnaryOpsConstants.POSITIVE:
+                break;
+            case UnaryOpsConstants.NEGATIVE:
+                try {
+                    virtualFrame.setLong(stackTop, Math.negateExact(value));
+                } catch (ArithmeticException e) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    bytecode[bci] = OpCodesConstants.UNARY_OP_L_O;
+                    bytecodeUnaryOpLO(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                break;
+            case UnaryOpsConstants.INVERT:
+                virtualFrame.setLong(stackTop, ~value);
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for UNARY_OP_L_L");
+        }
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeUnaryOpLO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long value;
+        if (virtualFrame.isLong(stackTop)) {
+            value = virtualFrame.getLong(stackTop);
+        } else {
+            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        Object result;
+        switch (op) {
+            case UnaryOpsConstants.NOT:
+                result = value == 0;
+                break;
+            case UnaryOpsConstants.POSITIVE:
+                result = value;
+                break;
+            case UnaryOpsConstants.NEGATIVE:
+                IntBuiltins.NegNode negNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.NegNodeFactory.NegNodeGen.class, NODE_INT_NEG);
+                result = negNode.execute(value);
+                break;
+            case UnaryOpsConstants.INVERT:
+                result = ~value;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for UNARY_OP_L_O");
+        }
+        virtualFrame.setObject(stackTop, result);
+    }
+
     @BytecodeInterpreterSwitch
     private void bytecodeUnaryOpDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
         double value;
@@ -57,6 +57,7 @@ import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.graal.python.runtime.sequence.storage.StringSequenceStorage;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -67,6 +68,7 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.api.strings.TruffleString;
 
 abstract class SequenceFromStackNode extends PNodeWithContext {
     @CompilationFinal protected final int length;
@@ -166,6 +168,16 @@ abstract class SequenceFromStackNode extends PNodeWithContext {
                         storage = new DoubleSequenceStorage(elements, length);
                         break;
                     }
+                    case String: {
+                        TruffleString[] elements = new TruffleString[getCapacityEstimate()];
+                        array = elements;
+                        for (int i = start; i < stop; i++, j++) {
+                            elements[j] = castString(frame.getObject(i));
+                            frame.setObject(i, null);
+                        }
+                        storage = new StringSequenceStorage(elements, length);
+                        break;
+                    }
                     case Generic: {
                         Object[] elements = new Object[getCapacityEstimate()];
                         for (int i = start; i < stop; i++, j++) {
@@ -223,6 +235,13 @@ abstract class SequenceFromStackNode extends PNodeWithContext {
         throw new UnexpectedResultException(o);
     }
 
+    private static TruffleString castString(Object o) throws UnexpectedResultException {
+        if (o instanceof TruffleString) {
+            return (TruffleString) o;
+        }
+        throw new UnexpectedResultException(o);
+    }
+
     private static boolean castBoolean(Object o) throws UnexpectedResultException {
         if (o instanceof Boolean) {
             return (boolean) o;
@@ -49,6 +49,7 @@ import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -179,7 +180,8 @@ public class AsyncHandler {
 
     private final WeakReference<PythonContext> context;
     private static final int ASYNC_ACTION_DELAY = 25;
-    private static final int GIL_RELEASE_DELAY = 50;
+    // in microseconds
+    private static final long MIN_GIL_RELEASE_DELAY = 1000;
 
     private class AsyncRunnable implements Runnable {
         private final Supplier<AsyncAction> actionSupplier;
@@ -283,9 +285,53 @@ public class AsyncHandler {
         if (ctx == null) {
             return;
         }
-        final Env env = ctx.getEnv();
-        final AtomicBoolean gilReleaseRequested = new AtomicBoolean(false);
-        executorService.scheduleWithFixedDelay(() -> {
+        new GilReleaseScheduler(ctx.getEnv()).schedule(ctx);
+    }
+
+    /**
+     * Periodically asks the GIL owner to give up the GIL. The delay honours
+     * {@code sys.setswitchinterval} and is divided by the number of threads waiting for the GIL, so
+     * that each waiting thread gets to run roughly once per switch interval. No release is
+     * requested if nobody is waiting. The GIL itself is a fair lock, so a released GIL is handed to
+     * the longest waiting thread.
+     */
+    private final class GilReleaseScheduler implements Runnable {
+        private final Env env;
+        private final AtomicBoolean gilReleaseRequested = new AtomicBoolean(false);
+
+        GilReleaseScheduler(Env env) {
+            this.env = env;
+        }
+
+        void schedule(PythonContext ctx) {
+            long intervalMicros = (long) ctx.getSysModuleState().getSwitchInterval();
+            int waiting = ctx.getGilQueueLength();
+            long delay = Math.max(MIN_GIL_RELEASE_DELAY, intervalMicros / Math.max(1, waiting));
+            try {
+                executorService.schedule(this, delay, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the handler was shut down
+            }
+        }
+
+        @Override
+        public void run() {
+            final PythonContext ctx = context.get();
+            if (ctx == null) {
+                return;
+            }
+            try {
+                requestRelease(ctx);
+            } finally {
+                schedule(ctx);
+            }
+        }
+
+        private void requestRelease(PythonContext ctx) {
+            if (ctx.getGilQueueLength() == 0) {
+                // nobody is waiting, so there is no point in interrupting the owner
+                return;
+            }
             if (gilReleaseRequested.compareAndSet(false, true)) {
                 Thread gilOwner = ctx.getGilOwner();
                 // There is a race, but that's no problem. The gil owner may release the gil before
@@ -321,7 +367,7 @@ public class AsyncHandler {
                     gilReleaseRequested.set(false);
                 }
             }
-        }, GIL_RELEASE_DELAY, GIL_RELEASE_DELAY, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void shutdown() {
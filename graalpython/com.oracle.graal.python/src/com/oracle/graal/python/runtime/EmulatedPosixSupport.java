@@ -57,6 +57,12 @@ import static com.oracle.graal.python.runtime.PosixConstants.DT_DIR;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_LNK;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_REG;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_UNKNOWN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLONESHOT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_ADDRFAMILY;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_BADFLAGS;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_FAMILY;
@@ -73,6 +79,7 @@ import static com.oracle.graal.python.runtime.PosixConstants.LOCK_NB;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_SH;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_UN;
 import static com.oracle.graal.python.runtime.PosixConstants.MAP_ANONYMOUS;
+import static com.oracle.graal.python.runtime.PosixConstants.MAP_PRIVATE;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_DGRAM;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_NAMEREQD;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_NUMERICHOST;
@@ -89,6 +96,8 @@ import static com.oracle.graal.python.runtime.PosixConstants.O_SYNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TMPFILE;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TRUNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_WRONLY;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_EXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_NONE;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_READ;
@@ -166,15 +175,20 @@ import java.net.StandardSocketOptions;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.FileLock;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.NetworkChannel;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
@@ -199,11 +213,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -245,7 +261,6 @@ import com.oracle.graal.python.util.FileDeleteShutdownHook;
 import com.oracle.graal.python.util.IPAddressUtil;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleFile.Attributes;
@@ -296,12 +311,21 @@ import com.sun.security.auth.module.UnixSystem;
  * <li>{@code faccessAt} does not support: effective IDs, and no follow symlinks unless the mode is
  * only F_OK.</li>
  * <li>{@code select} supports only network sockets, but not regular files.</li>
+ * <li>{@code poll} and {@code epoll} support only network sockets and only the input and output
+ * events. Edge-triggered epoll registrations behave as level-triggered.</li>
+ * <li>{@code mmap} maps files using {@link FileChannel#map} only if the file system provides a
+ * {@link FileChannel}, otherwise every access to the mapping is a read or write of the file.</li>
  * </ul>
  */
 @ExportLibrary(PosixSupportLibrary.class)
 @SuppressWarnings("unused")
 public final class EmulatedPosixSupport extends PosixResources {
 
+    private static final int MAX_PREAD = Integer.MAX_VALUE / 2;
+    private static final int TRANSFER_CHUNK_SIZE = 64 * 1024;
+    private static final int MMAP_SEGMENT_SHIFT = 30;
+    private static final int MMAP_SEGMENT_SIZE = 1 << MMAP_SEGMENT_SHIFT;
+
     private static final PosixFilePermission[][] otherBitsToPermission = new PosixFilePermission[][]{
                     new PosixFilePermission[]{},
                     new PosixFilePermission[]{PosixFilePermission.OTHERS_EXECUTE},
@@ -336,6 +360,8 @@ public final class EmulatedPosixSupport extends PosixResources {
     private static final TruffleString T_DEV_TTY = tsLiteral("/dev/tty");
 
     private final ConcurrentHashMap<String, String> environ = new ConcurrentHashMap<>();
+    // Live epoll instances, their selectors must not keep channels that are set to blocking mode
+    private final Set<EmulatedEpoll> epolls = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     private int currentUmask = 0022;
     private boolean hasDefaultUmask = true;
     // Lazily parsed content of /etc/services.
@@ -510,6 +536,291 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] buf, int offset, int len,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        try {
+            return doReadInto((ReadableByteChannel) channel, buf, offset, len);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static int doReadInto(ReadableByteChannel channel, byte[] buf, int offset, int len) throws IOException {
+        int n = channel.read(ByteBuffer.wrap(buf, offset, len));
+        return Math.max(n, 0);
+    }
+
+    @ExportMessage
+    public Buffer pread(int fd, long length, long offset,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        SeekableByteChannel channel = getSeekableChannel(fd, channelClassProfile, errorBranch);
+        if (offset < 0) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            return readAt(channel, length, offset);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long pwrite(int fd, Buffer data, long offset,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        SeekableByteChannel channel = getSeekableChannel(fd, channelClassProfile, errorBranch);
+        if (offset < 0) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            return writeAt(channel, data.getByteBuffer(), offset);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long readv(int fd, Buffer[] buffers,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        try {
+            return doReadv((ReadableByteChannel) channel, buffers);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long writev(int fd, Buffer[] buffers,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof WritableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        try {
+            return doWritev((WritableByteChannel) channel, buffers);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel in = getFileChannel(inFd, channelClassProfile);
+        Channel out = getFileChannel(outFd, channelClassProfile);
+        if (!(in instanceof ReadableByteChannel) || !(out instanceof WritableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (offset >= 0 && !(in instanceof SeekableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        try {
+            return transfer((ReadableByteChannel) in, offset, (WritableByteChannel) out, -1, count);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @ExportMessage
+    public long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel src = getFileChannel(srcFd, channelClassProfile);
+        Channel dst = getFileChannel(dstFd, channelClassProfile);
+        if (src == null || dst == null) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(src instanceof SeekableByteChannel) || !(dst instanceof SeekableByteChannel)) {
+            // copy_file_range only works between regular files
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            return transfer((SeekableByteChannel) src, srcOffset, (SeekableByteChannel) dst, dstOffset, count);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    private SeekableByteChannel getSeekableChannel(int fd, ValueProfile channelClassProfile, BranchProfile errorBranch) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (channel == null) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(channel instanceof SeekableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        return (SeekableByteChannel) channel;
+    }
+
+    @TruffleBoundary
+    private static Buffer readAt(SeekableByteChannel channel, long length, long offset) throws IOException {
+        // do not allocate more than what is left in the file
+        long count = Math.max(0, Math.min(length, Math.min(channel.size() - offset, MAX_PREAD)));
+        Buffer buffer = Buffer.allocate(count);
+        ByteBuffer dst = ByteBuffer.wrap(buffer.data);
+        int n = readAt(channel, dst, offset);
+        return buffer.withLength(Math.max(n, 0));
+    }
+
+    /**
+     * Reads at the given position without changing the position of the channel. Returns -1 at the
+     * end of the file.
+     */
+    @TruffleBoundary
+    private static int readAt(SeekableByteChannel channel, ByteBuffer dst, long position) throws IOException {
+        if (channel instanceof FileChannel) {
+            return ((FileChannel) channel).read(dst, position);
+        }
+        synchronized (channel) {
+            long saved = channel.position();
+            try {
+                channel.position(position);
+                return channel.read(dst);
+            } finally {
+                channel.position(saved);
+            }
+        }
+    }
+
+    /**
+     * Writes at the given position without changing the position of the channel.
+     */
+    @TruffleBoundary
+    private static int writeAt(SeekableByteChannel channel, ByteBuffer src, long position) throws IOException {
+        if (channel instanceof FileChannel) {
+            return ((FileChannel) channel).write(src, position);
+        }
+        synchronized (channel) {
+            long saved = channel.position();
+            try {
+                channel.position(position);
+                return channel.write(src);
+            } finally {
+                channel.position(saved);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static long doReadv(ReadableByteChannel channel, Buffer[] buffers) throws IOException {
+        ByteBuffer[] dsts = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            dsts[i] = buffers[i].getByteBuffer();
+        }
+        if (channel instanceof ScatteringByteChannel) {
+            ((ScatteringByteChannel) channel).read(dsts);
+        } else {
+            for (ByteBuffer dst : dsts) {
+                if (channel.read(dst) <= 0 || dst.hasRemaining()) {
+                    break;
+                }
+            }
+        }
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i].withLength(dsts[i].position());
+            total += dsts[i].position();
+        }
+        return total;
+    }
+
+    @TruffleBoundary
+    private static long doWritev(WritableByteChannel channel, Buffer[] buffers) throws IOException {
+        ByteBuffer[] srcs = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            srcs[i] = buffers[i].getByteBuffer();
+        }
+        if (channel instanceof GatheringByteChannel) {
+            return ((GatheringByteChannel) channel).write(srcs);
+        }
+        long total = 0;
+        for (ByteBuffer src : srcs) {
+            total += channel.write(src);
+            if (src.hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Copies up to {@code count} bytes between channels. Negative positions mean that the current
+     * position of the channel is used and advanced, non-negative positions require a
+     * {@link SeekableByteChannel}. Between two {@link FileChannel}s, the copying is left to
+     * {@link FileChannel#transferTo}.
+     */
+    @TruffleBoundary
+    private static long transfer(ReadableByteChannel src, long srcPosition, WritableByteChannel dst, long dstPosition, long count) throws IOException {
+        if (src instanceof FileChannel && dstPosition < 0) {
+            FileChannel in = (FileChannel) src;
+            long start = srcPosition < 0 ? in.position() : srcPosition;
+            long n = in.transferTo(start, count, dst);
+            if (srcPosition < 0) {
+                in.position(start + n);
+            }
+            return n;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_CHUNK_SIZE));
+        long total = 0;
+        while (total < count) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), count - total));
+            int n = srcPosition < 0 ? src.read(buffer) : readAt((SeekableByteChannel) src, buffer, srcPosition + total);
+            if (n <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                if (dstPosition < 0) {
+                    dst.write(buffer);
+                } else {
+                    writeAt((SeekableByteChannel) dst, buffer, dstPosition + total + buffer.position());
+                }
+            }
+            total += n;
+        }
+        return total;
+    }
+
     @Override
     @ExportMessage
     public int dup(int fd) {
@@ -675,26 +986,309 @@ public final class EmulatedPosixSupport extends PosixResources {
             if (ch == null) {
                 throw posixException(OSErrorEnum.EBADF);
             }
-            if (ch instanceof SelectableChannel) {
-                channels[i] = (SelectableChannel) ch;
-            } else if (ch instanceof EmulatedDatagramSocket) {
-                channels[i] = ((EmulatedDatagramSocket) ch).channel;
-            } else if (ch instanceof EmulatedStreamSocket) {
-                EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
-                synchronized (streamSocket) {
-                    if (streamSocket.clientChannel != null) {
-                        channels[i] = streamSocket.clientChannel;
-                    } else if (streamSocket.serverChannel != null) {
-                        channels[i] = streamSocket.serverChannel;
+            channels[i] = getSelectableChannel(ch);
+        }
+        return channels;
+    }
+
+    private static SelectableChannel getSelectableChannel(Channel ch) {
+        if (ch instanceof SelectableChannel) {
+            return (SelectableChannel) ch;
+        } else if (ch instanceof EmulatedDatagramSocket) {
+            return ((EmulatedDatagramSocket) ch).channel;
+        } else if (ch instanceof EmulatedStreamSocket) {
+            EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
+            synchronized (streamSocket) {
+                if (streamSocket.clientChannel != null) {
+                    return streamSocket.clientChannel;
+                } else if (streamSocket.serverChannel != null) {
+                    return streamSocket.serverChannel;
+                }
+            }
+        }
+        throw ChannelNotSelectableException.INSTANCE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException {
+        if (PythonOptions.WITHOUT_JAVA_INET) {
+            throw new UnsupportedPosixFeatureException("poll was excluded");
+        }
+        if (!POLLIN.defined || !POLLOUT.defined) {
+            throw new UnsupportedPosixFeatureException("poll is not supported on this platform");
+        }
+        return waitForEvents(getSelectableChannels(fds), events, revents, POLLIN.getValueIfDefined(), POLLOUT.getValueIfDefined(), timeoutMs);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollCreate() throws PosixException {
+        if (PythonOptions.WITHOUT_JAVA_INET) {
+            throw new UnsupportedPosixFeatureException("epoll was excluded");
+        }
+        if (!EPOLLIN.defined) {
+            throw new UnsupportedPosixFeatureException("epoll is not supported on this platform");
+        }
+        EmulatedEpoll epoll;
+        try {
+            epoll = new EmulatedEpoll(Selector.open());
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+        epolls.add(epoll);
+        return assignFileDescriptor(epoll);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void epollCtl(int epfd, int op, int fd, int events) throws PosixException {
+        EmulatedEpoll epoll = getEmulatedEpoll(epfd);
+        Channel ch = getFileChannel(fd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (ch == epoll) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        SelectableChannel channel;
+        try {
+            channel = getSelectableChannel(ch);
+        } catch (ChannelNotSelectableException e) {
+            // the same error Linux reports for regular files
+            throw posixException(OSErrorEnum.EPERM);
+        }
+        synchronized (epoll) {
+            EpollRegistration registration = epoll.interest.get(fd);
+            if (registration != null && registration.fileChannel != ch) {
+                // like the kernel, drop registrations of file descriptors that were closed meanwhile
+                epoll.interest.remove(fd);
+                registration = null;
+            }
+            try {
+                if (op == EPOLL_CTL_ADD.getValueIfDefined()) {
+                    if (registration != null) {
+                        throw posixException(OSErrorEnum.EEXIST);
+                    }
+                    registration = new EpollRegistration(fd, ch, channel, events);
+                    epoll.interest.put(fd, registration);
+                    epoll.updateKey(registration);
+                } else if (op == EPOLL_CTL_MOD.getValueIfDefined()) {
+                    if (registration == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    if (registration.channel != channel) {
+                        // the socket got connected or started listening since the registration
+                        epoll.cancelKey(registration);
+                        registration.channel = channel;
+                    }
+                    registration.events = events;
+                    epoll.updateKey(registration);
+                } else if (op == EPOLL_CTL_DEL.getValueIfDefined()) {
+                    if (registration == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    epoll.interest.remove(fd);
+                    epoll.cancelKey(registration);
+                } else {
+                    throw posixException(OSErrorEnum.EINVAL);
+                }
+            } catch (IOException e) {
+                throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+            }
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException {
+        EmulatedEpoll epoll = getEmulatedEpoll(epfd);
+        Selector selector = epoll.selector;
+        int oneShot = EPOLLONESHOT.getValueIfDefined();
+        try {
+            // waiting threads hold the selector's lock, see removeFromEpollSelectors
+            synchronized (selector) {
+                List<EpollRegistration> temporary;
+                synchronized (epoll) {
+                    temporary = epoll.registerMissingKeys();
+                }
+                try {
+                    // keys may have been selected by the flushes of cancelled keys
+                    selector.selectedKeys().clear();
+                    // negative timeout means infinite, which is 0 for the Java API
+                    if (timeoutMs == 0) {
+                        selector.selectNow();
                     } else {
-                        throw ChannelNotSelectableException.INSTANCE;
+                        selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+                    }
+                    int n = 0;
+                    synchronized (epoll) {
+                        for (SelectionKey key : selector.selectedKeys()) {
+                            if (n == fds.length) {
+                                break;
+                            }
+                            EpollRegistration registration = (EpollRegistration) key.attachment();
+                            if (!key.isValid() || epoll.interest.get(registration.fd) != registration) {
+                                continue;
+                            }
+                            int revents = pollEvents(key.readyOps(), EPOLLIN.getValueIfDefined(), EPOLLOUT.getValueIfDefined()) & registration.events;
+                            if (revents != 0) {
+                                fds[n] = registration.fd;
+                                events[n] = revents;
+                                n++;
+                                if ((registration.events & oneShot) != 0) {
+                                    registration.events = 0;
+                                    key.interestOps(0);
+                                }
+                            }
+                        }
+                        selector.selectedKeys().clear();
+                    }
+                    return n;
+                } finally {
+                    if (temporary != null) {
+                        EmulatedEpoll.restoreBlocking(selector, temporary);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // the epoll was closed by another thread
+            throw posixException(OSErrorEnum.EBADF);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    /**
+     * Java selectors accept only channels in non-blocking mode, so a channel that is being switched
+     * to blocking mode must be removed from the selectors of all the epoll instances first. It is
+     * registered again only for the duration of {@code epollWait}. This may wake up a waiting
+     * {@code epollWait} early with no events.
+     */
+    @TruffleBoundary
+    @Ignore
+    private void removeFromEpollSelectors(Channel ch) throws IOException {
+        SelectableChannel channel;
+        try {
+            channel = getSelectableChannel(ch);
+        } catch (ChannelNotSelectableException e) {
+            return;
+        }
+        if (!channel.isRegistered()) {
+            return;
+        }
+        EmulatedEpoll[] live;
+        synchronized (epolls) {
+            live = epolls.toArray(new EmulatedEpoll[0]);
+        }
+        for (EmulatedEpoll epoll : live) {
+            SelectionKey key = channel.keyFor(epoll.selector);
+            if (key != null) {
+                key.cancel();
+                try {
+                    epoll.selector.wakeup();
+                    synchronized (epoll.selector) {
+                        // flush the cancelled key
+                        epoll.selector.selectNow();
                     }
+                } catch (ClosedSelectorException e) {
+                    // closed meanwhile, which deregistered the channel too
                 }
+            }
+        }
+    }
+
+    private EmulatedEpoll getEmulatedEpoll(int epfd) throws PosixException {
+        Channel ch = getFileChannel(epfd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(ch instanceof EmulatedEpoll)) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        return (EmulatedEpoll) ch;
+    }
+
+    /**
+     * Waits until some of the channels become readable or writable according to the requested
+     * {@code events} and stores the ready events into {@code revents}. Only the {@code inEvent} and
+     * {@code outEvent} bits of {@code events} are taken into account.
+     *
+     * @return the number of channels with non-zero {@code revents}
+     */
+    private static int waitForEvents(SelectableChannel[] channels, int[] events, int[] revents, int inEvent, int outEvent, int timeoutMs) throws PosixException {
+        boolean[] wasBlocking = new boolean[channels.length];
+        for (int i = 0; i < channels.length; i++) {
+            wasBlocking[i] = channels[i].isBlocking();
+        }
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < channels.length; i++) {
+                SelectableChannel channel = channels[i];
+                int ops = selectionOps(channel, events[i], inEvent, outEvent);
+                channel.configureBlocking(false);
+                // the same file descriptor may be passed multiple times
+                SelectionKey key = channel.keyFor(selector);
+                if (key == null) {
+                    channel.register(selector, ops);
+                } else {
+                    key.interestOps(key.interestOps() | ops);
+                }
+            }
+            // negative timeout means infinite, which is 0 for the Java API
+            if (timeoutMs == 0) {
+                selector.selectNow();
             } else {
-                throw ChannelNotSelectableException.INSTANCE;
+                selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+            }
+            int count = 0;
+            for (int i = 0; i < channels.length; i++) {
+                SelectionKey key = channels[i].keyFor(selector);
+                int ready = key != null && key.isValid() ? key.readyOps() : 0;
+                revents[i] = pollEvents(ready, inEvent, outEvent) & events[i];
+                if (revents[i] != 0) {
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        } finally {
+            try {
+                for (int i = 0; i < channels.length; i++) {
+                    if (wasBlocking[i]) {
+                        channels[i].configureBlocking(true);
+                    }
+                }
+            } catch (IOException e) {
+                // We didn't manage to restore the blocking status, ignore
             }
         }
-        return channels;
+    }
+
+    /**
+     * Converts the {@code inEvent} and {@code outEvent} bits of {@code events} to the selection
+     * operations supported by the channel.
+     */
+    private static int selectionOps(SelectableChannel channel, int events, int inEvent, int outEvent) {
+        int ops = 0;
+        if ((events & inEvent) != 0) {
+            ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        }
+        if ((events & outEvent) != 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        return ops & channel.validOps();
+    }
+
+    private static int pollEvents(int readyOps, int inEvent, int outEvent) {
+        int result = 0;
+        if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            result |= inEvent;
+        }
+        if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+            result |= outEvent;
+        }
+        return result;
     }
 
     @ExportMessage
@@ -891,11 +1485,17 @@ public final class EmulatedPosixSupport extends PosixResources {
         try {
             Channel channel = getChannel(fd);
             if (channel instanceof EmulatedSocket) {
+                if (blocking) {
+                    removeFromEpollSelectors(channel);
+                }
                 setBlocking((EmulatedSocket) channel, blocking);
                 return;
             }
             Channel fileChannel = getFileChannel(fd, channelClassProfile);
             if (fileChannel instanceof SelectableChannel) {
+                if (blocking) {
+                    removeFromEpollSelectors(fileChannel);
+                }
                 setBlocking((SelectableChannel) fileChannel, blocking);
             } else if (fileChannel != null) {
                 if (blocking) {
@@ -2216,81 +2816,167 @@ public final class EmulatedPosixSupport extends PosixResources {
     }
 
     public static final class MMapHandle {
-        private static final MMapHandle NONE = new MMapHandle(null, 0);
+        private static final MMapHandle NONE = new MMapHandle((SeekableByteChannel) null, 0);
+        /*
+         * Anonymous mappings and files that the JDK can map are held in memory as consecutive
+         * segments of MMAP_SEGMENT_SIZE bytes (the last one may be shorter), which lifts the 2GB
+         * limit of a single ByteBuffer. Other files are accessed through the channel.
+         */
+        private ByteBuffer[] segments;
+        private final long size;
         private SeekableByteChannel channel;
         private final long offset;
 
         public MMapHandle(SeekableByteChannel channel, long offset) {
             this.channel = channel;
             this.offset = offset;
+            this.size = -1;
+        }
+
+        MMapHandle(ByteBuffer[] segments, long size) {
+            this.segments = segments;
+            this.size = size;
+            this.offset = 0;
         }
 
         @Override
         public String toString() {
             neverPartOfCompilation();
+            if (segments != null) {
+                return String.format("Emulated mmap [size=%d, segments=%d]", size, segments.length);
+            }
             return String.format("Emulated mmap [channel=%s, offset=%d]", channel, offset);
         }
     }
 
-    private static final class AnonymousMap implements SeekableByteChannel {
-        private final byte[] data;
-
+    /**
+     * Emulated epoll instance, keeps the interest list (file descriptor to registration) and a
+     * {@link Selector} that {@code epollCtl} keeps in sync with it, so that {@code epollWait} only
+     * selects. Java selectors accept only channels in non-blocking mode, channels in blocking mode
+     * are registered temporarily by {@code epollWait}.
+     */
+    private static final class EmulatedEpoll implements Channel {
+        final LinkedHashMap<Integer, EpollRegistration> interest = new LinkedHashMap<>();
+        final Selector selector;
         private boolean open = true;
-        private int cur;
 
-        public AnonymousMap(int cap) {
-            this.data = new byte[cap];
+        EmulatedEpoll(Selector selector) {
+            this.selector = selector;
         }
 
-        @Override
-        public boolean isOpen() {
-            return open;
+        void updateKey(EpollRegistration registration) throws IOException {
+            assert Thread.holdsLock(this);
+            SelectionKey key = registration.channel.keyFor(selector);
+            if (key != null && key.isValid()) {
+                key.interestOps(registration.interestOps());
+            } else if (key == null && !registration.channel.isBlocking()) {
+                registration.channel.register(selector, registration.interestOps(), registration);
+            }
+            // otherwise the key gets registered by the next epollWait
         }
 
-        @Override
-        public void close() throws IOException {
-            open = false;
+        void cancelKey(EpollRegistration registration) {
+            assert Thread.holdsLock(this);
+            SelectionKey key = registration.channel.keyFor(selector);
+            if (key != null) {
+                key.cancel();
+            }
         }
 
-        @Override
-        public int read(ByteBuffer dst) throws IOException {
-            int nread = Math.min(dst.remaining(), data.length - cur);
-            dst.put(data, cur, nread);
-            return nread;
+        /**
+         * Registers the channels that are not in the selector yet, because they were in blocking
+         * mode or their cancelled keys were not flushed yet. Returns the channels that were switched
+         * to non-blocking mode for the wait or {@code null}.
+         */
+        List<EpollRegistration> registerMissingKeys() throws IOException {
+            assert Thread.holdsLock(this);
+            List<EpollRegistration> temporary = null;
+            boolean flushed = false;
+            Iterator<EpollRegistration> it = interest.values().iterator();
+            while (it.hasNext()) {
+                EpollRegistration registration = it.next();
+                SelectableChannel channel = registration.channel;
+                if (!channel.isOpen()) {
+                    // like the kernel, drop registrations of file descriptors that were closed
+                    it.remove();
+                    continue;
+                }
+                SelectionKey key = channel.keyFor(selector);
+                if (key != null && key.isValid()) {
+                    continue;
+                }
+                if (key != null && !flushed) {
+                    // the channel cannot be registered again until the cancelled key is flushed
+                    selector.selectNow();
+                    flushed = true;
+                }
+                if (channel.isBlocking()) {
+                    channel.configureBlocking(false);
+                    if (temporary == null) {
+                        temporary = new ArrayList<>();
+                    }
+                    temporary.add(registration);
+                }
+                channel.register(selector, registration.interestOps(), registration);
+            }
+            return temporary;
         }
 
-        @Override
-        public int write(ByteBuffer src) throws IOException {
-            int nwrite = Math.min(src.remaining(), data.length - cur);
-            src.get(data, cur, nwrite);
-            return nwrite;
+        static void restoreBlocking(Selector selector, List<EpollRegistration> temporary) {
+            try {
+                for (EpollRegistration registration : temporary) {
+                    SelectionKey key = registration.channel.keyFor(selector);
+                    if (key != null) {
+                        key.cancel();
+                    }
+                }
+                selector.selectNow();
+                selector.selectedKeys().clear();
+                for (EpollRegistration registration : temporary) {
+                    registration.channel.configureBlocking(true);
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                // We didn't manage to restore the blocking status, ignore
+            }
         }
 
         @Override
-        public long position() throws IOException {
-            return cur;
+        public synchronized boolean isOpen() {
+            return open;
         }
 
         @Override
-        public SeekableByteChannel position(long newPosition) throws IOException {
-            if (newPosition < 0 || newPosition >= data.length) {
-                throw new IllegalArgumentException();
+        public void close() {
+            synchronized (this) {
+                open = false;
+                interest.clear();
+            }
+            try {
+                // deregisters all the channels, waits for the epollWait in progress (which needs the
+                // lock of this object to finish), so it must not be called with the lock held
+                selector.close();
+            } catch (IOException e) {
+                // ignore
             }
-            cur = (int) newPosition;
-            return this;
         }
+    }
 
-        @Override
-        public long size() throws IOException {
-            return data.length;
+    private static final class EpollRegistration {
+        final int fd;
+        // the channel of the file descriptor at the time of the registration
+        final Channel fileChannel;
+        SelectableChannel channel;
+        int events;
+
+        EpollRegistration(int fd, Channel fileChannel, SelectableChannel channel, int events) {
+            this.fd = fd;
+            this.fileChannel = fileChannel;
+            this.channel = channel;
+            this.events = events;
         }
 
-        @Override
-        public SeekableByteChannel truncate(long size) throws IOException {
-            for (int i = 0; i < size; i++) {
-                data[i] = 0;
-            }
-            return this;
+        int interestOps() {
+            return selectionOps(channel, events, EPOLLIN.getValueIfDefined(), EPOLLOUT.getValueIfDefined());
         }
     }
 
@@ -2307,10 +2993,9 @@ public final class EmulatedPosixSupport extends PosixResources {
         // Note: the profile is not really defaultDirProfile, but it's good to share...
         if (isAnonymousProfile.profile((flags & MAP_ANONYMOUS.value) != 0)) {
             try {
-                return new MMapHandle(new AnonymousMap(PythonUtils.toIntExact(length)), 0);
-            } catch (OverflowException e) {
-                CompilerDirectives.transferToInterpreter();
-                throw new UnsupportedPosixFeatureException(String.format("Anonymous mapping in mmap for memory larger than %d", Integer.MAX_VALUE));
+                return new MMapHandle(allocateSegments(length), length);
+            } catch (OutOfMemoryError e) {
+                throw posixException(OSErrorEnum.ENOMEM);
             }
         }
 
@@ -2322,6 +3007,14 @@ public final class EmulatedPosixSupport extends PosixResources {
         SeekableByteChannel fileChannel;
         try {
             fileChannel = newByteChannel(file, options);
+            if (fileChannel instanceof FileChannel) {
+                // the mapping stays valid after the channel is closed
+                try {
+                    return new MMapHandle(mapSegments((FileChannel) fileChannel, mmapMode(prot, flags), offset, length), length);
+                } finally {
+                    closeChannel(fileChannel);
+                }
+            }
             position(fileChannel, offset);
             return new MMapHandle(fileChannel, offset);
         } catch (IOException e) {
@@ -2329,6 +3022,65 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    private static MapMode mmapMode(int prot, int flags) {
+        if ((prot & PROT_WRITE.value) == 0) {
+            return MapMode.READ_ONLY;
+        }
+        return (flags & MAP_PRIVATE.value) != 0 ? MapMode.PRIVATE : MapMode.READ_WRITE;
+    }
+
+    @TruffleBoundary
+    private static ByteBuffer[] allocateSegments(long length) {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocate(segmentLength(length, i));
+        }
+        return segments;
+    }
+
+    @TruffleBoundary
+    private static ByteBuffer[] mapSegments(FileChannel channel, MapMode mode, long offset, long length) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(mode, offset + ((long) i << MMAP_SEGMENT_SHIFT), segmentLength(length, i));
+        }
+        return segments;
+    }
+
+    private static int segmentCount(long length) {
+        return (int) ((length + MMAP_SEGMENT_SIZE - 1) >>> MMAP_SEGMENT_SHIFT);
+    }
+
+    private static int segmentLength(long length, int segment) {
+        return (int) Math.min(MMAP_SEGMENT_SIZE, length - ((long) segment << MMAP_SEGMENT_SHIFT));
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static byte getSegmentByte(ByteBuffer[] segments, long index) {
+        return segments[(int) (index >>> MMAP_SEGMENT_SHIFT)].get((int) (index & (MMAP_SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * Copies between the segments and {@code bytes}, crossing segment boundaries as needed.
+     */
+    @TruffleBoundary
+    private static void copySegments(ByteBuffer[] segments, long index, byte[] bytes, int length, boolean toSegments) {
+        long pos = index;
+        int done = 0;
+        while (done < length) {
+            ByteBuffer segment = segments[(int) (pos >>> MMAP_SEGMENT_SHIFT)].duplicate();
+            segment.position((int) (pos & (MMAP_SEGMENT_SIZE - 1)));
+            int n = Math.min(length - done, segment.remaining());
+            if (toSegments) {
+                segment.put(bytes, done, n);
+            } else {
+                segment.get(bytes, done, n);
+            }
+            done += n;
+            pos += n;
+        }
+    }
+
     @TruffleBoundary
     private static Set<StandardOpenOption> mmapProtToOptions(int prot) {
         HashSet<StandardOpenOption> options = new HashSet<>();
@@ -2359,6 +3111,13 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.segments != null) {
+            if (index < 0 || index >= handle.size) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.ENODATA);
+            }
+            return getSegmentByte(handle.segments, index);
+        }
         ByteBuffer readingBuffer = allocateByteBuffer(1);
         int readSize = readBytes(handle, index, readingBuffer, errBranch, eqNode);
         if (readSize == 0) {
@@ -2377,6 +3136,15 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.segments != null) {
+            if (index < 0) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.EINVAL);
+            }
+            int readSize = (int) Math.max(0, Math.min(length, handle.size - index));
+            copySegments(handle.segments, index, bytes, readSize, false);
+            return readSize;
+        }
         int sz;
         try {
             sz = PythonUtils.toIntExact(length);
@@ -2412,6 +3180,18 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.segments != null) {
+            if (index < 0 || index + length > handle.size) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.EINVAL);
+            }
+            if (length > 0 && handle.segments[0].isReadOnly()) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.EACCES);
+            }
+            copySegments(handle.segments, index, bytes, length, true);
+            return;
+        }
         try {
             SeekableByteChannel channel = handle.channel;
             position(channel, handle.offset + index);
@@ -2432,13 +3212,26 @@ public final class EmulatedPosixSupport extends PosixResources {
     }
 
     @ExportMessage
-    @SuppressWarnings({"static-method", "unused"})
+    @SuppressWarnings("static-method")
     public void mmapFlush(Object mmap, long offset, long length) {
-        // Intentionally noop
-        // If we had access to the underlying NIO FileChannel, we could explicitly set force(true)
-        // when creating the channel. Another possibility would be exposing JDK's memory mapped
-        // files support via Truffle API, which would allow for more compatible (and completely
-        // different implementation of mmap in emulated posix)
+        if (mmap == MMapHandle.NONE) {
+            return;
+        }
+        MMapHandle handle = (MMapHandle) mmap;
+        if (handle.segments != null && length > 0) {
+            forceSegments(handle.segments, offset, length);
+        }
+        // Writes through a channel are not buffered by us, there is nothing to flush
+    }
+
+    @TruffleBoundary
+    private static void forceSegments(ByteBuffer[] segments, long offset, long length) {
+        int last = (int) Math.min(segments.length - 1, (offset + length - 1) >>> MMAP_SEGMENT_SHIFT);
+        for (int i = (int) (offset >>> MMAP_SEGMENT_SHIFT); i <= last; i++) {
+            if (segments[i] instanceof MappedByteBuffer && !segments[i].isReadOnly()) {
+                ((MappedByteBuffer) segments[i]).force();
+            }
+        }
     }
 
     @ExportMessage
@@ -2449,6 +3242,8 @@ public final class EmulatedPosixSupport extends PosixResources {
             return;
         }
         MMapHandle handle = (MMapHandle) mmap;
+        // the JDK releases mapped memory once the buffers are garbage collected
+        handle.segments = null;
         if (handle.channel != null) {
             try {
                 closeChannel(handle.channel);
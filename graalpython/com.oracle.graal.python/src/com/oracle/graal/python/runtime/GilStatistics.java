@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oracle.graal.python.runtime;
+
+/**
+ * GIL wait and hold times of a single thread, collected if {@link PythonOptions#GilStatistics} is
+ * enabled. The histograms use power-of-two buckets in microseconds: bucket {@code 0} counts
+ * durations below one microsecond, bucket {@code i} counts durations in
+ * {@code [2^(i-1), 2^i)} microseconds, and the last bucket also counts all longer durations.
+ *
+ * The counters are only written by the owning thread. Readers from other threads may observe
+ * slightly stale values, which is acceptable for statistics.
+ */
+public final class GilStatistics {
+    public static final int BUCKETS = 32;
+
+    private final long threadId;
+    private final String threadName;
+    private final long[] waitHistogram = new long[BUCKETS];
+    private final long[] holdHistogram = new long[BUCKETS];
+    private long acquisitions;
+    private long totalWaitNanos;
+    private long totalHoldNanos;
+    private long acquiredAt = -1;
+
+    GilStatistics(Thread thread) {
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+    }
+
+    static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    void recordAcquired(long waitStart, long now) {
+        long waited = now - waitStart;
+        acquisitions++;
+        totalWaitNanos += waited;
+        waitHistogram[bucket(waited)]++;
+        acquiredAt = now;
+    }
+
+    void recordReleased(long now) {
+        if (acquiredAt >= 0) {
+            long held = now - acquiredAt;
+            totalHoldNanos += held;
+            holdHistogram[bucket(held)]++;
+            acquiredAt = -1;
+        }
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getTotalHoldNanos() {
+        return totalHoldNanos;
+    }
+
+    public long[] getWaitHistogram() {
+        return waitHistogram.clone();
+    }
+
+    public long[] getHoldHistogram() {
+        return holdHistogram.clone();
+    }
+}
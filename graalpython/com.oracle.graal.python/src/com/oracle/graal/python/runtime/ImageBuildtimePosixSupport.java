@@ -197,6 +197,15 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.read(nativePosixSupport, fd, length);
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] buf, int offset, int len,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return PosixSupportLibrary.getUncached().readInto(emulatedPosixSupport, fd, buf, offset, len);
+        }
+        return nativeLib.readInto(nativePosixSupport, fd, buf, offset, len);
+    }
+
     @ExportMessage
     final long write(int fd, Buffer data,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -204,6 +213,48 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.write(nativePosixSupport, fd, data);
     }
 
+    @ExportMessage
+    final Buffer pread(int fd, long length, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pread(nativePosixSupport, fd, length, offset);
+    }
+
+    @ExportMessage
+    final long pwrite(int fd, Buffer data, long offset,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pwrite(nativePosixSupport, fd, data, offset);
+    }
+
+    @ExportMessage
+    final long readv(int fd, Buffer[] buffers,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.readv(nativePosixSupport, fd, buffers);
+    }
+
+    @ExportMessage
+    final long writev(int fd, Buffer[] buffers,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.writev(nativePosixSupport, fd, buffers);
+    }
+
+    @ExportMessage
+    final long sendfile(int outFd, int inFd, long offset, long count,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.sendfile(nativePosixSupport, outFd, inFd, offset, count);
+    }
+
+    @ExportMessage
+    final long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.copyFileRange(nativePosixSupport, srcFd, srcOffset, dstFd, dstOffset, count);
+    }
+
     @ExportMessage
     final int dup(int fd,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -248,6 +299,33 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.select(nativePosixSupport, readfds, writefds, errorfds, timeout);
     }
 
+    @ExportMessage
+    final int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.poll(nativePosixSupport, fds, events, revents, timeoutMs);
+    }
+
+    @ExportMessage
+    final int epollCreate(@CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.epollCreate(nativePosixSupport);
+    }
+
+    @ExportMessage
+    final void epollCtl(int epfd, int op, int fd, int events,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.epollCtl(nativePosixSupport, epfd, op, fd, events);
+    }
+
+    @ExportMessage
+    final int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.epollWait(nativePosixSupport, epfd, fds, events, timeoutMs);
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -179,6 +179,17 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] buf, int offset, int len,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readInto", "%d, %d, %d", fd, offset, len);
+        try {
+            return logExit("readInto", "%d", lib.readInto(delegate, fd, buf, offset, len));
+        } catch (PosixException e) {
+            throw logException("readInto", e);
+        }
+    }
+
     @ExportMessage
     final long write(int fd, Buffer data,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -190,6 +201,74 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final Buffer pread(int fd, long length, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pread", "%d, %d, %d", fd, length, offset);
+        try {
+            Buffer retVal = lib.pread(delegate, fd, length, offset);
+            logExit("pread", "%d", retVal.length);
+            return retVal;
+        } catch (PosixException e) {
+            throw logException("pread", e);
+        }
+    }
+
+    @ExportMessage
+    final long pwrite(int fd, Buffer data, long offset,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pwrite", "%d, %d, %d", fd, data.length, offset);
+        try {
+            return logExit("pwrite", "%d", lib.pwrite(delegate, fd, data, offset));
+        } catch (PosixException e) {
+            throw logException("pwrite", e);
+        }
+    }
+
+    @ExportMessage
+    final long readv(int fd, Buffer[] buffers,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readv", "%d, %d", fd, buffers.length);
+        try {
+            return logExit("readv", "%d", lib.readv(delegate, fd, buffers));
+        } catch (PosixException e) {
+            throw logException("readv", e);
+        }
+    }
+
+    @ExportMessage
+    final long writev(int fd, Buffer[] buffers,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("writev", "%d, %d", fd, buffers.length);
+        try {
+            return logExit("writev", "%d", lib.writev(delegate, fd, buffers));
+        } catch (PosixException e) {
+            throw logException("writev", e);
+        }
+    }
+
+    @ExportMessage
+    final long sendfile(int outFd, int inFd, long offset, long count,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("sendfile", "%d, %d, %d, %d", outFd, inFd, offset, count);
+        try {
+            return logExit("sendfile", "%d", lib.sendfile(delegate, outFd, inFd, offset, count));
+        } catch (PosixException e) {
+            throw logException("sendfile", e);
+        }
+    }
+
+    @ExportMessage
+    final long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("copyFileRange", "%d, %d, %d, %d, %d", srcFd, srcOffset, dstFd, dstOffset, count);
+        try {
+            return logExit("copyFileRange", "%d", lib.copyFileRange(delegate, srcFd, srcOffset, dstFd, dstOffset, count));
+        } catch (PosixException e) {
+            throw logException("copyFileRange", e);
+        }
+    }
+
     @ExportMessage
     final int dup(int fd,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -257,6 +336,49 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("poll", "%s, %s, %d", fds, events, timeoutMs);
+        try {
+            return logExit("poll", "%d", lib.poll(delegate, fds, events, revents, timeoutMs));
+        } catch (PosixException e) {
+            throw logException("poll", e);
+        }
+    }
+
+    @ExportMessage
+    final int epollCreate(@CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollCreate", "");
+        try {
+            return logExit("epollCreate", "%d", lib.epollCreate(delegate));
+        } catch (PosixException e) {
+            throw logException("epollCreate", e);
+        }
+    }
+
+    @ExportMessage
+    final void epollCtl(int epfd, int op, int fd, int events,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollCtl", "%d, %d, %d, 0x%x", epfd, op, fd, events);
+        try {
+            lib.epollCtl(delegate, epfd, op, fd, events);
+        } catch (PosixException e) {
+            throw logException("epollCtl", e);
+        }
+    }
+
+    @ExportMessage
+    final int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("epollWait", "%d, %d, %d", epfd, fds.length, timeoutMs);
+        try {
+            return logExit("epollWait", "%d", lib.epollWait(delegate, epfd, fds, events, timeoutMs));
+        } catch (PosixException e) {
+            throw logException("epollWait", e);
+        }
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -129,6 +129,7 @@ public final class NFIPosixSupport extends PosixSupport {
     private static final int PWD_BUFFER_MAX_SIZE = Integer.MAX_VALUE >> 2;
 
     private static final int MAX_READ = Integer.MAX_VALUE / 2;
+    private static final int MAX_IOVEC_TOTAL = Integer.MAX_VALUE - 8;
 
     private static final TruffleLogger LOGGER = PythonLanguage.getLogger(NFIPosixSupport.class);
 
@@ -148,11 +149,22 @@ public final class NFIPosixSupport extends PosixSupport {
         call_openat("(sint32, [sint8], sint32, sint32):sint32"),
         call_close("(sint32):sint32"),
         call_read("(sint32, [sint8], uint64):sint64"),
+        call_read_into("(sint32, [sint8], sint32, sint32):sint32"),
         call_write("(sint32, [sint8], uint64):sint64"),
+        call_pread("(sint32, [sint8], uint64, sint64):sint64"),
+        call_pwrite("(sint32, [sint8], uint64, sint64):sint64"),
+        call_readv("(sint32, [sint8], [sint64], sint32):sint64"),
+        call_writev("(sint32, [sint8], [sint64], sint32):sint64"),
+        call_sendfile("(sint32, sint32, sint64, sint64):sint64"),
+        call_copy_file_range("(sint32, sint64, sint32, sint64, sint64):sint64"),
         call_dup("(sint32):sint32"),
         call_dup2("(sint32, sint32, sint32):sint32"),
         call_pipe2("([sint32]):sint32"),
         call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32"),
+        call_poll("([sint32], [sint32], [sint32], sint32, sint32):sint32"),
+        call_epoll_create("():sint32"),
+        call_epoll_ctl("(sint32, sint32, sint32, sint32):sint32"),
+        call_epoll_wait("(sint32, [sint32], [sint32], sint32, sint32):sint32"),
         call_lseek("(sint32, sint64, sint32):sint64"),
         call_ftruncate("(sint32, sint64):sint32"),
         call_fsync("(sint32):sint32"),
@@ -473,6 +485,17 @@ public final class NFIPosixSupport extends PosixSupport {
         return buffer.withLength(n);
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] buf, int offset, int len,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        checkBounds(buf, offset, len);
+        int n = invokeNode.callInt(this, PosixNativeFunction.call_read_into, fd, wrap(buf), offset, len);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
     @ExportMessage
     public long write(int fd, Buffer data,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -484,6 +507,123 @@ public final class NFIPosixSupport extends PosixSupport {
         return n;
     }
 
+    @ExportMessage
+    public Buffer pread(int fd, long length, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long count = Math.min(length, MAX_READ);
+        Buffer buffer = Buffer.allocate(count);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_pread, fd, wrap(buffer), count, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return buffer.withLength(n);
+    }
+
+    @ExportMessage
+    public long pwrite(int fd, Buffer data, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_pwrite, fd, wrap(data), data.length, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long readv(int fd, Buffer[] buffers,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long[] lengths = iovecLengths(buffers);
+        if (buffers.length == 1) {
+            // no need to go through the intermediate array
+            int n = invokeNode.callInt(this, PosixNativeFunction.call_read_into, fd, wrap(buffers[0].data), 0, (int) lengths[0]);
+            if (n < 0) {
+                throw getErrnoAndThrowPosixException(invokeNode);
+            }
+            buffers[0].withLength(n);
+            return n;
+        }
+        // the buffers are read into one array, which the native side splits into an iovec
+        byte[] data = new byte[totalLength(lengths)];
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_readv, fd, wrap(data), wrap(lengths), buffers.length);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        int offset = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            int len = (int) Math.min(lengths[i], n - offset);
+            PythonUtils.arraycopy(data, offset, buffers[i].data, 0, len);
+            buffers[i].withLength(len);
+            offset += len;
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long writev(int fd, Buffer[] buffers,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long[] lengths = iovecLengths(buffers);
+        long n;
+        if (buffers.length == 1) {
+            n = invokeNode.callLong(this, PosixNativeFunction.call_write, fd, wrap(buffers[0].data), lengths[0]);
+        } else {
+            byte[] data = new byte[totalLength(lengths)];
+            int offset = 0;
+            for (int i = 0; i < buffers.length; i++) {
+                PythonUtils.arraycopy(buffers[i].data, 0, data, offset, (int) lengths[i]);
+                offset += (int) lengths[i];
+            }
+            n = invokeNode.callLong(this, PosixNativeFunction.call_writev, fd, wrap(data), wrap(lengths), buffers.length);
+        }
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the iovec lengths of {@code buffers}, cut off so that their total fits into a single
+     * Java array. POSIX allows {@code readv} and {@code writev} to transfer fewer bytes than
+     * requested, so callers see a short read or write.
+     */
+    private static long[] iovecLengths(Buffer[] buffers) {
+        long[] lengths = new long[buffers.length];
+        long remaining = MAX_IOVEC_TOTAL;
+        for (int i = 0; i < buffers.length; i++) {
+            lengths[i] = Math.min(buffers[i].length, remaining);
+            remaining -= lengths[i];
+        }
+        return lengths;
+    }
+
+    private static int totalLength(long[] lengths) {
+        long total = 0;
+        for (long length : lengths) {
+            total += length;
+        }
+        assert total <= MAX_IOVEC_TOTAL;
+        return (int) total;
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_sendfile, outFd, inFd, offset, count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long copyFileRange(int srcFd, long srcOffset, int dstFd, long dstOffset, long count,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_copy_file_range, srcFd, srcOffset, dstFd, dstOffset, count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
     @ExportMessage
     public int dup(int fd,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -562,6 +702,45 @@ public final class NFIPosixSupport extends PosixSupport {
 
     }
 
+    @ExportMessage
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        assert fds.length == events.length && fds.length == revents.length;
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_poll, wrap(fds), wrap(events), wrap(revents), fds.length, timeoutMs);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
+    @ExportMessage
+    public int epollCreate(@Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_epoll_create);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
+    @ExportMessage
+    public void epollCtl(int epfd, int op, int fd, int events,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (invokeNode.callInt(this, PosixNativeFunction.call_epoll_ctl, epfd, op, fd, events) != 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+    }
+
+    @ExportMessage
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        assert fds.length == events.length && fds.length > 0;
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_epoll_wait, epfd, wrap(fds), wrap(events), fds.length, timeoutMs);
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
     private static boolean[] selectFillInResult(int[] fds, byte[] selected, int selectedOffset) {
         boolean[] res = new boolean[fds.length];
         for (int i = 0; i < fds.length; i++) {
@@ -287,6 +287,36 @@ public final class PosixConstants {
     public static final OptionalIntConstant TCP_CONGESTION;
     public static final OptionalIntConstant TCP_USER_TIMEOUT;
     public static final OptionalIntConstant TCP_NOTSENT_LOWAT;
+    public static final OptionalIntConstant POLLIN;
+    public static final OptionalIntConstant POLLPRI;
+    public static final OptionalIntConstant POLLOUT;
+    public static final OptionalIntConstant POLLERR;
+    public static final OptionalIntConstant POLLHUP;
+    public static final OptionalIntConstant POLLNVAL;
+    public static final OptionalIntConstant POLLRDNORM;
+    public static final OptionalIntConstant POLLRDBAND;
+    public static final OptionalIntConstant POLLWRNORM;
+    public static final OptionalIntConstant POLLWRBAND;
+    public static final OptionalIntConstant POLLMSG;
+    public static final OptionalIntConstant POLLRDHUP;
+    public static final OptionalIntConstant EPOLLIN;
+    public static final OptionalIntConstant EPOLLPRI;
+    public static final OptionalIntConstant EPOLLOUT;
+    public static final OptionalIntConstant EPOLLERR;
+    public static final OptionalIntConstant EPOLLHUP;
+    public static final OptionalIntConstant EPOLLRDNORM;
+    public static final OptionalIntConstant EPOLLRDBAND;
+    public static final OptionalIntConstant EPOLLWRNORM;
+    public static final OptionalIntConstant EPOLLWRBAND;
+    public static final OptionalIntConstant EPOLLMSG;
+    public static final OptionalIntConstant EPOLLRDHUP;
+    public static final OptionalIntConstant EPOLLEXCLUSIVE;
+    public static final OptionalIntConstant EPOLLONESHOT;
+    public static final OptionalIntConstant EPOLLET;
+    public static final OptionalIntConstant EPOLL_CTL_ADD;
+    public static final OptionalIntConstant EPOLL_CTL_MOD;
+    public static final OptionalIntConstant EPOLL_CTL_DEL;
+    public static final OptionalIntConstant EPOLL_CLOEXEC;
     public static final MandatoryIntConstant SIZEOF_STRUCT_SOCKADDR_STORAGE;
     public static final MandatoryIntConstant SIZEOF_STRUCT_SOCKADDR_IN;
     public static final MandatoryIntConstant OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY;
@@ -324,6 +354,8 @@ public final class PosixConstants {
     public static final IntConstant[] shutdownHow;
     public static final IntConstant[] socketOptions;
     public static final IntConstant[] tcpOptions;
+    public static final IntConstant[] pollEvents;
+    public static final IntConstant[] epollEvents;
 
     static {
         Registry reg = Registry.create();
@@ -538,6 +570,36 @@ public final class PosixConstants {
         TCP_CONGESTION = reg.createOptionalInt("TCP_CONGESTION");
         TCP_USER_TIMEOUT = reg.createOptionalInt("TCP_USER_TIMEOUT");
         TCP_NOTSENT_LOWAT = reg.createOptionalInt("TCP_NOTSENT_LOWAT");
+        POLLIN = reg.createOptionalInt("POLLIN");
+        POLLPRI = reg.createOptionalInt("POLLPRI");
+        POLLOUT = reg.createOptionalInt("POLLOUT");
+        POLLERR = reg.createOptionalInt("POLLERR");
+        POLLHUP = reg.createOptionalInt("POLLHUP");
+        POLLNVAL = reg.createOptionalInt("POLLNVAL");
+        POLLRDNORM = reg.createOptionalInt("POLLRDNORM");
+        POLLRDBAND = reg.createOptionalInt("POLLRDBAND");
+        POLLWRNORM = reg.createOptionalInt("POLLWRNORM");
+        POLLWRBAND = reg.createOptionalInt("POLLWRBAND");
+        POLLMSG = reg.createOptionalInt("POLLMSG");
+        POLLRDHUP = reg.createOptionalInt("POLLRDHUP");
+        EPOLLIN = reg.createOptionalInt("EPOLLIN");
+        EPOLLPRI = reg.createOptionalInt("EPOLLPRI");
+        EPOLLOUT = reg.createOptionalInt("EPOLLOUT");
+        EPOLLERR = reg.createOptionalInt("EPOLLERR");
+        EPOLLHUP = reg.createOptionalInt("EPOLLHUP");
+        EPOLLRDNORM = reg.createOptionalInt("EPOLLRDNORM");
+        EPOLLRDBAND = reg.createOptionalInt("EPOLLRDBAND");
+        EPOLLWRNORM = reg.createOptionalInt("EPOLLWRNORM");
+        EPOLLWRBAND = reg.createOptionalInt("EPOLLWRBAND");
+        EPOLLMSG = reg.createOptionalInt("EPOLLMSG");
+        EPOLLRDHUP = reg.createOptionalInt("EPOLLRDHUP");
+        EPOLLEXCLUSIVE = reg.createOptionalInt("EPOLLEXCLUSIVE");
+        EPOLLONESHOT = reg.createOptionalInt("EPOLLONESHOT");
+        EPOLLET = reg.createOptionalInt("EPOLLET");
+        EPOLL_CTL_ADD = reg.createOptionalInt("EPOLL_CTL_ADD");
+        EPOLL_CTL_MOD = reg.createOptionalInt("EPOLL_CTL_MOD");
+        EPOLL_CTL_DEL = reg.createOptionalInt("EPOLL_CTL_DEL");
+        EPOLL_CLOEXEC = reg.createOptionalInt("EPOLL_CLOEXEC");
         SIZEOF_STRUCT_SOCKADDR_STORAGE = reg.createMandatoryInt("SIZEOF_STRUCT_SOCKADDR_STORAGE");
         SIZEOF_STRUCT_SOCKADDR_IN = reg.createMandatoryInt("SIZEOF_STRUCT_SOCKADDR_IN");
         OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY = reg.createMandatoryInt("OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY");
@@ -582,6 +644,9 @@ public final class PosixConstants {
                         SO_PRIORITY, SO_MARK, SO_DOMAIN, SO_PROTOCOL};
         tcpOptions = new IntConstant[]{TCP_NODELAY, TCP_MAXSEG, TCP_CORK, TCP_KEEPIDLE, TCP_KEEPINTVL, TCP_KEEPCNT, TCP_SYNCNT, TCP_LINGER2, TCP_DEFER_ACCEPT, TCP_WINDOW_CLAMP, TCP_INFO, TCP_QUICKACK,
                         TCP_FASTOPEN, TCP_CONGESTION, TCP_USER_TIMEOUT, TCP_NOTSENT_LOWAT};
+        pollEvents = new IntConstant[]{POLLIN, POLLPRI, POLLOUT, POLLERR, POLLHUP, POLLNVAL, POLLRDNORM, POLLRDBAND, POLLWRNORM, POLLWRBAND, POLLMSG, POLLRDHUP};
+        epollEvents = new IntConstant[]{EPOLLIN, EPOLLPRI, EPOLLOUT, EPOLLERR, EPOLLHUP, EPOLLRDNORM, EPOLLRDBAND, EPOLLWRNORM, EPOLLWRBAND, EPOLLMSG, EPOLLRDHUP, EPOLLEXCLUSIVE, EPOLLONESHOT,
+                        EPOLLET};
     }
     // end generated by gen_native_cfg.py
     // @formatter:on
@@ -255,6 +255,36 @@ class PosixConstantsLinux {
         constants.put("TCP_CONGESTION", 13);
         constants.put("TCP_USER_TIMEOUT", 18);
         constants.put("TCP_NOTSENT_LOWAT", 25);
+        constants.put("POLLIN", 0x00000001);
+        constants.put("POLLPRI", 0x00000002);
+        constants.put("POLLOUT", 0x00000004);
+        constants.put("POLLERR", 0x00000008);
+        constants.put("POLLHUP", 0x00000010);
+        constants.put("POLLNVAL", 0x00000020);
+        constants.put("POLLRDNORM", 0x00000040);
+        constants.put("POLLRDBAND", 0x00000080);
+        constants.put("POLLWRNORM", 0x00000100);
+        constants.put("POLLWRBAND", 0x00000200);
+        constants.put("POLLMSG", 0x00000400);
+        constants.put("POLLRDHUP", 0x00002000);
+        constants.put("EPOLLIN", 0x00000001);
+        constants.put("EPOLLPRI", 0x00000002);
+        constants.put("EPOLLOUT", 0x00000004);
+        constants.put("EPOLLERR", 0x00000008);
+        constants.put("EPOLLHUP", 0x00000010);
+        constants.put("EPOLLRDNORM", 0x00000040);
+        constants.put("EPOLLRDBAND", 0x00000080);
+        constants.put("EPOLLWRNORM", 0x00000100);
+        constants.put("EPOLLWRBAND", 0x00000200);
+        constants.put("EPOLLMSG", 0x00000400);
+        constants.put("EPOLLRDHUP", 0x00002000);
+        constants.put("EPOLLEXCLUSIVE", 0x10000000);
+        constants.put("EPOLLONESHOT", 0x40000000);
+        constants.put("EPOLLET", 0x80000000);
+        constants.put("EPOLL_CTL_ADD", 1);
+        constants.put("EPOLL_CTL_MOD", 3);
+        constants.put("EPOLL_CTL_DEL", 2);
+        constants.put("EPOLL_CLOEXEC", 0x00080000);
         constants.put("SIZEOF_STRUCT_SOCKADDR_STORAGE", 128);
         constants.put("SIZEOF_STRUCT_SOCKADDR_IN", 16);
         constants.put("OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY", 0);
@@ -93,8 +93,64 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract Buffer read(Object receiver, int fd, long length) throws PosixException;
 
+    /**
+     * Reads up to {@code len} bytes directly into {@code buf} starting at index {@code offset},
+     * which avoids the intermediate allocation of {@link #read}.
+     *
+     * @return the number of bytes read, 0 at the end of the file
+     */
+    public abstract int readInto(Object receiver, int fd, byte[] buf, int offset, int len) throws PosixException;
+
     public abstract long write(Object receiver, int fd, Buffer data) throws PosixException;
 
+    /**
+     * Reads up to {@code length} bytes starting at {@code offset} without changing the file
+     * offset.
+     */
+    public abstract Buffer pread(Object receiver, int fd, long length, long offset) throws PosixException;
+
+    /**
+     * Writes {@code data} starting at {@code offset} without changing the file offset.
+     */
+    public abstract long pwrite(Object receiver, int fd, Buffer data, long offset) throws PosixException;
+
+    /**
+     * Reads into {@code buffers} in a single operation, filling each buffer up to its
+     * {@code length} before moving to the next one. The {@code data} array may be larger than
+     * {@code length}, the bytes beyond it are not touched. The number of bytes read into each
+     * buffer is stored in its {@code length}.
+     *
+     * @return the total number of bytes read
+     */
+    public abstract long readv(Object receiver, int fd, Buffer[] buffers) throws PosixException;
+
+    /**
+     * Writes the contents of {@code buffers} in a single operation.
+     *
+     * @return the total number of bytes written
+     */
+    public abstract long writev(Object receiver, int fd, Buffer[] buffers) throws PosixException;
+
+    /**
+     * Copies up to {@code count} bytes from {@code inFd} to {@code outFd} without passing them
+     * through user space where possible.
+     *
+     * @param offset position in {@code inFd} to start reading at, the file offset of {@code inFd}
+     *            is left unchanged; a negative value means that the file offset is used and
+     *            advanced
+     * @return the number of bytes copied
+     */
+    public abstract long sendfile(Object receiver, int outFd, int inFd, long offset, long count) throws PosixException;
+
+    /**
+     * Copies up to {@code count} bytes between two regular files. Like for
+     * {@link #sendfile(Object, int, int, long, long)}, a negative offset means that the file offset
+     * of the respective descriptor is used and advanced.
+     *
+     * @return the number of bytes copied
+     */
+    public abstract long copyFileRange(Object receiver, int srcFd, long srcOffset, int dstFd, long dstOffset, long count) throws PosixException;
+
     public abstract int dup(Object receiver, int fd) throws PosixException;
 
     public abstract int dup2(Object receiver, int fd, int fd2, boolean inheritable) throws PosixException;
@@ -107,6 +163,34 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Waits for events on the given file descriptors. The arrays {@code fds}, {@code events} and
+     * {@code revents} are parallel, {@code revents} is filled in with the returned events.
+     *
+     * @param timeoutMs timeout in milliseconds, negative value means infinite timeout
+     * @return the number of file descriptors with non-zero {@code revents}
+     */
+    public abstract int poll(Object receiver, int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException;
+
+    /**
+     * Creates a new epoll instance with the close-on-exec flag set.
+     *
+     * @return file descriptor of the epoll instance
+     */
+    public abstract int epollCreate(Object receiver) throws PosixException;
+
+    public abstract void epollCtl(Object receiver, int epfd, int op, int fd, int events) throws PosixException;
+
+    /**
+     * Waits for events on the epoll instance {@code epfd}. At most {@code fds.length} events are
+     * reported, the ready file descriptors and their events are stored in {@code fds} and
+     * {@code events}.
+     *
+     * @param timeoutMs timeout in milliseconds, negative value means infinite timeout
+     * @return the number of reported events
+     */
+    public abstract int epollWait(Object receiver, int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException;
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
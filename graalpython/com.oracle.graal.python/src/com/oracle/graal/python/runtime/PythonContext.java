@@ -287,6 +287,9 @@ public final class PythonContext extends Python3Core {
          */
         PContextVarsContext contextVarsContext;
 
+        /* GIL wait and hold times, only used if the GilStatistics option is enabled. */
+        GilStatistics gilStatistics;
+
         /*
          * The constructor needs to have this particular signature such that we can use it for
          * ContextThreadLocal.
@@ -623,6 +626,12 @@ public final class PythonContext extends Python3Core {
     private static final class GlobalInterpreterLock extends ReentrantLock {
         private static final long serialVersionUID = 1L;
 
+        GlobalInterpreterLock() {
+            // a fair lock hands the GIL over to the longest waiting thread on release, which avoids
+            // that the releasing thread immediately re-acquires it and starves the others
+            super(true);
+        }
+
         @Override
         public Thread getOwner() {
             return super.getOwner();
@@ -631,6 +640,8 @@ public final class PythonContext extends Python3Core {
 
     private final GlobalInterpreterLock globalInterpreterLock = new GlobalInterpreterLock();
 
+    @CompilationFinal private boolean gilStatisticsEnabled;
+
     /** Native wrappers for context-insensitive singletons like {@link PNone#NONE}. */
     @CompilationFinal(dimensions = 1) private final PythonNativeWrapper[] singletonNativePtrs = new PythonNativeWrapper[PythonLanguage.getNumberOfSpecialSingletons()];
 
@@ -1056,6 +1067,7 @@ public final class PythonContext extends Python3Core {
         this.handler = new AsyncHandler(this);
         this.sharedFinalizer = new AsyncHandler.SharedFinalizer(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
+        this.gilStatisticsEnabled = getOption(PythonOptions.GilStatistics);
         this.in = env.in();
         this.out = env.out();
         this.err = env.err();
@@ -1387,6 +1399,7 @@ public final class PythonContext extends Python3Core {
     }
 
     public void patch(Env newEnv) {
+        gilStatisticsEnabled = newEnv.getOptions().get(PythonOptions.GilStatistics);
         try {
             acquireGil();
         } catch (InterruptedException e) {
@@ -2134,6 +2147,44 @@ public final class PythonContext extends Python3Core {
         return globalInterpreterLock.getOwner();
     }
 
+    /**
+     * Should not be used outside of {@link AsyncHandler}
+     */
+    int getGilQueueLength() {
+        return globalInterpreterLock.getQueueLength();
+    }
+
+    public boolean isGilStatisticsEnabled() {
+        return gilStatisticsEnabled;
+    }
+
+    /**
+     * Returns the GIL statistics of all live threads that acquired the GIL so far. The statistics
+     * are kept in the {@link PythonThreadState} and thus dropped when a thread is disposed. Only
+     * populated if {@link PythonOptions#GilStatistics} is enabled.
+     */
+    @TruffleBoundary
+    public List<GilStatistics> getGilStatistics() {
+        ArrayList<GilStatistics> result = new ArrayList<>();
+        synchronized (threadStateMapping) {
+            for (PythonThreadState ts : threadStateMapping.values()) {
+                if (ts.gilStatistics != null) {
+                    result.add(ts.gilStatistics);
+                }
+            }
+        }
+        return result;
+    }
+
+    private GilStatistics currentGilStatistics() {
+        // not getThreadState, that one releases the GIL of threads that are shutting down
+        PythonThreadState ts = getLanguage().getThreadStateLocal().get();
+        if (ts.gilStatistics == null) {
+            ts.gilStatistics = new GilStatistics(Thread.currentThread());
+        }
+        return ts.gilStatistics;
+    }
+
     /**
      * Should not be called directly.
      *
@@ -2141,6 +2192,14 @@ public final class PythonContext extends Python3Core {
      */
     @TruffleBoundary
     boolean tryAcquireGil() {
+        if (gilStatisticsEnabled) {
+            long waitStart = System.nanoTime();
+            if (!globalInterpreterLock.tryLock()) {
+                return false;
+            }
+            currentGilStatistics().recordAcquired(waitStart, System.nanoTime());
+            return true;
+        }
         return globalInterpreterLock.tryLock();
     }
 
@@ -2153,7 +2212,13 @@ public final class PythonContext extends Python3Core {
     void acquireGil() throws InterruptedException {
         assert !ownsGil() : dumpStackOnAssertionHelper("trying to acquire the GIL more than once");
         boolean wasInterrupted = Thread.interrupted();
-        globalInterpreterLock.lockInterruptibly();
+        if (gilStatisticsEnabled) {
+            long waitStart = System.nanoTime();
+            globalInterpreterLock.lockInterruptibly();
+            currentGilStatistics().recordAcquired(waitStart, System.nanoTime());
+        } else {
+            globalInterpreterLock.lockInterruptibly();
+        }
         if (wasInterrupted) {
             Thread.currentThread().interrupt();
         }
@@ -2172,6 +2237,9 @@ public final class PythonContext extends Python3Core {
     @TruffleBoundary
     void releaseGil() {
         assert globalInterpreterLock.getHoldCount() == 1 : dumpStackOnAssertionHelper("trying to release the GIL with invalid hold count " + globalInterpreterLock.getHoldCount());
+        if (gilStatisticsEnabled) {
+            currentGilStatistics().recordReleased(System.nanoTime());
+        }
         globalInterpreterLock.unlock();
     }
 
@@ -305,6 +305,9 @@ public final class PythonOptions {
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Use the CPython sre engine as a fallback to the TRegex engine.") //
     public static final OptionKey<Boolean> TRegexUsesSREFallback = new OptionKey<>(true);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "<size>", help = "Maximum number of compiled TRegex regexes that are cached and shared by all contexts of an engine. 0 disables the cache. Default 256.") //
+    public static final OptionKey<Integer> TRegexCacheSize = new OptionKey<>(256);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Switch on/off using lazy strings for performance reasons. Default true.") //
     public static final OptionKey<Boolean> LazyStrings = new OptionKey<>(true);
 
@@ -339,9 +342,16 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Disable weakref callback processing, signal handling, and other periodic async actions.") //
     public static final OptionKey<Boolean> NoAsyncActions = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Collect per-thread GIL wait and hold time histograms, available through __graalpython__.get_gil_stats().") //
+    public static final OptionKey<Boolean> GilStatistics = new OptionKey<>(false);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Propagate append operations to lists created as literals back to where they were created, to inform overallocation to avoid having to grow them later.") //
     public static final OptionKey<Boolean> OverallocateLiteralLists = new OptionKey<>(true);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "<length>", help = "Lists of ints, floats or strings with at least this many elements are sorted in parallel on the common fork/join pool. " +
+                    "0 disables parallel sorting. Contexts that are not allowed to create threads always sort sequentially.") //
+    public static final OptionKey<Integer> ParallelSortThreshold = new OptionKey<>(1 << 16);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Forces AST sharing for inner contexts.") //
     public static final OptionKey<Boolean> ForceSharingForInnerContexts = new OptionKey<>(true);
 
@@ -27,6 +27,7 @@ package com.oracle.graal.python.runtime.object;
 
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.util.LinkedHashMap;
 import java.util.concurrent.Semaphore;
 
@@ -38,6 +39,7 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.PosixFileHandle;
 import com.oracle.graal.python.builtins.modules.bz2.BZ2Object;
+import com.oracle.graal.python.builtins.modules.csv.CSVBulkReader;
 import com.oracle.graal.python.builtins.modules.csv.CSVDialect;
 import com.oracle.graal.python.builtins.modules.csv.CSVReader;
 import com.oracle.graal.python.builtins.modules.csv.CSVWriter;
@@ -49,6 +51,7 @@ import com.oracle.graal.python.builtins.modules.ctypes.PyCArgObject;
 import com.oracle.graal.python.builtins.modules.ctypes.PyCFuncPtrObject;
 import com.oracle.graal.python.builtins.modules.ctypes.StgDictObject;
 import com.oracle.graal.python.builtins.modules.ctypes.StructParamObject;
+import com.oracle.graal.python.builtins.modules.hashlib.DigestObject;
 import com.oracle.graal.python.builtins.modules.io.PBuffered;
 import com.oracle.graal.python.builtins.modules.io.PBytesIO;
 import com.oracle.graal.python.builtins.modules.io.PBytesIOBuffer;
@@ -57,10 +60,19 @@ import com.oracle.graal.python.builtins.modules.io.PNLDecoder;
 import com.oracle.graal.python.builtins.modules.io.PRWPair;
 import com.oracle.graal.python.builtins.modules.io.PStringIO;
 import com.oracle.graal.python.builtins.modules.io.PTextIO;
+import com.oracle.graal.python.builtins.modules.json.JSONStreamScanner;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.modules.json.PJSONScanner;
+import com.oracle.graal.python.builtins.modules.json.PJSONStreamIterator;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAObject;
+import com.oracle.graal.python.builtins.modules.pickle.PPickleBuffer;
+import com.oracle.graal.python.builtins.modules.pickle.PPickleMemoProxy;
+import com.oracle.graal.python.builtins.modules.pickle.PPickler;
+import com.oracle.graal.python.builtins.modules.pickle.PUnpickler;
+import com.oracle.graal.python.builtins.modules.struct.PStruct;
+import com.oracle.graal.python.builtins.modules.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.modules.struct.StructFormat;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibCompObject;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.array.PArray;
@@ -151,6 +163,7 @@ import com.oracle.graal.python.builtins.objects.method.PMethod;
 import com.oracle.graal.python.builtins.objects.mmap.PMMap;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.namespace.PSimpleNamespace;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.partial.PPartial;
 import com.oracle.graal.python.builtins.objects.posix.PDirEntry;
@@ -163,12 +176,15 @@ import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
 import com.oracle.graal.python.builtins.objects.slice.PIntSlice;
 import com.oracle.graal.python.builtins.objects.slice.PObjectSlice;
 import com.oracle.graal.python.builtins.objects.socket.PSocket;
+import com.oracle.graal.python.builtins.objects.sre.PMatch;
 import com.oracle.graal.python.builtins.objects.ssl.PMemoryBIO;
 import com.oracle.graal.python.builtins.objects.ssl.PSSLContext;
 import com.oracle.graal.python.builtins.objects.ssl.PSSLSocket;
@@ -1188,6 +1204,46 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PMMap(clazz, getShape(clazz), mmapHandle, fd, length, access));
     }
 
+    public final PPoll createPoll() {
+        return trace(new PPoll(PythonBuiltinClassType.PPoll, getShape(PythonBuiltinClassType.PPoll)));
+    }
+
+    public final PEpoll createEpoll(Object clazz, PythonContext context, int epfd) {
+        return trace(new PEpoll(clazz, getShape(clazz), context, epfd));
+    }
+
+    public final PMatch createMatch(Object pattern, Object string, TruffleString input, Object regexResult, int groups, int pos, int endpos) {
+        return trace(new PMatch(PythonBuiltinClassType.PMatch, getShape(PythonBuiltinClassType.PMatch), pattern, string, input, regexResult, groups, pos, endpos));
+    }
+
+    public final DigestObject createDigestObject(Object clazz, DigestObject.Algorithm algorithm, MessageDigest digest) {
+        return trace(new DigestObject(clazz, getShape(clazz), algorithm, digest));
+    }
+
+    public final PPickler createPickler(Object clazz) {
+        return trace(new PPickler(clazz, getShape(clazz)));
+    }
+
+    public final PUnpickler createUnpickler(Object clazz) {
+        return trace(new PUnpickler(clazz, getShape(clazz)));
+    }
+
+    public final PPickleBuffer createPickleBuffer(Object clazz, Object owner, Object view) {
+        return trace(new PPickleBuffer(clazz, getShape(clazz), owner, view));
+    }
+
+    public final PPickleMemoProxy createPickleMemoProxy(PythonBuiltinClassType type, PythonBuiltinObject owner) {
+        return trace(new PPickleMemoProxy(type, getShape(type), owner));
+    }
+
+    public final PStruct createStruct(Object clazz, StructFormat format) {
+        return trace(new PStruct(clazz, getShape(clazz), format));
+    }
+
+    public final PStructUnpackIterator createStructUnpackIterator(PythonContext context, StructFormat format, Object buffer, int length) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, getShape(PythonBuiltinClassType.PStructUnpackIterator), context, format, buffer, length));
+    }
+
     public final BZ2Object.BZ2Compressor createBZ2Compressor(Object clazz) {
         return trace(BZ2Object.createCompressor(clazz, getShape(clazz)));
     }
@@ -1220,6 +1276,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new CSVReader(clazz, getShape(clazz), inputIter, dialect));
     }
 
+    public final CSVBulkReader createCSVBulkReader(Object clazz, PythonContext context, Object file, Object buffer, CSVDialect dialect, int batchSize) {
+        return trace(new CSVBulkReader(clazz, getShape(clazz), context, file, buffer, dialect, batchSize));
+    }
+
     public final CSVWriter createCSVWriter(Object clazz, Object write, CSVDialect dialect) {
         return trace(new CSVWriter(clazz, getShape(clazz), write, dialect));
     }
@@ -1426,8 +1486,9 @@ public abstract class PythonObjectFactory extends Node {
     // (not created on fast path, thus TruffleBoundary)
 
     @TruffleBoundary
-    public final PJSONScanner createJSONScanner(Object clazz, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant) {
-        return trace(new PJSONScanner(clazz, getShape(clazz), strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant));
+    public final PJSONScanner createJSONScanner(Object clazz, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant,
+                    boolean reusePairs) {
+        return trace(new PJSONScanner(clazz, getShape(clazz), strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant, reusePairs));
     }
 
     @TruffleBoundary
@@ -1436,6 +1497,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PJSONEncoder(clazz, getShape(clazz), markers, defaultFn, encoder, indent, keySeparator, itemSeparator, sortKeys, skipKeys, allowNan, fastEncode));
     }
 
+    public final PJSONStreamIterator createJSONStreamIterator(JSONStreamScanner stream, boolean lines) {
+        return trace(new PJSONStreamIterator(PythonBuiltinClassType.JSONStreamIterator, getShape(PythonBuiltinClassType.JSONStreamIterator), stream, lines));
+    }
+
     public final PDeque createDeque() {
         return trace(new PDeque(PythonBuiltinClassType.PDeque, getShape(PythonBuiltinClassType.PDeque)));
     }
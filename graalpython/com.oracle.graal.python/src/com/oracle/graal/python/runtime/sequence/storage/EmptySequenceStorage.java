@@ -34,6 +34,7 @@ import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @ExportLibrary(PythonBufferAccessLibrary.class)
 public final class EmptySequenceStorage extends SequenceStorage {
@@ -62,6 +63,8 @@ public final class EmptySequenceStorage extends SequenceStorage {
             }
         } else if (value instanceof Double) {
             generalized = new DoubleSequenceStorage();
+        } else if (value instanceof TruffleString) {
+            generalized = new StringSequenceStorage();
         } else {
             generalized = new ObjectSequenceStorage(PythonUtils.EMPTY_OBJECT_ARRAY);
         }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime.sequence.storage;
+
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Storage for lists and tuples that contain only exact {@code str} objects in their
+ * {@link TruffleString} representation. Subclasses of {@code str} and strings that are not yet
+ * materialized as a {@link TruffleString} generalize the storage to {@link ObjectSequenceStorage}.
+ */
+public final class StringSequenceStorage extends TypedSequenceStorage {
+
+    private static final TruffleString[] EMPTY_ARRAY = new TruffleString[0];
+
+    private TruffleString[] values;
+
+    public StringSequenceStorage() {
+        values = EMPTY_ARRAY;
+    }
+
+    public StringSequenceStorage(TruffleString[] elements) {
+        this.values = elements;
+        this.capacity = elements.length;
+        this.length = elements.length;
+    }
+
+    public StringSequenceStorage(TruffleString[] elements, int length) {
+        this.values = elements;
+        this.capacity = elements.length;
+        this.length = length;
+    }
+
+    public StringSequenceStorage(int capacity) {
+        this.values = new TruffleString[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
+    @Override
+    protected void increaseCapacityExactWithCopy(int newCapacity) {
+        values = Arrays.copyOf(values, newCapacity);
+        capacity = values.length;
+    }
+
+    @Override
+    protected void increaseCapacityExact(int newCapacity) {
+        values = new TruffleString[newCapacity];
+        capacity = values.length;
+    }
+
+    @Override
+    public SequenceStorage copy() {
+        return new StringSequenceStorage(PythonUtils.arrayCopyOf(values, length));
+    }
+
+    @Override
+    public SequenceStorage createEmpty(int newCapacity) {
+        return new StringSequenceStorage(newCapacity);
+    }
+
+    @Override
+    public Object[] getInternalArray() {
+        /*
+         * Always copy into an Object[], callers may store arbitrary objects into the returned
+         * array.
+         */
+        return Arrays.copyOf(values, length, Object[].class);
+    }
+
+    public TruffleString[] getInternalStringArray() {
+        return values;
+    }
+
+    @Override
+    public Object getItemNormalized(int idx) {
+        return values[idx];
+    }
+
+    public TruffleString getStringItemNormalized(int idx) {
+        return values[idx];
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) throws SequenceStoreException {
+        if (value instanceof TruffleString) {
+            setStringItemNormalized(idx, (TruffleString) value);
+        } else {
+            throw new SequenceStoreException(value);
+        }
+    }
+
+    public void setStringItemNormalized(int idx, TruffleString value) {
+        values[idx] = value;
+    }
+
+    @Override
+    public void insertItem(int idx, Object value) throws SequenceStoreException {
+        if (value instanceof TruffleString) {
+            insertStringItem(idx, (TruffleString) value);
+        } else {
+            throw new SequenceStoreException(value);
+        }
+    }
+
+    public void insertStringItem(int idx, TruffleString value) {
+        ensureCapacity(length + 1);
+
+        // shifting tail to the right by one slot
+        for (int i = values.length - 1; i > idx; i--) {
+            values[i] = values[i - 1];
+        }
+
+        values[idx] = value;
+        length++;
+    }
+
+    @Override
+    public void copyItem(int idxTo, int idxFrom) {
+        values[idxTo] = values[idxFrom];
+    }
+
+    @Override
+    public StringSequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        TruffleString[] newArray = new TruffleString[sliceLength];
+
+        if (step == 1) {
+            PythonUtils.arraycopy(values, start, newArray, 0, sliceLength);
+            return new StringSequenceStorage(newArray);
+        }
+
+        for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+            newArray[j] = values[i];
+        }
+
+        return new StringSequenceStorage(newArray);
+    }
+
+    @Override
+    public void reverse() {
+        if (length > 0) {
+            int head = 0;
+            int tail = length - 1;
+            int middle = (length - 1) / 2;
+
+            for (; head <= middle; head++, tail--) {
+                TruffleString temp = values[head];
+                values[head] = values[tail];
+                values[tail] = temp;
+            }
+        }
+    }
+
+    @Override
+    public Object getIndicativeValue() {
+        return T_EMPTY_STRING;
+    }
+
+    @Override
+    public boolean equals(SequenceStorage other) {
+        if (other.length() != length() || !(other instanceof StringSequenceStorage)) {
+            return false;
+        }
+
+        TruffleString[] otherArray = ((StringSequenceStorage) other).getInternalStringArray();
+        for (int i = 0; i < length(); i++) {
+            if (!values[i].equals(otherArray[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object getInternalArrayObject() {
+        return values;
+    }
+
+    @Override
+    public Object getCopyOfInternalArrayObject() {
+        return Arrays.copyOf(values, length);
+    }
+
+    @Override
+    public Object[] getCopyOfInternalArray() {
+        return getInternalArray();
+    }
+
+    @Override
+    public void setInternalArrayObject(Object arrayObject) {
+        this.values = (TruffleString[]) arrayObject;
+    }
+
+    @Override
+    public ListStorageType getElementType() {
+        return ListStorageType.String;
+    }
+}
@@ -10,6 +10,8 @@ from _csv import Error, __version__, writer, reader, register_dialect, \
                  QUOTE_MINIMAL, QUOTE_ALL, QUOTE_NONNUMERIC, QUOTE_NONE, \
                  __doc__
 from _csv import Dialect as _Dialect
+# Truffle change: reader that parses bytes and binary files directly
+from _csv import bulk_reader
 
 from io import StringIO
 
@@ -18,7 +20,7 @@ __all__ = ["QUOTE_MINIMAL", "QUOTE_ALL", "QUOTE_NONNUMERIC", "QUOTE_NONE",
            "field_size_limit", "reader", "writer",
            "register_dialect", "get_dialect", "list_dialects", "Sniffer",
            "unregister_dialect", "__version__", "DictReader", "DictWriter",
-           "unix_dialect"]
+           "unix_dialect", "bulk_reader"]
 
 class Dialect:
     """Describe a CSV dialect.
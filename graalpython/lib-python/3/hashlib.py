@@ -58,7 +58,7 @@ More condensed:
 __always_supported = ('md5', 'sha1', 'sha224', 'sha256', 'sha384', 'sha512',
                       # TODO: Truffle revertme once we support these
                       # 'blake2b', 'blake2s',
-                      # 'sha3_224', 'sha3_256', 'sha3_384', 'sha3_512',
+                      'sha3_224', 'sha3_256', 'sha3_384', 'sha3_512',
                       # 'shake_128', 'shake_256'
 )
 
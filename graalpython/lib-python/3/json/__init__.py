@@ -97,7 +97,7 @@ Using json.tool from the shell to validate and pretty-print::
 """
 __version__ = '2.0.9'
 __all__ = [
-    'dump', 'dumps', 'load', 'loads',
+    'dump', 'dumps', 'load', 'loads', 'iterload',
     'JSONDecoder', 'JSONDecodeError', 'JSONEncoder',
 ]
 
@@ -105,7 +105,21 @@ __author__ = 'Bob Ippolito <bob@redivi.com>'
 
 from .decoder import JSONDecoder, JSONDecodeError
 from .encoder import JSONEncoder
+# Truffle change: dump with the Java encoder when the encoder allows it
+from .encoder import c_make_encoder, encode_basestring, encode_basestring_ascii
 import codecs
+# Truffle change: scan bytes and files incrementally instead of decoding them whole
+import io
+try:
+    from _json import load_stream as c_load_stream
+    from _json import iterload_stream as c_iterload_stream
+    from _json import make_scanner as c_make_scanner
+except ImportError:
+    c_load_stream = None
+try:
+    from _json import dump_stream as c_dump_stream
+except ImportError:
+    c_dump_stream = None
 
 _default_encoder = JSONEncoder(
     skipkeys=False,
@@ -166,18 +180,30 @@ def dump(obj, fp, *, skipkeys=False, ensure_ascii=True, check_circular=True,
         check_circular and allow_nan and
         cls is None and indent is None and separators is None and
         default is None and not sort_keys and not kw):
-        iterable = _default_encoder.iterencode(obj)
+        encoder = _default_encoder
     else:
         if cls is None:
             cls = JSONEncoder
-        iterable = cls(skipkeys=skipkeys, ensure_ascii=ensure_ascii,
+        encoder = cls(skipkeys=skipkeys, ensure_ascii=ensure_ascii,
             check_circular=check_circular, allow_nan=allow_nan, indent=indent,
             separators=separators,
-            default=default, sort_keys=sort_keys, **kw).iterencode(obj)
-    # could accelerate with writelines in some versions of Python, at
-    # a debuggability cost
-    for chunk in iterable:
-        fp.write(chunk)
+            default=default, sort_keys=sort_keys, **kw)
+    # Truffle change: let the Java encoder write the document in batches, or
+    # join the chunks of a custom iterencode into batches to save write calls
+    if (c_make_encoder is not None and encoder.indent is None and
+            type(encoder).iterencode is JSONEncoder.iterencode):
+        c_make_encoder(
+            {} if encoder.check_circular else None, encoder.default,
+            encode_basestring_ascii if encoder.ensure_ascii else encode_basestring,
+            encoder.indent, encoder.key_separator, encoder.item_separator,
+            encoder.sort_keys, encoder.skipkeys, encoder.allow_nan)(obj, 0, fp)
+    elif c_dump_stream is not None:
+        c_dump_stream(encoder.iterencode(obj), fp)
+    else:
+        # could accelerate with writelines in some versions of Python, at
+        # a debuggability cost
+        for chunk in encoder.iterencode(obj):
+            fp.write(chunk)
     fp.flush()
 
 
@@ -291,6 +317,12 @@ def load(fp, *, cls=None, object_hook=None, parse_float=None,
     To use a custom ``JSONDecoder`` subclass, specify it with the ``cls``
     kwarg; otherwise ``JSONDecoder`` is used.
     """
+    # Truffle change: decode the file in chunks while scanning it
+    if isinstance(fp, io.IOBase):
+        scanner = _stream_scanner(cls, _decoder_kw(kw, object_hook,
+            parse_float, parse_int, parse_constant, object_pairs_hook))
+        if scanner is not None:
+            return c_load_stream(scanner, fp)
     return loads(fp.read(),
         cls=cls, object_hook=object_hook,
         parse_float=parse_float, parse_int=parse_int,
@@ -339,6 +371,11 @@ def loads(s, *, cls=None, object_hook=None, parse_float=None,
         if not isinstance(s, (bytes, bytearray)):
             raise TypeError(f'the JSON object must be str, bytes or bytearray, '
                             f'not {s.__class__.__name__}')
+        # Truffle change: decode the bytes while scanning them
+        scanner = _stream_scanner(cls, _decoder_kw(kw, object_hook,
+            parse_float, parse_int, parse_constant, object_pairs_hook))
+        if scanner is not None:
+            return c_load_stream(scanner, s)
         s = s.decode(detect_encoding(s), 'surrogatepass')
 
     if (cls is None and object_hook is None and
@@ -358,3 +395,90 @@ def loads(s, *, cls=None, object_hook=None, parse_float=None,
     if parse_constant is not None:
         kw['parse_constant'] = parse_constant
     return cls(**kw).decode(s)
+
+
+# Truffle change: streaming decoding support
+def _decoder_kw(kw, object_hook, parse_float, parse_int, parse_constant,
+                object_pairs_hook):
+    kw = dict(kw)
+    if object_hook is not None:
+        kw['object_hook'] = object_hook
+    if object_pairs_hook is not None:
+        kw['object_pairs_hook'] = object_pairs_hook
+    if parse_float is not None:
+        kw['parse_float'] = parse_float
+    if parse_int is not None:
+        kw['parse_int'] = parse_int
+    if parse_constant is not None:
+        kw['parse_constant'] = parse_constant
+    return kw
+
+
+def _stream_scanner(cls, kw):
+    """Return the ``_json`` scanner of the decoder ``loads`` would create
+    from ``cls`` and ``kw``, or None if that decoder needs the whole document
+    as a ``str``.
+    """
+    if c_load_stream is None:
+        return None
+    if cls is None and not kw:
+        decoder = _default_decoder
+    else:
+        if cls is None:
+            cls = JSONDecoder
+        if (cls.decode is not JSONDecoder.decode or
+                cls.raw_decode is not JSONDecoder.raw_decode):
+            return None
+        decoder = cls(**kw)
+    scanner = decoder.scan_once
+    if type(scanner) is not c_make_scanner:
+        return None
+    return scanner
+
+
+def iterload(fp, *, lines=False, cls=None, object_hook=None, parse_float=None,
+        parse_int=None, parse_constant=None, object_pairs_hook=None, **kw):
+    """Incrementally deserialize ``fp`` (a ``.read()``-supporting file-like
+    object, or a ``str``, ``bytes`` or ``bytearray`` instance) and return an
+    iterator over the elements of its top-level JSON array.
+
+    If ``lines`` is true, the document is instead a sequence of JSON values
+    separated by whitespace, as in JSON Lines, and the iterator yields each
+    of them.
+
+    Only the element that is currently being decoded is held in memory, so
+    this can be used to process documents that are too large for ``load``.
+    The remaining arguments have the same meaning as for ``load``.
+
+    If ``fp`` is a file, the ``doc`` of a raised ``JSONDecodeError`` is only
+    the part of the document that was decoded last; its ``pos``, ``lineno``
+    and ``colno`` still refer to the whole document.
+    """
+    kw = _decoder_kw(kw, object_hook, parse_float, parse_int, parse_constant,
+                     object_pairs_hook)
+    scanner = _stream_scanner(cls, kw)
+    if scanner is not None:
+        return c_iterload_stream(scanner, fp, lines)
+    return _iterload_fallback(fp, lines, cls, kw)
+
+
+def _iterload_fallback(fp, lines, cls, kw):
+    from .decoder import WHITESPACE
+    s = fp if isinstance(fp, (str, bytes, bytearray)) else fp.read()
+    if not isinstance(s, str):
+        s = s.decode(detect_encoding(s), 'surrogatepass')
+    elif s.startswith('\ufeff'):
+        raise JSONDecodeError("Unexpected UTF-8 BOM (decode using utf-8-sig)",
+                              s, 0)
+    decoder = (cls or JSONDecoder)(**kw)
+    if not lines:
+        obj = decoder.decode(s)
+        if not isinstance(obj, list):
+            raise JSONDecodeError("Expecting '['", s, 0)
+        yield from obj
+        return
+    idx = WHITESPACE.match(s, 0).end()
+    while idx != len(s):
+        obj, idx = decoder.raw_decode(s, idx)
+        yield obj
+        idx = WHITESPACE.match(s, idx).end()
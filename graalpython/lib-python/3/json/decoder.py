@@ -283,7 +283,7 @@ class JSONDecoder(object):
 
     def __init__(self, *, object_hook=None, parse_float=None,
             parse_int=None, parse_constant=None, strict=True,
-            object_pairs_hook=None):
+            object_pairs_hook=None, reuse_pairs=False):
         """``object_hook``, if specified, will be called with the result
         of every JSON object decoded and its return value will be used in
         place of the given ``dict``.  This can be used to provide custom
@@ -315,6 +315,10 @@ class JSONDecoder(object):
         characters will be allowed inside strings.  Control characters in
         this context are those with character codes in the 0-31 range,
         including ``'\\t'`` (tab), ``'\\n'``, ``'\\r'`` and ``'\\0'``.
+
+        If ``reuse_pairs`` is true, ``object_pairs_hook`` may be passed the
+        same list object for every JSON object, so it must not keep a
+        reference to the list itself, only to its contents.
         """
         self.object_hook = object_hook
         self.parse_float = parse_float or float
@@ -322,6 +326,8 @@ class JSONDecoder(object):
         self.parse_constant = parse_constant or _CONSTANTS.__getitem__
         self.strict = strict
         self.object_pairs_hook = object_pairs_hook
+        # Truffle change: let the _json scanner recycle the list of pairs
+        self.reuse_pairs = reuse_pairs
         self.parse_object = JSONObject
         self.parse_array = JSONArray
         self.parse_string = scanstring
@@ -85,7 +85,10 @@ MICRO_BENCHMARKS = {
     'list-sort-objects': ITER_10 + ['10_000'],
     'list-sort-strings': ITER_10 + ['500_000'],
     'list-sort-keyed': ITER_10 + ['50_000'],
+    'list-sort-sized': ITER_10 + ['10_000_000'],
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
+    'dict-churn': ITER_10 + ['20_000_000'],
+    'dict-memory-sized': ITER_10 + ['100_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
     'object-layout-change': ITER_10 + ['1000000'],
@@ -135,7 +138,10 @@ MICRO_BENCHMARKS_SMALL = {
     'list-iterating': ITER_6 + WARMUP_2 + ['25_000'],
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'list-constructions-sized': ITER_6 + WARMUP_2 + ['500'],
+    'list-sort-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'dict-getitem-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
+    'dict-churn': ITER_6 + WARMUP_2 + ['1_000_000'],
+    'dict-memory-sized': ITER_6 + WARMUP_2 + ['10_000'],
     'math-sqrt': ITER_6 + WARMUP_2 + ['20_000_000'],
     'object-allocate': ITER_6 + WARMUP_2 + ['50'],
     'object-layout-change': ITER_6 + WARMUP_2 + ['10_000'],
@@ -214,6 +220,7 @@ MESO_BENCHMARKS = {
     'nbody3': ITER_10 + ['5000000'],
     'spectralnorm3': ITER_10 + ['3000'],
     'pidigits': ITER_10 + [],
+    'pidigits-str': ITER_10 + ['20'],
     'sieve-sized': ITER_15 + ['500_000'],
     'image-magix-sized2': ITER_10 + ['30000'],
     'parrot-b2': ITER_10 + ['200'],
@@ -135,7 +135,6 @@ CPYTHON_SOURCES_MAPPING = {
     "graalpython/com.oracle.graal.python.cext/modules/_cpython_unicodedata.c": CopyFrom("Modules/unicodedata.c"),
     "graalpython/com.oracle.graal.python.cext/modules/_bz2.c": CopyFrom("Modules/_bz2module.c"),
     "graalpython/com.oracle.graal.python.cext/modules/_mmap.c": CopyFrom("Modules/mmapmodule.c"),
-    "graalpython/com.oracle.graal.python.cext/modules/_cpython_struct.c": CopyFrom("Modules/_struct.c"),
     "graalpython/com.oracle.graal.python.cext/modules/_testcapi.c": CopyFrom("Modules/_testcapimodule.c"),
     "graalpython/com.oracle.graal.python.cext/modules/_ctypes_test.h": CopyFrom("Modules/_ctypes/_ctypes_test.h"),
     "graalpython/com.oracle.graal.python.cext/modules/_ctypes_test.c": CopyFrom("Modules/_ctypes/_ctypes_test.c"),
@@ -176,10 +175,6 @@ CPYTHON_SOURCES_MAPPING = {
 }
 
 PYPY_SOURCES_MAPPING = {
-    "graalpython/lib-python/3/_md5.py": CopyFrom("lib_pypy/_md5.py"),
-    "graalpython/lib-python/3/_sha1.py": CopyFrom("lib_pypy/_sha1.py"),
-    "graalpython/lib-python/3/_sha256.py": CopyFrom("lib_pypy/_sha256.py"),
-    "graalpython/lib-python/3/_sha512.py": CopyFrom("lib_pypy/_sha512.py"),
     "graalpython/com.oracle.graal.python.benchmarks": Ignore(),
 }
 
@@ -69,6 +69,7 @@ includes = '''
 # include <netdb.h>
 # include <netinet/in.h>
 # include <netinet/tcp.h>
+# include <poll.h>
 # include <sys/mman.h>
 # include <sys/select.h>
 # include <sys/socket.h>
@@ -76,6 +77,9 @@ includes = '''
 # include <sys/unistd.h>
 # include <sys/utsname.h>
 # include <sys/wait.h>
+# ifdef __linux__
+#  include <sys/epoll.h>
+# endif
 #else
 # include <winsock2.h>
 # include <ws2tcpip.h>
@@ -359,6 +363,41 @@ u x S_IFCHR
 * i TCP_CONGESTION
 * i TCP_USER_TIMEOUT
 * i TCP_NOTSENT_LOWAT
+
+[pollEvents]
+* x POLLIN
+* x POLLPRI
+* x POLLOUT
+* x POLLERR
+* x POLLHUP
+* x POLLNVAL
+* x POLLRDNORM
+* x POLLRDBAND
+* x POLLWRNORM
+* x POLLWRBAND
+* x POLLMSG
+* x POLLRDHUP
+
+[epollEvents]
+* x EPOLLIN
+* x EPOLLPRI
+* x EPOLLOUT
+* x EPOLLERR
+* x EPOLLHUP
+* x EPOLLRDNORM
+* x EPOLLRDBAND
+* x EPOLLWRNORM
+* x EPOLLWRBAND
+* x EPOLLMSG
+* x EPOLLRDHUP
+* x EPOLLEXCLUSIVE
+* x EPOLLONESHOT
+* x EPOLLET
+
+* i EPOLL_CTL_ADD
+* i EPOLL_CTL_MOD
+* i EPOLL_CTL_DEL
+* x EPOLL_CLOEXEC
 '''
 
 layout_defs = '''